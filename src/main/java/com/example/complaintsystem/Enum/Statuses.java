@@ -1,7 +1,29 @@
 package com.example.complaintsystem.Enum;
 
+import java.util.Locale;
+import java.util.Optional;
+
 public enum Statuses {
     OPEN,
     IN_PROGRESS,
     CLOSED;
+
+    // Maps a TicketStatuses.status_name value ("Open", "In Progress", "IN_PROGRESS", ...) to the enum
+    public static Optional<Statuses> fromStatusName(String statusName) {
+        if (statusName == null || statusName.isBlank()) {
+            return Optional.empty();
+        }
+        String normalized = statusName.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        for (Statuses status : values()) {
+            if (status.name().equals(normalized)) {
+                return Optional.of(status);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // OPEN and IN_PROGRESS tickets are still waiting on an agent
+    public boolean isActive() {
+        return this == OPEN || this == IN_PROGRESS;
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.complaintsystem.analytics;
+
+import java.util.Arrays;
+
+// Count-Min sketch over int keys: depth rows of width counters, an estimate is the minimum over the rows.
+// Never underestimates; overestimates by at most e/width * total with probability 1 - e^-depth.
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[][] counts;
+    private final long[] seeds;
+    private long total;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counts = new long[depth][width];
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            // Fixed seeds so sketches of the same shape can be merged
+            seeds[row] = 0x9E3779B97F4A7C15L * (row + 1);
+        }
+    }
+
+    public void add(int key, long count) {
+        for (int row = 0; row < depth; row++) {
+            counts[row][index(key, row)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(int key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row][index(key, row)]);
+        }
+        return min;
+    }
+
+    // Adds the counters of another sketch with the same width and depth
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Only sketches of the same shape can be merged");
+        }
+        for (int row = 0; row < depth; row++) {
+            for (int column = 0; column < width; column++) {
+                counts[row][column] += other.counts[row][column];
+            }
+        }
+        total += other.total;
+    }
+
+    public void clear() {
+        for (long[] row : counts) {
+            Arrays.fill(row, 0);
+        }
+        total = 0;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    private int index(int key, int row) {
+        // SplitMix64 finalizer
+        long hash = key + seeds[row];
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+        return (int) Math.floorMod(hash, (long) width);
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.complaintsystem.analytics;
+
+// Estimated volume of one key in the current window and in the window before it
+public record HeavyHitter(int key, long count, long previousCount) {
+}
@@ -0,0 +1,9 @@
+package com.example.complaintsystem.analytics;
+
+// Event streams tracked for heavy hitters
+public enum HeavyHitterStream {
+    TICKETS_BY_USER,
+    TICKETS_BY_DEPARTMENT,
+    COMMENTS_BY_USER,
+    COMMENTS_BY_DEPARTMENT
+}
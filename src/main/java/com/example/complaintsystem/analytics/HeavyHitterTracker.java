@@ -0,0 +1,110 @@
+package com.example.complaintsystem.analytics;
+
+import java.util.*;
+
+// Sliding window heavy hitters in constant memory.
+// Time is cut into buckets; every bucket has a Count-Min sketch and a bounded set of candidate keys (the keys with
+// the highest estimates seen in that bucket). The window is the last `windowBuckets` buckets, the ring keeps twice
+// that so the current window can be compared with the previous one to spot spikes.
+public class HeavyHitterTracker {
+
+    private static final class Bucket {
+        private final CountMinSketch sketch;
+        private final Map<Integer, Long> candidates = new HashMap<>();
+        private long slot = -1; // Absolute bucket number this bucket currently holds
+
+        private Bucket(int width, int depth) {
+            this.sketch = new CountMinSketch(width, depth);
+        }
+    }
+
+    private final long bucketMillis;
+    private final int windowBuckets;
+    private final int candidatesPerBucket;
+    private final Bucket[] ring;
+    private final int width;
+    private final int depth;
+
+    public HeavyHitterTracker(long bucketMillis, int windowBuckets, int width, int depth, int candidatesPerBucket) {
+        if (bucketMillis < 1 || windowBuckets < 1 || candidatesPerBucket < 1) {
+            throw new IllegalArgumentException("bucketMillis, windowBuckets and candidatesPerBucket must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.windowBuckets = windowBuckets;
+        this.candidatesPerBucket = candidatesPerBucket;
+        this.width = width;
+        this.depth = depth;
+        this.ring = new Bucket[windowBuckets * 2];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new Bucket(width, depth);
+        }
+    }
+
+    public synchronized void record(int key, long nowMs) {
+        Bucket bucket = bucketFor(nowMs / bucketMillis);
+        bucket.sketch.add(key, 1);
+        bucket.candidates.put(key, bucket.sketch.estimate(key));
+        if (bucket.candidates.size() > candidatesPerBucket) {
+            // Drop the weakest candidate, a key that keeps coming back re-enters with its full sketch estimate
+            Integer weakest = Collections.min(bucket.candidates.entrySet(), Map.Entry.comparingByValue()).getKey();
+            bucket.candidates.remove(weakest);
+        }
+    }
+
+    // Top `limit` keys of the current window, highest estimate first
+    public synchronized List<HeavyHitter> top(int limit, long nowMs) {
+        long currentSlot = nowMs / bucketMillis;
+        CountMinSketch current = new CountMinSketch(width, depth);
+        CountMinSketch previous = new CountMinSketch(width, depth);
+        Set<Integer> candidates = new HashSet<>();
+        for (Bucket bucket : ring) {
+            long age = currentSlot - bucket.slot;
+            if (bucket.slot < 0 || age < 0 || age >= 2L * windowBuckets) {
+                continue;
+            }
+            if (age < windowBuckets) {
+                current.merge(bucket.sketch);
+                candidates.addAll(bucket.candidates.keySet());
+            } else {
+                previous.merge(bucket.sketch);
+            }
+        }
+
+        // Min-heap of size `limit` over the merged estimates
+        PriorityQueue<HeavyHitter> heap = new PriorityQueue<>(Comparator.comparingLong(HeavyHitter::count));
+        for (Integer key : candidates) {
+            HeavyHitter hitter = new HeavyHitter(key, current.estimate(key), previous.estimate(key));
+            heap.offer(hitter);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<HeavyHitter> top = new ArrayList<>(heap);
+        top.sort(Comparator.comparingLong(HeavyHitter::count).reversed());
+        return top;
+    }
+
+    // Total events in the current window
+    public synchronized long total(long nowMs) {
+        long currentSlot = nowMs / bucketMillis;
+        long total = 0;
+        for (Bucket bucket : ring) {
+            long age = currentSlot - bucket.slot;
+            if (bucket.slot >= 0 && age >= 0 && age < windowBuckets) {
+                total += bucket.sketch.total();
+            }
+        }
+        return total;
+    }
+
+    private Bucket bucketFor(long slot) {
+        Bucket bucket = ring[(int) Math.floorMod(slot, (long) ring.length)];
+        if (bucket.slot != slot) {
+            // The bucket still holds data from a full ring ago
+            bucket.sketch.clear();
+            bucket.candidates.clear();
+            bucket.slot = slot;
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.complaintsystem.analytics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "heavy-hitters")
+public class HeavyHittersProperties {
+
+    private boolean enabled = true;
+
+    // Sliding window length and the number of buckets it is cut into (window / buckets = granularity)
+    private Duration window = Duration.ofHours(1);
+    private int buckets = 12;
+
+    // Count-Min sketch shape: error <= total * e / width with probability 1 - e^-depth
+    private int width = 2048;
+    private int depth = 4;
+
+    // Candidate keys kept per bucket, bounds the number of heavy hitters that can be reported
+    private int candidatesPerBucket = 64;
+
+    // A key is flagged as spiking when its count is at least min-count and growth-factor times the previous window
+    private long spikeMinCount = 10;
+    private double spikeGrowthFactor = 3.0;
+}
@@ -0,0 +1,84 @@
+package com.example.complaintsystem.analytics;
+
+import com.example.complaintsystem.dto.Analytics.HeavyHitterDTO;
+import com.example.complaintsystem.event.CommentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Top complainants / departments by ticket and comment volume over a sliding window, with spike flags.
+// Fed by ticket and comment creations; memory is fixed by the sketch shape, not by the number of users.
+@Service
+public class HeavyHittersService {
+
+    private static final Logger log = LoggerFactory.getLogger(HeavyHittersService.class);
+
+    private final HeavyHittersProperties properties;
+    private final Map<HeavyHitterStream, HeavyHitterTracker> trackers = new EnumMap<>(HeavyHitterStream.class);
+
+    @Autowired
+    public HeavyHittersService(HeavyHittersProperties properties) {
+        this.properties = properties;
+        long bucketMillis = Math.max(1, properties.getWindow().toMillis() / properties.getBuckets());
+        for (HeavyHitterStream stream : HeavyHitterStream.values()) {
+            trackers.put(stream, new HeavyHitterTracker(bucketMillis, properties.getBuckets(), properties.getWidth(),
+                    properties.getDepth(), properties.getCandidatesPerBucket()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!properties.isEnabled() || event.getChangeType() != TicketChangedEvent.ChangeType.CREATED) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        record(HeavyHitterStream.TICKETS_BY_USER, event.getUserId(), now);
+        record(HeavyHitterStream.TICKETS_BY_DEPARTMENT, event.getDepartmentId(), now);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        if (!properties.isEnabled() || event.getChangeType() != TicketChangedEvent.ChangeType.CREATED) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        record(HeavyHitterStream.COMMENTS_BY_USER, event.getUserId(), now);
+        record(HeavyHitterStream.COMMENTS_BY_DEPARTMENT, event.getDepartmentId(), now);
+    }
+
+    public List<HeavyHitterDTO> getHeavyHitters(HeavyHitterStream stream, int limit) {
+        if (limit < 1 || limit > properties.getCandidatesPerBucket()) {
+            throw new BadRequestException("limit must be between 1 and " + properties.getCandidatesPerBucket());
+        }
+        log.info("Fetching top {} of {} over the last {}", limit, stream, properties.getWindow());
+        return trackers.get(stream).top(limit, System.currentTimeMillis()).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private void record(HeavyHitterStream stream, Integer key, long now) {
+        if (key != null) {
+            trackers.get(stream).record(key, now);
+        }
+    }
+
+    // Helper: Convert to DTO and apply the spike rule
+    private HeavyHitterDTO convertToDTO(HeavyHitter hitter) {
+        HeavyHitterDTO dto = new HeavyHitterDTO();
+        dto.setId(hitter.key());
+        dto.setCount(hitter.count());
+        dto.setPreviousCount(hitter.previousCount());
+        dto.setSpiking(hitter.count() >= properties.getSpikeMinCount()
+                && hitter.count() >= properties.getSpikeGrowthFactor() * Math.max(1, hitter.previousCount()));
+        return dto;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.complaintsystem.analytics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "resolution-analytics")
+public class ResolutionAnalyticsProperties {
+
+    private boolean enabled = true;
+
+    // t-digest compression: higher is more accurate (and bigger). 100 keeps p99 within a fraction of a percent.
+    private double compression = 100;
+
+    private SketchWindow window = SketchWindow.DAY;
+
+    // Sketches with a window older than this are deleted
+    private Duration retention = Duration.ofDays(400);
+
+    // Identifies this instance's rows; defaults to the host name. Must be unique per running instance.
+    private String nodeId;
+}
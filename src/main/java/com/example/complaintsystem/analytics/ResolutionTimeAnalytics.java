@@ -0,0 +1,378 @@
+package com.example.complaintsystem.analytics;
+
+import com.example.complaintsystem.Enum.Statuses;
+import com.example.complaintsystem.dto.Analytics.ResolutionTimeStatsDTO;
+import com.example.complaintsystem.entity.ResolutionTimeSketch;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.exception.BadRequestException;
+import com.example.complaintsystem.repository.ResolutionTimeSketchRepository;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.projection.TicketAssigneeView;
+import com.tdunning.math.stats.MergingDigest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Time-to-CLOSED quantiles per department and agent from mergeable t-digest sketches.
+// Every close adds one sample to the sketches of its window (in memory), dirty sketches are written to
+// resolution_time_sketches periodically, and a query merges a handful of small sketches instead of scanning tickets.
+// Samples are recorded on a worker thread: the assignee lookup and the sketch loads stay off the request thread.
+@Service
+public class ResolutionTimeAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(ResolutionTimeAnalytics.class);
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+    private static final int MAX_PENDING_SAMPLES = 10_000;
+
+    private record SketchKey(SketchDimension dimension, int dimensionId, LocalDate windowStart) {
+    }
+
+    // This node's sketch for one key; guarded by its own monitor
+    private static final class NodeSketch {
+        private final MergingDigest digest;
+        private Long rowId;
+        private boolean dirty;
+        private boolean evicted;
+
+        private NodeSketch(MergingDigest digest, Long rowId) {
+            this.digest = digest;
+            this.rowId = rowId;
+        }
+    }
+
+    private final ResolutionAnalyticsProperties properties;
+    private final ResolutionTimeSketchRepository sketchRepository;
+    private final TicketAssignmentRepository assignmentRepository;
+    private final String nodeId;
+    private final ConcurrentHashMap<SketchKey, NodeSketch> sketches = new ConcurrentHashMap<>();
+    private final Executor recorder;
+
+    @Autowired
+    public ResolutionTimeAnalytics(ResolutionAnalyticsProperties properties,
+                                   ResolutionTimeSketchRepository sketchRepository,
+                                   TicketAssignmentRepository assignmentRepository) {
+        this(properties, sketchRepository, assignmentRepository, newRecorder());
+    }
+
+    ResolutionTimeAnalytics(ResolutionAnalyticsProperties properties,
+                            ResolutionTimeSketchRepository sketchRepository,
+                            TicketAssignmentRepository assignmentRepository,
+                            Executor recorder) {
+        this.properties = properties;
+        this.sketchRepository = sketchRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.recorder = recorder;
+        this.nodeId = StringUtils.hasText(properties.getNodeId()) ? properties.getNodeId() : hostName();
+    }
+
+    // One thread and a bounded queue; when closes outrun it the extra samples are dropped, the quantiles stay
+    // representative and the request threads never wait
+    private static ExecutorService newRecorder() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_PENDING_SAMPLES),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "resolution-analytics");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        // Remote events have no previous status and are recorded by the node that closed the ticket
+        if (!properties.isEnabled() || event.isRemote() || event.getChangeType() != TicketChangedEvent.ChangeType.UPDATED
+                || !isClosed(event.getStatusName()) || isClosed(event.getPreviousStatusName())
+                || event.getCreatedAt() == null) {
+            return;
+        }
+        LocalDateTime closedAt = event.getUpdatedAt() != null ? event.getUpdatedAt() : LocalDateTime.now();
+        double seconds = Math.max(0, Duration.between(event.getCreatedAt(), closedAt).toSeconds());
+        LocalDate windowStart = properties.getWindow().start(closedAt.toLocalDate());
+        try {
+            recorder.execute(() -> recordClose(event, seconds, windowStart));
+        } catch (RejectedExecutionException e) {
+            log.warn("Resolution time recorder is saturated, dropped the sample of ticket ID: {}", event.getTicketId());
+        }
+    }
+
+    private void recordClose(TicketChangedEvent event, double seconds, LocalDate windowStart) {
+        try {
+            recordSamples(event, seconds, windowStart);
+        } catch (Exception e) {
+            log.error("Failed to record the resolution time of ticket ID: {}", event.getTicketId(), e);
+        }
+    }
+
+    private void recordSamples(TicketChangedEvent event, double seconds, LocalDate windowStart) {
+        record(new SketchKey(SketchDimension.ALL, 0, windowStart), seconds);
+        if (event.getDepartmentId() != null) {
+            record(new SketchKey(SketchDimension.DEPARTMENT, event.getDepartmentId(), windowStart), seconds);
+        }
+        for (TicketAssigneeView assignee : assignmentRepository.findAssigneesByTicketIdIn(List.of(event.getTicketId()))) {
+            record(new SketchKey(SketchDimension.AGENT, assignee.getUserId(), windowStart), seconds);
+        }
+        log.debug("Recorded resolution time of {} s for ticket ID: {}", seconds, event.getTicketId());
+    }
+
+    /**
+     * Quantiles of the resolution time for tickets closed in windows starting between {@code from} and {@code to}.
+     * With a {@code dimensionId} one entry is returned, without it one entry per department / agent seen in the range.
+     */
+    public List<ResolutionTimeStatsDTO> getResolutionTimes(SketchDimension dimension, Integer dimensionId,
+                                                           LocalDate from, LocalDate to, List<Double> quantiles) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (quantiles.stream().anyMatch(q -> q == null || q < 0 || q > 1)) {
+            throw new BadRequestException("quantiles must be between 0 and 1");
+        }
+        Integer id = dimension == SketchDimension.ALL ? Integer.valueOf(0) : dimensionId;
+        log.info("Computing resolution time quantiles {} for {} {} from {} to {}", quantiles, dimension, id, from, to);
+        LocalDate fromWindow = properties.getWindow().start(from);
+
+        List<ResolutionTimeSketch> rows = id != null
+                ? sketchRepository.findByDimensionAndDimensionIdAndWindowStartBetween(dimension.name(), id, fromWindow, to)
+                : sketchRepository.findByDimensionAndWindowStartBetween(dimension.name(), fromWindow, to);
+
+        // This node's in-memory sketches are at least as new as its rows, use them instead
+        Map<Integer, List<MergingDigest>> byDimensionId = new TreeMap<>();
+        Set<SketchKey> fromMemory = new HashSet<>();
+        sketches.forEach((key, sketch) -> {
+            if (key.dimension() == dimension && (id == null || key.dimensionId() == id)
+                    && !key.windowStart().isBefore(fromWindow) && !key.windowStart().isAfter(to)) {
+                byDimensionId.computeIfAbsent(key.dimensionId(), k -> new ArrayList<>()).add(copy(sketch));
+                fromMemory.add(key);
+            }
+        });
+        for (ResolutionTimeSketch row : rows) {
+            SketchKey key = new SketchKey(dimension, row.getDimensionId(), row.getWindowStart());
+            if (nodeId.equals(row.getNodeId()) && fromMemory.contains(key)) {
+                continue;
+            }
+            byDimensionId.computeIfAbsent(row.getDimensionId(), k -> new ArrayList<>())
+                    .add(MergingDigest.fromBytes(ByteBuffer.wrap(row.getDigest())));
+        }
+        if (id != null) {
+            byDimensionId.putIfAbsent(id, Collections.emptyList());
+        }
+
+        return byDimensionId.entrySet().stream()
+                .map(entry -> toStats(dimension, entry.getKey(), from, to, entry.getValue(), quantiles))
+                .collect(Collectors.toList());
+    }
+
+    // Writes the sketches that changed since the last flush, then forgets windows that can't change any more
+    @Scheduled(fixedDelayString = "${resolution-analytics.flush-interval:PT30S}")
+    public void flush() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int written = 0;
+        LocalDate currentWindow = properties.getWindow().start(LocalDate.now());
+        for (Map.Entry<SketchKey, NodeSketch> entry : sketches.entrySet()) {
+            SketchKey key = entry.getKey();
+            NodeSketch sketch = entry.getValue();
+            try {
+                if (write(key, sketch)) {
+                    written++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to persist resolution time sketch {}", key, e);
+                continue;
+            }
+            // Late closes for a previous window are rare, the sketch is reloaded from its row if one comes
+            if (key.windowStart().isBefore(currentWindow)) {
+                synchronized (sketch) {
+                    if (!sketch.dirty) {
+                        sketch.evicted = true;
+                        sketches.remove(key, sketch);
+                    }
+                }
+            }
+        }
+        if (written > 0) {
+            log.info("Persisted {} resolution time sketches", written);
+        }
+    }
+
+    @Scheduled(cron = "${resolution-analytics.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // LocalDate has no time fields, so the Duration can't be subtracted from it directly
+        LocalDate before = LocalDate.now().minusDays(properties.getRetention().toDays());
+        int deleted = sketchRepository.deleteOlderThan(before);
+        if (deleted > 0) {
+            log.info("Purged {} expired resolution time sketches", deleted);
+        }
+    }
+
+    // Samples still queued are recorded first, so the last flush has them
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (recorder instanceof ExecutorService executor) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Resolution time samples still queued at shutdown were dropped");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void record(SketchKey key, double seconds) {
+        while (true) {
+            NodeSketch sketch = sketches.get(key);
+            if (sketch == null) {
+                // Continues from this node's persisted sketch (e.g. after a restart) instead of overwriting it.
+                // Loaded outside the map: a query inside computeIfAbsent would hold up every other update of its bin
+                NodeSketch loaded = loadOrCreate(key);
+                sketch = sketches.putIfAbsent(key, loaded);
+                if (sketch == null) {
+                    sketch = loaded;
+                }
+            }
+            synchronized (sketch) {
+                if (!sketch.evicted) { // Otherwise flush() just dropped it, load it again
+                    sketch.digest.add(seconds);
+                    sketch.dirty = true;
+                    return;
+                }
+            }
+        }
+    }
+
+    private NodeSketch loadOrCreate(SketchKey key) {
+        return sketchRepository.findByNodeIdAndDimensionAndDimensionIdAndWindowStart(nodeId, key.dimension().name(),
+                        key.dimensionId(), key.windowStart())
+                .map(row -> new NodeSketch(MergingDigest.fromBytes(ByteBuffer.wrap(row.getDigest())), row.getId()))
+                .orElseGet(() -> new NodeSketch(new MergingDigest(properties.getCompression()), null));
+    }
+
+    private boolean write(SketchKey key, NodeSketch sketch) {
+        byte[] bytes;
+        long count;
+        Long rowId;
+        synchronized (sketch) {
+            if (!sketch.dirty) {
+                return false;
+            }
+            sketch.digest.compress();
+            ByteBuffer buffer = ByteBuffer.allocate(sketch.digest.smallByteSize());
+            sketch.digest.asSmallBytes(buffer);
+            bytes = buffer.array();
+            count = sketch.digest.size();
+            rowId = sketch.rowId;
+            sketch.dirty = false;
+        }
+        try {
+            ResolutionTimeSketch row = rowId != null
+                    ? sketchRepository.findById(rowId).orElseGet(() -> newRow(key))
+                    : newRow(key);
+            row.setSampleCount(count);
+            row.setDigest(bytes);
+            row.setUpdatedAt(Instant.now());
+            ResolutionTimeSketch saved = sketchRepository.save(row);
+            synchronized (sketch) {
+                sketch.rowId = saved.getId();
+            }
+            return true;
+        } catch (RuntimeException e) {
+            synchronized (sketch) {
+                sketch.dirty = true; // Retried on the next flush
+            }
+            throw e;
+        }
+    }
+
+    private ResolutionTimeSketch newRow(SketchKey key) {
+        ResolutionTimeSketch row = new ResolutionTimeSketch();
+        row.setNodeId(nodeId);
+        row.setDimension(key.dimension().name());
+        row.setDimensionId(key.dimensionId());
+        row.setWindowStart(key.windowStart());
+        return row;
+    }
+
+    private ResolutionTimeStatsDTO toStats(SketchDimension dimension, Integer dimensionId, LocalDate from, LocalDate to,
+                                           List<MergingDigest> digests, List<Double> quantiles) {
+        MergingDigest merged = new MergingDigest(properties.getCompression());
+        if (!digests.isEmpty()) {
+            merged.add(digests);
+        }
+        ResolutionTimeStatsDTO dto = new ResolutionTimeStatsDTO();
+        dto.setDimension(dimension.name());
+        dto.setDimensionId(dimensionId);
+        dto.setFrom(from);
+        dto.setTo(to);
+        dto.setCount(merged.size());
+        Map<String, Double> quantileHours = new LinkedHashMap<>();
+        if (merged.size() > 0) {
+            dto.setMinHours(toHours(merged.getMin()));
+            dto.setMaxHours(toHours(merged.getMax()));
+            for (Double q : quantiles) {
+                quantileHours.put(label(q), toHours(merged.quantile(q)));
+            }
+        }
+        dto.setQuantileHours(quantileHours);
+        return dto;
+    }
+
+    private static MergingDigest copy(NodeSketch sketch) {
+        synchronized (sketch) {
+            ByteBuffer buffer = ByteBuffer.allocate(sketch.digest.byteSize());
+            sketch.digest.asBytes(buffer);
+            buffer.flip();
+            return MergingDigest.fromBytes(buffer);
+        }
+    }
+
+    // 0.5 -> p50, 0.999 -> p99.9
+    private static String label(double quantile) {
+        String percent = BigDecimal.valueOf(quantile * 100).stripTrailingZeros().toPlainString();
+        return "p" + percent;
+    }
+
+    private static double toHours(double seconds) {
+        return Math.round(seconds / SECONDS_PER_HOUR * 100.0) / 100.0;
+    }
+
+    private static boolean isClosed(String statusName) {
+        return Statuses.fromStatusName(statusName).map(status -> status == Statuses.CLOSED).orElse(false);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "local";
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.complaintsystem.analytics;
+
+// What a resolution time sketch is grouped by
+public enum SketchDimension {
+    ALL,        // Every closed ticket, dimension id 0
+    DEPARTMENT, // Department of the ticket when it was closed
+    AGENT       // Each user assigned to the ticket when it was closed
+}
@@ -0,0 +1,16 @@
+package com.example.complaintsystem.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Length of the time buckets sketches are kept in
+public enum SketchWindow {
+    DAY,
+    WEEK;
+
+    // First day of the window containing the given date
+    public LocalDate start(LocalDate date) {
+        return this == DAY ? date : date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.complaintsystem.bitmap;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Secondary indexes over ticket ids: one compressed (Roaring) bitmap per status, department, assignee and requester.
+// Filters are evaluated with bitmap AND / OR / ANDNOT, so combining dimensions costs a few word operations per
+// 65536 ticket ids instead of a join. Writers take the write lock, readers evaluate under the read lock.
+public class TicketBitmapIndex {
+
+    public enum Dimension {
+        STATUS,
+        DEPARTMENT,
+        ASSIGNEE,
+        REQUESTER
+    }
+
+    // Current keys of an indexed ticket, needed to take it out of the right bitmaps when it changes
+    private record Entry(Integer statusId, Integer departmentId, Integer requesterId, int[] assigneeIds) {
+    }
+
+    public record Page(long total, List<Integer> ticketIds, Integer nextAfterId) {
+    }
+
+    private final Map<Dimension, Map<Integer, RoaringBitmap>> bitmaps = new EnumMap<>(Dimension.class);
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TicketBitmapIndex() {
+        for (Dimension dimension : Dimension.values()) {
+            bitmaps.put(dimension, new HashMap<>());
+        }
+    }
+
+    // Adds or moves a ticket, its assignees are kept
+    public void put(int ticketId, Integer statusId, Integer departmentId, Integer requesterId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(ticketId);
+            int[] assignees = previous != null ? previous.assigneeIds() : new int[0];
+            replace(ticketId, previous, new Entry(statusId, departmentId, requesterId, assignees));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds or replaces a ticket including its assignees (used when loading from the database)
+    public void put(int ticketId, Integer statusId, Integer departmentId, Integer requesterId, int[] assigneeIds) {
+        int[] assignees = Arrays.stream(assigneeIds).distinct().sorted().toArray();
+        lock.writeLock().lock();
+        try {
+            replace(ticketId, entries.get(ticketId), new Entry(statusId, departmentId, requesterId, assignees));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int ticketId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(ticketId);
+            if (previous != null) {
+                unindex(ticketId, previous);
+                all.remove(ticketId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ignored for tickets that aren't indexed (yet), the ticket load brings its assignees along
+    public void addAssignee(int ticketId, int userId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(ticketId);
+            if (previous == null || Arrays.binarySearch(previous.assigneeIds(), userId) >= 0) {
+                return;
+            }
+            int[] assignees = Arrays.copyOf(previous.assigneeIds(), previous.assigneeIds().length + 1);
+            assignees[assignees.length - 1] = userId;
+            Arrays.sort(assignees);
+            entries.put(ticketId, new Entry(previous.statusId(), previous.departmentId(), previous.requesterId(), assignees));
+            add(Dimension.ASSIGNEE, userId, ticketId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAssignee(int ticketId, int userId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(ticketId);
+            if (previous == null || Arrays.binarySearch(previous.assigneeIds(), userId) < 0) {
+                return;
+            }
+            int[] assignees = Arrays.stream(previous.assigneeIds()).filter(id -> id != userId).toArray();
+            entries.put(ticketId, new Entry(previous.statusId(), previous.departmentId(), previous.requesterId(), assignees));
+            removeFrom(Dimension.ASSIGNEE, userId, ticketId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Matching ticket ids as a new bitmap the caller owns
+    public RoaringBitmap evaluate(TicketFilter filter) {
+        lock.readLock().lock();
+        try {
+            return evaluateLocked(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(TicketFilter filter) {
+        return evaluate(filter).getLongCardinality();
+    }
+
+    // Matching ticket ids in ascending order, after the given id (keyset paging, stable while tickets change)
+    public Page page(TicketFilter filter, int afterId, int limit) {
+        RoaringBitmap result = evaluate(filter);
+        List<Integer> ids = new ArrayList<>(limit);
+        PeekableIntIterator iterator = result.getIntIterator();
+        iterator.advanceIfNeeded(afterId + 1);
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add(iterator.next());
+        }
+        Integer nextAfterId = iterator.hasNext() && !ids.isEmpty() ? ids.get(ids.size() - 1) : null;
+        return new Page(result.getLongCardinality(), ids, nextAfterId);
+    }
+
+    // Number of matching tickets per value of the given dimension (values without matches are left out)
+    public Map<Integer, Long> facet(TicketFilter filter, Dimension dimension) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = evaluateLocked(filter);
+            Map<Integer, Long> counts = new TreeMap<>();
+            for (Map.Entry<Integer, RoaringBitmap> value : bitmaps.get(dimension).entrySet()) {
+                long count = RoaringBitmap.andCardinality(result, value.getValue());
+                if (count > 0) {
+                    counts.put(value.getKey(), count);
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Run-length encodes the containers where that is smaller, worth doing once after a bulk load
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            all.runOptimize();
+            bitmaps.values().forEach(values -> values.values().forEach(RoaringBitmap::runOptimize));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private RoaringBitmap evaluateLocked(TicketFilter filter) {
+        RoaringBitmap result = null;
+        for (Map.Entry<Dimension, Set<Integer>> included : filter.getIncluded().entrySet()) {
+            RoaringBitmap anyOf = union(included.getKey(), included.getValue());
+            result = result == null ? anyOf : RoaringBitmap.and(result, anyOf);
+            if (result.isEmpty()) {
+                return result;
+            }
+        }
+        if (result == null) {
+            result = all.clone();
+        }
+        for (Map.Entry<Dimension, Set<Integer>> excluded : filter.getExcluded().entrySet()) {
+            result.andNot(union(excluded.getKey(), excluded.getValue()));
+        }
+        return result;
+    }
+
+    private RoaringBitmap union(Dimension dimension, Set<Integer> values) {
+        Map<Integer, RoaringBitmap> byValue = bitmaps.get(dimension);
+        List<RoaringBitmap> matches = new ArrayList<>(values.size());
+        for (Integer value : values) {
+            RoaringBitmap bitmap = byValue.get(value);
+            if (bitmap != null) {
+                matches.add(bitmap);
+            }
+        }
+        // RoaringBitmap.or never returns one of its inputs, so the result is safe to modify
+        return matches.isEmpty() ? new RoaringBitmap() : RoaringBitmap.or(matches.iterator());
+    }
+
+    private void replace(int ticketId, Entry previous, Entry next) {
+        if (previous != null) {
+            unindex(ticketId, previous);
+        }
+        entries.put(ticketId, next);
+        all.add(ticketId);
+        add(Dimension.STATUS, next.statusId(), ticketId);
+        add(Dimension.DEPARTMENT, next.departmentId(), ticketId);
+        add(Dimension.REQUESTER, next.requesterId(), ticketId);
+        for (int assignee : next.assigneeIds()) {
+            add(Dimension.ASSIGNEE, assignee, ticketId);
+        }
+    }
+
+    private void unindex(int ticketId, Entry entry) {
+        removeFrom(Dimension.STATUS, entry.statusId(), ticketId);
+        removeFrom(Dimension.DEPARTMENT, entry.departmentId(), ticketId);
+        removeFrom(Dimension.REQUESTER, entry.requesterId(), ticketId);
+        for (int assignee : entry.assigneeIds()) {
+            removeFrom(Dimension.ASSIGNEE, assignee, ticketId);
+        }
+    }
+
+    private void add(Dimension dimension, Integer value, int ticketId) {
+        if (value != null) {
+            bitmaps.get(dimension).computeIfAbsent(value, v -> new RoaringBitmap()).add(ticketId);
+        }
+    }
+
+    private void removeFrom(Dimension dimension, Integer value, int ticketId) {
+        if (value == null) {
+            return;
+        }
+        Map<Integer, RoaringBitmap> byValue = bitmaps.get(dimension);
+        RoaringBitmap bitmap = byValue.get(value);
+        if (bitmap != null) {
+            bitmap.remove(ticketId);
+            if (bitmap.isEmpty()) {
+                byValue.remove(value);
+            }
+        }
+    }
+}
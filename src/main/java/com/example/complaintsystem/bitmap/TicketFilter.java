@@ -0,0 +1,48 @@
+package com.example.complaintsystem.bitmap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Filter over the bitmap index: values of one dimension are OR-ed, dimensions are AND-ed,
+// and excluded values are removed from the result (NOT). An empty filter matches every ticket.
+public class TicketFilter {
+
+    private final Map<TicketBitmapIndex.Dimension, Set<Integer>> included = new EnumMap<>(TicketBitmapIndex.Dimension.class);
+    private final Map<TicketBitmapIndex.Dimension, Set<Integer>> excluded = new EnumMap<>(TicketBitmapIndex.Dimension.class);
+
+    public TicketFilter include(TicketBitmapIndex.Dimension dimension, Collection<Integer> values) {
+        add(included, dimension, values);
+        return this;
+    }
+
+    public TicketFilter exclude(TicketBitmapIndex.Dimension dimension, Collection<Integer> values) {
+        add(excluded, dimension, values);
+        return this;
+    }
+
+    public Map<TicketBitmapIndex.Dimension, Set<Integer>> getIncluded() {
+        return Collections.unmodifiableMap(included);
+    }
+
+    public Map<TicketBitmapIndex.Dimension, Set<Integer>> getExcluded() {
+        return Collections.unmodifiableMap(excluded);
+    }
+
+    private static void add(Map<TicketBitmapIndex.Dimension, Set<Integer>> target, TicketBitmapIndex.Dimension dimension,
+                            Collection<Integer> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        Set<Integer> set = target.computeIfAbsent(dimension, d -> new TreeSet<>());
+        values.stream().filter(value -> value != null).forEach(set::add);
+    }
+
+    @Override
+    public String toString() {
+        return "include=" + included + ", exclude=" + excluded;
+    }
+}
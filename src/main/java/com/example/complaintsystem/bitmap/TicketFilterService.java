@@ -0,0 +1,196 @@
+package com.example.complaintsystem.bitmap;
+
+import com.example.complaintsystem.cache.RetryingLoad;
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.example.complaintsystem.dto.Tickets.TicketFacetsDTO;
+import com.example.complaintsystem.dto.Tickets.TicketFilterResultDTO;
+import com.example.complaintsystem.event.TicketAssignmentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.exception.BadRequestException;
+import com.example.complaintsystem.exception.ServiceUnavailableException;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.repository.projection.TicketAssigneeView;
+import com.example.complaintsystem.repository.projection.TicketIndexView;
+import com.example.complaintsystem.service.TicketService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Answers combined status / department / assignee / requester filters from the in-memory bitmap index.
+// Only the final page of ids goes to the database, to be hydrated into tickets.
+@Service
+public class TicketFilterService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketFilterService.class);
+
+    private final TicketIndexProperties properties;
+    private final TicketRepository ticketRepository;
+    private final TicketAssignmentRepository assignmentRepository;
+    private final TicketService ticketService;
+    private final TicketBitmapIndex index = new TicketBitmapIndex();
+
+    private volatile boolean ready;
+    // Tickets changed while the initial load runs; reloaded at the end so a stale batch can't win
+    private volatile Set<Integer> changedDuringLoad;
+
+    @Autowired
+    public TicketFilterService(TicketIndexProperties properties,
+                               TicketRepository ticketRepository,
+                               TicketAssignmentRepository assignmentRepository,
+                               TicketService ticketService) {
+        this.properties = properties;
+        this.ticketRepository = ticketRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.ticketService = ticketService;
+    }
+
+    public TicketFilterResultDTO filterTickets(TicketFilter filter, int afterId, int size) {
+        if (size < 1 || size > properties.getMaxPageSize()) {
+            throw new BadRequestException("size must be between 1 and " + properties.getMaxPageSize());
+        }
+        checkReady();
+        TicketBitmapIndex.Page page = index.page(filter, afterId, size);
+        log.info("Ticket filter {} matched {} tickets, hydrating {}", filter, page.total(), page.ticketIds().size());
+
+        TicketFilterResultDTO result = new TicketFilterResultDTO();
+        result.setTotal(page.total());
+        result.setNextAfterId(page.nextAfterId());
+        result.setTickets(page.ticketIds().isEmpty() ? new ArrayList<>() : ticketService.getTicketsByIds(page.ticketIds()).stream()
+                .filter(BatchItemDTO::isFound) // Deleted between the index lookup and the load
+                .map(BatchItemDTO::getData)
+                .collect(Collectors.toList()));
+        return result;
+    }
+
+    public TicketFacetsDTO facets(TicketFilter filter) {
+        checkReady();
+        TicketFacetsDTO facets = new TicketFacetsDTO();
+        facets.setTotal(index.count(filter));
+        facets.setByStatus(index.facet(filter, TicketBitmapIndex.Dimension.STATUS));
+        facets.setByDepartment(index.facet(filter, TicketBitmapIndex.Dimension.DEPARTMENT));
+        facets.setByAssignee(index.facet(filter, TicketBitmapIndex.Dimension.ASSIGNEE));
+        return facets;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!properties.isEnabled() || event.getTicketId() == null) {
+            return;
+        }
+        markChanged(event.getTicketId());
+        if (event.getChangeType() == TicketChangedEvent.ChangeType.DELETED) {
+            index.remove(event.getTicketId());
+        } else {
+            index.put(event.getTicketId(), event.getStatusId(), event.getDepartmentId(), event.getUserId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentChanged(TicketAssignmentChangedEvent event) {
+        if (!properties.isEnabled() || event.getTicketId() == null || event.getUserId() == null) {
+            return;
+        }
+        markChanged(event.getTicketId());
+        if (event.getChangeType() == TicketChangedEvent.ChangeType.DELETED) {
+            index.removeAssignee(event.getTicketId(), event.getUserId());
+        } else {
+            index.addAssignee(event.getTicketId(), event.getUserId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        changedDuringLoad = ConcurrentHashMap.newKeySet();
+        Thread load = new Thread(this::loadAllTickets, "ticket-index-load");
+        load.setDaemon(true);
+        load.start();
+    }
+
+    // Retried until it succeeds; changes keep being tracked across attempts and the set is dropped when loading ends
+    private void loadAllTickets() {
+        try {
+            RetryingLoad.run("ticket filter index", this::loadAllTicketsOnce);
+        } finally {
+            changedDuringLoad = null;
+        }
+    }
+
+    // Keyset paginated: one query for the ticket keys and one for their assignees per batch. Entries are replaced
+    // by ticket id, so an attempt after a failed one can simply start over.
+    private void loadAllTicketsOnce() {
+        long started = System.currentTimeMillis();
+        int loaded = 0;
+        Integer afterId = 0;
+        while (true) {
+            List<TicketIndexView> batch = ticketRepository.findIndexKeysAfter(afterId,
+                    PageRequest.of(0, properties.getRebuildBatchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            indexBatch(batch);
+            loaded += batch.size();
+            afterId = batch.get(batch.size() - 1).getTicketId();
+        }
+
+        List<Integer> ids = new ArrayList<>(changedDuringLoad);
+        for (int from = 0; from < ids.size(); from += properties.getRebuildBatchSize()) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + properties.getRebuildBatchSize()));
+            List<TicketIndexView> current = ticketRepository.findIndexKeysByIdIn(chunk);
+            Set<Integer> stillThere = current.stream().map(TicketIndexView::getTicketId).collect(Collectors.toSet());
+            chunk.stream().filter(id -> !stillThere.contains(id)).forEach(index::remove);
+            indexBatch(current);
+        }
+        index.optimize();
+        ready = true;
+        log.info("Loaded ticket filter index with {} tickets in {} ms", loaded, System.currentTimeMillis() - started);
+    }
+
+    private void indexBatch(List<TicketIndexView> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Collection<Integer> ticketIds = batch.stream().map(TicketIndexView::getTicketId).collect(Collectors.toList());
+        Map<Integer, int[]> assignees = assignmentRepository.findAssigneesByTicketIdIn(ticketIds).stream()
+                .collect(Collectors.groupingBy(TicketAssigneeView::getTicketId,
+                        Collectors.collectingAndThen(Collectors.toList(),
+                                views -> views.stream().mapToInt(TicketAssigneeView::getUserId).toArray())));
+        for (TicketIndexView ticket : batch) {
+            index.put(ticket.getTicketId(), ticket.getStatusId(), ticket.getDepartmentId(), ticket.getUserId(),
+                    assignees.getOrDefault(ticket.getTicketId(), new int[0]));
+        }
+    }
+
+    private void markChanged(Integer ticketId) {
+        Set<Integer> changed = changedDuringLoad;
+        if (changed != null) {
+            changed.add(ticketId);
+        }
+    }
+
+    private void checkReady() {
+        if (!properties.isEnabled()) {
+            throw new ServiceUnavailableException("Ticket filter index is disabled");
+        }
+        if (!ready) {
+            throw new ServiceUnavailableException("Ticket filter index is still loading, please retry shortly");
+        }
+    }
+}
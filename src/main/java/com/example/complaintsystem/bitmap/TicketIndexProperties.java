@@ -0,0 +1,20 @@
+package com.example.complaintsystem.bitmap;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ticket-index")
+public class TicketIndexProperties {
+
+    private boolean enabled = true;
+
+    // Tickets read per query when the index is loaded on startup. Also the IN-list size of the assignee
+    // lookup, so keep it below SQL Server's 2100 parameter limit.
+    private int rebuildBatchSize = 1000;
+
+    // Largest page of tickets hydrated from the database per filter request
+    private int maxPageSize = 100;
+}
@@ -0,0 +1,113 @@
+package com.example.complaintsystem.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Bloom filter that grows: when a stage reaches its capacity a bigger stage with a tighter false positive rate is
+// added, so the overall false positive rate stays below the target no matter how many keys are added.
+// No false negatives; keys can't be removed (stale keys only cost a fall-through to the database).
+public class ScalableBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    // Each new stage gets this fraction of the previous stage's false positive rate
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int GROWTH_FACTOR = 2;
+
+    private static final class Stage {
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+        private long size;
+
+        private Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            this.bits = new long[(int) Math.max(1, (m + 63) / 64)];
+            this.bitCount = (long) bits.length * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            size++;
+        }
+    }
+
+    private final List<Stage> stages = new ArrayList<>();
+    private final double falsePositiveRate;
+    private long size;
+
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("initialCapacity must be positive and falsePositiveRate in (0, 1)");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // Sum of the stage rates P0 * r^i converges to P0 / (1 - r) = falsePositiveRate
+        stages.add(new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public synchronized boolean mightContain(String key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1; // Odd, so the probe sequence doesn't collapse
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void put(String key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return; // Already (probably) in, don't spend capacity on it
+            }
+        }
+        Stage current = stages.get(stages.size() - 1);
+        if (current.size >= current.capacity) {
+            double rate = falsePositiveRate * (1 - TIGHTENING_RATIO) * Math.pow(TIGHTENING_RATIO, stages.size());
+            current = new Stage(current.capacity * GROWTH_FACTOR, rate);
+            stages.add(current);
+        }
+        current.put(h1, h2);
+        size++;
+    }
+
+    // Keys added (duplicates and probable duplicates not counted)
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized int stageCount() {
+        return stages.size();
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer
+    private static long hash(String key, long seed) {
+        long hash = 0xCBF29CE484222325L ^ seed;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
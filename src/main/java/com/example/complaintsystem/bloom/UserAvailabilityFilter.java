@@ -0,0 +1,156 @@
+package com.example.complaintsystem.bloom;
+
+import com.example.complaintsystem.coherence.CacheRegion;
+import com.example.complaintsystem.event.CacheInvalidatedEvent;
+import com.example.complaintsystem.repository.UserRepository;
+import com.example.complaintsystem.repository.projection.UserKeyView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+// Bloom filters of every existing username and email. "Definitely not taken" is answered from memory, only
+// probable hits go to the database. Until the first load has finished everything is reported as a probable hit.
+// Deleted or renamed users stay in the filter until the next rebuild, which only costs a database check.
+// Users created or renamed on other nodes arrive through the cache_invalidations log (USER_KEYS rows).
+@Component
+public class UserAvailabilityFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityFilter.class);
+
+    private final UserAvailabilityProperties properties;
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryTransaction;
+
+    private volatile KeyFilter usernames;
+    private volatile KeyFilter emails;
+    private volatile boolean ready;
+
+    @Autowired
+    public UserAvailabilityFilter(UserAvailabilityProperties properties, UserRepository userRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.userRepository = userRepository;
+        // Not read-only on purpose: a replica may not have the other node's new user yet
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.usernames = new KeyFilter(newFilter(), null);
+        this.emails = new KeyFilter(newFilter(), null);
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !ready || username == null || usernames.mightContain(normalize(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || email == null || emails.mightContain(normalize(email));
+    }
+
+    // Call for every new or changed username / email (null values are skipped)
+    public void add(String username, String email) {
+        if (username != null) {
+            usernames.put(normalize(username));
+        }
+        if (email != null) {
+            emails.put(normalize(email));
+        }
+    }
+
+    // A user created or renamed on another node; a missed one would be reported as available
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (!properties.isEnabled() || !event.isRemote() || event.getRegion() != CacheRegion.USER_KEYS) {
+            return;
+        }
+        try {
+            Integer userId = Integer.valueOf(event.getKey());
+            primaryTransaction.execute(status -> userRepository.findUserKeysById(userId))
+                    .ifPresent(user -> add(user.getUsername(), user.getEmail()));
+        } catch (Exception e) {
+            // The unique constraints still catch the duplicate, the next rebuild picks the user up
+            log.warn("Failed to add user {} from another node to the availability filters: {}", event.getKey(), e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread load = new Thread(this::rebuild, "user-availability-load");
+        load.setDaemon(true);
+        load.start();
+    }
+
+    // Rebuilt from scratch now and then to drop deleted / renamed users
+    @Scheduled(cron = "${user-availability.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            ScalableBloomFilter newUsernames = newFilter();
+            ScalableBloomFilter newEmails = newFilter();
+            // Users created during the rebuild go to the live filters; swapping them in first would lose them
+            usernames = new KeyFilter(usernames.live(), newUsernames);
+            emails = new KeyFilter(emails.live(), newEmails);
+
+            int loaded = 0;
+            Integer afterId = 0;
+            while (true) {
+                List<UserKeyView> batch = userRepository.findUserKeysAfter(afterId, PageRequest.of(0, properties.getLoadBatchSize()));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (UserKeyView user : batch) {
+                    if (user.getUsername() != null) {
+                        newUsernames.put(normalize(user.getUsername()));
+                    }
+                    if (user.getEmail() != null) {
+                        newEmails.put(normalize(user.getEmail()));
+                    }
+                }
+                loaded += batch.size();
+                afterId = batch.get(batch.size() - 1).getUserId();
+            }
+            usernames = new KeyFilter(newUsernames, null);
+            emails = new KeyFilter(newEmails, null);
+            ready = true;
+            log.info("Loaded username / email availability filters with {} users", loaded);
+        } catch (Exception e) {
+            log.error("Failed to load the username / email availability filters", e);
+        }
+    }
+
+    private ScalableBloomFilter newFilter() {
+        return new ScalableBloomFilter(properties.getInitialCapacity(), properties.getFalsePositiveRate());
+    }
+
+    // The Users columns use a case-insensitive collation, so "Alice" and "alice" collide there too
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Reads from the live filter; while a rebuild is running (next != null) writes go to both
+    private record KeyFilter(ScalableBloomFilter live, ScalableBloomFilter next) {
+
+        boolean mightContain(String key) {
+            return live.mightContain(key);
+        }
+
+        void put(String key) {
+            live.put(key);
+            if (next != null) {
+                next.put(key);
+            }
+        }
+    }
+}
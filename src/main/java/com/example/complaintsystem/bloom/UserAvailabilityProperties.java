@@ -0,0 +1,22 @@
+package com.example.complaintsystem.bloom;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-availability")
+public class UserAvailabilityProperties {
+
+    private boolean enabled = true;
+
+    // Expected users in the first filter stage, it grows by itself beyond that
+    private long initialCapacity = 100_000;
+
+    // Share of free names / emails that still go to the database
+    private double falsePositiveRate = 0.01;
+
+    // Users read per query while the filters are (re)built
+    private int loadBatchSize = 1000;
+}
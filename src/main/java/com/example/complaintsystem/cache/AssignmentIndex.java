@@ -0,0 +1,207 @@
+package com.example.complaintsystem.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Bidirectional ticket <-> user assignment index made of primitive arrays only.
+// Every assignment is one slot of the parallel arrays below and sits on two singly linked lists (one per ticket,
+// one per user); the maps hold the list heads, so there is no object per assignment, ticket or user.
+public class AssignmentIndex {
+
+    // End of a linked list, same value as a missing map entry so list heads can be used as they are
+    private static final int NONE = IntIntHashMap.MISSING;
+
+    @FunctionalInterface
+    public interface AssignmentVisitor {
+        void visit(int assignmentId, int ticketId, int userId);
+    }
+
+    private int[] assignmentIds;
+    private int[] ticketIds;
+    private int[] userIds;
+    private int[] nextOfTicket;
+    private int[] nextOfUser;
+    private int used;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private final IntIntHashMap slotByAssignment;
+    private final IntIntHashMap ticketHead;
+    private final IntIntHashMap userHead;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public AssignmentIndex(int expectedAssignments) {
+        int capacity = Math.max(16, expectedAssignments);
+        assignmentIds = new int[capacity];
+        ticketIds = new int[capacity];
+        userIds = new int[capacity];
+        nextOfTicket = new int[capacity];
+        nextOfUser = new int[capacity];
+        slotByAssignment = new IntIntHashMap(capacity);
+        ticketHead = new IntIntHashMap(capacity);
+        userHead = new IntIntHashMap(Math.max(16, capacity / 16));
+    }
+
+    // Adding a known assignment id again is a no-op
+    public void add(int assignmentId, int ticketId, int userId) {
+        lock.writeLock().lock();
+        try {
+            if (slotByAssignment.get(assignmentId) != IntIntHashMap.MISSING) {
+                return;
+            }
+            int slot = allocateSlot();
+            assignmentIds[slot] = assignmentId;
+            ticketIds[slot] = ticketId;
+            userIds[slot] = userId;
+            // put() returns the previous head (or MISSING == NONE), the new assignment goes in front of it
+            nextOfTicket[slot] = ticketHead.put(ticketId, slot);
+            nextOfUser[slot] = userHead.put(userId, slot);
+            slotByAssignment.put(assignmentId, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int assignmentId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotByAssignment.get(assignmentId);
+            if (slot != IntIntHashMap.MISSING) {
+                removeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drops every assignment of a ticket (the ticket was deleted, or is about to be reloaded)
+    public void removeTicket(int ticketId) {
+        lock.writeLock().lock();
+        try {
+            int slot = ticketHead.get(ticketId);
+            while (slot != IntIntHashMap.MISSING) {
+                removeSlot(slot);
+                slot = ticketHead.get(ticketId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isAssigned(int ticketId, int userId) {
+        lock.readLock().lock();
+        try {
+            for (int slot = ticketHead.get(ticketId); slot != NONE; slot = nextOfTicket[slot]) {
+                if (userIds[slot] == userId) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Visits the assignments of a ticket, returns how many there were
+    public int forTicket(int ticketId, AssignmentVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int slot = ticketHead.get(ticketId); slot != NONE; slot = nextOfTicket[slot]) {
+                visitor.visit(assignmentIds[slot], ticketIds[slot], userIds[slot]);
+                count++;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Visits the assignments of a user, returns how many there were
+    public int forUser(int userId, AssignmentVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int slot = userHead.get(userId); slot != NONE; slot = nextOfUser[slot]) {
+                visitor.visit(assignmentIds[slot], ticketIds[slot], userIds[slot]);
+                count++;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every assignment as packed (assignmentId, ticketId, userId) triples
+    public int[] toTriples() {
+        lock.readLock().lock();
+        try {
+            int[] triples = new int[slotByAssignment.size() * 3];
+            int position = 0;
+            for (int slot = 0; slot < used; slot++) {
+                // Freed slots are no longer mapped to their old assignment id
+                if (slotByAssignment.get(assignmentIds[slot]) == slot) {
+                    triples[position++] = assignmentIds[slot];
+                    triples[position++] = ticketIds[slot];
+                    triples[position++] = userIds[slot];
+                }
+            }
+            return triples;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByAssignment.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeSlot(int slot) {
+        unlink(slot, ticketIds[slot], ticketHead, nextOfTicket);
+        unlink(slot, userIds[slot], userHead, nextOfUser);
+        slotByAssignment.remove(assignmentIds[slot]);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    // Helper: take a slot out of one of the linked lists, dropping the head entry when the list becomes empty
+    private static void unlink(int slot, int key, IntIntHashMap heads, int[] next) {
+        int head = heads.get(key);
+        if (head == slot) {
+            if (next[slot] == NONE) {
+                heads.remove(key);
+            } else {
+                heads.put(key, next[slot]);
+            }
+            return;
+        }
+        for (int previous = head; previous != NONE; previous = next[previous]) {
+            if (next[previous] == slot) {
+                next[previous] = next[slot];
+                return;
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (used == assignmentIds.length) {
+            int capacity = used * 2;
+            assignmentIds = Arrays.copyOf(assignmentIds, capacity);
+            ticketIds = Arrays.copyOf(ticketIds, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            nextOfTicket = Arrays.copyOf(nextOfTicket, capacity);
+            nextOfUser = Arrays.copyOf(nextOfUser, capacity);
+        }
+        return used++;
+    }
+}
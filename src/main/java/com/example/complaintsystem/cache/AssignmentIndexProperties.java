@@ -0,0 +1,20 @@
+package com.example.complaintsystem.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "assignment-index")
+public class AssignmentIndexProperties {
+
+    private boolean enabled = true;
+
+    // Initial capacity, the arrays double when it is exceeded
+    private int expectedAssignments = 100_000;
+
+    // Assignments read per query when the index is loaded on startup; also the IN-list size when changed tickets
+    // are re-read, so keep it below SQL Server's 2100 parameter limit
+    private int loadBatchSize = 1000;
+}
@@ -0,0 +1,134 @@
+package com.example.complaintsystem.cache;
+
+import java.util.Arrays;
+
+// Open addressing int -> int map (linear probing, backward shift deletion), no boxing and no per-entry objects.
+// Key 0 is reserved as the empty marker; not thread-safe.
+final class IntIntHashMap {
+
+    static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int get(int key) {
+        checkKey(key);
+        for (int index = slot(key); ; index = (index + 1) & mask) {
+            int current = keys[index];
+            if (current == key) {
+                return values[index];
+            }
+            if (current == 0) {
+                return MISSING;
+            }
+        }
+    }
+
+    // Returns the previous value or MISSING
+    int put(int key, int value) {
+        checkKey(key);
+        for (int index = slot(key); ; index = (index + 1) & mask) {
+            int current = keys[index];
+            if (current == key) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            if (current == 0) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size > resizeAt) {
+                    rehash(keys.length << 1);
+                }
+                return MISSING;
+            }
+        }
+    }
+
+    // Returns the removed value or MISSING
+    int remove(int key) {
+        checkKey(key);
+        for (int index = slot(key); ; index = (index + 1) & mask) {
+            int current = keys[index];
+            if (current == 0) {
+                return MISSING;
+            }
+            if (current == key) {
+                int previous = values[index];
+                shiftBack(index);
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+    }
+
+    // Moves later entries of the probe run into the freed slot, so lookups never need tombstones
+    private void shiftBack(int freed) {
+        int index = freed;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == 0) {
+                break;
+            }
+            int home = slot(key);
+            // Entry can move if its home slot is not between the freed slot and its current slot (cyclically)
+            boolean movable = freed <= index ? (home <= freed || home > index) : (home <= freed && home > index);
+            if (movable) {
+                keys[freed] = key;
+                values[freed] = values[index];
+                freed = index;
+            }
+        }
+        keys[freed] = 0;
+    }
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static void checkKey(int key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.complaintsystem.cache;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Fixed-layout ticket headers in direct (off-heap) memory. Records live in chunks of direct ByteBuffers that are
+// allocated on demand; a primitive map turns a ticket id into a record slot and a Roaring bitmap keeps the ids in
+// order for paging. The GC only sees a few large buffers, whatever the number of tickets.
+public class OffHeapTicketHeaderStore {
+
+    // Record layout (bytes)
+    private static final int TICKET_ID = 0;      // int
+    private static final int STATUS_ID = 4;      // int
+    private static final int DEPARTMENT_ID = 8;  // int, 0 = none
+    private static final int REQUESTER_ID = 12;  // int, 0 = none
+    private static final int CREATED_AT = 16;    // long, epoch millis
+    private static final int UPDATED_AT = 24;    // long, epoch millis
+    private static final int TITLE_LENGTH = 32;  // short
+    private static final int TITLE = 34;         // UTF-8, truncated to MAX_TITLE_BYTES
+    public static final int MAX_TITLE_BYTES = 126;
+    public static final int RECORD_SIZE = TITLE + MAX_TITLE_BYTES; // 160
+
+    private static final int RECORDS_PER_CHUNK = 1 << 16;
+
+    // Receives one header as primitives; titleUtf8 is a scratch buffer reused for every record
+    @FunctionalInterface
+    public interface HeaderVisitor {
+        void visit(int ticketId, int statusId, int departmentId, int requesterId, long createdAtMs, long updatedAtMs,
+                   byte[] titleUtf8, int titleLength);
+    }
+
+    private final int maxEntries;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final IntIntHashMap slots;
+    private final RoaringBitmap ids = new RoaringBitmap();
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int nextSlot;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public OffHeapTicketHeaderStore(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.slots = new IntIntHashMap(Math.min(maxEntries, 1 << 20));
+    }
+
+    // False when the store is full and the ticket wasn't cached already
+    public boolean put(int ticketId, int statusId, int departmentId, int requesterId, long createdAtMs, long updatedAtMs,
+                       String title) {
+        byte[] titleBytes = truncatedUtf8(title);
+        lock.writeLock().lock();
+        try {
+            int slot = slots.get(ticketId);
+            if (slot == IntIntHashMap.MISSING) {
+                slot = allocateSlot();
+                if (slot == IntIntHashMap.MISSING) {
+                    return false;
+                }
+                slots.put(ticketId, slot);
+                ids.add(ticketId);
+            }
+            ByteBuffer chunk = chunks.get(slot / RECORDS_PER_CHUNK);
+            int offset = (slot % RECORDS_PER_CHUNK) * RECORD_SIZE;
+            chunk.putInt(offset + TICKET_ID, ticketId);
+            chunk.putInt(offset + STATUS_ID, statusId);
+            chunk.putInt(offset + DEPARTMENT_ID, departmentId);
+            chunk.putInt(offset + REQUESTER_ID, requesterId);
+            chunk.putLong(offset + CREATED_AT, createdAtMs);
+            chunk.putLong(offset + UPDATED_AT, updatedAtMs);
+            chunk.putShort(offset + TITLE_LENGTH, (short) titleBytes.length);
+            chunk.put(offset + TITLE, titleBytes);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int ticketId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slots.remove(ticketId);
+            if (slot != IntIntHashMap.MISSING) {
+                ids.remove(ticketId);
+                if (freeCount == freeSlots.length) {
+                    int[] grown = new int[freeSlots.length * 2];
+                    System.arraycopy(freeSlots, 0, grown, 0, freeCount);
+                    freeSlots = grown;
+                }
+                freeSlots[freeCount++] = slot;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Visits the cached headers among the given ids, in the given order; returns how many were found
+    public int read(int[] ticketIds, int count, HeaderVisitor visitor) {
+        byte[] title = new byte[MAX_TITLE_BYTES];
+        int found = 0;
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                int slot = slots.get(ticketIds[i]);
+                if (slot != IntIntHashMap.MISSING) {
+                    visit(slot, visitor, title);
+                    found++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    // Copies up to out.length cached ids greater than afterId, ascending; returns how many were copied
+    public int nextIds(int afterId, int[] out) {
+        lock.readLock().lock();
+        try {
+            PeekableIntIterator iterator = ids.getIntIterator();
+            iterator.advanceIfNeeded(afterId + 1);
+            int count = 0;
+            while (count < out.length && iterator.hasNext()) {
+                out[count++] = iterator.next();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Copies the raw records of the given ids (those still cached) into out, RECORD_SIZE bytes each; returns how many
+    public int copyRecords(int[] ticketIds, int count, byte[] out) {
+        lock.readLock().lock();
+        try {
+            int copied = 0;
+            for (int i = 0; i < count; i++) {
+                int slot = slots.get(ticketIds[i]);
+                if (slot != IntIntHashMap.MISSING) {
+                    chunks.get(slot / RECORDS_PER_CHUNK).get((slot % RECORDS_PER_CHUNK) * RECORD_SIZE, out,
+                            copied * RECORD_SIZE, RECORD_SIZE);
+                    copied++;
+                }
+            }
+            return copied;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Stores count raw records read from source (as written by copyRecords); false once the store is full
+    public boolean putRecords(ByteBuffer source, int count) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                int ticketId = source.getInt(source.position() + TICKET_ID);
+                int slot = slots.get(ticketId);
+                if (slot == IntIntHashMap.MISSING) {
+                    slot = allocateSlot();
+                    if (slot == IntIntHashMap.MISSING) {
+                        return false;
+                    }
+                    slots.put(ticketId, slot);
+                    ids.add(ticketId);
+                }
+                chunks.get(slot / RECORDS_PER_CHUNK).put((slot % RECORDS_PER_CHUNK) * RECORD_SIZE, source,
+                        source.position(), RECORD_SIZE);
+                source.position(source.position() + RECORD_SIZE);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Forgets every record, the allocated chunks are kept for reuse
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            ids.clear();
+            freeCount = 0;
+            nextSlot = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(int ticketId) {
+        lock.readLock().lock();
+        try {
+            return slots.get(ticketId) != IntIntHashMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) chunks.size() * RECORDS_PER_CHUNK * RECORD_SIZE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void visit(int slot, HeaderVisitor visitor, byte[] title) {
+        ByteBuffer chunk = chunks.get(slot / RECORDS_PER_CHUNK);
+        int offset = (slot % RECORDS_PER_CHUNK) * RECORD_SIZE;
+        int titleLength = chunk.getShort(offset + TITLE_LENGTH);
+        chunk.get(offset + TITLE, title, 0, titleLength);
+        visitor.visit(chunk.getInt(offset + TICKET_ID), chunk.getInt(offset + STATUS_ID),
+                chunk.getInt(offset + DEPARTMENT_ID), chunk.getInt(offset + REQUESTER_ID),
+                chunk.getLong(offset + CREATED_AT), chunk.getLong(offset + UPDATED_AT), title, titleLength);
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextSlot >= maxEntries) {
+            return IntIntHashMap.MISSING;
+        }
+        if (nextSlot / RECORDS_PER_CHUNK == chunks.size()) {
+            chunks.add(ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * RECORD_SIZE));
+        }
+        return nextSlot++;
+    }
+
+    // Cut on a character boundary so the stored bytes are always valid UTF-8
+    private static byte[] truncatedUtf8(String title) {
+        if (title == null) {
+            return new byte[0];
+        }
+        byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_TITLE_BYTES) {
+            return bytes;
+        }
+        int length = MAX_TITLE_BYTES;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--; // bytes[length] is a continuation byte, the character starting before it doesn't fit
+        }
+        byte[] truncated = new byte[length];
+        System.arraycopy(bytes, 0, truncated, 0, length);
+        return truncated;
+    }
+}
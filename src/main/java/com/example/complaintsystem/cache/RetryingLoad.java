@@ -0,0 +1,47 @@
+package com.example.complaintsystem.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Startup load of an in-memory structure that is retried until it succeeds. A database that is down or slow when
+ * the application starts delays the structure (its callers keep using the database meanwhile) instead of leaving
+ * it unready until the next restart. The wait between attempts doubles up to {@code maxDelay}.
+ */
+public final class RetryingLoad {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryingLoad.class);
+
+    public static final Duration INITIAL_DELAY = Duration.ofSeconds(1);
+    public static final Duration MAX_DELAY = Duration.ofMinutes(1);
+
+    private RetryingLoad() {
+    }
+
+    // Returns once an attempt succeeded, or early when the thread is interrupted
+    public static void run(String what, Runnable attempt) {
+        run(what, attempt, INITIAL_DELAY, MAX_DELAY);
+    }
+
+    public static void run(String what, Runnable attempt, Duration initialDelay, Duration maxDelay) {
+        long delayMs = Math.max(1, initialDelay.toMillis());
+        for (int failures = 1; ; failures++) {
+            try {
+                attempt.run();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to load the {} (attempt {}), retrying in {} ms", what, failures, delayMs, e);
+            }
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Gave up loading the {}, interrupted", what);
+                return;
+            }
+            delayMs = Math.min(delayMs * 2, Math.max(delayMs, maxDelay.toMillis()));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.complaintsystem.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing ("single flight"): concurrent calls for the same key share one execution of the loader.
+ * <p>
+ * A finished result is handed out for {@code stalenessWindowNanos} more, which also absorbs the requests that
+ * arrive right after the load finished. This is deliberately not a cache: failures are never kept and results
+ * disappear as soon as the window is over.
+ */
+public class SingleFlight<K, V> {
+
+    private static final int SWEEP_EVERY = 1024;
+
+    private final long stalenessWindowNanos;
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    public SingleFlight(long stalenessWindowNanos) {
+        this.stalenessWindowNanos = Math.max(0, stalenessWindowNanos);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        if (calls.incrementAndGet() % SWEEP_EVERY == 0) {
+            sweep();
+        }
+
+        Flight<V> mine = new Flight<>();
+        Flight<V> flight = flights.compute(key, (k, current) ->
+                current != null && current.isUsable(System.nanoTime(), stalenessWindowNanos) ? current : mine);
+        if (flight != mine) {
+            return join(flight.future);
+        }
+
+        try {
+            V value = loader.get();
+            mine.completedAtNanos = System.nanoTime();
+            mine.future.complete(value);
+            if (stalenessWindowNanos == 0) {
+                flights.remove(key, mine);
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, mine);
+            mine.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Drops the in-flight/fresh result for the key, the next call loads again (used after writes)
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        flights.values().removeIf(flight -> !flight.isUsable(now, stalenessWindowNanos));
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Waiters see the same exception as the caller that ran the load (e.g. ResourceNotFoundException)
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long completedAtNanos;
+
+        boolean isUsable(long nowNanos, long windowNanos) {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally() && nowNanos - completedAtNanos < windowNanos;
+        }
+    }
+}
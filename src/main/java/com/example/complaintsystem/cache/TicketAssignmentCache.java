@@ -0,0 +1,266 @@
+package com.example.complaintsystem.cache;
+
+import com.example.complaintsystem.dto.TicketAssignments.TicketAssignmentDTO;
+import com.example.complaintsystem.event.TicketAssignmentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.projection.AssignmentKeyView;
+import com.example.complaintsystem.snapshot.Snapshot;
+import com.example.complaintsystem.snapshot.SnapshotParticipant;
+import com.example.complaintsystem.snapshot.SnapshotStore;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps every ticket assignment in the primitive AssignmentIndex, fed by assignment / ticket events and loaded
+// batch by batch on startup (or restored from its snapshot file and caught up). Callers fall back to the database
+// until isReady() says the load has finished.
+@Service
+public class TicketAssignmentCache implements SnapshotParticipant {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketAssignmentCache.class);
+
+    private final AssignmentIndexProperties properties;
+    private final TicketAssignmentRepository assignmentRepository;
+    private final SnapshotStore snapshotStore;
+    private final AssignmentIndex index;
+
+    private volatile boolean ready;
+    // Tickets whose assignments changed while the initial load runs; re-read at the end so a stale batch can't win
+    private volatile Set<Integer> changedDuringLoad;
+
+    @Autowired
+    public TicketAssignmentCache(AssignmentIndexProperties properties,
+                                 TicketAssignmentRepository assignmentRepository,
+                                 SnapshotStore snapshotStore) {
+        this.properties = properties;
+        this.assignmentRepository = assignmentRepository;
+        this.snapshotStore = snapshotStore;
+        this.index = new AssignmentIndex(properties.getExpectedAssignments());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Assignments of a ticket ordered by assignment id
+    public List<TicketAssignmentDTO> getByTicket(int ticketId) {
+        List<TicketAssignmentDTO> dtos = new ArrayList<>();
+        index.forTicket(ticketId, (assignmentId, assignedTicketId, userId) -> dtos.add(toDTO(assignmentId, assignedTicketId, userId)));
+        dtos.sort(Comparator.comparing(TicketAssignmentDTO::getId));
+        return dtos;
+    }
+
+    // Assignments of a user ordered by assignment id
+    public List<TicketAssignmentDTO> getByUser(int userId) {
+        List<TicketAssignmentDTO> dtos = new ArrayList<>();
+        index.forUser(userId, (assignmentId, ticketId, assignedUserId) -> dtos.add(toDTO(assignmentId, ticketId, assignedUserId)));
+        dtos.sort(Comparator.comparing(TicketAssignmentDTO::getId));
+        return dtos;
+    }
+
+    public boolean isAssigned(int ticketId, int userId) {
+        return index.isAssigned(ticketId, userId);
+    }
+
+    public int indexedAssignments() {
+        return index.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentChanged(TicketAssignmentChangedEvent event) {
+        if (!properties.isEnabled() || event.getAssignmentId() == null || event.getTicketId() == null) {
+            return;
+        }
+        markChanged(event.getTicketId());
+        if (event.getChangeType() == TicketChangedEvent.ChangeType.DELETED) {
+            index.remove(event.getAssignmentId());
+        } else if (event.getUserId() != null) {
+            index.add(event.getAssignmentId(), event.getTicketId(), event.getUserId());
+        }
+    }
+
+    // Deleting a ticket cascades to its assignments
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!properties.isEnabled() || event.getTicketId() == null
+                || event.getChangeType() != TicketChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        markChanged(event.getTicketId());
+        index.removeTicket(event.getTicketId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        changedDuringLoad = ConcurrentHashMap.newKeySet();
+        Thread load = new Thread(this::loadAllAssignments, "assignment-index-load");
+        load.setDaemon(true);
+        load.start();
+    }
+
+    // Retried until it succeeds; changes keep being tracked across attempts and the set is dropped when loading ends
+    private void loadAllAssignments() {
+        try {
+            RetryingLoad.run("assignment index", this::loadAllAssignmentsOnce);
+        } finally {
+            changedDuringLoad = null;
+        }
+    }
+
+    // From the snapshot when there is a usable one, otherwise keyset paginated over the assignment ids. Adds are
+    // keyed by assignment id, so an attempt after a failed one can simply start over.
+    private void loadAllAssignmentsOnce() {
+        long started = System.currentTimeMillis();
+        Optional<Snapshot> snapshot = snapshotStore.read(snapshotName(), snapshotVersion());
+        int[] restored = snapshot.map(this::restore).orElse(null);
+        if (restored != null) {
+            int[] addedAndDropped = reconcile(restored);
+            log.info("Restored assignment index from snapshot ({} assignments), {} added and {} dropped since",
+                    restored.length / 3, addedAndDropped[0], addedAndDropped[1]);
+        } else {
+            loadAfter(0);
+        }
+
+        List<Integer> ticketIds = new ArrayList<>(changedDuringLoad);
+        for (int from = 0; from < ticketIds.size(); from += properties.getLoadBatchSize()) {
+            List<Integer> chunk = ticketIds.subList(from, Math.min(ticketIds.size(), from + properties.getLoadBatchSize()));
+            List<AssignmentKeyView> current = assignmentRepository.findAssignmentKeysByTicketIdIn(chunk);
+            chunk.forEach(index::removeTicket);
+            current.forEach(this::add);
+        }
+        ready = true;
+        log.info("Loaded assignment index with {} assignments in {} ms", index.size(), System.currentTimeMillis() - started);
+    }
+
+    private int loadAfter(Integer afterId) {
+        int loaded = 0;
+        while (true) {
+            List<AssignmentKeyView> batch = assignmentRepository.findAssignmentKeysAfter(afterId,
+                    PageRequest.of(0, properties.getLoadBatchSize()));
+            if (batch.isEmpty()) {
+                return loaded;
+            }
+            batch.forEach(this::add);
+            loaded += batch.size();
+            afterId = batch.get(batch.size() - 1).getAssignmentId();
+        }
+    }
+
+    // Snapshot payload: assignment count, then (assignmentId, ticketId, userId) triples
+    @Override
+    public String snapshotName() {
+        return "ticket-assignments";
+    }
+
+    @Override
+    public int snapshotVersion() {
+        return 1;
+    }
+
+    @Override
+    public boolean isSnapshotReady() {
+        return properties.isEnabled() && ready;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        int[] triples = index.toTriples();
+        out.writeInt(triples.length / 3);
+        for (int value : triples) {
+            out.writeInt(value);
+        }
+    }
+
+    // Helper: add the snapshot's assignments to the index and return them, null if the file can't be used
+    private int[] restore(Snapshot snapshot) {
+        try {
+            ByteBuffer payload = snapshot.payload();
+            int[] triples = new int[payload.getInt() * 3];
+            payload.asIntBuffer().get(triples);
+            for (int i = 0; i < triples.length; i += 3) {
+                index.add(triples[i], triples[i + 1], triples[i + 2]);
+            }
+            return triples;
+        } catch (RuntimeException e) {
+            log.warn("Unreadable assignment snapshot, loading from the database", e);
+            return null;
+        }
+    }
+
+    // Helper: one scan of the assignment ids in the database brings the restored index up to date: restored
+    // assignments that were deleted while this instance was down are dropped, and the ones the snapshot doesn't have
+    // are loaded whatever their id (identity values are not guaranteed to be handed out or committed in order).
+    // Returns {added, dropped}.
+    private int[] reconcile(int[] restored) {
+        RoaringBitmap existing = new RoaringBitmap();
+        Integer afterId = 0;
+        while (true) {
+            List<Integer> batch = assignmentRepository.findAssignmentIdsAfter(afterId, PageRequest.of(0, properties.getLoadBatchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            batch.forEach(existing::add);
+            afterId = batch.get(batch.size() - 1);
+        }
+        RoaringBitmap inSnapshot = new RoaringBitmap();
+        int dropped = 0;
+        for (int i = 0; i < restored.length; i += 3) {
+            inSnapshot.add(restored[i]);
+            if (!existing.contains(restored[i])) {
+                index.remove(restored[i]);
+                dropped++;
+            }
+        }
+        int[] missing = RoaringBitmap.andNot(existing, inSnapshot).toArray();
+        int added = 0;
+        for (int from = 0; from < missing.length; from += properties.getLoadBatchSize()) {
+            List<Integer> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(missing.length, from + properties.getLoadBatchSize()); i++) {
+                chunk.add(missing[i]);
+            }
+            List<AssignmentKeyView> loaded = assignmentRepository.findAssignmentKeysByIdIn(chunk);
+            loaded.forEach(this::add);
+            added += loaded.size();
+        }
+        return new int[]{added, dropped};
+    }
+
+    private void add(AssignmentKeyView assignment) {
+        index.add(assignment.getAssignmentId(), assignment.getTicketId(), assignment.getUserId());
+    }
+
+    private void markChanged(Integer ticketId) {
+        Set<Integer> changed = changedDuringLoad;
+        if (changed != null) {
+            changed.add(ticketId);
+        }
+    }
+
+    private static TicketAssignmentDTO toDTO(int assignmentId, int ticketId, int userId) {
+        TicketAssignmentDTO dto = new TicketAssignmentDTO();
+        dto.setId(assignmentId);
+        dto.setTicketId(ticketId);
+        dto.setUserId(userId);
+        return dto;
+    }
+}
@@ -0,0 +1,494 @@
+package com.example.complaintsystem.cache;
+
+import com.example.complaintsystem.Enum.Statuses;
+import com.example.complaintsystem.coherence.CacheRegion;
+import com.example.complaintsystem.event.CacheInvalidatedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.exception.BadRequestException;
+import com.example.complaintsystem.exception.ServiceUnavailableException;
+import com.example.complaintsystem.repository.DepartmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.repository.TicketStatusRepository;
+import com.example.complaintsystem.repository.projection.TicketHeaderView;
+import com.example.complaintsystem.snapshot.Snapshot;
+import com.example.complaintsystem.snapshot.SnapshotParticipant;
+import com.example.complaintsystem.snapshot.SnapshotStore;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Headers of every open ticket (OPEN / IN_PROGRESS) for list rendering, kept off-heap so millions of entries don't
+// weigh on the GC. Fed by ticket change events and loaded batch by batch on startup. Responses are written as JSON
+// straight from the off-heap records, no DTO per ticket. After a restart the records are copied back from the
+// snapshot file and only the tickets written since then are re-read.
+@Service
+public class TicketHeaderCache implements SnapshotParticipant {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketHeaderCache.class);
+
+    private final TicketHeaderCacheProperties properties;
+    private final TicketRepository ticketRepository;
+    private final TicketStatusRepository ticketStatusRepository;
+    private final DepartmentRepository departmentRepository;
+    private final SnapshotStore snapshotStore;
+    private final int maxIds;
+    private final OffHeapTicketHeaderStore store;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    // A handful of statuses and departments, names are joined in when a header is written
+    private final Map<Integer, String> statusNames = new ConcurrentHashMap<>();
+    private final Map<Integer, String> departmentNames = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private volatile boolean fullWarningLogged;
+    // Tickets changed while the initial load runs; re-read at the end so a stale batch can't win
+    private volatile Set<Integer> changedDuringLoad;
+
+    @Autowired
+    public TicketHeaderCache(TicketHeaderCacheProperties properties,
+                             TicketRepository ticketRepository,
+                             TicketStatusRepository ticketStatusRepository,
+                             DepartmentRepository departmentRepository,
+                             SnapshotStore snapshotStore,
+                             @Value("${batch.max-ids:500}") int maxIds) {
+        this.properties = properties;
+        this.ticketRepository = ticketRepository;
+        this.ticketStatusRepository = ticketStatusRepository;
+        this.departmentRepository = departmentRepository;
+        this.snapshotStore = snapshotStore;
+        this.maxIds = maxIds;
+        this.store = new OffHeapTicketHeaderStore(properties.getMaxEntries());
+    }
+
+    // One page of open ticket headers ordered by ticket id, as JSON
+    public byte[] listHeaders(int afterId, int size) {
+        if (size < 1 || size > properties.getMaxPageSize()) {
+            throw new BadRequestException("size must be between 1 and " + properties.getMaxPageSize());
+        }
+        checkReady();
+        int[] ids = new int[size];
+        int count = store.nextIds(Math.max(0, afterId), ids);
+        return writeJson(generator -> {
+            generator.writeArrayFieldStart("tickets");
+            store.read(ids, count, headerWriter(generator));
+            generator.writeEndArray();
+            if (count == size) {
+                generator.writeNumberField("nextAfterId", ids[count - 1]);
+            } else {
+                generator.writeNullField("nextAfterId");
+            }
+        });
+    }
+
+    // Headers of the requested tickets as JSON. Open tickets come from the cache, the rest (closed, or not loaded yet)
+    // from one database query; ids that don't exist are listed under "missing".
+    public byte[] getHeaders(List<Integer> requestedIds) {
+        if (!properties.isEnabled()) {
+            throw new ServiceUnavailableException("Ticket header cache is disabled");
+        }
+        Set<Integer> uniqueIds = new LinkedHashSet<>();
+        if (requestedIds != null) {
+            requestedIds.stream().filter(id -> id != null && id > 0).forEach(uniqueIds::add);
+        }
+        if (uniqueIds.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " ids can be requested at once");
+        }
+        int[] ids = uniqueIds.stream().mapToInt(Integer::intValue).toArray();
+        return writeJson(generator -> {
+            generator.writeArrayFieldStart("tickets");
+            int found = store.read(ids, ids.length, headerWriter(generator));
+            List<Integer> missing = new ArrayList<>();
+            if (found < ids.length) {
+                List<Integer> uncached = new ArrayList<>();
+                for (int id : ids) {
+                    if (!store.contains(id)) {
+                        uncached.add(id);
+                    }
+                }
+                Set<Integer> loaded = new LinkedHashSet<>();
+                for (TicketHeaderView header : ticketRepository.findHeadersByIdIn(uncached)) {
+                    writeHeader(generator, header);
+                    loaded.add(header.getTicketId());
+                }
+                uncached.stream().filter(id -> !loaded.contains(id)).forEach(missing::add);
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("missing");
+            for (Integer id : missing) {
+                generator.writeNumber(id);
+            }
+            generator.writeEndArray();
+        });
+    }
+
+    public int cachedTickets() {
+        return store.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!properties.isEnabled() || event.getTicketId() == null) {
+            return;
+        }
+        markChanged(event.getTicketId());
+        if (event.getChangeType() == TicketChangedEvent.ChangeType.DELETED) {
+            store.remove(event.getTicketId());
+            return;
+        }
+        apply(event.getTicketId(), event.getTitle(), event.getUserId(), event.getDepartmentId(), event.getDepartmentName(),
+                event.getStatusId(), event.getStatusName(), event.getCreatedAt(), event.getUpdatedAt());
+    }
+
+    // Renamed (or deleted) departments and statuses, on this node or another one
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (!properties.isEnabled()
+                || (event.getRegion() != CacheRegion.DEPARTMENT && event.getRegion() != CacheRegion.TICKET_STATUS)) {
+            return;
+        }
+        Integer id = Integer.valueOf(event.getKey());
+        if (event.getRegion() == CacheRegion.DEPARTMENT && departmentNames.containsKey(id)) {
+            departmentRepository.findById(id).ifPresentOrElse(
+                    department -> departmentNames.put(id, department.getDepartmentName()),
+                    () -> departmentNames.remove(id));
+        } else if (event.getRegion() == CacheRegion.TICKET_STATUS && statusNames.containsKey(id)) {
+            ticketStatusRepository.findById(id).ifPresentOrElse(
+                    status -> statusNames.put(id, status.getStatusName()),
+                    () -> statusNames.remove(id));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCache() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        changedDuringLoad = ConcurrentHashMap.newKeySet();
+        Thread load = new Thread(this::loadOpenTickets, "ticket-header-cache-load");
+        load.setDaemon(true);
+        load.start();
+    }
+
+    // Retried until it succeeds; changes keep being tracked across attempts and the set is dropped when loading ends
+    private void loadOpenTickets() {
+        try {
+            RetryingLoad.run("ticket header cache", this::loadOpenTicketsOnce);
+        } finally {
+            changedDuringLoad = null;
+        }
+    }
+
+    // From the snapshot when there is a usable one, otherwise keyset paginated over the open tickets. Puts are keyed
+    // by ticket id, so an attempt after a failed one can simply start over.
+    private void loadOpenTicketsOnce() {
+        long started = System.currentTimeMillis();
+        List<Integer> activeStatusIds = ticketStatusRepository.findActiveStatusIds();
+        if (activeStatusIds.isEmpty()) {
+            log.warn("No OPEN / IN_PROGRESS ticket statuses found, ticket header cache starts empty");
+        } else {
+            Optional<Snapshot> snapshot = snapshotStore.read(snapshotName(), snapshotVersion());
+            if (snapshot.isPresent() && restore(snapshot.get())) {
+                int caughtUp = catchUp(snapshotStore.catchUpFromMs(snapshot.get()));
+                int dropped = dropNoLongerOpen(activeStatusIds);
+                log.info("Restored ticket header cache from snapshot, re-read {} changed tickets, dropped {}", caughtUp, dropped);
+            } else {
+                loadFromDatabase(activeStatusIds);
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>(changedDuringLoad);
+        for (int from = 0; from < ids.size(); from += properties.getLoadBatchSize()) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + properties.getLoadBatchSize()));
+            List<TicketHeaderView> current = ticketRepository.findHeadersByIdIn(chunk);
+            chunk.forEach(store::remove); // Deleted ones stay removed, the others are re-added below
+            current.forEach(this::apply);
+        }
+        ready = true;
+        log.info("Loaded ticket header cache with {} open tickets ({} MB off-heap) in {} ms", store.size(),
+                store.offHeapBytes() / (1024 * 1024), System.currentTimeMillis() - started);
+    }
+
+    private void loadFromDatabase(List<Integer> activeStatusIds) {
+        Integer afterId = 0;
+        while (true) {
+            List<TicketHeaderView> batch = ticketRepository.findHeadersAfter(activeStatusIds, afterId,
+                    PageRequest.of(0, properties.getLoadBatchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            batch.forEach(this::apply);
+            afterId = batch.get(batch.size() - 1).getTicketId();
+        }
+    }
+
+    // Snapshot payload: status names, department names, then batches of raw records (count + records)
+    @Override
+    public String snapshotName() {
+        return "ticket-headers";
+    }
+
+    @Override
+    public int snapshotVersion() {
+        return 1;
+    }
+
+    @Override
+    public boolean isSnapshotReady() {
+        return properties.isEnabled() && ready;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        writeNames(out, statusNames);
+        writeNames(out, departmentNames);
+        int[] ids = new int[4096];
+        byte[] records = new byte[ids.length * OffHeapTicketHeaderStore.RECORD_SIZE];
+        int afterId = 0;
+        int count;
+        // Batch by batch so writers are only blocked for one batch copy at a time. The store can change in between,
+        // so every batch carries its own record count and a zero count ends the list.
+        while ((count = store.nextIds(afterId, ids)) > 0) {
+            int copied = store.copyRecords(ids, count, records);
+            out.writeInt(copied);
+            out.write(records, 0, copied * OffHeapTicketHeaderStore.RECORD_SIZE);
+            afterId = ids[count - 1];
+        }
+        out.writeInt(0);
+    }
+
+    // Helper: copy the snapshot records back off-heap, false (and an empty store) if the file can't be used
+    private boolean restore(Snapshot snapshot) {
+        try {
+            ByteBuffer payload = snapshot.payload();
+            readNames(payload, statusNames);
+            readNames(payload, departmentNames);
+            int batch;
+            while ((batch = payload.getInt()) > 0) {
+                if (!store.putRecords(payload, batch)) {
+                    log.warn("Ticket header snapshot holds more tickets than ticket-header-cache.max-entries, loading from the database");
+                    store.clear();
+                    return false;
+                }
+            }
+            log.info("Mapped ticket header snapshot from {} with {} tickets", Instant.ofEpochMilli(snapshot.createdAtMs()), store.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Unreadable ticket header snapshot, loading from the database", e);
+            store.clear();
+            return false;
+        }
+    }
+
+    // Helper: re-read every ticket written since the snapshot, closed ones are removed by apply()
+    private int catchUp(long sinceMs) {
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(sinceMs), ZoneId.systemDefault());
+        int reread = 0;
+        Integer afterId = 0;
+        while (true) {
+            List<TicketHeaderView> batch = ticketRepository.findHeadersUpdatedSince(since, afterId,
+                    PageRequest.of(0, properties.getLoadBatchSize()));
+            if (batch.isEmpty()) {
+                return reread;
+            }
+            batch.forEach(this::apply);
+            reread += batch.size();
+            afterId = batch.get(batch.size() - 1).getTicketId();
+        }
+    }
+
+    // Helper: deleted tickets leave no updated row behind, so compare the cached ids with the open ids in the database
+    private int dropNoLongerOpen(List<Integer> activeStatusIds) {
+        RoaringBitmap open = new RoaringBitmap();
+        Integer afterId = 0;
+        while (true) {
+            List<Integer> batch = ticketRepository.findTicketIdsInStatusesAfter(activeStatusIds, afterId,
+                    PageRequest.of(0, properties.getLoadBatchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            batch.forEach(open::add);
+            afterId = batch.get(batch.size() - 1);
+        }
+        Set<Integer> changed = changedDuringLoad; // Created or changed meanwhile, re-read at the end of the load
+        int dropped = 0;
+        int[] ids = new int[4096];
+        int count;
+        int after = 0;
+        while ((count = store.nextIds(after, ids)) > 0) {
+            for (int i = 0; i < count; i++) {
+                if (!open.contains(ids[i]) && !changed.contains(ids[i])) {
+                    store.remove(ids[i]);
+                    dropped++;
+                }
+            }
+            after = ids[count - 1];
+        }
+        return dropped;
+    }
+
+    private static void writeNames(DataOutputStream out, Map<Integer, String> names) throws IOException {
+        Map<Integer, String> copy = Map.copyOf(names);
+        out.writeInt(copy.size());
+        for (Map.Entry<Integer, String> entry : copy.entrySet()) {
+            byte[] name = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(entry.getKey());
+            out.writeInt(name.length);
+            out.write(name);
+        }
+    }
+
+    private static void readNames(ByteBuffer in, Map<Integer, String> names) {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            int id = in.getInt();
+            byte[] name = new byte[in.getInt()];
+            in.get(name);
+            names.putIfAbsent(id, new String(name, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void apply(TicketHeaderView header) {
+        apply(header.getTicketId(), header.getTitle(), header.getUserId(), header.getDepartmentId(),
+                header.getDepartmentName(), header.getStatusId(), header.getStatusName(), header.getCreatedAt(),
+                header.getUpdatedAt());
+    }
+
+    // Only open tickets are cached, anything else is dropped
+    private void apply(Integer ticketId, String title, Integer userId, Integer departmentId, String departmentName,
+                       Integer statusId, String statusName, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        boolean active = Statuses.fromStatusName(statusName).map(Statuses::isActive).orElse(false);
+        if (!active || statusId == null) {
+            store.remove(ticketId);
+            return;
+        }
+        statusNames.put(statusId, statusName);
+        if (departmentId != null && departmentName != null) {
+            departmentNames.put(departmentId, departmentName);
+        }
+        boolean stored = store.put(ticketId, statusId, orZero(departmentId), orZero(userId),
+                toEpochMillis(createdAt), toEpochMillis(updatedAt), title);
+        if (!stored && !fullWarningLogged) {
+            fullWarningLogged = true;
+            log.warn("Ticket header cache is full ({} entries), raise ticket-header-cache.max-entries", properties.getMaxEntries());
+        }
+    }
+
+    // Helper: visitor writing one off-heap record as a JSON object, the title bytes are copied as they are
+    private OffHeapTicketHeaderStore.HeaderVisitor headerWriter(JsonGenerator generator) {
+        return (ticketId, statusId, departmentId, requesterId, createdAtMs, updatedAtMs, titleUtf8, titleLength) -> {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("ticketId", ticketId);
+                generator.writeFieldName("title");
+                generator.writeUTF8String(titleUtf8, 0, titleLength);
+                writeIdAndName(generator, "status", statusId, statusNames.get(statusId));
+                writeIdAndName(generator, "department", departmentId, departmentId != 0 ? departmentNames.get(departmentId) : null);
+                writeOptionalId(generator, "requesterId", requesterId);
+                generator.writeNumberField("createdAt", createdAtMs);
+                generator.writeNumberField("updatedAt", updatedAtMs);
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // Same fields as the cached records, for tickets read from the database
+    private void writeHeader(JsonGenerator generator, TicketHeaderView header) throws IOException {
+        byte[] title = header.getTitle() != null ? header.getTitle().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        generator.writeStartObject();
+        generator.writeNumberField("ticketId", header.getTicketId());
+        generator.writeFieldName("title");
+        generator.writeUTF8String(title, 0, title.length);
+        writeIdAndName(generator, "status", orZero(header.getStatusId()), header.getStatusName());
+        writeIdAndName(generator, "department", orZero(header.getDepartmentId()), header.getDepartmentName());
+        writeOptionalId(generator, "requesterId", orZero(header.getUserId()));
+        generator.writeNumberField("createdAt", toEpochMillis(header.getCreatedAt()));
+        generator.writeNumberField("updatedAt", toEpochMillis(header.getUpdatedAt()));
+        generator.writeEndObject();
+    }
+
+    private static void writeIdAndName(JsonGenerator generator, String field, int id, String name) throws IOException {
+        writeOptionalId(generator, field + "Id", id);
+        generator.writeStringField(field + "Name", name);
+    }
+
+    private static void writeOptionalId(JsonGenerator generator, String field, int id) throws IOException {
+        if (id != 0) {
+            generator.writeNumberField(field, id);
+        } else {
+            generator.writeNullField(field);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    // Built in memory (pages are bounded), so the store's read lock is never held while a slow client reads
+    private byte[] writeJson(JsonBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            body.write(generator);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void markChanged(Integer ticketId) {
+        Set<Integer> changed = changedDuringLoad;
+        if (changed != null) {
+            changed.add(ticketId);
+        }
+    }
+
+    private void checkReady() {
+        if (!properties.isEnabled()) {
+            throw new ServiceUnavailableException("Ticket header cache is disabled");
+        }
+        if (!ready) {
+            throw new ServiceUnavailableException("Ticket header cache is still loading, please retry shortly");
+        }
+    }
+
+    private static int orZero(Integer id) {
+        return id != null ? id : 0;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0L;
+        }
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.complaintsystem.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ticket-header-cache")
+public class TicketHeaderCacheProperties {
+
+    private boolean enabled = true;
+
+    // Open tickets kept off-heap, 160 bytes each (1M = ~160 MB of direct memory, allocated 64K records at a time).
+    // Direct memory defaults to the max heap size, raise -XX:MaxDirectMemorySize for bigger caches.
+    private int maxEntries = 1_000_000;
+
+    // Tickets read per query when the cache is loaded on startup; also the IN-list size when changed tickets are re-read
+    private int loadBatchSize = 1000;
+
+    // Largest page returned by /api/v1/tickets/headers
+    private int maxPageSize = 1000;
+}
@@ -0,0 +1,35 @@
+package com.example.complaintsystem.cache;
+
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Collapses concurrent GET /api/v1/tickets/{id} for the same ticket into one database fetch.
+// Callers get the same DTO instance, so it must be treated as read-only.
+@Component
+public class TicketReadCoalescer {
+
+    private final boolean enabled;
+    private final SingleFlight<Integer, GetTicketDTO> ticketReads;
+
+    public TicketReadCoalescer(@Value("${ticket.read-coalescing.enabled:true}") boolean enabled,
+                               @Value("${ticket.read-coalescing.staleness-window:250ms}") Duration stalenessWindow) {
+        this.enabled = enabled;
+        this.ticketReads = new SingleFlight<>(stalenessWindow.toNanos());
+    }
+
+    public GetTicketDTO getTicket(Integer ticketId, Supplier<GetTicketDTO> loader) {
+        return enabled ? ticketReads.load(ticketId, loader) : loader.get();
+    }
+
+    // A write must not be answered with the result of a read that started before it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        ticketReads.forget(event.getTicketId());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.complaintsystem.coherence;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache-coherence")
+public class CacheCoherenceProperties {
+
+    // Off: nothing is logged or polled, local caches are still evicted on local changes
+    private boolean enabled = true;
+
+    // Unique per running instance, defaults to host name + process id
+    private String nodeId;
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private int pollBatchSize = 500;
+
+    // A skipped sequence number (a writer that hadn't committed yet) is re-checked until it is this old,
+    // after that it is taken for a rollback
+    private Duration gapTimeout = Duration.ofSeconds(10);
+
+    // Larger jumps in the sequence (e.g. SQL Server's identity cache after a restart) are not tracked as gaps
+    private int maxTrackedGaps = 1000;
+
+    // Log rows older than this are purged
+    private Duration retention = Duration.ofHours(1);
+
+    private Duration purgeInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,83 @@
+package com.example.complaintsystem.coherence;
+
+import com.example.complaintsystem.entity.CacheInvalidation;
+import com.example.complaintsystem.event.CacheInvalidatedEvent;
+import com.example.complaintsystem.repository.CacheInvalidationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+
+// Called by the services that change cached data. Appends the invalidation to the change log in the caller's
+// transaction (so it commits with the change) and evicts this node's caches once that transaction has committed.
+@Component
+public class CacheInvalidator {
+
+    private final CacheCoherenceProperties properties;
+    private final CacheInvalidationRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+
+    @Autowired
+    public CacheInvalidator(CacheCoherenceProperties properties,
+                            CacheInvalidationRepository repository,
+                            ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = StringUtils.hasText(properties.getNodeId()) ? properties.getNodeId() : defaultNodeId();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public void invalidate(CacheRegion region, Object key) {
+        if (key == null) {
+            return;
+        }
+        record(region, key);
+        CacheInvalidatedEvent event = new CacheInvalidatedEvent(region, key.toString(), false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventPublisher.publishEvent(event);
+                }
+            });
+        } else {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    // Log only: for changes whose local listeners already react to the domain event
+    public void record(CacheRegion region, Object key) {
+        if (!properties.isEnabled() || key == null) {
+            return;
+        }
+        CacheInvalidation row = new CacheInvalidation();
+        row.setRegion(region.name());
+        row.setEntryKey(key.toString());
+        row.setOriginNode(nodeId);
+        row.setCreatedAt(LocalDateTime.now());
+        repository.save(row);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        // The pid tells apart instances on the same machine
+        String id = host + ":" + ProcessHandle.current().pid();
+        return id.length() > 64 ? id.substring(id.length() - 64) : id;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.complaintsystem.coherence;
+
+// What a cache_invalidations row is about, and what its entry key holds.
+// Not covered: the heavy-hitter counts (HeavyHittersService) stay per node. They only feed an operational
+// "who is busy right now" view, each node counts the requests it served, and nothing is decided from them.
+public enum CacheRegion {
+    USER,          // username (the old one after a rename)
+    USER_KEYS,     // user id of a new / renamed user, other nodes add its username and email to the availability filters
+    ROLE,          // role id, affects the authorities of every user with the role
+    DEPARTMENT,    // department id
+    TICKET_STATUS, // status id
+    TICKET,        // ticket id, other nodes re-read it and publish a remote TicketChangedEvent
+    ASSIGNMENT     // assignmentId:ticketId:userId, other nodes publish a remote TicketAssignmentChangedEvent
+}
@@ -0,0 +1,228 @@
+package com.example.complaintsystem.coherence;
+
+import com.example.complaintsystem.entity.CacheInvalidation;
+import com.example.complaintsystem.entity.TicketAssignment;
+import com.example.complaintsystem.event.CacheInvalidatedEvent;
+import com.example.complaintsystem.event.TicketAssignmentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.CacheInvalidationRepository;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Tails the cache_invalidations log and evicts this node's caches for changes made on other nodes.
+// Reference data and users are evicted through CacheInvalidatedEvent; tickets and assignments are re-read
+// (one IN query per poll) and replayed as remote domain events, so every in-memory index catches up too.
+// With sharding every shard has its own log (rows are written in the writing transaction, on the ticket's shard),
+// each one is tailed with its own read position.
+@Component
+public class ChangeLogPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private final CacheCoherenceProperties properties;
+    private final CacheInvalidationRepository repository;
+    private final CacheInvalidator cacheInvalidator;
+    private final TicketRepository ticketRepository;
+    private final TicketAssignmentRepository assignmentRepository;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate primaryTransaction;
+
+    // One per shard, null until the start of every shard's log is known
+    private volatile List<SequenceTracker> trackers;
+
+    @Autowired
+    public ChangeLogPoller(CacheCoherenceProperties properties,
+                           CacheInvalidationRepository repository,
+                           CacheInvalidator cacheInvalidator,
+                           TicketRepository ticketRepository,
+                           TicketAssignmentRepository assignmentRepository,
+                           ShardRouter shardRouter,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.repository = repository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.ticketRepository = ticketRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        // Not read-only on purpose: a lagging replica would miss the other node's new rows, and a ticket or
+        // assignment missing from the re-read is replayed as deleted (evicted from every index until it changes again)
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Before the ApplicationReadyEvent loaders start, so nothing committed after their snapshot of the data is missed
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        if (properties.isEnabled() && trackers == null) {
+            initTrackers();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache-coherence.poll-interval:PT1S}")
+    public synchronized void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (trackers == null) {
+            initTrackers();
+            return;
+        }
+        for (int shard = 0; shard < trackers.size(); shard++) {
+            SequenceTracker tracker = trackers.get(shard);
+            try {
+                apply(shardRouter.readOnShard(shard, () -> read(tracker)));
+            } catch (Exception e) {
+                log.warn("Polling the cache invalidation log of shard {} failed, retrying on the next poll: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache-coherence.purge-interval:PT10M}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            try {
+                int purged = shardRouter.onShard(shard,
+                        () -> repository.deleteOlderThan(LocalDateTime.now().minus(properties.getRetention())));
+                if (purged > 0) {
+                    log.info("Purged {} cache invalidation rows on shard {}", purged, shard);
+                }
+            } catch (Exception e) {
+                log.warn("Purging the cache invalidation log of shard {} failed: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    private void initTrackers() {
+        try {
+            List<SequenceTracker> started = new ArrayList<>();
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                started.add(new SequenceTracker(shardRouter.readOnShard(shard, repository::findMaxSeq), properties.getMaxTrackedGaps()));
+            }
+            trackers = started;
+            log.info("Tailing the cache invalidation log from seq {} as node {}",
+                    started.stream().map(SequenceTracker::position).toList(), cacheInvalidator.nodeId());
+        } catch (Exception e) {
+            log.warn("Cache invalidation log not readable yet, retrying on the next poll: {}", e.getMessage());
+        }
+    }
+
+    // Helper: rows that were missing on earlier polls and have shown up since, then everything after the position
+    private List<CacheInvalidation> read(SequenceTracker tracker) {
+        long now = System.currentTimeMillis();
+        List<CacheInvalidation> rows = new ArrayList<>();
+        List<Long> gaps = tracker.gaps();
+        if (!gaps.isEmpty()) {
+            List<CacheInvalidation> late = repository.findBySeqIn(gaps);
+            late.forEach(row -> tracker.found(row.getSeq()));
+            rows.addAll(late);
+        }
+        tracker.expireGaps(now, properties.getGapTimeout().toMillis());
+
+        List<CacheInvalidation> batch;
+        do {
+            batch = repository.findAfter(tracker.position(), PageRequest.of(0, properties.getPollBatchSize()));
+            tracker.advance(batch.stream().map(CacheInvalidation::getSeq).toList(), now);
+            rows.addAll(batch);
+        } while (batch.size() == properties.getPollBatchSize());
+        return rows;
+    }
+
+    private void apply(List<CacheInvalidation> rows) {
+        // Several writes to the same entry since the last poll need one eviction
+        Set<CacheInvalidation> remote = new LinkedHashSet<>();
+        Set<String> seen = new HashSet<>();
+        for (CacheInvalidation row : rows) {
+            if (!cacheInvalidator.nodeId().equals(row.getOriginNode()) && seen.add(row.getRegion() + '/' + row.getEntryKey())) {
+                remote.add(row);
+            }
+        }
+        if (remote.isEmpty()) {
+            return;
+        }
+        List<Integer> ticketIds = new ArrayList<>();
+        Map<Integer, int[]> assignments = new LinkedHashMap<>();
+        for (CacheInvalidation row : remote) {
+            CacheRegion region;
+            try {
+                region = CacheRegion.valueOf(row.getRegion());
+            } catch (IllegalArgumentException e) {
+                continue; // Written by a newer version of the app
+            }
+            switch (region) {
+                case TICKET -> ticketIds.add(Integer.valueOf(row.getEntryKey()));
+                case ASSIGNMENT -> {
+                    String[] parts = row.getEntryKey().split(":");
+                    assignments.put(Integer.valueOf(parts[0]), new int[]{Integer.parseInt(parts[1]), Integer.parseInt(parts[2])});
+                }
+                default -> eventPublisher.publishEvent(new CacheInvalidatedEvent(region, row.getEntryKey(), true));
+            }
+        }
+        if (!ticketIds.isEmpty()) {
+            replayTickets(ticketIds);
+        }
+        if (!assignments.isEmpty()) {
+            replayAssignments(assignments);
+        }
+        log.debug("Applied {} cache invalidations from other nodes", remote.size());
+    }
+
+    // Helper: current state of each ticket as a remote UPDATED event, DELETED for the ones that are gone
+    private void replayTickets(List<Integer> ticketIds) {
+        List<TicketChangedEvent> events = primaryTransaction.execute(status -> shardRouter.byShardOf(ticketIds,
+                shardIds -> ticketRepository.findAllWithDetailsByIdIn(shardIds).stream()
+                        .map(ticket -> TicketChangedEvent.of(TicketChangedEvent.ChangeType.UPDATED, ticket))
+                        .toList()));
+        Set<Integer> found = new HashSet<>();
+        for (TicketChangedEvent event : events) {
+            found.add(event.getTicketId());
+            event.setRemote(true);
+            eventPublisher.publishEvent(event);
+        }
+        for (Integer ticketId : ticketIds) {
+            if (!found.contains(ticketId)) {
+                TicketChangedEvent deleted = new TicketChangedEvent();
+                deleted.setChangeType(TicketChangedEvent.ChangeType.DELETED);
+                deleted.setTicketId(ticketId);
+                deleted.setRemote(true);
+                eventPublisher.publishEvent(deleted);
+            }
+        }
+    }
+
+    // Helper: assignments that still exist are replayed as created, the others as deleted
+    private void replayAssignments(Map<Integer, int[]> assignments) {
+        List<Integer> existing = primaryTransaction.execute(status -> shardRouter.byShardOf(
+                new ArrayList<>(assignments.keySet()),
+                shardIds -> assignmentRepository.findAllById(shardIds).stream().map(TicketAssignment::getId).toList()));
+        Set<Integer> stillAssigned = new HashSet<>(existing);
+        assignments.forEach((assignmentId, ticketAndUser) -> eventPublisher.publishEvent(new TicketAssignmentChangedEvent(
+                stillAssigned.contains(assignmentId) ? TicketChangedEvent.ChangeType.CREATED : TicketChangedEvent.ChangeType.DELETED,
+                assignmentId, ticketAndUser[0], ticketAndUser[1], true)));
+    }
+}
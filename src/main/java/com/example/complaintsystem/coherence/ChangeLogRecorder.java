@@ -0,0 +1,36 @@
+package com.example.complaintsystem.coherence;
+
+import com.example.complaintsystem.event.TicketAssignmentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Logs ticket and assignment writes for the other nodes. Local caches already follow the domain events,
+// so only the log row is written, right before the commit of the writing transaction.
+@Component
+public class ChangeLogRecorder {
+
+    private final CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    public ChangeLogRecorder(CacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!event.isRemote()) {
+            cacheInvalidator.record(CacheRegion.TICKET, event.getTicketId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onAssignmentChanged(TicketAssignmentChangedEvent event) {
+        if (!event.isRemote() && event.getAssignmentId() != null) {
+            cacheInvalidator.record(CacheRegion.ASSIGNMENT,
+                    event.getAssignmentId() + ":" + event.getTicketId() + ":" + event.getUserId());
+        }
+    }
+}
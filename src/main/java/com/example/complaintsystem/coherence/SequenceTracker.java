@@ -0,0 +1,57 @@
+package com.example.complaintsystem.coherence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read position in the change log. Identity values are taken when a row is inserted, not when it commits, so a
+ * poll can see seq 12 while seq 11 is still uncommitted. Such skipped numbers are remembered as gaps and looked up
+ * again on the next polls until they show up or time out (rolled back inserts leave gaps forever).
+ * Not thread safe, only the poller uses it.
+ */
+class SequenceTracker {
+
+    private final int maxTrackedGaps;
+    private long position;
+    // Missing seq -> when it was first skipped (ms)
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    SequenceTracker(long position, int maxTrackedGaps) {
+        this.position = position;
+        this.maxTrackedGaps = maxTrackedGaps;
+    }
+
+    long position() {
+        return position;
+    }
+
+    List<Long> gaps() {
+        return new ArrayList<>(gaps.keySet());
+    }
+
+    // Sequence numbers read after the position, ascending
+    void advance(List<Long> seqs, long nowMs) {
+        for (long seq : seqs) {
+            if (seq <= position) {
+                continue;
+            }
+            long missing = seq - position - 1;
+            if (missing > 0 && gaps.size() + missing <= maxTrackedGaps) {
+                for (long gap = position + 1; gap < seq; gap++) {
+                    gaps.put(gap, nowMs);
+                }
+            }
+            position = seq;
+        }
+    }
+
+    void found(long seq) {
+        gaps.remove(seq);
+    }
+
+    void expireGaps(long nowMs, long timeoutMs) {
+        gaps.values().removeIf(firstSeenMs -> nowMs - firstSeenMs > timeoutMs);
+    }
+}
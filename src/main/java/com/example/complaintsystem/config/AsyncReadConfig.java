@@ -0,0 +1,52 @@
+package com.example.complaintsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+
+// Bounded pool the async read API runs its JDBC work on, so slow reads park here instead of holding Tomcat threads.
+// /stream downloads get a pool of their own (handed to their WebAsyncTask), a long export must not take the threads
+// short reads need. Neither is registered as Spring MVC's default async executor.
+@Configuration
+public class AsyncReadConfig {
+
+    public static final String READ_EXECUTOR = "readExecutor";
+    public static final String STREAM_EXECUTOR = "streamExecutor";
+
+    private final int threads;
+    private final int queueCapacity;
+    private final int streamThreads;
+
+    public AsyncReadConfig(@Value("${async-read.threads:16}") int threads,
+                           @Value("${async-read.queue-capacity:500}") int queueCapacity,
+                           @Value("${async-read.stream-threads:4}") int streamThreads) {
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.streamThreads = streamThreads;
+    }
+
+    @Bean(name = READ_EXECUTOR)
+    public AsyncTaskExecutor readExecutor() {
+        return executor(threads, queueCapacity, "read-");
+    }
+
+    // No queue: a download that can't start right away is rejected instead of waiting behind exports that take minutes
+    @Bean(name = STREAM_EXECUTOR)
+    public AsyncTaskExecutor streamExecutor() {
+        return executor(streamThreads, 0, "stream-");
+    }
+
+    private static AsyncTaskExecutor executor(int threads, int queueCapacity, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        // Services see the caller's authentication, as they would on the request thread
+        return new DelegatingSecurityContextAsyncTaskExecutor(executor);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.complaintsystem.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+// Fast-start mode (spring.main.lazy-initialization=true): controllers, the services behind them, springdoc, LDAP etc.
+// are created on first use. The beans below stay eager because lazy would change behaviour or move the cost onto the
+// first requests: @Scheduled beans (the scheduler only sees instantiated beans) and the DataSource / JPA
+// infrastructure (Flyway and Hibernate boot before the node takes traffic).
+@Configuration
+public class FastStartupConfig {
+
+    // Static: read by a BeanFactoryPostProcessor, before any configuration class is instantiated
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructureFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (DataSource.class.isAssignableFrom(beanType)
+                || EntityManagerFactory.class.isAssignableFrom(beanType)
+                || AbstractEntityManagerFactoryBean.class.isAssignableFrom(beanType)
+                || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.complaintsystem.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public WebConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    // CBOR and Smile next to JSON for every controller, picked through the Accept header (JSON stays the default).
+    // Both mappers come from Boot's builder so dates, modules and inclusion rules match the JSON output.
+    // Spring MVC already registers its own CBOR / Smile converters (plain mappers, dates as timestamps) when the
+    // dataformat modules are on the classpath; they are replaced in place, an appended converter would never be reached.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        replaceOrAdd(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.build().copyWith(new CBORFactory())));
+        replaceOrAdd(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.build().copyWith(new SmileFactory())));
+    }
+
+    private static void replaceOrAdd(List<HttpMessageConverter<?>> converters,
+                                     Class<? extends HttpMessageConverter<?>> type, HttpMessageConverter<?> converter) {
+        boolean replaced = false;
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, converter);
+                replaced = true;
+            }
+        }
+        if (!replaced) {
+            converters.add(converter);
+        }
+    }
+}
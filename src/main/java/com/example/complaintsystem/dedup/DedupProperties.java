@@ -0,0 +1,37 @@
+package com.example.complaintsystem.dedup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dedup")
+public class DedupProperties {
+
+    private boolean enabled = true;
+
+    // Signature length = bands * rowsPerBand. With 32 x 4 a pair becomes a candidate from ~45% similarity on.
+    private int bands = 32;
+    private int rowsPerBand = 4;
+
+    // Character shingle size used on the normalized title + description
+    private int shingleSize = 5;
+
+    // Estimated Jaccard similarity above which a ticket is reported as a likely duplicate
+    private double similarityThreshold = 0.7;
+
+    // Only open tickets created within this window are indexed
+    private Duration window = Duration.ofDays(14);
+
+    // Hard cap on indexed tickets, oldest are evicted first
+    private int maxEntries = 200_000;
+
+    // Max duplicates reported per new ticket
+    private int maxMatches = 5;
+
+    // Number of tickets loaded per query when the index is rebuilt on startup
+    private int rebuildBatchSize = 1000;
+}
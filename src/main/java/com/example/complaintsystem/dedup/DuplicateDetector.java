@@ -0,0 +1,152 @@
+package com.example.complaintsystem.dedup;
+
+import com.example.complaintsystem.Enum.Statuses;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.repository.TicketStatusRepository;
+import com.example.complaintsystem.repository.projection.TicketTextView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+
+// In-memory near-duplicate detection for recent open tickets (MinHash signatures + LSH banding).
+// The index is fed by ticket change events and rebuilt batch by batch on startup, lookups never hit the database.
+@Service
+public class DuplicateDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetector.class);
+
+    private final DedupProperties properties;
+    private final TicketRepository ticketRepository;
+    private final TicketStatusRepository ticketStatusRepository;
+    private final MinHasher minHasher;
+    private final LshIndex index;
+
+    @Autowired
+    public DuplicateDetector(DedupProperties properties,
+                             TicketRepository ticketRepository,
+                             TicketStatusRepository ticketStatusRepository) {
+        this.properties = properties;
+        this.ticketRepository = ticketRepository;
+        this.ticketStatusRepository = ticketStatusRepository;
+        this.minHasher = new MinHasher(properties.getBands() * properties.getRowsPerBand(), properties.getShingleSize());
+        this.index = new LshIndex(properties.getBands(), properties.getRowsPerBand());
+    }
+
+    // Likely duplicates among the indexed tickets of the same department, most similar first
+    public List<DuplicateMatch> findDuplicates(String title, String description, Integer departmentId) {
+        if (!properties.isEnabled()) {
+            return Collections.emptyList();
+        }
+        long[] signature = minHasher.signature(textOf(title, description));
+        if (signature == null) {
+            return Collections.emptyList();
+        }
+        List<DuplicateMatch> matches = index.query(signature, departmentId,
+                properties.getSimilarityThreshold(), properties.getMaxMatches());
+        if (!matches.isEmpty()) {
+            log.info("Ticket '{}' looks like a duplicate of ticket(s): {}", title, matches);
+        }
+        return matches;
+    }
+
+    public int indexedTickets() {
+        return index.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Integer ticketId = event.getTicketId();
+        boolean active = Statuses.fromStatusName(event.getStatusName()).map(Statuses::isActive).orElse(false);
+        if (event.getChangeType() == TicketChangedEvent.ChangeType.DELETED || !active) {
+            index.remove(ticketId);
+            return;
+        }
+        long createdAtMs = toEpochMillis(event.getCreatedAt());
+        if (createdAtMs < windowStartMs()) {
+            return; // Too old to be worth matching against
+        }
+        index(ticketId, event.getTitle(), event.getDescription(), event.getDepartmentId(), createdAtMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread rebuild = new Thread(this::loadRecentTickets, "dedup-index-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    // Keyset paginated, so the index fills up batch by batch and is usable while the rebuild is still running
+    private void loadRecentTickets() {
+        try {
+            List<Integer> activeStatusIds = ticketStatusRepository.findActiveStatusIds();
+            if (activeStatusIds.isEmpty()) {
+                log.warn("No OPEN / IN_PROGRESS ticket statuses found, duplicate index not rebuilt");
+                return;
+            }
+            LocalDateTime since = LocalDateTime.now().minus(properties.getWindow());
+            int loaded = 0;
+            Integer afterId = 0;
+            while (true) {
+                List<TicketTextView> batch = ticketRepository.findRecentTicketTexts(activeStatusIds, since, afterId,
+                        PageRequest.of(0, properties.getRebuildBatchSize()));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (TicketTextView ticket : batch) {
+                    index(ticket.getTicketId(), ticket.getTitle(), ticket.getDescription(), ticket.getDepartmentId(),
+                            toEpochMillis(ticket.getCreatedAt()));
+                    loaded++;
+                }
+                afterId = batch.get(batch.size() - 1).getTicketId();
+            }
+            log.info("Rebuilt duplicate detection index with {} tickets", loaded);
+        } catch (Exception e) {
+            log.error("Failed to rebuild the duplicate detection index", e);
+        }
+    }
+
+    private void index(Integer ticketId, String title, String description, Integer departmentId, long createdAtMs) {
+        long[] signature = minHasher.signature(textOf(title, description));
+        if (signature == null) {
+            index.remove(ticketId);
+            return;
+        }
+        index.put(ticketId, signature, departmentId, createdAtMs);
+        index.evict(windowStartMs(), properties.getMaxEntries());
+    }
+
+    private long windowStartMs() {
+        return System.currentTimeMillis() - properties.getWindow().toMillis();
+    }
+
+    private static String textOf(String title, String description) {
+        if (description == null || description.isBlank()) {
+            return title;
+        }
+        return title == null ? description : title + " " + description;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return System.currentTimeMillis();
+        }
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
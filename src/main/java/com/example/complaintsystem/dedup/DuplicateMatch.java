@@ -0,0 +1,5 @@
+package com.example.complaintsystem.dedup;
+
+// A previously indexed ticket that looks like the one being created
+public record DuplicateMatch(Integer ticketId, double similarity) {
+}
@@ -0,0 +1,169 @@
+package com.example.complaintsystem.dedup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality sensitive hashing over MinHash signatures (banding technique).
+ * <p>
+ * The signature is cut into {@code bands} slices of {@code rowsPerBand} values; two tickets become candidates
+ * when any slice is identical. Candidates are then verified against the full signature, so a lookup touches a
+ * handful of entries instead of the whole index. Entries are kept in insertion order, which lets the owner
+ * evict the oldest ones cheaply.
+ */
+public class LshIndex {
+
+    private final int bands;
+    private final int rowsPerBand;
+    private final List<Map<Long, Set<Integer>>> buckets;
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public LshIndex(int bands, int rowsPerBand) {
+        if (bands <= 0 || rowsPerBand <= 0) {
+            throw new IllegalArgumentException("bands and rowsPerBand must be positive");
+        }
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public void put(Integer ticketId, long[] signature, Integer groupId, long createdAtMs) {
+        checkLength(signature);
+        lock.writeLock().lock();
+        try {
+            removeInternal(ticketId);
+            entries.put(ticketId, new Entry(signature, groupId, createdAtMs));
+            for (int band = 0; band < bands; band++) {
+                buckets.get(band).computeIfAbsent(bandKey(signature, band), k -> new HashSet<>()).add(ticketId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(Integer ticketId) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(ticketId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed tickets of the same group (null group matches everything) whose estimated similarity
+     * is at least {@code threshold}, most similar first.
+     */
+    public List<DuplicateMatch> query(long[] signature, Integer groupId, double threshold, int limit) {
+        checkLength(signature);
+        List<DuplicateMatch> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                Set<Integer> bucket = buckets.get(band).get(bandKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Integer candidate : bucket) {
+                    if (!seen.add(candidate)) {
+                        continue;
+                    }
+                    Entry entry = entries.get(candidate);
+                    if (groupId != null && entry.groupId() != null && !groupId.equals(entry.groupId())) {
+                        continue;
+                    }
+                    double similarity = MinHasher.similarity(signature, entry.signature());
+                    if (similarity >= threshold) {
+                        matches.add(new DuplicateMatch(candidate, similarity));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(DuplicateMatch::similarity).reversed()
+                .thenComparing(DuplicateMatch::ticketId));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    // Drops entries created before the cutoff and the oldest ones above maxEntries; returns how many were removed
+    public int evict(long createdBeforeMs, int maxEntries) {
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<Integer, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, Entry> oldest = iterator.next();
+                if (entries.size() <= maxEntries && oldest.getValue().createdAtMs() >= createdBeforeMs) {
+                    break;
+                }
+                iterator.remove();
+                removeFromBuckets(oldest.getKey(), oldest.getValue().signature());
+                removed++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return removed;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeInternal(Integer ticketId) {
+        Entry entry = entries.remove(ticketId);
+        if (entry == null) {
+            return false;
+        }
+        removeFromBuckets(ticketId, entry.signature());
+        return true;
+    }
+
+    private void removeFromBuckets(Integer ticketId, long[] signature) {
+        for (int band = 0; band < bands; band++) {
+            Map<Long, Set<Integer>> bandBuckets = buckets.get(band);
+            long key = bandKey(signature, band);
+            Set<Integer> bucket = bandBuckets.get(key);
+            if (bucket != null && bucket.remove(ticketId) && bucket.isEmpty()) {
+                bandBuckets.remove(key);
+            }
+        }
+    }
+
+    private long bandKey(long[] signature, int band) {
+        long key = band;
+        int from = band * rowsPerBand;
+        for (int i = from; i < from + rowsPerBand; i++) {
+            key = MinHasher.mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    private void checkLength(long[] signature) {
+        if (signature == null || signature.length != bands * rowsPerBand) {
+            throw new IllegalArgumentException("Signature length must be bands * rowsPerBand");
+        }
+    }
+
+    private record Entry(long[] signature, Integer groupId, long createdAtMs) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.complaintsystem.dedup;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over character shingles of normalized text.
+ * <p>
+ * The fraction of equal positions in two signatures is an unbiased estimate of the Jaccard similarity of the
+ * two shingle sets, which is what {@link LshIndex} bands on. Seeds are fixed so signatures are stable across
+ * restarts.
+ */
+public class MinHasher {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    // Cap on the text that is shingled, descriptions can be long and the head is what matters for duplicates
+    private static final int MAX_TEXT_LENGTH = 4000;
+
+    private final int shingleSize;
+    private final long[] multipliers;
+    private final long[] offsets;
+
+    public MinHasher(int numHashes, int shingleSize) {
+        if (numHashes <= 0 || shingleSize <= 0) {
+            throw new IllegalArgumentException("numHashes and shingleSize must be positive");
+        }
+        this.shingleSize = shingleSize;
+        this.multipliers = new long[numHashes];
+        this.offsets = new long[numHashes];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = random.nextLong() | 1L; // odd, so the multiplication is a bijection
+            offsets[i] = random.nextLong();
+        }
+    }
+
+    public int getNumHashes() {
+        return multipliers.length;
+    }
+
+    // Returns null when there is nothing to compare (blank text)
+    public long[] signature(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        long[] signature = new long[multipliers.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        int shingles = Math.max(1, normalized.length() - shingleSize + 1);
+        int width = Math.min(shingleSize, normalized.length());
+        for (int start = 0; start < shingles; start++) {
+            long shingleHash = hashShingle(normalized, start, width);
+            for (int i = 0; i < multipliers.length; i++) {
+                long value = mix(shingleHash * multipliers[i] + offsets[i]);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(long[] a, long[] b) {
+        if (a == null || b == null || a.length != b.length) {
+            return 0.0;
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    // Lower case, anything that isn't a letter or digit becomes a single space
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        int length = Math.min(text.length(), MAX_TEXT_LENGTH);
+        StringBuilder builder = new StringBuilder(length);
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && builder.length() > 0) {
+                    builder.append(' ');
+                }
+                pendingSpace = false;
+                builder.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static long hashShingle(String text, int start, int width) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a
+        for (int i = start; i < start + width; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // Finalizer of MurmurHash3 (fmix64)
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
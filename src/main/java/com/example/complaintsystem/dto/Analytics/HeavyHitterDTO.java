@@ -0,0 +1,19 @@
+package com.example.complaintsystem.dto.Analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(description = "Estimated volume of one user / department in the current and the previous window")
+public class HeavyHitterDTO {
+    @Schema(description = "User or department ID, depending on the stream", example = "42")
+    private Integer id;
+    @Schema(description = "Estimated events in the current window (may overestimate slightly)", example = "57")
+    private long count;
+    @Schema(description = "Estimated events in the window before", example = "6")
+    private long previousCount;
+    @Schema(description = "True when the volume jumped by at least heavy-hitters.spike-growth-factor", example = "true")
+    private boolean spiking;
+}
@@ -0,0 +1,26 @@
+package com.example.complaintsystem.dto.Analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@Setter
+@Schema(description = "Time from ticket creation to CLOSED, estimated from merged quantile sketches")
+public class ResolutionTimeStatsDTO {
+    @Schema(example = "DEPARTMENT")
+    private String dimension;
+    @Schema(description = "Department / user ID, 0 for ALL", example = "3")
+    private Integer dimensionId;
+    private LocalDate from;
+    private LocalDate to;
+    @Schema(description = "Number of tickets closed in the range", example = "412")
+    private long count;
+    private Double minHours;
+    private Double maxHours;
+    @Schema(description = "Requested quantiles in hours, keyed like p50, p90, p99", example = "{\"p50\": 5.2, \"p90\": 30.1, \"p99\": 96.4}")
+    private Map<String, Double> quantileHours;
+}
@@ -0,0 +1,22 @@
+package com.example.complaintsystem.dto.Batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(description = "One entry of a multi-get response, in the order the ids were requested")
+public class BatchItemDTO<T> {
+
+    @Schema(description = "Requested ID", example = "1")
+    private Integer id;
+
+    @Schema(description = "False when nothing exists with this ID", example = "true")
+    private boolean found;
+
+    @Schema(description = "The resource, omitted when not found")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private T data;
+}
@@ -0,0 +1,38 @@
+package com.example.complaintsystem.dto.Sync;
+
+import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.example.complaintsystem.dto.TicketAssignments.TicketAssignmentDTO;
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Latest state of one changed entity. Deleting a ticket also deletes its comments and assignments, " +
+        "those come without tombstones of their own.")
+public class SyncChangeDTO {
+
+    @Schema(description = "TICKET, COMMENT or ASSIGNMENT", example = "TICKET")
+    private String entityType;
+
+    @Schema(description = "ID of the ticket, comment or assignment", example = "55")
+    private Integer entityId;
+
+    @Schema(description = "Ticket the entity belongs to", example = "55")
+    private Integer ticketId;
+
+    @Schema(description = "True for a tombstone: the entity was deleted, drop it locally", example = "false")
+    private boolean deleted;
+
+    @Schema(description = "Current ticket, for TICKET changes")
+    private GetTicketDTO ticket;
+
+    @Schema(description = "Current comment, for COMMENT changes")
+    private CommentDTO comment;
+
+    @Schema(description = "Current assignment, for ASSIGNMENT changes")
+    private TicketAssignmentDTO assignment;
+}
@@ -0,0 +1,21 @@
+package com.example.complaintsystem.dto.Sync;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "Entities changed since a sync cursor, each one at most once and in its current state")
+public class SyncPageDTO {
+
+    private List<SyncChangeDTO> changes;
+
+    @Schema(description = "Pass as cursor on the next call (also when there were no changes)", example = "djE6MTIzNDoxNzA0MDY3MjAwMDAw")
+    private String nextCursor;
+
+    @Schema(description = "True when more changes are waiting, call again right away", example = "false")
+    private boolean hasMore;
+}
@@ -2,6 +2,7 @@
 package com.example.complaintsystem.dto.Tickets;
 
 import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -22,4 +23,7 @@ public class GetTicketDTO {
     private List<CommentDTO> comments;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Only filled in on create, when the new ticket looks like an already open one
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Integer> possibleDuplicateTicketIds;
 }
@@ -0,0 +1,17 @@
+package com.example.complaintsystem.dto.Tickets;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@Schema(description = "Ticket counts for a filter, broken down by status, department and assignee (keyed by ID)")
+public class TicketFacetsDTO {
+    private long total;
+    private Map<Integer, Long> byStatus;
+    private Map<Integer, Long> byDepartment;
+    private Map<Integer, Long> byAssignee;
+}
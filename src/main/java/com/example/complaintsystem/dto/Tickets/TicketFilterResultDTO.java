@@ -0,0 +1,18 @@
+package com.example.complaintsystem.dto.Tickets;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "One page of tickets matching a filter, ordered by ticket ID")
+public class TicketFilterResultDTO {
+    @Schema(description = "Number of tickets matching the filter", example = "1342")
+    private long total;
+    @Schema(description = "Pass as afterId to get the next page, null on the last page", example = "5120")
+    private Integer nextAfterId;
+    private List<GetTicketDTO> tickets;
+}
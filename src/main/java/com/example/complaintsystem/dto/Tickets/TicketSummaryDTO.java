@@ -0,0 +1,27 @@
+package com.example.complaintsystem.dto.Tickets;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "Ticket list entry served from the ticket_summary read model (updated asynchronously, may lag writes briefly)")
+public class TicketSummaryDTO {
+    private Integer ticketId;
+    private String title;
+    private Integer userId;
+    private String requesterUsername;
+    private Integer departmentId;
+    private String departmentName;
+    private Integer statusId;
+    private String statusName;
+    private int commentCount;
+    private LocalDateTime lastCommentAt;
+    private List<Integer> assigneeIds;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,6 +1,7 @@
 package com.example.complaintsystem.dto.Tickets.V2;
 
 import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
@@ -45,4 +46,8 @@ public class GetTicketDTOV2 {
 
     @Schema(description = "List of comments associated with the ticket")
     private List<CommentDTO> comments;
+
+    @Schema(description = "Open tickets this one likely duplicates (only returned on create)", example = "[87, 93]")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Integer> possibleDuplicateTicketIds;
 }
\ No newline at end of file
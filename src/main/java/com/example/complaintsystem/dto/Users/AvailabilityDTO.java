@@ -0,0 +1,17 @@
+package com.example.complaintsystem.dto.Users;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Whether a username / email can still be registered (only the checked values are included)")
+public class AvailabilityDTO {
+    @Schema(example = "true")
+    private Boolean usernameAvailable;
+    @Schema(example = "false")
+    private Boolean emailAvailable;
+}
@@ -0,0 +1,35 @@
+package com.example.complaintsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Compact change log tailed by every node to evict its local caches (seq is an identity column).
+// Rows are only kept for a short while, nodes that fall further behind reload instead.
+@Entity
+@Table(name = "cache_invalidations", indexes = @Index(name = "ix_cache_invalidations_created_at", columnList = "created_at"))
+@Getter
+@Setter
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    // CacheRegion name
+    @Column(name = "region", nullable = false, length = 20)
+    private String region;
+
+    @Column(name = "entry_key", nullable = false, length = 100)
+    private String entryKey;
+
+    // Node that made the change, it has already evicted its own caches
+    @Column(name = "origin_node", nullable = false, length = 64)
+    private String originNode;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package com.example.complaintsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Durable copy of a response that was produced for an Idempotency-Key, so retries after a restart are replayed too
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+public class IdempotencyRecord {
+
+    // SHA-256 (hex) of the caller + the client supplied key
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    // SHA-256 (hex) of method, path and body, a key reused for a different request is rejected
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false)
+    private int statusCode;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    // Location header of a 201 Created, replayed with the body
+    @Column(name = "location", length = 2048)
+    private String location;
+
+    @Lob
+    @Column(name = "response_body")
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
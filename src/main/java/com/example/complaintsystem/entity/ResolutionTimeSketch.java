@@ -0,0 +1,48 @@
+package com.example.complaintsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Serialized t-digest of ticket resolution times (creation -> CLOSED) for one dimension value and time window.
+// Every app node writes its own rows; readers merge the rows of all nodes.
+@Entity
+@Table(name = "resolution_time_sketches",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"node_id", "dimension", "dimension_id", "window_start"}))
+@Getter
+@Setter
+public class ResolutionTimeSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    // ALL, DEPARTMENT or AGENT
+    @Column(name = "dimension", nullable = false, length = 20)
+    private String dimension;
+
+    // Department / user id, 0 for ALL
+    @Column(name = "dimension_id", nullable = false)
+    private Integer dimensionId;
+
+    // First day of the window (the day itself, or the Monday of the week)
+    @Column(name = "window_start", nullable = false)
+    private LocalDate windowStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private long sampleCount;
+
+    @Lob
+    @Column(name = "digest", nullable = false)
+    private byte[] digest;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.example.complaintsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// One row per ticket / comment / assignment write, in commit order (seq is an identity column).
+// Written in the same transaction as the change itself; deletions stay here as tombstones until purged.
+@Entity
+@Table(name = "sync_changes", indexes = @Index(name = "ix_sync_changes_changed_at", columnList = "changed_at"))
+@Getter
+@Setter
+public class SyncChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    // TICKET, COMMENT or ASSIGNMENT
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    // The ticket the entity belongs to (the ticket itself for TICKET)
+    @Column(name = "ticket_id")
+    private Integer ticketId;
+
+    // CREATED, UPDATED or DELETED
+    @Column(name = "change_type", nullable = false, length = 10)
+    private String changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -45,6 +46,7 @@ public class Ticket {
     private String description;
 
     @OneToMany(mappedBy = "ticket", fetch = FetchType.LAZY,cascade = CascadeType.ALL)
+    @BatchSize(size = 100) // comments of several loaded tickets are fetched with one IN query
 //    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "ticket"})
     private List<Comment> comments;
 
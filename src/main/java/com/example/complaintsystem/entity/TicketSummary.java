@@ -0,0 +1,68 @@
+package com.example.complaintsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// Denormalized read model of a ticket, one row per ticket, maintained by TicketSummaryProjector.
+// List / search reads come from here so they don't pay for the joins of the normalized tables.
+@Entity
+@Table(name = "ticket_summary")
+@Getter
+@Setter
+public class TicketSummary {
+
+    // Same value as Tickets.ticket_id, not generated
+    @Id
+    @Column(name = "ticket_id")
+    private Integer ticketId;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "requester_username", length = 100)
+    private String requesterUsername;
+
+    @Column(name = "department_id")
+    private Integer departmentId;
+
+    @Column(name = "department_name", length = 100)
+    private String departmentName;
+
+    @Column(name = "status_id")
+    private Integer statusId;
+
+    @Column(name = "status_name", length = 50)
+    private String statusName;
+
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount;
+
+    @Column(name = "last_comment_at")
+    private LocalDateTime lastCommentAt;
+
+    // Assigned user ids, one ticket_summary_assignees row each so "assigned to" searches seek an index
+    @ElementCollection
+    @CollectionTable(name = "ticket_summary_assignees", joinColumns = @JoinColumn(name = "ticket_id"))
+    @Column(name = "user_id")
+    @BatchSize(size = 100) // assignees of a whole result page are fetched with one IN query
+    private Set<Integer> assigneeIds = new HashSet<>();
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // When the projector last wrote this row
+    @Column(name = "projected_at", nullable = false)
+    private LocalDateTime projectedAt;
+}
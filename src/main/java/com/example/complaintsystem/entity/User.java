@@ -4,6 +4,7 @@ package com.example.complaintsystem.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
@@ -45,10 +46,12 @@ public class User {
     private Department department;
 
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
+    @BatchSize(size = 100) // tickets of several loaded users are fetched with one IN query
 //    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "user"})
     private List<Ticket> tickets;
 
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
 //    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "user"})
     private List<Comment> comments;
 
@@ -0,0 +1,20 @@
+package com.example.complaintsystem.event;
+
+import com.example.complaintsystem.coherence.CacheRegion;
+import lombok.Getter;
+
+// Published after a change to data that nodes cache locally: by CacheInvalidator once the local change has
+// committed, and by the change log poller for changes made on other nodes (remote = true)
+@Getter
+public class CacheInvalidatedEvent {
+
+    private final CacheRegion region;
+    private final String key;
+    private final boolean remote;
+
+    public CacheInvalidatedEvent(CacheRegion region, String key, boolean remote) {
+        this.region = region;
+        this.key = key;
+        this.remote = remote;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.complaintsystem.event;
+
+import lombok.Getter;
+
+// Published by CommentService after a comment is created, edited or deleted
+@Getter
+public class CommentChangedEvent {
+
+    private final TicketChangedEvent.ChangeType changeType;
+    private final Integer commentId;
+    private final Integer ticketId;
+    private final Integer userId;       // Author of the comment
+    private final Integer departmentId; // Department of the commented ticket
+
+    public CommentChangedEvent(TicketChangedEvent.ChangeType changeType, Integer commentId, Integer ticketId,
+                               Integer userId, Integer departmentId) {
+        this.changeType = changeType;
+        this.commentId = commentId;
+        this.ticketId = ticketId;
+        this.userId = userId;
+        this.departmentId = departmentId;
+    }
+}
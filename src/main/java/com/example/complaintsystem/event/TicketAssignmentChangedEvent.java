@@ -0,0 +1,28 @@
+package com.example.complaintsystem.event;
+
+import lombok.Getter;
+
+// Published by TicketAssignmentService after a user is assigned to / removed from a ticket
+@Getter
+public class TicketAssignmentChangedEvent {
+
+    private final TicketChangedEvent.ChangeType changeType;
+    private final Integer assignmentId;
+    private final Integer ticketId;
+    private final Integer userId;
+    private final boolean remote; // Replayed from the change log, see TicketChangedEvent.remote
+
+    public TicketAssignmentChangedEvent(TicketChangedEvent.ChangeType changeType, Integer assignmentId,
+                                        Integer ticketId, Integer userId) {
+        this(changeType, assignmentId, ticketId, userId, false);
+    }
+
+    public TicketAssignmentChangedEvent(TicketChangedEvent.ChangeType changeType, Integer assignmentId,
+                                        Integer ticketId, Integer userId, boolean remote) {
+        this.changeType = changeType;
+        this.assignmentId = assignmentId;
+        this.ticketId = ticketId;
+        this.userId = userId;
+        this.remote = remote;
+    }
+}
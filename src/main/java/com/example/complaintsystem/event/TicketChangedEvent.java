@@ -0,0 +1,72 @@
+package com.example.complaintsystem.event;
+
+import com.example.complaintsystem.entity.Ticket;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Published by TicketService after every ticket write.
+// Carries a snapshot of the ticket header so listeners don't have to go back to the database.
+@Getter
+@Setter
+public class TicketChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private ChangeType changeType;
+    private Integer ticketId;
+    private String title;
+    private String description;
+    private Integer userId;
+    private Integer departmentId;
+    private String departmentName;
+    private Integer statusId;
+    private String statusName;
+    private String priority; // Only known for V2 creates, null otherwise
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // State before the write (null for CREATED)
+    private Integer previousStatusId;
+    private String previousStatusName;
+    private Integer previousDepartmentId;
+
+    // Change made on another node, replayed from the change log: previous state is unknown, and listeners that
+    // write to the shared database (sync log, read model, ...) must ignore it, the origin node already did that
+    private boolean remote;
+
+    public static TicketChangedEvent of(ChangeType changeType, Ticket ticket) {
+        TicketChangedEvent event = new TicketChangedEvent();
+        event.setChangeType(changeType);
+        event.setTicketId(ticket.getTicketId());
+        event.setTitle(ticket.getTitle());
+        event.setDescription(ticket.getDescription());
+        event.setCreatedAt(ticket.getCreatedAt());
+        event.setUpdatedAt(ticket.getUpdatedAt());
+        if (ticket.getUser() != null) {
+            event.setUserId(ticket.getUser().getUserId());
+        }
+        if (ticket.getDepartment() != null) {
+            event.setDepartmentId(ticket.getDepartment().getDepartmentId());
+            event.setDepartmentName(ticket.getDepartment().getDepartmentName());
+        }
+        if (ticket.getTicketStatus() != null) {
+            event.setStatusId(ticket.getTicketStatus().getStatusId());
+            event.setStatusName(ticket.getTicketStatus().getStatusName());
+        }
+        return event;
+    }
+
+    public boolean isStatusChanged() {
+        return previousStatusId == null ? statusId != null : !previousStatusId.equals(statusId);
+    }
+
+    public boolean isDepartmentChanged() {
+        return previousDepartmentId == null ? departmentId != null : !previousDepartmentId.equals(departmentId);
+    }
+}
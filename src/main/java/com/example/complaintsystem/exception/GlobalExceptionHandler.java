@@ -2,6 +2,7 @@ package com.example.complaintsystem.exception; // Or your package
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -9,11 +10,14 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -60,6 +64,42 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST); // 400
     }
 
+    // Handler for Gone (data no longer retained)
+    @ExceptionHandler(ResourceGoneException.class)
+    public ResponseEntity<ErrorDetails> handleResourceGoneException(ResourceGoneException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false));
+        log.warn("Resource gone: {} on {}", ex.getMessage(), request.getDescription(false));
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.GONE); // 410
+    }
+
+    // Handler for Service Unavailable (overload / not ready yet)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorDetails> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false));
+        log.warn("Service unavailable: {} on {}", ex.getMessage(), request.getDescription(false));
+        if (ex instanceof OverloadedException) {
+            request.setAttribute(OverloadedException.REQUEST_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE) // 503
+                .header("Retry-After", "1")
+                .body(errorDetails);
+    }
+
+    // The pool given to a WebAsyncTask (the /stream downloads) had no thread free, Spring MVC dispatches the rejection
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorDetails> handleTaskRejectedException(TaskRejectedException ex, WebRequest request) {
+        return handleServiceUnavailableException(
+                new OverloadedException("Too many concurrent downloads, please retry shortly"), request);
+    }
+
     // Handler for Access Denied (Authorization Failure)
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorDetails> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
@@ -76,6 +116,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.FORBIDDEN); // 403
     }
 
+    // An async request (e.g. /api/async/tickets) ran past its timeout, typically while queued for the read pool.
+    // TimeoutException is the read's own limit (async-read.timeout), AsyncRequestTimeoutException the container's.
+    @ExceptionHandler({AsyncRequestTimeoutException.class, TimeoutException.class})
+    public ResponseEntity<ErrorDetails> handleAsyncRequestTimeoutException(Exception ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                "The request timed out, please retry shortly",
+                request.getDescription(false));
+        log.warn("Async request timed out on {}", request.getDescription(false));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE) // 503
+                .header("Retry-After", "1")
+                .body(errorDetails);
+    }
+
     // General Fallback Handler
     // Important to catch any other unexpected exceptions
     @ExceptionHandler(Exception.class)
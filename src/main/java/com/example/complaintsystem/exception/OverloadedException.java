@@ -0,0 +1,13 @@
+package com.example.complaintsystem.exception;
+
+// A bounded pool or queue turned the request away: a 503 caused by load, which the adaptive concurrency limits
+// treat as a drop. Other 503s (a cache still loading, a disabled feature) say nothing about the load.
+public class OverloadedException extends ServiceUnavailableException {
+
+    // Set on the request by GlobalExceptionHandler, read by ConcurrencyLimitFilter once the response is done
+    public static final String REQUEST_ATTRIBUTE = OverloadedException.class.getName();
+
+    public OverloadedException(String message) {
+        super(message);
+    }
+}
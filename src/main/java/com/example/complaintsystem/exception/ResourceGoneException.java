@@ -0,0 +1,9 @@
+package com.example.complaintsystem.exception;
+
+// The requested data existed but is no longer kept (e.g. a sync cursor older than the change log retention)
+public class ResourceGoneException extends RuntimeException {
+
+    public ResourceGoneException(String message) {
+        super(message);
+    }
+}
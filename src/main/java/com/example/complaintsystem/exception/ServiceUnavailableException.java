@@ -0,0 +1,8 @@
+package com.example.complaintsystem.exception;
+
+// The node is temporarily unable to take the request (saturated pool, warming up, ...); the client may retry later
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
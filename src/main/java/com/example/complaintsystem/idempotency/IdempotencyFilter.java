@@ -0,0 +1,181 @@
+package com.example.complaintsystem.idempotency;
+
+import com.example.complaintsystem.exception.ErrorResponseWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Replays the stored response for a repeated Idempotency-Key on the create endpoints.
+// Runs inside the security chain (after authorization) so keys are scoped to the authenticated caller.
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store, ErrorResponseWriter errorResponseWriter) {
+        this.properties = properties;
+        this.store = store;
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || !"POST".equals(request.getMethod())
+                || !StringUtils.hasText(request.getHeader(properties.getHeaderName()))) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return properties.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(properties.getHeaderName()).trim();
+        if (clientKey.length() > properties.getMaxKeyLength()) {
+            errorResponseWriter.write(request, response, HttpStatus.BAD_REQUEST,
+                    properties.getHeaderName() + " must not be longer than " + properties.getMaxKeyLength() + " characters");
+            return;
+        }
+
+        if (request.getContentLengthLong() > properties.getMaxBodyBytes()) {
+            rejectTooLarge(request, response);
+            return;
+        }
+        // Chunked bodies have no Content-Length, the wrapper stops reading past the limit
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, properties.getMaxBodyBytes());
+        if (cachedRequest.isTooLarge()) {
+            rejectTooLarge(request, response);
+            return;
+        }
+        String key = sha256(caller() + '\n' + clientKey);
+        String requestHash = sha256(request.getMethod() + ' ' + request.getRequestURI() + '\n',
+                cachedRequest.getBody());
+
+        long deadline = System.nanoTime() + properties.getInFlightWait().toNanos();
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(key);
+            if (claim.getResponse() != null) {
+                replay(request, response, claim.getResponse(), requestHash);
+                return;
+            }
+            if (claim.isOwner()) {
+                execute(cachedRequest, response, filterChain, key, requestHash);
+                return;
+            }
+
+            // Same key is being processed right now, wait for it rather than creating a second row
+            log.debug("Waiting for in-flight request with the same idempotency key on {}", request.getRequestURI());
+            try {
+                StoredResponse stored = claim.getPending().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (stored != null) {
+                    replay(request, response, stored, requestHash);
+                    return;
+                }
+                // The original failed and left nothing to replay, loop and try to become the owner
+            } catch (TimeoutException e) {
+                errorResponseWriter.write(request, response, HttpStatus.CONFLICT,
+                        "A request with the same " + properties.getHeaderName() + " is still being processed");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for an in-flight idempotent request", e);
+            } catch (ExecutionException e) {
+                // Futures are only ever completed normally, nothing to do but retry
+            }
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            int status = responseWrapper.getStatus();
+            // Only successful responses are replayed, a failed attempt can be retried with the same key
+            if (status >= 200 && status < 300) {
+                stored = new StoredResponse(requestHash, status, responseWrapper.getContentType(),
+                        responseWrapper.getHeader(HttpHeaders.LOCATION), responseWrapper.getContentAsByteArray(), System.currentTimeMillis() + store.ttlMs());
+            }
+        } finally {
+            store.complete(key, stored);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, StoredResponse stored,
+                        String requestHash) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            log.warn("Idempotency key reused with a different request on {}", request.getRequestURI());
+            errorResponseWriter.write(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    properties.getHeaderName() + " was already used for a different request");
+            return;
+        }
+        log.info("Replaying stored response for idempotency key on {}", request.getRequestURI());
+        response.setStatus(stored.statusCode());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void rejectTooLarge(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        errorResponseWriter.write(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Requests with an "
+                + properties.getHeaderName() + " must not have a body larger than " + properties.getMaxBodyBytes() + " bytes");
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private static String sha256(String text, byte[]... extra) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            for (byte[] bytes : extra) {
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
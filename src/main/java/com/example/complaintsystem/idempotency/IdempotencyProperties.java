@@ -0,0 +1,41 @@
+package com.example.complaintsystem.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    private String headerName = "Idempotency-Key";
+    private int maxKeyLength = 255;
+
+    // Bodies are buffered to hash them; a keyed request with a larger body is rejected with 413
+    private int maxBodyBytes = 64 * 1024;
+
+    // How long a response is replayed for the same key
+    private Duration ttl = Duration.ofHours(24);
+
+    // Responses kept in memory (least recently used are dropped first, the table still has them)
+    private int maxEntries = 10_000;
+
+    // How long a duplicate waits for the in-flight original before giving up with 409. Only duplicates that reach
+    // the same node wait: the key is claimed in memory and written to the table once the original has finished,
+    // so a duplicate that lands on another node meanwhile runs the request a second time.
+    private Duration inFlightWait = Duration.ofSeconds(30);
+
+    // POST endpoints (Ant patterns) that honour the header
+    private List<String> paths = new ArrayList<>(List.of(
+            "/api/v1/tickets",
+            "/api/v2/tickets",
+            "/api/tickets/*/comments",
+            "/api/assignments"));
+}
@@ -0,0 +1,188 @@
+package com.example.complaintsystem.idempotency;
+
+import com.example.complaintsystem.entity.IdempotencyRecord;
+import com.example.complaintsystem.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Key -> response mapping for Idempotency-Key handling.
+// A bounded LRU map answers the hot retries, the idempotency_keys table keeps them across restarts, and the
+// in-flight map lets concurrent duplicates wait for the first request instead of running it again. The in-flight
+// map is per node: nothing is in the table until the owner completes, so only duplicates routed to the owner's
+// node wait for it (sticky routing by key, or a client that retries after the first attempt answered, is enough).
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyRecordRepository repository;
+    private final Map<String, StoredResponse> responses;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties, IdempotencyRecordRepository repository) {
+        this.properties = properties;
+        this.repository = repository;
+        int maxEntries = properties.getMaxEntries();
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Either returns the stored response for the key, the future of the request currently running with that
+     * key, or makes the caller the owner of the key (it must then call {@link #complete}).
+     */
+    public Claim claim(String key) {
+        StoredResponse existing = find(key);
+        if (existing != null) {
+            return Claim.replay(existing);
+        }
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> other = inFlight.putIfAbsent(key, mine);
+        if (other != null) {
+            return Claim.waitFor(other);
+        }
+        // The previous owner may have finished between the lookup and the claim. It stores its response in the map
+        // before giving up the key, and the table missed a moment ago, so only the map needs another look
+        existing = findCached(key, System.currentTimeMillis());
+        if (existing != null) {
+            inFlight.remove(key, mine);
+            mine.complete(existing);
+            return Claim.replay(existing);
+        }
+        return Claim.owner();
+    }
+
+    // Stores the owner's response (null when it should not be replayed, e.g. an error) and wakes up the waiters
+    public void complete(String key, StoredResponse response) {
+        try {
+            if (response != null) {
+                synchronized (responses) {
+                    responses.put(key, response);
+                }
+                persist(key, response);
+            }
+        } finally {
+            CompletableFuture<StoredResponse> future = inFlight.remove(key);
+            if (future != null) {
+                future.complete(response);
+            }
+        }
+    }
+
+    public long ttlMs() {
+        return properties.getTtl().toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (responses) {
+            responses.values().removeIf(response -> response.isExpired(now));
+        }
+        try {
+            int deleted = repository.deleteExpired(Instant.ofEpochMilli(now));
+            if (deleted > 0) {
+                log.info("Purged {} expired idempotency keys", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to purge expired idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    private StoredResponse find(String key) {
+        long now = System.currentTimeMillis();
+        StoredResponse response = findCached(key, now);
+        if (response != null) {
+            return response;
+        }
+
+        Optional<IdempotencyRecord> record = repository.findById(key);
+        if (record.isEmpty() || record.get().getExpiresAt().toEpochMilli() <= now) {
+            return null;
+        }
+        IdempotencyRecord stored = record.get();
+        response = new StoredResponse(stored.getRequestHash(), stored.getStatusCode(), stored.getContentType(),
+                stored.getLocation(), stored.getResponseBody(), stored.getExpiresAt().toEpochMilli());
+        synchronized (responses) {
+            responses.put(key, response);
+        }
+        return response;
+    }
+
+    private StoredResponse findCached(String key, long now) {
+        StoredResponse response;
+        synchronized (responses) {
+            response = responses.get(key);
+        }
+        return response == null || response.isExpired(now) ? null : response;
+    }
+
+    private void persist(String key, StoredResponse response) {
+        try {
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setIdempotencyKey(key);
+            record.setRequestHash(response.requestHash());
+            record.setStatusCode(response.statusCode());
+            record.setContentType(response.contentType());
+            record.setLocation(response.location());
+            record.setResponseBody(response.body());
+            record.setCreatedAt(Instant.now());
+            record.setExpiresAt(Instant.ofEpochMilli(response.expiresAtMs()));
+            repository.save(record);
+        } catch (Exception e) {
+            // The in-memory copy still covers the common case of a quick retry
+            log.warn("Failed to persist idempotency key, keeping it in memory only: {}", e.getMessage());
+        }
+    }
+
+    public static final class Claim {
+
+        private final StoredResponse response;
+        private final CompletableFuture<StoredResponse> pending;
+
+        private Claim(StoredResponse response, CompletableFuture<StoredResponse> pending) {
+            this.response = response;
+            this.pending = pending;
+        }
+
+        static Claim replay(StoredResponse response) {
+            return new Claim(response, null);
+        }
+
+        static Claim waitFor(CompletableFuture<StoredResponse> pending) {
+            return new Claim(null, pending);
+        }
+
+        static Claim owner() {
+            return new Claim(null, null);
+        }
+
+        public boolean isOwner() {
+            return response == null && pending == null;
+        }
+
+        public StoredResponse getResponse() {
+            return response;
+        }
+
+        public CompletableFuture<StoredResponse> getPending() {
+            return pending;
+        }
+    }
+}
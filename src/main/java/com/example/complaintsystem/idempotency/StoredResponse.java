@@ -0,0 +1,9 @@
+package com.example.complaintsystem.idempotency;
+
+// The part of an HTTP response that is replayed for a repeated Idempotency-Key
+public record StoredResponse(String requestHash, int statusCode, String contentType, String location, byte[] body, long expiresAtMs) {
+
+    public boolean isExpired(long nowMs) {
+        return nowMs >= expiresAtMs;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.complaintsystem.overload;
+
+import com.example.complaintsystem.exception.ErrorResponseWriter;
+import com.example.complaintsystem.exception.OverloadedException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Load shedding in front of the controllers: every endpoint class has an adaptive concurrency limit
+// (GradientLimiter) and requests above it get a 503 with Retry-After straight away, before the security chain
+// spends a JWT verification or a user lookup on them. Keeps response times flat under overload instead of letting
+// every request queue on the JDBC pool until they all time out together.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final ConcurrencyLimitProperties properties;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final Map<EndpointClass, GradientLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ErrorResponseWriter errorResponseWriter) {
+        this.properties = properties;
+        this.errorResponseWriter = errorResponseWriter;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            ConcurrencyLimitProperties.Limit limit = properties.limitFor(endpointClass);
+            limiters.put(endpointClass, new GradientLimiter(limit.getInitialLimit(), limit.getMinLimit(),
+                    limit.getMaxLimit(), properties.getTolerance(), properties.getSmoothing(),
+                    properties.getBackoffRatio(), properties.getShortWindow(), properties.getLongWindow()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        GradientLimiter limiter = limiters.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            log.debug("Shedding {} {} ({} limit {} reached)", request.getMethod(), request.getRequestURI(),
+                    endpointClass, limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+            errorResponseWriter.write(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Server is overloaded, please retry shortly");
+            return;
+        }
+
+        Permit permit = new Permit(limiter, request, response);
+        boolean completed = false;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+            if (request.isAsyncStarted()) {
+                // Async reads hold the permit until the response is actually written
+                request.getAsyncContext().addListener(permit);
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                // An exception escaping the chain turns into a 500 further up
+                permit.release(completed ? response.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR.value(), false);
+            }
+        }
+    }
+
+    public int getLimit(EndpointClass endpointClass) {
+        return limiters.get(endpointClass).getLimit();
+    }
+
+    public int getInFlight(EndpointClass endpointClass) {
+        return limiters.get(endpointClass).getInFlight();
+    }
+
+    // Helper: the endpoint class of the request, null when it is not limited
+    private EndpointClass classify(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (matches(properties.getExcludedPaths(), path)) {
+            return null;
+        }
+        if (matches(properties.getAuthPaths(), path)) {
+            return EndpointClass.AUTH;
+        }
+        if (matches(properties.getAdminPaths(), path)) {
+            return EndpointClass.ADMIN;
+        }
+        if (matches(properties.getTicketPaths(), path)) {
+            String method = request.getMethod();
+            return "GET".equals(method) || "HEAD".equals(method) ? EndpointClass.TICKET_READ : EndpointClass.TICKET_WRITE;
+        }
+        return null;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        return patterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    // One acquired slot, released exactly once (an async timeout is followed by onComplete).
+    // Only timeouts, 504s and 503s from a saturated pool (OverloadedException) count as drops; other 503s (a cache
+    // still loading, a disabled feature) are ignored like any other server error.
+    private static final class Permit implements AsyncListener {
+
+        private final GradientLimiter limiter;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(GradientLimiter limiter, HttpServletRequest request, HttpServletResponse response) {
+            this.limiter = limiter;
+            this.request = request;
+            this.response = response;
+            this.inFlightAtStart = limiter.getInFlight();
+        }
+
+        void release(int status, boolean timedOut) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (timedOut || status == HttpStatus.GATEWAY_TIMEOUT.value() || (status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    && request.getAttribute(OverloadedException.REQUEST_ATTRIBUTE) != null)) {
+                limiter.onDropped();
+            } else if (status >= 500) {
+                limiter.onIgnored();
+            } else {
+                limiter.onSuccess(System.nanoTime() - startNanos, inFlightAtStart);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(response.getStatus(), false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(0, true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(HttpStatus.INTERNAL_SERVER_ERROR.value(), false);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped on a new startAsync, register again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
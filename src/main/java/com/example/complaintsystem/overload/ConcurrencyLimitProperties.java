@@ -0,0 +1,82 @@
+package com.example.complaintsystem.overload;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // The limit only shrinks once the recent response time exceeds the baseline by this factor
+    private double tolerance = 1.5;
+
+    // Weight of a new limit estimate, lower is steadier but slower to react
+    private double smoothing = 0.2;
+
+    // Factor applied to the limit when a request times out or is rejected further down (504, or 503 from a saturated pool)
+    private double backoffRatio = 0.9;
+
+    // Samples averaged into the recent response time and into the baseline
+    private int shortWindow = 10;
+    private int longWindow = 600;
+
+    // Retry-After sent with the 503
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    // Ant patterns (servlet path) of the endpoint classes; everything else under /api is a ticket read (GET / HEAD)
+    // or a ticket write (other methods). Actuator and API docs are never limited.
+    private List<String> authPaths = new ArrayList<>(List.of("/api/auth/**"));
+    private List<String> adminPaths = new ArrayList<>(List.of(
+            "/users/**",
+            "/api/roles/**",
+            "/api/departments/**",
+            "/ticket-statuses/**",
+            "/api/analytics/**"));
+    private List<String> ticketPaths = new ArrayList<>(List.of("/api/**"));
+    // Streaming downloads and exports: they last as long as the client takes to read them, so their latency says
+    // nothing about the load and would drag the ticket-read baseline along. They are bounded by their own pool.
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/async/tickets/stream"));
+
+    // BCrypt-bound, a few cores' worth
+    private Limit auth = new Limit(8, 2, 50);
+    // JDBC pool (10) plus the read executor queue
+    private Limit ticketRead = new Limit(20, 4, 200);
+    private Limit ticketWrite = new Limit(10, 2, 100);
+    private Limit admin = new Limit(5, 1, 50);
+
+    public Limit limitFor(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case AUTH -> auth;
+            case TICKET_READ -> ticketRead;
+            case TICKET_WRITE -> ticketWrite;
+            case ADMIN -> admin;
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        // Concurrent requests allowed before the first response times are in
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
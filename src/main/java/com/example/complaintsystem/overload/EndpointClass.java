@@ -0,0 +1,10 @@
+package com.example.complaintsystem.overload;
+
+// Endpoint groups with a concurrency limit of their own, so a flood of one kind (e.g. logins) doesn't take the
+// capacity of the others
+public enum EndpointClass {
+    AUTH,
+    TICKET_READ,
+    TICKET_WRITE,
+    ADMIN
+}
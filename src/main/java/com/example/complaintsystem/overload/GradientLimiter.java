@@ -0,0 +1,111 @@
+package com.example.complaintsystem.overload;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Adaptive concurrency limit (gradient style, as in Netflix's concurrency-limits Gradient2):
+// tracks a long-term (baseline) and a short-term average of the response time; while the short-term average stays
+// within `tolerance` times the baseline the limit grows by sqrt(limit) per sample, once requests start queueing
+// somewhere (JDBC pool, read executor, CPU) the short-term average rises and the limit shrinks by the ratio.
+// Requests above the limit are rejected right away instead of joining the queue.
+class GradientLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final double shortAlpha;
+    private final double longAlpha;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Read lock-free on every request, written under the monitor together with the averages
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    GradientLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                    double backoffRatio, int shortWindow, int longWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= maxLimit, got " + minLimit + ", " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.shortAlpha = 2.0 / (shortWindow + 1);
+        this.longAlpha = 2.0 / (longWindow + 1);
+        this.estimatedLimit = clamp(initialLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Completed normally: releases the permit and feeds the response time (measured with inFlightAtStart requests
+    // running, including this one) into the limit
+    void onSuccess(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart);
+    }
+
+    // Timed out or rejected further down (503 / 504): a sure sign of overload, back off multiplicatively
+    void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            estimatedLimit = clamp(estimatedLimit * backoffRatio);
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    // Failed for another reason, the response time says nothing about the load
+    void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart) {
+        double rtt = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt += shortAlpha * (rtt - shortRtt);
+        longRtt += longAlpha * (rtt - longRtt);
+        // Load went away and latency fell well below the baseline: let the baseline follow faster
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // Far fewer requests running than allowed: the latency doesn't tell anything about the limit
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clamp((1 - smoothing) * estimatedLimit + smoothing * newLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
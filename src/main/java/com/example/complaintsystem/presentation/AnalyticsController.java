@@ -0,0 +1,77 @@
+package com.example.complaintsystem.presentation;
+
+import com.example.complaintsystem.analytics.HeavyHitterStream;
+import com.example.complaintsystem.analytics.HeavyHittersService;
+import com.example.complaintsystem.analytics.ResolutionTimeAnalytics;
+import com.example.complaintsystem.analytics.SketchDimension;
+import com.example.complaintsystem.dto.Analytics.HeavyHitterDTO;
+import com.example.complaintsystem.dto.Analytics.ResolutionTimeStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "Ticket analytics for management dashboards (Admin Only)")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AnalyticsController {
+
+    private final ResolutionTimeAnalytics resolutionTimeAnalytics;
+    private final HeavyHittersService heavyHittersService;
+
+    @Autowired
+    public AnalyticsController(ResolutionTimeAnalytics resolutionTimeAnalytics, HeavyHittersService heavyHittersService) {
+        this.resolutionTimeAnalytics = resolutionTimeAnalytics;
+        this.heavyHittersService = heavyHittersService;
+    }
+
+    @Operation(summary = "Time to Resolution Quantiles", description = "p50/p90/p99 (or any requested quantiles) of the time from ticket creation to CLOSED, " +
+            "overall, per department or per agent. Served from pre-aggregated quantile sketches, so the cost doesn't grow with the number of tickets. " +
+            "Without an id, one entry is returned for every department / agent with closed tickets in the range.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resolution time statistics"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Invalid range or quantile", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content)
+    })
+    @GetMapping("/resolution-time")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ResolutionTimeStatsDTO>> getResolutionTimes(@Parameter(description = "ALL, DEPARTMENT or AGENT", example = "DEPARTMENT") @RequestParam(defaultValue = "ALL") SketchDimension dimension,
+                                                                           @Parameter(description = "Department / user ID (optional)", example = "3") @RequestParam(required = false) Integer id,
+                                                                           @Parameter(description = "First day (inclusive), defaults to 30 days ago", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                           @Parameter(description = "Last day (inclusive), defaults to today", example = "2025-01-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                           @Parameter(description = "Quantiles between 0 and 1", example = "0.5,0.9,0.99") @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> quantiles) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(30);
+        return ResponseEntity.ok(resolutionTimeAnalytics.getResolutionTimes(dimension, id, start, end, quantiles));
+    }
+
+    @Operation(summary = "Heavy Hitters", description = "Users or departments with the most new tickets / comments over the sliding window " +
+            "(heavy-hitters.window), with the previous window's count and a spike flag. Counts are Count-Min estimates and may be slightly high.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Top users / departments, highest volume first"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Invalid limit", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content)
+    })
+    @GetMapping("/heavy-hitters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<HeavyHitterDTO>> getHeavyHitters(@Parameter(description = "TICKETS_BY_USER, TICKETS_BY_DEPARTMENT, COMMENTS_BY_USER or COMMENTS_BY_DEPARTMENT", example = "TICKETS_BY_USER")
+                                                                @RequestParam(defaultValue = "TICKETS_BY_USER") HeavyHitterStream stream,
+                                                                @Parameter(description = "Number of entries", example = "10") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(heavyHittersService.getHeavyHitters(stream, limit));
+    }
+}
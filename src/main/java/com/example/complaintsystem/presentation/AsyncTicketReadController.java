@@ -0,0 +1,124 @@
+package com.example.complaintsystem.presentation;
+
+import com.example.complaintsystem.config.AsyncReadConfig;
+import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.example.complaintsystem.dto.TicketAssignments.TicketAssignmentDTO;
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.example.complaintsystem.service.TicketReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/async/tickets")
+@Tag(name = "Tickets (async read)", description = "Read-only ticket APIs that don't hold a request thread while the database works")
+@SecurityRequirement(name = "Bearer Authentication")
+@ConditionalOnProperty(prefix = "async-read", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncTicketReadController {
+
+    private final TicketReadService ticketReadService;
+    private final AsyncTaskExecutor streamExecutor;
+    private final Duration streamTimeout;
+
+    @Autowired
+    public AsyncTicketReadController(TicketReadService ticketReadService,
+                                     @Qualifier(AsyncReadConfig.STREAM_EXECUTOR) AsyncTaskExecutor streamExecutor,
+                                     @Value("${async-read.stream-timeout:30m}") Duration streamTimeout) {
+        this.ticketReadService = ticketReadService;
+        this.streamExecutor = streamExecutor;
+        this.streamTimeout = streamTimeout;
+    }
+
+    @Operation(summary = "Get Ticket by ID (async)", description = "Same as GET /api/v1/tickets/{id}, served from the read pool.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved ticket"),
+            @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Read pool saturated, retry later", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public CompletableFuture<GetTicketDTO> getTicket(@Parameter(description = "Unique ID of the ticket", required = true, example = "1")
+                                                     @PathVariable Integer id) {
+        return ticketReadService.getTicket(id);
+    }
+
+    @Operation(summary = "Get All Tickets (async, paginated - Admin Only)", description = "Same as GET /api/v1/tickets, served from the read pool.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of tickets"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Read pool saturated, retry later", content = @Content)
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<Page<GetTicketDTO>> getTickets(@Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") int page,
+                                                            @Parameter(description = "Number of tickets per page", example = "20") @RequestParam(defaultValue = "20") int size,
+                                                            @Parameter(description = "Field to sort by", example = "createdAt") @RequestParam(defaultValue = "ticketId") String sortBy) {
+        return ticketReadService.getTickets(PageRequest.of(page, size, Sort.by(sortBy)));
+    }
+
+    @Operation(summary = "Stream All Tickets (Admin Only)",
+            description = "Streams every ticket (with comments) as newline delimited JSON, or as a CBOR / Smile value sequence " +
+                    "when asked for in the Accept header. Rows are written while the database cursor reads them.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of tickets"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many downloads running, retry later", content = @Content)
+    })
+    @GetMapping(value = "/stream", produces = {"application/x-ndjson", MediaType.APPLICATION_CBOR_VALUE, "application/x-jackson-smile"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> streamTickets(@RequestHeader HttpHeaders headers, HttpServletResponse response) {
+        MediaType format = ticketReadService.resolveStreamFormat(headers.getAccept());
+        response.setContentType(format.toString());
+        // Its own pool and timeout, the body is written straight to the response on the stream thread
+        return new WebAsyncTask<>(streamTimeout.toMillis(), streamExecutor, () -> {
+            ticketReadService.streamTickets(response.getOutputStream(), format);
+            return null;
+        });
+    }
+
+    @Operation(summary = "Get Comments for Ticket (async)", description = "Same as GET /api/tickets/{ticketId}/comments, served from the read pool.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved comments"),
+            @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Read pool saturated, retry later", content = @Content)
+    })
+    @GetMapping("/{ticketId}/comments")
+    public CompletableFuture<List<CommentDTO>> getComments(@Parameter(description = "ID of the ticket", required = true, example = "1")
+                                                           @PathVariable Integer ticketId) {
+        return ticketReadService.getComments(ticketId);
+    }
+
+    @Operation(summary = "Get Assignments for Ticket (async - Admin Only)", description = "Same as GET /api/assignments?ticketId=, served from the read pool.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved assignments"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content)
+    })
+    @GetMapping("/{ticketId}/assignments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<List<TicketAssignmentDTO>> getAssignments(@Parameter(description = "ID of the ticket", required = true, example = "1")
+                                                                       @PathVariable Integer ticketId) {
+        return ticketReadService.getAssignments(ticketId);
+    }
+}
@@ -12,6 +12,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import com.example.complaintsystem.dto.Security.JwtAuthenticationResponse;
+import com.example.complaintsystem.dto.Users.AvailabilityDTO;
 import com.example.complaintsystem.dto.Users.CreateUserDTO;
 import com.example.complaintsystem.dto.Users.UserDTO;
 import com.example.complaintsystem.dto.Users.UserLoginDTO;
@@ -28,9 +29,11 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
@@ -146,4 +149,25 @@ public class AuthController {
         return ResponseEntity.created(URI.create("/api/users/" + savedUser.getUserId())).body(savedUser);
     }
 
+    @Operation(summary = "Check Username / Email Availability", description = "Tells a registration form whether a username and/or email is still free. " +
+            "This endpoint is public. Names that were never registered are answered without a database query.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability of the given values"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Neither username nor email given", content = @Content)
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityDTO> checkAvailability(@RequestParam(required = false) String username,
+                                                            @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            throw new BadRequestException("Provide a username and/or an email to check");
+        }
+        AvailabilityDTO availability = new AvailabilityDTO();
+        if (username != null) {
+            availability.setUsernameAvailable(!userService.existsByUsername(username));
+        }
+        if (email != null) {
+            availability.setEmailAvailable(!userService.existsByEmail(email));
+        }
+        return ResponseEntity.ok(availability);
+    }
 }
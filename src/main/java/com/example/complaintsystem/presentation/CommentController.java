@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
 import com.example.complaintsystem.dto.Comments.CommentDTO;
 import com.example.complaintsystem.dto.Comments.CommentRequestDTO;
 import com.example.complaintsystem.service.CommentService;
@@ -78,6 +79,22 @@ public class CommentController {
         return ResponseEntity.ok(comment);
     }
 
+    // GET several Comments by ID
+    @Operation(summary = "Get Several Comments by ID", description = "Retrieves up to batch.max-ids comments in one call (e.g. ?ids=1,2,3). Results keep the requested order; IDs that don't exist come back with found=false.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Comments retrieved (possibly partially)"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - No ids or too many ids", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid", content = @Content)
+    })
+    @GetMapping("/comments")
+    @PreAuthorize("isAuthenticated()") // Must be logged in
+    public ResponseEntity<List<BatchItemDTO<CommentDTO>>> getCommentsByIds(
+            @Parameter(description = "Comma separated comment IDs", required = true, example = "15,16")
+            @RequestParam List<Integer> ids) {
+        log.info("Request received to get {} comments by ID", ids.size());
+        return ResponseEntity.ok(commentService.getCommentsByIds(ids));
+    }
+
     // Create Comment
     @Operation(summary = "Create New Comment", description = "Adds a new comment to a specific ticket. The comment author is the authenticated user.",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -0,0 +1,48 @@
+package com.example.complaintsystem.presentation;
+
+import com.example.complaintsystem.dto.Sync.SyncPageDTO;
+import com.example.complaintsystem.sync.DeltaSyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@Tag(name = "Delta Sync", description = "Change feed of tickets, comments and assignments for offline-capable clients")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SyncController {
+
+    private final DeltaSyncService deltaSyncService;
+
+    @Autowired
+    public SyncController(DeltaSyncService deltaSyncService) {
+        this.deltaSyncService = deltaSyncService;
+    }
+
+    @Operation(summary = "Changes Since Cursor (Admin Only)", description = "Returns the tickets, comments and assignments changed after the cursor, " +
+            "each once and in its current state; deleted ones come as tombstones (deleted=true). Call without a cursor right after a full download " +
+            "to get the starting cursor, then keep passing nextCursor; while hasMore is true there are more changes waiting.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One page of changes"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Invalid cursor or page size", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content),
+            @ApiResponse(responseCode = "410", description = "Cursor older than the change log retention, download everything again", content = @Content)
+    })
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SyncPageDTO> getChanges(@Parameter(description = "nextCursor of the previous call") @RequestParam(required = false) String cursor,
+                                                  @Parameter(description = "Max log entries read per call", example = "100") @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(deltaSyncService.getChanges(cursor, size));
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.complaintsystem.presentation;
 
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
 import com.example.complaintsystem.dto.Tickets.CreateTicketDTO;
 import com.example.complaintsystem.dto.Tickets.PatchTicketDTO;
 import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.example.complaintsystem.dto.Tickets.TicketSummaryDTO;
 import com.example.complaintsystem.dto.Tickets.UpdateTicketDTO;
+import com.example.complaintsystem.readmodel.TicketSummaryService;
 import com.example.complaintsystem.service.TicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,6 +27,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/tickets")
@@ -31,10 +35,12 @@ import java.net.URI;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketSummaryService ticketSummaryService;
 
     @Autowired
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService, TicketSummaryService ticketSummaryService) {
         this.ticketService = ticketService;
+        this.ticketSummaryService = ticketSummaryService;
     }
 
     @Operation(summary = "Get Ticket by ID (v1)", description = "Retrieves the details of a specific ticket by its unique ID.")
@@ -51,6 +57,17 @@ public class TicketController {
         return ResponseEntity.ok(getTicketDTO);
     }
 
+    @Operation(summary = "Get Several Tickets by ID (v1)", description = "Retrieves up to batch.max-ids tickets in one call (e.g. ?ids=1,2,3). Results keep the requested order; IDs that don't exist come back with found=false.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets retrieved (possibly partially)"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - No ids or too many ids", content = @Content)
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BatchItemDTO<GetTicketDTO>>> getTickets(@Parameter(description = "Comma separated ticket IDs", required = true, example = "1,2,3")
+                                                                       @RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(ticketService.getTicketsByIds(ids));
+    }
+
     @Operation(summary = "Create New Ticket (v1)", description = "Creates a new support ticket. Requires authentication.",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Fields to update for the ticket (only include fields to change)",
@@ -156,6 +173,31 @@ public class TicketController {
         return ResponseEntity.ok(ticketPage);
     }
 
+    @GetMapping("/summaries")
+    @Operation(summary = "Search Ticket Summaries (Paginated - Admin Only)", description = "Lists tickets from the denormalized ticket_summary read model " +
+            "(status, department, requester, comment count, last comment time, assignees) without joining the ticket tables. " +
+            "All filters are optional. The read model is updated asynchronously and can lag a write by a moment.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved ticket summaries",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content)
+    })
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<TicketSummaryDTO>> searchTicketSummaries(@Parameter(description = "Only tickets in this status", example = "1") @RequestParam(required = false) Integer statusId,
+                                                                        @Parameter(description = "Only tickets of this department", example = "1") @RequestParam(required = false) Integer departmentId,
+                                                                        @Parameter(description = "Only tickets raised by this user", example = "1") @RequestParam(required = false) Integer userId,
+                                                                        @Parameter(description = "Only tickets assigned to this user", example = "2") @RequestParam(required = false) Integer assigneeId,
+                                                                        @Parameter(description = "Title contains (case insensitive)", example = "printer") @RequestParam(required = false) String title,
+                                                                        @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") int page,
+                                                                        @Parameter(description = "Number of tickets per page", example = "20") @RequestParam(defaultValue = "20") int size,
+                                                                        @Parameter(description = "Field to sort by (e.g., ticketId, updatedAt, lastCommentAt, commentCount)", example = "updatedAt") @RequestParam(defaultValue = "ticketId") String sortBy) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
+        return ResponseEntity.ok(ticketSummaryService.searchTickets(statusId, departmentId, userId, assigneeId, title, pageable));
+    }
+
     @Operation(summary = "Get Ticket History (v1)", description = "Retrieves ticket details including creation/update times and associated comments ordered by date.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved ticket details",
@@ -0,0 +1,94 @@
+package com.example.complaintsystem.presentation;
+
+import com.example.complaintsystem.bitmap.TicketBitmapIndex;
+import com.example.complaintsystem.bitmap.TicketFilter;
+import com.example.complaintsystem.bitmap.TicketFilterService;
+import com.example.complaintsystem.dto.Tickets.TicketFacetsDTO;
+import com.example.complaintsystem.dto.Tickets.TicketFilterResultDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/tickets")
+@Tag(name = "Ticket Filters", description = "Combined ticket filters and faceted counts served from the in-memory bitmap index")
+@SecurityRequirement(name = "Bearer Authentication")
+public class TicketFilterController {
+
+    private final TicketFilterService ticketFilterService;
+
+    @Autowired
+    public TicketFilterController(TicketFilterService ticketFilterService) {
+        this.ticketFilterService = ticketFilterService;
+    }
+
+    @Operation(summary = "Filter Tickets (Admin Only)", description = "Returns tickets matching every given dimension (several values of one dimension are OR-ed, " +
+            "e.g. ?statusId=1,2&departmentId=3). exclude* parameters remove tickets. Pages are ordered by ticket ID; pass nextAfterId as afterId for the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching tickets"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Invalid page size", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Index still loading after a restart", content = @Content)
+    })
+    @GetMapping("/filter")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TicketFilterResultDTO> filterTickets(@Parameter(description = "Status IDs (any of)", example = "1,2") @RequestParam(required = false) List<Integer> statusId,
+                                                               @Parameter(description = "Department IDs (any of)", example = "3") @RequestParam(required = false) List<Integer> departmentId,
+                                                               @Parameter(description = "Assigned user IDs (any of)", example = "7") @RequestParam(required = false) List<Integer> assigneeId,
+                                                               @Parameter(description = "Requesting user IDs (any of)", example = "12") @RequestParam(required = false) List<Integer> requesterId,
+                                                               @Parameter(description = "Status IDs to leave out", example = "4") @RequestParam(required = false) List<Integer> excludeStatusId,
+                                                               @Parameter(description = "Department IDs to leave out") @RequestParam(required = false) List<Integer> excludeDepartmentId,
+                                                               @Parameter(description = "Assigned user IDs to leave out") @RequestParam(required = false) List<Integer> excludeAssigneeId,
+                                                               @Parameter(description = "Return tickets with a higher ID than this", example = "0") @RequestParam(defaultValue = "0") int afterId,
+                                                               @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size) {
+        TicketFilter filter = toFilter(statusId, departmentId, assigneeId, requesterId, excludeStatusId, excludeDepartmentId, excludeAssigneeId);
+        return ResponseEntity.ok(ticketFilterService.filterTickets(filter, afterId, size));
+    }
+
+    @Operation(summary = "Ticket Facet Counts (Admin Only)", description = "Counts the tickets matching the filter (same parameters as /filter) " +
+            "per status, department and assignee, without touching the database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facet counts"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Index still loading after a restart", content = @Content)
+    })
+    @GetMapping("/facets")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TicketFacetsDTO> facets(@RequestParam(required = false) List<Integer> statusId,
+                                                  @RequestParam(required = false) List<Integer> departmentId,
+                                                  @RequestParam(required = false) List<Integer> assigneeId,
+                                                  @RequestParam(required = false) List<Integer> requesterId,
+                                                  @RequestParam(required = false) List<Integer> excludeStatusId,
+                                                  @RequestParam(required = false) List<Integer> excludeDepartmentId,
+                                                  @RequestParam(required = false) List<Integer> excludeAssigneeId) {
+        TicketFilter filter = toFilter(statusId, departmentId, assigneeId, requesterId, excludeStatusId, excludeDepartmentId, excludeAssigneeId);
+        return ResponseEntity.ok(ticketFilterService.facets(filter));
+    }
+
+    // Helper: request parameters to a bitmap filter
+    private static TicketFilter toFilter(List<Integer> statusIds, List<Integer> departmentIds, List<Integer> assigneeIds,
+                                         List<Integer> requesterIds, List<Integer> excludeStatusIds,
+                                         List<Integer> excludeDepartmentIds, List<Integer> excludeAssigneeIds) {
+        return new TicketFilter()
+                .include(TicketBitmapIndex.Dimension.STATUS, statusIds)
+                .include(TicketBitmapIndex.Dimension.DEPARTMENT, departmentIds)
+                .include(TicketBitmapIndex.Dimension.ASSIGNEE, assigneeIds)
+                .include(TicketBitmapIndex.Dimension.REQUESTER, requesterIds)
+                .exclude(TicketBitmapIndex.Dimension.STATUS, excludeStatusIds)
+                .exclude(TicketBitmapIndex.Dimension.DEPARTMENT, excludeDepartmentIds)
+                .exclude(TicketBitmapIndex.Dimension.ASSIGNEE, excludeAssigneeIds);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.complaintsystem.presentation;
+
+import com.example.complaintsystem.cache.TicketHeaderCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/tickets/headers")
+@Tag(name = "Ticket Headers", description = "Lightweight headers of open tickets for list rendering, served from the off-heap header cache")
+@SecurityRequirement(name = "Bearer Authentication")
+public class TicketHeaderController {
+
+    private final TicketHeaderCache ticketHeaderCache;
+
+    @Autowired
+    public TicketHeaderController(TicketHeaderCache ticketHeaderCache) {
+        this.ticketHeaderCache = ticketHeaderCache;
+    }
+
+    @Operation(summary = "List Open Ticket Headers (Admin Only)", description = "Returns headers (id, title, status, department, requester, " +
+            "timestamps as epoch milliseconds) of open tickets ordered by ticket ID. Pass nextAfterId as afterId for the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One page of ticket headers"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Invalid page size", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Cache still loading after a restart", content = @Content)
+    })
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<byte[]> listHeaders(@Parameter(description = "Return tickets with a higher ID than this", example = "0") @RequestParam(defaultValue = "0") int afterId,
+                                              @Parameter(description = "Page size", example = "100") @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ticketHeaderCache.listHeaders(afterId, size));
+    }
+
+    @Operation(summary = "Get Several Ticket Headers by ID (Admin Only)", description = "Retrieves up to batch.max-ids ticket headers in one call (e.g. ?ids=1,2,3). " +
+            "Open tickets come from the cache, closed ones from the database; IDs that don't exist are listed under missing.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ticket headers"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Too many IDs", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not an ADMIN", content = @Content)
+    })
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<byte[]> getHeaders(@Parameter(description = "Ticket IDs", example = "1,2,3") @RequestParam List<Integer> ids) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ticketHeaderCache.getHeaders(ids));
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.complaintsystem.presentation;
 
 
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
 import com.example.complaintsystem.dto.Users.*;
 import com.example.complaintsystem.exception.BadRequestException;
 import com.example.complaintsystem.service.RoleAssignmentService;
@@ -96,6 +97,19 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @Operation(summary = "Get Several Users by ID", description = "Retrieves up to batch.max-ids users in one call (e.g. ?ids=1,2,3). Results keep the requested order; IDs that don't exist come back with found=false.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users retrieved (possibly partially)"),
+            @ApiResponse(responseCode = "400", description = "Bad Request - No ids or too many ids", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid", content = @Content)
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BatchItemDTO<UserDTO>>> getUsersByIds(@Parameter(description = "Comma separated user IDs", required = true, example = "1,2,3")
+                                                                     @RequestParam List<Integer> ids) {
+        log.info("Received request to get {} users by ID", ids.size());
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
     @Operation(summary = "Get User Profile", description = "Retrieves profile information (excluding sensitive data) for a specific user. Requires authentication (Admin or fetching own profile).")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved user profile",
@@ -0,0 +1,97 @@
+package com.example.complaintsystem.ratelimit;
+
+import com.example.complaintsystem.exception.ErrorResponseWriter;
+import com.example.complaintsystem.security.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Per-client rate limits on the route groups of RateLimitProperties (login, refresh, public ticket reads, ...).
+// Runs inside the security chain after authentication, so signed-in callers are counted per user id and everyone
+// else per client IP. Every limited response carries RateLimit-Limit / -Remaining / -Reset; refused requests get a
+// 429 with Retry-After.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, ErrorResponseWriter errorResponseWriter) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || route(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitProperties.Route route = route(request);
+        String client = client(request);
+        TokenBucket.Decision decision = rateLimiter.tryConsume(route, client);
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(seconds(decision.resetNanos())));
+        if (!decision.allowed()) {
+            log.debug("Rate limit of {} exceeded by {}", route.getName(), client);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(decision.retryAfterNanos())));
+            errorResponseWriter.write(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                    "Rate limit exceeded, please retry later");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Helper: first route group matching the request, null when it is not limited
+    private RateLimitProperties.Route route(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if ((route.getMethods().isEmpty() || route.getMethods().contains(request.getMethod()))
+                    && route.getPatterns().stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return "user:" + user.getUserId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Rounded up, a client that waits the advertised time gets through
+    private static long seconds(long nanos) {
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
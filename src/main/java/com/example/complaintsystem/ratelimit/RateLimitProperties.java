@@ -0,0 +1,68 @@
+package com.example.complaintsystem.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets kept in memory; beyond that the most idle ones are evicted (their clients start over with a full bucket)
+    private int maxBuckets = 100_000;
+
+    // How often full (idle) buckets are dropped, a dropped bucket comes back full so nothing is lost
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    // First matching route wins; requests that match none are not limited. Authenticated callers are counted per
+    // user id, anonymous ones per client IP (X-Forwarded-For of trusted proxies, see server.forward-headers-strategy).
+    private List<Route> routes = new ArrayList<>(List.of(
+            new Route("login", List.of("/api/auth/login"), List.of("POST"), 10, 10, Duration.ofMinutes(1)),
+            new Route("refresh", List.of("/api/auth/refresh"), List.of("POST"), 20, 20, Duration.ofMinutes(1)),
+            new Route("auth", List.of("/api/auth/**"), List.of(), 30, 30, Duration.ofMinutes(1)),
+            new Route("ticket-read", List.of("/api/v1/tickets/**", "/api/v2/tickets/**"), List.of("GET"),
+                    100, 20, Duration.ofSeconds(1)),
+            new Route("api", List.of("/api/**", "/users/**", "/ticket-statuses/**"), List.of(),
+                    100, 50, Duration.ofSeconds(1))));
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        // Route group, part of the bucket key and of the log lines
+        private String name;
+
+        // Ant patterns (servlet path)
+        private List<String> patterns = new ArrayList<>();
+
+        // HTTP methods, empty for all
+        private List<String> methods = new ArrayList<>();
+
+        // Burst size: requests a client can make at once after being idle
+        private int capacity;
+
+        // Sustained rate: refill-tokens per refill-period
+        private int refillTokens;
+        private Duration refillPeriod = Duration.ofSeconds(1);
+
+        public Route() {
+        }
+
+        public Route(String name, List<String> patterns, List<String> methods, int capacity, int refillTokens,
+                     Duration refillPeriod) {
+            this.name = name;
+            this.patterns = new ArrayList<>(patterns);
+            this.methods = new ArrayList<>(methods);
+            this.capacity = capacity;
+            this.refillTokens = refillTokens;
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.complaintsystem.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+// In-memory token buckets per (route group, client). The map is bounded: full buckets are swept periodically
+// (they hold no information) and once max-buckets is reached the most idle buckets are evicted to make room, so a
+// flood of distinct IPs can't grow the heap and every client still gets a bucket of its own.
+@Service
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    TokenBucket.Decision tryConsume(RateLimitProperties.Route route, String clientKey) {
+        long now = clock.getAsLong();
+        String key = route.getName() + '|' + clientKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                evictIdleBuckets(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> newBucket(route, now));
+        }
+        return bucket.tryConsume(now);
+    }
+
+    // Full buckets go first (nothing is lost), then the ones that would be full again soonest, down to a tenth below
+    // max-buckets so the next eviction is a while away. An evicted client starts over with a full bucket. One thread
+    // evicts at a time, the others go on inserting meanwhile.
+    private void evictIdleBuckets(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+            int target = properties.getMaxBuckets() - Math.max(1, properties.getMaxBuckets() / 10);
+            int excess = buckets.size() - target;
+            if (excess > 0) {
+                List<Map.Entry<String, TokenBucket>> idlest = buckets.entrySet().stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().fullAtNanos()))
+                        .limit(excess)
+                        .toList();
+                idlest.forEach(entry -> buckets.remove(entry.getKey(), entry.getValue()));
+                log.warn("Rate limit bucket map is full ({}), evicted the {} most idle buckets",
+                        properties.getMaxBuckets(), idlest.size());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:PT1M}")
+    public void sweepIdleBuckets() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        log.debug("Swept {} idle rate limit buckets, {} left", before - buckets.size(), buckets.size());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // Helper: one token every refill-period / refill-tokens, at most capacity tokens
+    private static TokenBucket newBucket(RateLimitProperties.Route route, long now) {
+        long intervalNanos = Math.max(1, route.getRefillPeriod().toNanos() / Math.max(1, route.getRefillTokens()));
+        return new TokenBucket(Math.max(1, route.getCapacity()), intervalNanos, now);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.complaintsystem.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket in its GCRA form (generic cell rate algorithm): instead of a token count and a last-refill time the
+// bucket keeps one "theoretical arrival time", the moment it would be full again. Taking a token pushes it one
+// refill interval further; the request is refused when that would put it more than capacity intervals ahead of now.
+// A single long, so every update is one CAS and the bucket is lock-free.
+class TokenBucket {
+
+    private final int capacity;
+    private final long intervalNanos;
+    private final long depthNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, long intervalNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.intervalNanos = intervalNanos;
+        this.depthNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    Decision tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > depthNanos) {
+                return new Decision(false, capacity, 0, current - nowNanos, ahead - depthNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Decision(true, capacity, (int) ((depthNanos - ahead) / intervalNanos), ahead, 0);
+            }
+        }
+    }
+
+    // Idle long enough to be full again: dropping it changes nothing for the client
+    boolean isFull(long nowNanos) {
+        return fullAt.get() <= nowNanos;
+    }
+
+    // When the bucket is full again, the smallest value is the most idle bucket
+    long fullAtNanos() {
+        return fullAt.get();
+    }
+
+    // resetNanos: until the bucket is full again, retryAfterNanos: until the next token (refused requests only)
+    record Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
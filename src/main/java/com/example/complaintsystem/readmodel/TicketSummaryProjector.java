@@ -0,0 +1,298 @@
+package com.example.complaintsystem.readmodel;
+
+import com.example.complaintsystem.entity.TicketSummary;
+import com.example.complaintsystem.event.CommentChangedEvent;
+import com.example.complaintsystem.event.TicketAssignmentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.CommentRepository;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.repository.TicketSummaryRepository;
+import com.example.complaintsystem.repository.projection.CommentStatsView;
+import com.example.complaintsystem.repository.projection.TicketAssigneeView;
+import com.example.complaintsystem.repository.projection.TicketSummarySourceView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps the ticket_summary read model up to date off the request path.
+// Write events only enqueue the ticket id; a single worker thread re-projects queued tickets in batches from the
+// normalized tables. Re-projecting (instead of applying deltas) makes the work idempotent and order independent,
+// so duplicate or reordered events and retries can't leave a wrong row behind.
+// A full rebuild only runs on startup when the read model is empty or was built by another projection version.
+@Component
+public class TicketSummaryProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketSummaryProjector.class);
+
+    // Bump whenever project() changes what it writes, the next startup then rebuilds every row once
+    static final int PROJECTION_VERSION = 2;
+
+    private static final String MODEL_NAME = "ticket_summary";
+    private static final String READ_VERSION = "SELECT version FROM read_model_versions WHERE model_name = ?";
+    private static final String UPDATE_VERSION = "UPDATE read_model_versions SET version = ?, built_at = ? WHERE model_name = ?";
+    private static final String INSERT_VERSION = "INSERT INTO read_model_versions (model_name, version, built_at) VALUES (?, ?, ?)";
+
+    private final TicketSummaryProperties properties;
+    private final TicketRepository ticketRepository;
+    private final CommentRepository commentRepository;
+    private final TicketAssignmentRepository assignmentRepository;
+    private final TicketSummaryRepository summaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
+    // Ticket ids currently in the queue, a ticket changed several times before it is projected is queued once
+    private final Set<Integer> queued = ConcurrentHashMap.newKeySet();
+    private volatile Thread worker;
+    // True while the worker projects a batch it already took off the queue
+    private volatile boolean projecting;
+
+    @Autowired
+    public TicketSummaryProjector(TicketSummaryProperties properties,
+                                  TicketRepository ticketRepository,
+                                  CommentRepository commentRepository,
+                                  TicketAssignmentRepository assignmentRepository,
+                                  TicketSummaryRepository summaryRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.ticketRepository = ticketRepository;
+        this.commentRepository = commentRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.summaryRepository = summaryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        // The shared read model was already projected by the node that made the change
+        if (!event.isRemote()) {
+            enqueue(event.getTicketId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        enqueue(event.getTicketId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentChanged(TicketAssignmentChangedEvent event) {
+        if (!event.isRemote()) {
+            enqueue(event.getTicketId());
+        }
+    }
+
+    // Number of tickets waiting to be projected (how far the read model lags behind)
+    public int pendingTickets() {
+        return queued.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "ticket-summary-projector");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        if (properties.isRebuildOnStartup()) {
+            Thread rebuild = new Thread(this::rebuildIfStale, "ticket-summary-rebuild");
+            rebuild.setDaemon(true);
+            rebuild.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void enqueue(Integer ticketId) {
+        if (!properties.isEnabled() || ticketId == null) {
+            return;
+        }
+        if (queued.add(ticketId)) {
+            queue.offer(ticketId);
+        }
+    }
+
+    private void run() {
+        List<Integer> batch = new ArrayList<>(properties.getBatchSize());
+        while (worker == Thread.currentThread()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                projecting = true;
+                // Released before projecting: a change that arrives meanwhile queues the ticket again
+                batch.forEach(queued::remove);
+                project(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to project {} ticket summaries, retrying in {}", batch.size(), properties.getRetryDelay(), e);
+                batch.forEach(this::enqueue);
+                try {
+                    Thread.sleep(properties.getRetryDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                batch.clear();
+                projecting = false;
+            }
+        }
+    }
+
+    // Re-reads the given tickets from the normalized tables and upserts / deletes their summary rows
+    void project(List<Integer> ticketIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Integer, TicketSummarySourceView> sources = ticketRepository.findSummarySources(ticketIds).stream()
+                    .collect(Collectors.toMap(TicketSummarySourceView::getTicketId, Function.identity()));
+            Map<Integer, CommentStatsView> commentStats = commentRepository.findStatsByTicketIdIn(ticketIds).stream()
+                    .collect(Collectors.toMap(CommentStatsView::getTicketId, Function.identity()));
+            Map<Integer, List<Integer>> assignees = assignmentRepository.findAssigneesByTicketIdIn(ticketIds).stream()
+                    .collect(Collectors.groupingBy(TicketAssigneeView::getTicketId,
+                            Collectors.mapping(TicketAssigneeView::getUserId, Collectors.toList())));
+            Map<Integer, TicketSummary> existing = summaryRepository.findAllById(ticketIds).stream()
+                    .collect(Collectors.toMap(TicketSummary::getTicketId, Function.identity()));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<TicketSummary> upserts = new ArrayList<>(sources.size());
+            List<TicketSummary> deletes = new ArrayList<>();
+            for (Integer ticketId : ticketIds) {
+                TicketSummarySourceView source = sources.get(ticketId);
+                TicketSummary summary = existing.get(ticketId);
+                if (source == null) {
+                    // Ticket is gone
+                    if (summary != null) {
+                        deletes.add(summary);
+                    }
+                    continue;
+                }
+                if (summary == null) {
+                    summary = new TicketSummary();
+                    summary.setTicketId(ticketId);
+                }
+                applySource(summary, source);
+                CommentStatsView stats = commentStats.get(ticketId);
+                summary.setCommentCount(stats != null ? stats.getCommentCount().intValue() : 0);
+                summary.setLastCommentAt(stats != null ? stats.getLastCommentAt() : null);
+                // Changed in place, so only the assignees that came or went are written
+                Set<Integer> assigned = new HashSet<>(assignees.getOrDefault(ticketId, Collections.emptyList()));
+                summary.getAssigneeIds().retainAll(assigned);
+                summary.getAssigneeIds().addAll(assigned);
+                summary.setProjectedAt(now);
+                upserts.add(summary);
+            }
+            summaryRepository.saveAll(upserts);
+            summaryRepository.deleteAll(deletes);
+            log.debug("Projected {} ticket summaries, removed {}", upserts.size(), deletes.size());
+        });
+    }
+
+    // Every node checks on startup; several rebuilding at once is harmless since projecting is idempotent
+    void rebuildIfStale() {
+        try {
+            List<Integer> versions = jdbcTemplate.queryForList(READ_VERSION, Integer.class, MODEL_NAME);
+            if (versions.contains(PROJECTION_VERSION) && summaryRepository.count() > 0) {
+                log.info("Ticket summary read model is at projection version {}, no rebuild needed", PROJECTION_VERSION);
+                return;
+            }
+            log.info("Rebuilding the ticket summary read model (stored version {}, current {})",
+                    versions.isEmpty() ? "none" : versions.get(0), PROJECTION_VERSION);
+            if (enqueueAllTickets() && awaitProjected()) {
+                recordVersion();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Failed to rebuild the ticket summary read model", e);
+        }
+    }
+
+    // Keyset paginated, so only the ids are held and the worker can start on the first pages right away
+    boolean enqueueAllTickets() {
+        try {
+            int total = 0;
+            Integer afterId = 0;
+            while (true) {
+                List<Integer> ids = ticketRepository.findTicketIdsAfter(afterId, PageRequest.of(0, properties.getBatchSize()));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                ids.forEach(this::enqueue);
+                total += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+            log.info("Queued {} tickets for the ticket summary rebuild", total);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to queue the ticket summary rebuild", e);
+            return false;
+        }
+    }
+
+    // Helper: waits until the worker has projected everything queued (failed batches are queued again), false when
+    // it stopped first. Only then is the version recorded, a node dying mid-rebuild leaves it stale.
+    private boolean awaitProjected() throws InterruptedException {
+        while (!queued.isEmpty() || projecting) {
+            if (worker == null) {
+                return false;
+            }
+            Thread.sleep(100);
+        }
+        return true;
+    }
+
+    private void recordVersion() {
+        LocalDateTime now = LocalDateTime.now();
+        if (jdbcTemplate.update(UPDATE_VERSION, PROJECTION_VERSION, now, MODEL_NAME) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_VERSION, MODEL_NAME, PROJECTION_VERSION, now);
+            } catch (DuplicateKeyException e) {
+                // Another node finished its rebuild first
+                jdbcTemplate.update(UPDATE_VERSION, PROJECTION_VERSION, now, MODEL_NAME);
+            }
+        }
+        log.info("Ticket summary read model rebuilt at projection version {}", PROJECTION_VERSION);
+    }
+
+    private static void applySource(TicketSummary summary, TicketSummarySourceView source) {
+        summary.setTitle(source.getTitle());
+        summary.setUserId(source.getUserId());
+        summary.setRequesterUsername(source.getUsername());
+        summary.setDepartmentId(source.getDepartmentId());
+        summary.setDepartmentName(source.getDepartmentName());
+        summary.setStatusId(source.getStatusId());
+        summary.setStatusName(source.getStatusName());
+        summary.setCreatedAt(source.getCreatedAt());
+        summary.setUpdatedAt(source.getUpdatedAt());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.complaintsystem.readmodel;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ticket-summary")
+public class TicketSummaryProperties {
+
+    private boolean enabled = true;
+
+    // Max tickets re-projected per transaction; changes that pile up while the projector is busy are merged
+    private int batchSize = 200;
+
+    // Re-project every ticket on startup when the read model is empty or was built by an older projection version
+    // (TicketSummaryProjector.PROJECTION_VERSION); a current, filled read model is left alone
+    private boolean rebuildOnStartup = true;
+
+    // Wait before retrying a batch that failed to project
+    private Duration retryDelay = Duration.ofSeconds(5);
+}
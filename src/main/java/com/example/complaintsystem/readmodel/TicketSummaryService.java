@@ -0,0 +1,79 @@
+package com.example.complaintsystem.readmodel;
+
+import com.example.complaintsystem.dto.Tickets.TicketSummaryDTO;
+import com.example.complaintsystem.entity.TicketSummary;
+import com.example.complaintsystem.repository.TicketSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.stream.Collectors;
+
+// Query side of the ticket read model: single-table reads, no joins
+@Service
+public class TicketSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketSummaryService.class);
+
+    private final TicketSummaryRepository summaryRepository;
+
+    @Autowired
+    public TicketSummaryService(TicketSummaryRepository summaryRepository) {
+        this.summaryRepository = summaryRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TicketSummaryDTO> searchTickets(Integer statusId, Integer departmentId, Integer userId,
+                                                Integer assigneeId, String title, Pageable pageable) {
+        log.info("Searching ticket summaries (status: {}, department: {}, user: {}, assignee: {}, title: '{}')",
+                statusId, departmentId, userId, assigneeId, title);
+        String titleFilter = StringUtils.hasText(title) ? title.trim() : null;
+        return search(statusId, departmentId, userId, assigneeId, titleFilter, pageable).map(this::convertToDTO);
+    }
+
+    // Helper: led by the most selective filter that is set (an assignee or requester has a handful of tickets,
+    // a department or status many)
+    private Page<TicketSummary> search(Integer statusId, Integer departmentId, Integer userId, Integer assigneeId,
+                                       String title, Pageable pageable) {
+        if (assigneeId != null) {
+            return summaryRepository.searchByAssignee(assigneeId, statusId, departmentId, userId, title, pageable);
+        }
+        if (userId != null) {
+            return summaryRepository.searchByUser(userId, statusId, departmentId, title, pageable);
+        }
+        if (departmentId != null) {
+            return summaryRepository.searchByDepartment(departmentId, statusId, title, pageable);
+        }
+        if (statusId != null) {
+            return summaryRepository.searchByStatus(statusId, title, pageable);
+        }
+        if (title != null) {
+            return summaryRepository.searchByTitle(title, pageable);
+        }
+        return summaryRepository.findAll(pageable);
+    }
+
+    // Helper: Convert Entity to DTO
+    private TicketSummaryDTO convertToDTO(TicketSummary summary) {
+        TicketSummaryDTO dto = new TicketSummaryDTO();
+        dto.setTicketId(summary.getTicketId());
+        dto.setTitle(summary.getTitle());
+        dto.setUserId(summary.getUserId());
+        dto.setRequesterUsername(summary.getRequesterUsername());
+        dto.setDepartmentId(summary.getDepartmentId());
+        dto.setDepartmentName(summary.getDepartmentName());
+        dto.setStatusId(summary.getStatusId());
+        dto.setStatusName(summary.getStatusName());
+        dto.setCommentCount(summary.getCommentCount());
+        dto.setLastCommentAt(summary.getLastCommentAt());
+        dto.setAssigneeIds(summary.getAssigneeIds().stream().sorted().collect(Collectors.toList()));
+        dto.setCreatedAt(summary.getCreatedAt());
+        dto.setUpdatedAt(summary.getUpdatedAt());
+        return dto;
+    }
+}
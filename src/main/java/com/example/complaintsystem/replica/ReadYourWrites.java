@@ -0,0 +1,119 @@
+package com.example.complaintsystem.replica;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers where a caller's last write committed (a time on the primary's clock, see ReplicaSet.primaryNowMs),
+// so their next reads only go to a replica that has replicated past it, or to the primary.
+// The position travels with the caller in a cookie, so it holds on whichever node serves the next request; the
+// per-node map (keyed by the authenticated caller) covers clients that don't keep cookies but stay on one node.
+@Component
+public class ReadYourWrites {
+
+    public static final String COOKIE = "replica-read-after";
+
+    private final ReplicaProperties properties;
+    // Caller -> primary time of their last committed write, and the local time (ms) it is forgotten at
+    private final Map<String, Position> positions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadYourWrites(ReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    public void recordWrite(long primaryMs) {
+        if (primaryMs < 0) {
+            return; // The primary's clock isn't known yet, no replica is in rotation either
+        }
+        long windowMs = properties.getReadYourWritesWindow().toMillis();
+        String caller = caller();
+        if (caller != null) {
+            positions.merge(caller, new Position(primaryMs, System.currentTimeMillis() + windowMs),
+                    (previous, next) -> previous.primaryMs() > next.primaryMs() ? previous : next);
+        }
+        HttpServletResponse response = currentResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(primaryMs));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, properties.getReadYourWritesWindow().toSeconds()));
+            response.addCookie(cookie);
+        }
+    }
+
+    // Primary time a replica must have replicated up to before it may serve the caller, Long.MIN_VALUE when any
+    // replica will do. Capped at the primary's current time, a forged cookie can only send its own reads to the
+    // primary until the replicas caught up.
+    public long readAfter(long primaryNowMs) {
+        long readAfter = Long.MIN_VALUE;
+        String caller = caller();
+        if (caller != null) {
+            Position position = positions.get(caller);
+            if (position != null && position.forgetAtMs() > System.currentTimeMillis()) {
+                readAfter = position.primaryMs();
+            }
+        }
+        Long fromCookie = cookiePosition();
+        if (fromCookie != null) {
+            readAfter = Math.max(readAfter, fromCookie);
+        }
+        return primaryNowMs >= 0 ? Math.min(readAfter, primaryNowMs) : readAfter;
+    }
+
+    @Scheduled(fixedDelayString = "${read-replicas.read-your-writes-window:PT10S}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        positions.values().removeIf(position -> position.forgetAtMs() <= now);
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    // Helper: the cookie of the current request, null outside a request (async executors) or when absent / invalid
+    private static Long cookiePosition() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return null;
+        }
+        HttpServletRequest request = servlet.getRequest();
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static HttpServletResponse currentResponse() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getResponse() : null;
+    }
+
+    private record Position(long primaryMs, long forgetAtMs) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.complaintsystem.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replaces the spring.datasource pool with the primary plus its read replicas behind a routing DataSource.
+// Not combined with sharding, which brings its own per-shard pools.
+@Configuration
+@ConditionalOnExpression("${read-replicas.enabled:false} and !${sharding.enabled:false}")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaSet replicaSet(ReplicaProperties properties, DataSourceProperties dataSourceProperties) {
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException("read-replicas.enabled=true needs at least one read-replicas.replicas[n].url");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .driverClassName(replica.getDriverClassName())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setReadOnly(true);
+            // A dead replica must fail fast, the health check takes it out of rotation
+            pool.setConnectionTimeout(Math.max(250, properties.getHealthCheckTimeout().toMillis()));
+            replicas.add(pool);
+        }
+        return new ReplicaSet(properties, primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+        return routingDataSource(replicaSet, readYourWrites);
+    }
+
+    // Open-in-view keeps one EntityManager per request and Spring's default mode holds its connection until the
+    // EntityManager closes, so the first transaction of a request would pick the database for all the others
+    // (a write after a read-only lookup would go to the replica). Releasing the connection after every transaction
+    // lets each one be routed on its own; lazy loading outside a transaction gets a primary connection.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    static DataSource routingDataSource(ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, replicaSet.primary());
+        for (int i = 0; i < replicaSet.replicas().size(); i++) {
+            targets.put(i, replicaSet.replicas().get(i));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaSet, readYourWrites);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(replicaSet.primary());
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.complaintsystem.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "read-replicas")
+public class ReplicaProperties {
+
+    // Off: every transaction uses spring.datasource as before
+    private boolean enabled = false;
+
+    // Read-only copies of spring.datasource; @Transactional(readOnly = true) work is spread over the healthy ones
+    private List<Replica> replicas = new ArrayList<>();
+
+    // How often the primary's heartbeat is written and every replica is probed
+    private Duration healthCheckInterval = Duration.ofSeconds(1);
+
+    // Probe query timeout, a replica that doesn't answer in time is taken out of rotation
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    // Replicas whose last replicated heartbeat is older than this are taken out of rotation
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // How long a caller's last write is remembered (per node and in a cookie): their reads only go to replicas that
+    // have replicated past it meanwhile. Keep it above max-lag + health-check-interval
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.complaintsystem.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends connections of read-only transactions to a healthy replica and everything else to the primary.
+// Has to sit behind a LazyConnectionDataSourceProxy: the read-only flag of a transaction is only known
+// once it has begun, so the connection must not be fetched before its first statement.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicaSet;
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaRoutingDataSource(ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+        this.replicaSet = replicaSet;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Started at commit: the replicas need their time to catch up from there
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.recordWrite(replicaSet.primaryNowMs());
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        // Only replicas that already have the caller's last write, the primary when none has it yet
+        Integer replica = replicaSet.pick(readYourWrites.readAfter(replicaSet.primaryNowMs()));
+        return replica != null ? replica : PRIMARY;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.complaintsystem.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary and its replicas, with the health of each replica.
+ * Lag is measured with a heartbeat: the primary's replica_heartbeat row gets the primary's current time on every
+ * check and each replica is probed for the value it has replicated so far, so a replica's lag is at most the
+ * primary's time minus that value. Every node reads the time from the primary itself, so the nodes' own clocks
+ * (and the skew between them) never enter the lag. Replicas start out of rotation and only join once a probe
+ * succeeded within max-lag.
+ */
+public class ReplicaSet implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+
+    private static final String UPDATE_HEARTBEAT = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String INSERT_HEARTBEAT = "INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)";
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+    // Milliseconds on the primary's clock (SQL Server and H2). Only differences of these values are used, the
+    // database's time zone doesn't matter
+    private static final String PRIMARY_NOW =
+            "SELECT CAST(DATEDIFF(DAY, '1970-01-01', CURRENT_TIMESTAMP) AS BIGINT) * 86400000"
+                    + " + DATEDIFF(MILLISECOND, CAST(CURRENT_TIMESTAMP AS DATE), CURRENT_TIMESTAMP)";
+
+    private final ReplicaProperties properties;
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final JdbcTemplate primaryJdbc;
+    private final List<JdbcTemplate> replicaJdbc = new ArrayList<>();
+    private final long[] lagMs;
+    private final long[] replicatedUpTo;
+    private volatile PrimaryClock primaryClock;
+    private volatile int[] healthy = new int[0];
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(ReplicaProperties properties, DataSource primary, List<DataSource> replicas) {
+        this.properties = properties;
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.primaryJdbc = new JdbcTemplate(primary);
+        int timeoutSeconds = (int) Math.max(1, properties.getHealthCheckTimeout().toSeconds());
+        for (DataSource replica : this.replicas) {
+            JdbcTemplate jdbc = new JdbcTemplate(replica);
+            jdbc.setQueryTimeout(timeoutSeconds);
+            replicaJdbc.add(jdbc);
+        }
+        this.lagMs = new long[this.replicas.size()];
+        this.replicatedUpTo = new long[this.replicas.size()];
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public List<DataSource> replicas() {
+        return replicas;
+    }
+
+    // Index of the healthy replica to use next (round robin), null when none is healthy
+    public Integer pick() {
+        return pick(Long.MIN_VALUE);
+    }
+
+    // Same, among the healthy replicas that have replicated the primary up to readAfterMs (primary time)
+    public Integer pick(long readAfterMs) {
+        int[] current = healthy;
+        if (current.length == 0) {
+            return null;
+        }
+        int start = next.getAndIncrement();
+        for (int i = 0; i < current.length; i++) {
+            int replica = current[Math.floorMod(start + i, current.length)];
+            if (replicatedUpTo[replica] >= readAfterMs) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // The primary's clock as of the last check plus the time elapsed here since, -1 before the first check. The
+    // elapsed time is counted from before that check's query, so the estimate is never behind the primary.
+    public long primaryNowMs() {
+        PrimaryClock clock = primaryClock;
+        if (clock == null) {
+            return -1;
+        }
+        return clock.primaryMs() + (System.nanoTime() - clock.sentAtNanos()) / 1_000_000;
+    }
+
+    public boolean isHealthy(int replica) {
+        for (int index : healthy) {
+            if (index == replica) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Last measured lag in ms, -1 when the last probe failed
+    public long lagMs(int replica) {
+        return lagMs[replica];
+    }
+
+    @Scheduled(fixedDelayString = "${read-replicas.health-check-interval:PT1S}")
+    public void checkHealth() {
+        try {
+            long sentAtNanos = System.nanoTime();
+            Long now = primaryJdbc.queryForObject(PRIMARY_NOW, Long.class);
+            primaryClock = new PrimaryClock(now, sentAtNanos);
+            if (primaryJdbc.update(UPDATE_HEARTBEAT, now) == 0) {
+                primaryJdbc.update(INSERT_HEARTBEAT, now);
+            }
+        } catch (Exception e) {
+            // Without fresh heartbeats every replica soon looks lagged and reads fall back to the primary
+            log.warn("Failed to write the replica heartbeat: {}", e.getMessage());
+        }
+        long primaryNow = primaryNowMs();
+
+        List<Integer> inRotation = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean wasHealthy = isHealthy(i);
+            try {
+                Long beatAt = replicaJdbc.get(i).queryForObject(READ_HEARTBEAT, Long.class);
+                replicatedUpTo[i] = beatAt == null ? Long.MIN_VALUE : beatAt;
+                lagMs[i] = beatAt == null || primaryNow < 0 ? Long.MAX_VALUE : Math.max(0, primaryNow - beatAt);
+            } catch (Exception e) {
+                lagMs[i] = -1;
+                if (wasHealthy) {
+                    log.warn("Replica {} failed its health check, taking it out of rotation: {}", i, e.getMessage());
+                }
+                continue;
+            }
+            if (lagMs[i] <= properties.getMaxLag().toMillis()) {
+                inRotation.add(i);
+                if (!wasHealthy) {
+                    log.info("Replica {} is healthy (lag {} ms), adding it to the rotation", i, lagMs[i]);
+                }
+            } else if (wasHealthy) {
+                log.warn("Replica {} lags {} ms behind the primary, taking it out of rotation", i, lagMs[i]);
+            }
+        }
+        healthy = inRotation.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private record PrimaryClock(long primaryMs, long sentAtNanos) {
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeIfPossible(primary);
+        for (DataSource replica : replicas) {
+            closeIfPossible(replica);
+        }
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.complaintsystem.repository;
+
+import com.example.complaintsystem.entity.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRepository extends BaseRepository<CacheInvalidation, Long> {
+
+    // Tail of the log, a range seek on the primary key
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.seq > :afterSeq ORDER BY c.seq")
+    List<CacheInvalidation> findAfter(@Param("afterSeq") Long afterSeq, Pageable pageable);
+
+    // Rows that were still uncommitted (or rolled back) when the poller passed their sequence number
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.seq IN :seqs")
+    List<CacheInvalidation> findBySeqIn(@Param("seqs") Collection<Long> seqs);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM CacheInvalidation c")
+    Long findMaxSeq();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -1,15 +1,33 @@
 package com.example.complaintsystem.repository;
 
 import com.example.complaintsystem.entity.Comment;
+import com.example.complaintsystem.repository.projection.CommentStatsView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
-    // Find all comments for a specific ticket, ordered by creation time
-    List<Comment> findByTicketTicketIdOrderByCreatedAtAsc(Integer ticketId);
+    // Find all comments for a specific ticket, ordered by creation time.
+    // Written out because the derived query outer joins Tickets and filters on its column, which can't seek ix_comments_ticket_created_at
+    @Query("SELECT c FROM Comment c WHERE c.ticket.ticketId = :ticketId ORDER BY c.createdAt ASC")
+    List<Comment> findByTicketTicketIdOrderByCreatedAtAsc(@Param("ticketId") Integer ticketId);
 
-}
\ No newline at end of file
+    // Multi-get: ticket and user are eager, join them instead of one select each
+    @Query("SELECT c FROM Comment c JOIN FETCH c.ticket JOIN FETCH c.user WHERE c.commentId IN :ids")
+    List<Comment> findAllWithDetailsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Comments of several tickets at once, used by the ticket stream (one query per chunk of tickets)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.ticket JOIN FETCH c.user WHERE c.ticket.ticketId IN :ticketIds ORDER BY c.createdAt")
+    List<Comment> findByTicketIdIn(@Param("ticketIds") Collection<Integer> ticketIds);
+
+    // Comment count and latest comment time per ticket (ticket_summary projection)
+    @Query("SELECT c.ticket.ticketId AS ticketId, COUNT(c) AS commentCount, MAX(c.createdAt) AS lastCommentAt " +
+            "FROM Comment c WHERE c.ticket.ticketId IN :ticketIds GROUP BY c.ticket.ticketId")
+    List<CommentStatsView> findStatsByTicketIdIn(@Param("ticketIds") Collection<Integer> ticketIds);
+}
@@ -0,0 +1,18 @@
+package com.example.complaintsystem.repository;
+
+import com.example.complaintsystem.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends BaseRepository<IdempotencyRecord, String> {
+
+    // Bulk delete, no entities are loaded
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
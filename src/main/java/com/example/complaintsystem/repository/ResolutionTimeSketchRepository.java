@@ -0,0 +1,30 @@
+package com.example.complaintsystem.repository;
+
+import com.example.complaintsystem.entity.ResolutionTimeSketch;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResolutionTimeSketchRepository extends BaseRepository<ResolutionTimeSketch, Long> {
+
+    Optional<ResolutionTimeSketch> findByNodeIdAndDimensionAndDimensionIdAndWindowStart(String nodeId, String dimension,
+                                                                                        Integer dimensionId, LocalDate windowStart);
+
+    // Sketches of every node for the windows starting in [from, to]
+    List<ResolutionTimeSketch> findByDimensionAndWindowStartBetween(String dimension, LocalDate from, LocalDate to);
+
+    List<ResolutionTimeSketch> findByDimensionAndDimensionIdAndWindowStartBetween(String dimension, Integer dimensionId,
+                                                                                  LocalDate from, LocalDate to);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ResolutionTimeSketch s WHERE s.windowStart < :before")
+    int deleteOlderThan(@Param("before") LocalDate before);
+}
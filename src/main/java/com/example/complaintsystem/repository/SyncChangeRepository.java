@@ -0,0 +1,47 @@
+package com.example.complaintsystem.repository;
+
+import com.example.complaintsystem.entity.SyncChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SyncChangeRepository extends BaseRepository<SyncChange, Long> {
+
+    // Changes after the cursor in sequence order, settled or not (the caller stops at the first unsettled one)
+    @Query("SELECT s FROM SyncChange s WHERE s.seq > :afterSeq ORDER BY s.seq")
+    List<SyncChange> findChangesAfter(@Param("afterSeq") Long afterSeq, Pageable pageable);
+
+    // First change that isn't settled yet, everything below it is (head cursor for clients that just downloaded everything)
+    @Query("SELECT MIN(s.seq) FROM SyncChange s WHERE s.changedAt >= :settledBefore")
+    Optional<Long> findFirstSeqChangedSince(@Param("settledBefore") LocalDateTime settledBefore);
+
+    @Query("SELECT MAX(s.seq) FROM SyncChange s")
+    Optional<Long> findMaxSeq();
+
+    // changed_at comes from the database clock, the same one the settle window is measured with, so rows written
+    // by nodes whose clocks disagree still get timestamps in seq order
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO sync_changes (entity_type, entity_id, ticket_id, change_type, changed_at) " +
+            "VALUES (:entityType, :entityId, :ticketId, :changeType, CAST(CURRENT_TIMESTAMP AS DATETIME2))", nativeQuery = true)
+    void append(@Param("entityType") String entityType,
+                @Param("entityId") Integer entityId,
+                @Param("ticketId") Integer ticketId,
+                @Param("changeType") String changeType);
+
+    @Query(value = "SELECT CAST(CURRENT_TIMESTAMP AS DATETIME2)", nativeQuery = true)
+    LocalDateTime findDatabaseTime();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SyncChange s WHERE s.changedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
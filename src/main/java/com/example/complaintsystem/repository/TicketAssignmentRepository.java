@@ -1,24 +1,62 @@
 package com.example.complaintsystem.repository;
 
 import com.example.complaintsystem.entity.TicketAssignment;
+import com.example.complaintsystem.repository.projection.AssignmentKeyView;
+import com.example.complaintsystem.repository.projection.TicketAssigneeView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TicketAssignmentRepository extends JpaRepository<TicketAssignment, Integer> {
 
+    // The lookups below compare the foreign key columns directly (the derived queries outer join Tickets / Users
+    // and filter on their columns, so the (ticket_id, user_id) / (user_id, ticket_id) indexes couldn't be seeked)
+
     // Find all assignments for a specific ticket
-    List<TicketAssignment> findByTicketTicketId(Integer ticketId);
+    @Query("SELECT ta FROM TicketAssignment ta WHERE ta.ticket.ticketId = :ticketId")
+    List<TicketAssignment> findByTicketTicketId(@Param("ticketId") Integer ticketId);
 
     // Find all assignments for a specific user
-    List<TicketAssignment> findByUserUserId(Integer userId);
+    @Query("SELECT ta FROM TicketAssignment ta WHERE ta.user.userId = :userId")
+    List<TicketAssignment> findByUserUserId(@Param("userId") Integer userId);
 
     // Check if a specific user is already assigned to a specific ticket
-    boolean existsByTicketTicketIdAndUserUserId(Integer ticketId, Integer userId);
+    @Query("SELECT CASE WHEN COUNT(ta) > 0 THEN true ELSE false END FROM TicketAssignment ta " +
+            "WHERE ta.ticket.ticketId = :ticketId AND ta.user.userId = :userId")
+    boolean existsByTicketTicketIdAndUserUserId(@Param("ticketId") Integer ticketId, @Param("userId") Integer userId);
 
     // Find a specific assignment by ticket and user (useful for targeted deletion)
-    Optional<TicketAssignment> findByTicketTicketIdAndUserUserId(Integer ticketId, Integer userId);
-}
\ No newline at end of file
+    @Query("SELECT ta FROM TicketAssignment ta WHERE ta.ticket.ticketId = :ticketId AND ta.user.userId = :userId")
+    Optional<TicketAssignment> findByTicketTicketIdAndUserUserId(@Param("ticketId") Integer ticketId,
+                                                                 @Param("userId") Integer userId);
+
+    // Assigned user ids of several tickets (ticket_summary projection)
+    @Query("SELECT ta.ticket.ticketId AS ticketId, ta.user.userId AS userId FROM TicketAssignment ta " +
+            "WHERE ta.ticket.ticketId IN :ticketIds ORDER BY ta.user.userId")
+    List<TicketAssigneeView> findAssigneesByTicketIdIn(@Param("ticketIds") Collection<Integer> ticketIds);
+
+    // Assignment keys, keyset paginated (assignment index load)
+    @Query("SELECT ta.id AS assignmentId, ta.ticket.ticketId AS ticketId, ta.user.userId AS userId FROM TicketAssignment ta " +
+            "WHERE ta.id > :afterId ORDER BY ta.id")
+    List<AssignmentKeyView> findAssignmentKeysAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT ta.id AS assignmentId, ta.ticket.ticketId AS ticketId, ta.user.userId AS userId FROM TicketAssignment ta " +
+            "WHERE ta.ticket.ticketId IN :ticketIds")
+    List<AssignmentKeyView> findAssignmentKeysByTicketIdIn(@Param("ticketIds") Collection<Integer> ticketIds);
+
+    // Assignments the restored snapshot doesn't have (assignment index catch-up after a snapshot restore)
+    @Query("SELECT ta.id AS assignmentId, ta.ticket.ticketId AS ticketId, ta.user.userId AS userId FROM TicketAssignment ta " +
+            "WHERE ta.id IN :ids")
+    List<AssignmentKeyView> findAssignmentKeysByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Assignment ids only, keyset paginated (assignment index catch-up after a snapshot restore)
+    @Query("SELECT ta.id FROM TicketAssignment ta WHERE ta.id > :afterId ORDER BY ta.id")
+    List<Integer> findAssignmentIdsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+}
@@ -1,11 +1,24 @@
 package com.example.complaintsystem.repository;
 
 import com.example.complaintsystem.entity.Ticket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import com.example.complaintsystem.repository.projection.TicketHeaderView;
+import com.example.complaintsystem.repository.projection.TicketIndexView;
+import com.example.complaintsystem.repository.projection.TicketSlaView;
+import com.example.complaintsystem.repository.projection.TicketSummarySourceView;
+import com.example.complaintsystem.repository.projection.TicketTextView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TicketRepository extends BaseRepository<Ticket, Integer> {
 
@@ -16,14 +29,6 @@ public interface TicketRepository extends BaseRepository<Ticket, Integer> {
     Optional<Ticket> getTicketAndTicketStatus(@Param("ticketId") Integer Id);
 
 
-    // We are using join fetch to solve the N+1 problem
-    @Query("SELECT t FROM Ticket t JOIN FETCH t.ticketStatus ts " +
-            "JOIN FETCH t.user u " +
-            "JOIN FETCH t.department d " +
-            "LEFT JOIN FETCH t.comments c " +
-            "LEFT JOIN FETCH t.ticketAssignments ta where t.ticketId = :ticketId")
-    Optional<Ticket> getAllFieldsOfTicket(@Param("ticketId") Integer Id);
-
     Optional<Ticket> getAllByTicketId(Integer Id);
 
     Optional<Ticket> getTicketByTicketId(Integer Id);
@@ -32,6 +37,94 @@ public interface TicketRepository extends BaseRepository<Ticket, Integer> {
     @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.comments WHERE t.ticketId = :id")
     Optional<Ticket> findTicketWithCommentsById(@Param("id") Integer id);
 
-    // Count tickets assigned to a specific department ID
-    long countByDepartmentDepartmentId(Integer departmentId);
+    // Count tickets assigned to a specific department ID (on the foreign key column, counted from ix_tickets_department)
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.department.departmentId = :departmentId")
+    long countByDepartmentDepartmentId(@Param("departmentId") Integer departmentId);
+
+    // Tickets in the given statuses, keyset paginated on ticketId (used to rebuild the SLA timers on startup)
+    @Query("SELECT t.ticketId AS ticketId, d.departmentName AS departmentName, ts.statusName AS statusName, " +
+            "t.createdAt AS createdAt, t.updatedAt AS updatedAt " +
+            "FROM Ticket t JOIN t.ticketStatus ts LEFT JOIN t.department d " +
+            "WHERE ts.statusId IN :statusIds AND t.ticketId > :afterId ORDER BY t.ticketId")
+    List<TicketSlaView> findSlaCandidates(@Param("statusIds") Collection<Integer> statusIds,
+                                          @Param("afterId") Integer afterId,
+                                          Pageable pageable);
+
+    // Recent tickets in the given statuses with their text, keyset paginated (duplicate detection index rebuild)
+    @Query("SELECT t.ticketId AS ticketId, t.department.departmentId AS departmentId, t.title AS title, " +
+            "t.description AS description, t.createdAt AS createdAt " +
+            "FROM Ticket t WHERE t.ticketStatus.statusId IN :statusIds AND t.createdAt >= :since " +
+            "AND t.ticketId > :afterId ORDER BY t.ticketId")
+    List<TicketTextView> findRecentTicketTexts(@Param("statusIds") Collection<Integer> statusIds,
+                                               @Param("since") LocalDateTime since,
+                                               @Param("afterId") Integer afterId,
+                                               Pageable pageable);
+
+    // Multi-get: to-one associations joined, comments come in through @BatchSize
+    @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.ticketStatus LEFT JOIN FETCH t.department WHERE t.ticketId IN :ids")
+    List<Ticket> findAllWithDetailsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Cursor over all tickets for the streaming read API; must be consumed inside a transaction and closed. The user
+    // is fetched too: the stream clears the persistence context after every chunk, a lazy proxy would not survive it.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.user LEFT JOIN FETCH t.ticketStatus LEFT JOIN FETCH t.department " +
+            "ORDER BY t.ticketId")
+    Stream<Ticket> streamAllWithDetails();
+
+    // Header columns of the ticket_summary read model for a batch of tickets
+    @Query("SELECT t.ticketId AS ticketId, t.title AS title, u.userId AS userId, u.username AS username, " +
+            "d.departmentId AS departmentId, d.departmentName AS departmentName, " +
+            "ts.statusId AS statusId, ts.statusName AS statusName, t.createdAt AS createdAt, t.updatedAt AS updatedAt " +
+            "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.department d LEFT JOIN t.ticketStatus ts " +
+            "WHERE t.ticketId IN :ids")
+    List<TicketSummarySourceView> findSummarySources(@Param("ids") Collection<Integer> ids);
+
+    // Ticket ids only, keyset paginated (ticket_summary rebuild)
+    @Query("SELECT t.ticketId FROM Ticket t WHERE t.ticketId > :afterId ORDER BY t.ticketId")
+    List<Integer> findTicketIdsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    // Filter keys of all tickets, keyset paginated (bitmap index load)
+    @Query("SELECT t.ticketId AS ticketId, t.ticketStatus.statusId AS statusId, t.department.departmentId AS departmentId, " +
+            "t.user.userId AS userId FROM Ticket t WHERE t.ticketId > :afterId ORDER BY t.ticketId")
+    List<TicketIndexView> findIndexKeysAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT t.ticketId AS ticketId, t.ticketStatus.statusId AS statusId, t.department.departmentId AS departmentId, " +
+            "t.user.userId AS userId FROM Ticket t WHERE t.ticketId IN :ids")
+    List<TicketIndexView> findIndexKeysByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Headers of the tickets in the given statuses, keyset paginated (off-heap header cache load)
+    @Query("SELECT t.ticketId AS ticketId, t.title AS title, u.userId AS userId, d.departmentId AS departmentId, " +
+            "d.departmentName AS departmentName, ts.statusId AS statusId, ts.statusName AS statusName, " +
+            "t.createdAt AS createdAt, t.updatedAt AS updatedAt " +
+            "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.department d JOIN t.ticketStatus ts " +
+            "WHERE ts.statusId IN :statusIds AND t.ticketId > :afterId ORDER BY t.ticketId")
+    List<TicketHeaderView> findHeadersAfter(@Param("statusIds") Collection<Integer> statusIds,
+                                            @Param("afterId") Integer afterId,
+                                            Pageable pageable);
+
+    @Query("SELECT t.ticketId AS ticketId, t.title AS title, u.userId AS userId, d.departmentId AS departmentId, " +
+            "d.departmentName AS departmentName, ts.statusId AS statusId, ts.statusName AS statusName, " +
+            "t.createdAt AS createdAt, t.updatedAt AS updatedAt " +
+            "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.department d LEFT JOIN t.ticketStatus ts " +
+            "WHERE t.ticketId IN :ids")
+    List<TicketHeaderView> findHeadersByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Headers of tickets written since the given time, keyset paginated (header cache catch-up after a snapshot restore)
+    @Query("SELECT t.ticketId AS ticketId, t.title AS title, u.userId AS userId, d.departmentId AS departmentId, " +
+            "d.departmentName AS departmentName, ts.statusId AS statusId, ts.statusName AS statusName, " +
+            "t.createdAt AS createdAt, t.updatedAt AS updatedAt " +
+            "FROM Ticket t LEFT JOIN t.user u LEFT JOIN t.department d LEFT JOIN t.ticketStatus ts " +
+            "WHERE t.updatedAt >= :since AND t.ticketId > :afterId ORDER BY t.ticketId")
+    List<TicketHeaderView> findHeadersUpdatedSince(@Param("since") LocalDateTime since,
+                                                   @Param("afterId") Integer afterId,
+                                                   Pageable pageable);
+
+    // Ids of the tickets in the given statuses, keyset paginated
+    @Query("SELECT t.ticketId FROM Ticket t WHERE t.ticketStatus.statusId IN :statusIds AND t.ticketId > :afterId ORDER BY t.ticketId")
+    List<Integer> findTicketIdsInStatusesAfter(@Param("statusIds") Collection<Integer> statusIds,
+                                               @Param("afterId") Integer afterId,
+                                               Pageable pageable);
 }
@@ -1,7 +1,17 @@
 package com.example.complaintsystem.repository;
 
+import com.example.complaintsystem.Enum.Statuses;
 import com.example.complaintsystem.entity.TicketStatus;
 
+import java.util.List;
+
 public interface TicketStatusRepository extends BaseRepository<TicketStatus, Integer> {
 
+    // IDs of the statuses that count as active (OPEN / IN_PROGRESS); the table only holds a handful of rows
+    default List<Integer> findActiveStatusIds() {
+        return findAll().stream()
+                .filter(status -> Statuses.fromStatusName(status.getStatusName()).map(Statuses::isActive).orElse(false))
+                .map(TicketStatus::getStatusId)
+                .toList();
+    }
 }
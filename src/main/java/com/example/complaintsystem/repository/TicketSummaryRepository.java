@@ -0,0 +1,55 @@
+package com.example.complaintsystem.repository;
+
+import com.example.complaintsystem.entity.TicketSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+// One search per leading filter (TicketSummaryService picks the most selective one that is set), so each gets a
+// plan that seeks its own index (V10) instead of one catch-all plan shared by every combination. The remaining
+// filters are optional (null = not filtered) and are checked on the rows the seek finds.
+@Repository
+public interface TicketSummaryRepository extends BaseRepository<TicketSummary, Integer> {
+
+    @Query("SELECT s FROM TicketSummary s JOIN s.assigneeIds a WHERE a = :assigneeId " +
+            "AND (:statusId IS NULL OR s.statusId = :statusId) " +
+            "AND (:departmentId IS NULL OR s.departmentId = :departmentId) " +
+            "AND (:userId IS NULL OR s.userId = :userId) " +
+            "AND (:title IS NULL OR LOWER(s.title) LIKE LOWER(CONCAT('%', :title, '%')))")
+    Page<TicketSummary> searchByAssignee(@Param("assigneeId") Integer assigneeId,
+                                         @Param("statusId") Integer statusId,
+                                         @Param("departmentId") Integer departmentId,
+                                         @Param("userId") Integer userId,
+                                         @Param("title") String title,
+                                         Pageable pageable);
+
+    @Query("SELECT s FROM TicketSummary s WHERE s.userId = :userId " +
+            "AND (:statusId IS NULL OR s.statusId = :statusId) " +
+            "AND (:departmentId IS NULL OR s.departmentId = :departmentId) " +
+            "AND (:title IS NULL OR LOWER(s.title) LIKE LOWER(CONCAT('%', :title, '%')))")
+    Page<TicketSummary> searchByUser(@Param("userId") Integer userId,
+                                     @Param("statusId") Integer statusId,
+                                     @Param("departmentId") Integer departmentId,
+                                     @Param("title") String title,
+                                     Pageable pageable);
+
+    @Query("SELECT s FROM TicketSummary s WHERE s.departmentId = :departmentId " +
+            "AND (:statusId IS NULL OR s.statusId = :statusId) " +
+            "AND (:title IS NULL OR LOWER(s.title) LIKE LOWER(CONCAT('%', :title, '%')))")
+    Page<TicketSummary> searchByDepartment(@Param("departmentId") Integer departmentId,
+                                           @Param("statusId") Integer statusId,
+                                           @Param("title") String title,
+                                           Pageable pageable);
+
+    @Query("SELECT s FROM TicketSummary s WHERE s.statusId = :statusId " +
+            "AND (:title IS NULL OR LOWER(s.title) LIKE LOWER(CONCAT('%', :title, '%')))")
+    Page<TicketSummary> searchByStatus(@Param("statusId") Integer statusId,
+                                       @Param("title") String title,
+                                       Pageable pageable);
+
+    // A substring match can't use an index, the title alone is a scan whatever the plan
+    @Query("SELECT s FROM TicketSummary s WHERE LOWER(s.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    Page<TicketSummary> searchByTitle(@Param("title") String title, Pageable pageable);
+}
@@ -1,9 +1,13 @@
 package com.example.complaintsystem.repository;
 
 import com.example.complaintsystem.entity.User;
+import com.example.complaintsystem.repository.projection.UserKeyView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends BaseRepository<User, Integer> {
@@ -13,10 +17,29 @@ public interface UserRepository extends BaseRepository<User, Integer> {
 
     Optional<Object> findByEmail(String email);
 
-    // Count users associated with a specific role ID
-    long countByRoleRoleId(Integer roleId);
+    // Existence checks on the unique indexes, no entity or role is loaded
+    boolean existsByUsername(String username);
 
-    // Count users assigned to a specific department ID
-    long countByDepartmentDepartmentId(Integer departmentId);
+    boolean existsByEmail(String email);
 
+    // Count users associated with a specific role ID (on the foreign key column, counted from ix_users_role)
+    @Query("SELECT COUNT(u) FROM User u WHERE u.role.roleId = :roleId")
+    long countByRoleRoleId(@Param("roleId") Integer roleId);
+
+    // Count users assigned to a specific department ID (counted from ix_users_department)
+    @Query("SELECT COUNT(u) FROM User u WHERE u.department.departmentId = :departmentId")
+    long countByDepartmentDepartmentId(@Param("departmentId") Integer departmentId);
+
+    // Multi-get: role and department joined, tickets/comments come in through @BatchSize
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.role LEFT JOIN FETCH u.department WHERE u.userId IN :ids")
+    List<User> findAllWithDetailsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Usernames and emails, keyset paginated (availability filter load)
+    @Query("SELECT u.userId AS userId, u.username AS username, u.email AS email FROM User u " +
+            "WHERE u.userId > :afterId ORDER BY u.userId")
+    List<UserKeyView> findUserKeysAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    // Username and email of one user (availability filters, for users created on other nodes)
+    @Query("SELECT u.userId AS userId, u.username AS username, u.email AS email FROM User u WHERE u.userId = :userId")
+    Optional<UserKeyView> findUserKeysById(@Param("userId") Integer userId);
 }
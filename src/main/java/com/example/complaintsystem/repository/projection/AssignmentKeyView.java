@@ -0,0 +1,8 @@
+package com.example.complaintsystem.repository.projection;
+
+// Interface projection of one assignment row as kept by the in-memory assignment index
+public interface AssignmentKeyView {
+    Integer getAssignmentId();
+    Integer getTicketId();
+    Integer getUserId();
+}
@@ -0,0 +1,10 @@
+package com.example.complaintsystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Comment count and latest comment time of a ticket (ticket_summary projection)
+public interface CommentStatsView {
+    Integer getTicketId();
+    Long getCommentCount();
+    LocalDateTime getLastCommentAt();
+}
@@ -0,0 +1,7 @@
+package com.example.complaintsystem.repository.projection;
+
+// Ticket id / assigned user id pair (ticket_summary projection)
+public interface TicketAssigneeView {
+    Integer getTicketId();
+    Integer getUserId();
+}
@@ -0,0 +1,16 @@
+package com.example.complaintsystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Interface projection of the columns kept in the off-heap ticket header cache
+public interface TicketHeaderView {
+    Integer getTicketId();
+    String getTitle();
+    Integer getUserId();
+    Integer getDepartmentId();
+    String getDepartmentName();
+    Integer getStatusId();
+    String getStatusName();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
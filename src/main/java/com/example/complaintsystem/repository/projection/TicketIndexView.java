@@ -0,0 +1,9 @@
+package com.example.complaintsystem.repository.projection;
+
+// Interface projection of the keys indexed by the ticket bitmap index
+public interface TicketIndexView {
+    Integer getTicketId();
+    Integer getStatusId();
+    Integer getDepartmentId();
+    Integer getUserId();
+}
@@ -0,0 +1,12 @@
+package com.example.complaintsystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Interface projection for the SLA timer rebuild (no entity hydration, no lazy loads)
+public interface TicketSlaView {
+    Integer getTicketId();
+    String getDepartmentName();
+    String getStatusName();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,17 @@
+package com.example.complaintsystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Interface projection of the ticket header columns copied into ticket_summary
+public interface TicketSummarySourceView {
+    Integer getTicketId();
+    String getTitle();
+    Integer getUserId();
+    String getUsername();
+    Integer getDepartmentId();
+    String getDepartmentName();
+    Integer getStatusId();
+    String getStatusName();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,12 @@
+package com.example.complaintsystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Interface projection for rebuilding the duplicate detection index on startup
+public interface TicketTextView {
+    Integer getTicketId();
+    Integer getDepartmentId();
+    String getTitle();
+    String getDescription();
+    LocalDateTime getCreatedAt();
+}
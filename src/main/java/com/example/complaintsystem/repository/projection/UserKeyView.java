@@ -0,0 +1,8 @@
+package com.example.complaintsystem.repository.projection;
+
+// Interface projection of the unique user keys (username / email availability filters)
+public interface UserKeyView {
+    Integer getUserId();
+    String getUsername();
+    String getEmail();
+}
@@ -1,5 +1,9 @@
 package com.example.complaintsystem.security;
 
+import com.example.complaintsystem.coherence.CacheRegion;
+import com.example.complaintsystem.event.CacheInvalidatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import com.example.complaintsystem.entity.User;
 import com.example.complaintsystem.repository.UserRepository;
@@ -8,16 +12,59 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
     private UserRepository userRepository;
 
+    // Every authenticated request loads its user; cached per node and evicted on user / role changes from any node
+    @Value("${user-details-cache.ttl:PT5M}")
+    private Duration cacheTtl;
+
+    @Value("${user-details-cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+    // Bumped on every eviction, a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record CachedUser(CustomUserDetails details, long expiresAtMs) {
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        CachedUser cached = cache.get(username);
+        if (cached != null && cached.expiresAtMs() > System.currentTimeMillis()) {
+            return cached.details();
+        }
+        long generation = invalidations.get();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-        return new CustomUserDetails(user);
+        CustomUserDetails details = new CustomUserDetails(user);
+        if (cache.size() >= cacheMaxEntries) {
+            cache.clear();
+        }
+        if (invalidations.get() == generation) {
+            cache.put(username, new CachedUser(details, System.currentTimeMillis() + cacheTtl.toMillis()));
+        }
+        return details;
+    }
+
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.getRegion() == CacheRegion.USER) {
+            invalidations.incrementAndGet();
+            cache.remove(event.getKey());
+        } else if (event.getRegion() == CacheRegion.ROLE) {
+            // Role changes touch every user holding the role
+            invalidations.incrementAndGet();
+            cache.clear();
+        }
     }
-}
\ No newline at end of file
+}
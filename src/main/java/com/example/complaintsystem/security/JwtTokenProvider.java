@@ -4,6 +4,8 @@ import io.jsonwebtoken.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -15,6 +17,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
+import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
@@ -36,22 +39,47 @@ public class JwtTokenProvider {
 
     // Change key fields
     // private final SecretKey key; // Symmetric key
-    private final PrivateKey privateKey;
-    private final PublicKey publicKey;
+    // RSA keys, parsed once the application is ready rather than in the constructor (KeyFactory set-up and PEM
+    // parsing stay off the context refresh; the fast-start training run can refresh the context without the private key)
+    private volatile KeyPair keys;
 
 
     @Autowired
     public JwtTokenProvider(JwtConfig jwtConfig, ResourceLoader resourceLoader) {
         this.jwtConfig = jwtConfig;
         this.resourceLoader = resourceLoader;
+    }
+
+    // Still fails the start: an exception from an ApplicationReadyEvent listener stops the application before the
+    // node reports ready, so a missing or broken key is found at deploy time and not by the first login
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadKeysOnStartup() {
+        keys();
+    }
+
+    private KeyPair keys() {
+        KeyPair loaded = keys;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = keys;
+                if (loaded == null) {
+                    loaded = loadKeys();
+                    keys = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
 
+    private KeyPair loadKeys() {
         try {
-            this.privateKey = loadPrivateKey(jwtConfig.getPrivateKeyLocation());
-            this.publicKey = loadPublicKey(jwtConfig.getPublicKeyLocation());
+            KeyPair loaded = new KeyPair(loadPublicKey(jwtConfig.getPublicKeyLocation()),
+                    loadPrivateKey(jwtConfig.getPrivateKeyLocation()));
             logger.info("Successfully loaded RSA public and private keys.");
+            return loaded;
         } catch (Exception e) {
-            logger.error("Failed to load RSA keys on startup!", e);
-            throw new RuntimeException("Could not initialize JWT provider: Failed to load keys", e);
+            logger.error("Failed to load RSA keys!", e);
+            throw new IllegalStateException("Could not initialize JWT provider: Failed to load keys", e);
         }
     }
 
@@ -112,7 +140,7 @@ public class JwtTokenProvider {
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
 //                .signWith(key, SignatureAlgorithm.HS512)
-                .signWith(privateKey, SignatureAlgorithm.RS256) // Use private key now
+                .signWith(keys().getPrivate(), SignatureAlgorithm.RS256) // Use private key now
                 .compact();
     }
 
@@ -121,7 +149,7 @@ public class JwtTokenProvider {
 
         try {
             return getClaimsFromJWT(token).getSubject();
-        } catch (JwtException | IllegalArgumentException e) {
+        } catch (JwtException | IllegalArgumentException | IllegalStateException e) {
             logger.error("Failed to get username from JWT: {}", e.getMessage());
             return null; // Or rethrow a custom exception
         }
@@ -131,7 +159,7 @@ public class JwtTokenProvider {
         try {
             Claims claims = getClaimsFromJWT(token);
             return claims.get("userId", Integer.class); // Use type-safe getter
-        } catch (JwtException | IllegalArgumentException e) {
+        } catch (JwtException | IllegalArgumentException | IllegalStateException e) {
             logger.error("Failed to get userId from JWT: {}", e.getMessage());
             return null;
         }
@@ -146,7 +174,7 @@ public class JwtTokenProvider {
     private Claims getClaimsFromJWT(String token) {
         // log.debug("Attempting to parse claims from token");
         return Jwts.parserBuilder()
-                .setSigningKey(publicKey) // Verify with public key
+                .setSigningKey(keys().getPublic()) // Verify with public key
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
@@ -154,7 +182,7 @@ public class JwtTokenProvider {
     public boolean validateToken(String authToken) {
         try {
             Jwts.parserBuilder()
-                    .setSigningKey(publicKey) // Verify with public key
+                    .setSigningKey(keys().getPublic()) // Verify with public key
                     .build()
                     .parseClaimsJws(authToken);
             logger.trace("JWT validation successful for token ending with: ...{}", authToken.length() > 10 ? authToken.substring(authToken.length() - 10) : authToken);
@@ -165,6 +193,7 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) { logger.error("JWT claims string is empty or invalid: {}", ex.getMessage());
         } catch (SignatureException ex) {
             logger.error("JWT signature validation failed: {}", ex.getMessage());
+        } catch (IllegalStateException ex) { logger.error("JWT keys are not available: {}", ex.getMessage());
         }
         return false;
     }
@@ -0,0 +1,31 @@
+package com.example.complaintsystem.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+
+    // Threads that run BCrypt; the most CPU that password operations can take at any time
+    private int threads = 2;
+
+    // Operations waiting for a hashing thread; beyond that callers get a 503 at once
+    private int queueCapacity = 20;
+
+    // Longest a caller waits for its hash (queue + hashing) before giving up with a 503
+    private Duration waitTimeout = Duration.ofSeconds(3);
+
+    // BCrypt cost factor (log2 rounds) of new hashes, existing hashes keep the cost they were created with
+    private int strength = 10;
+
+    // Pick the strength at startup instead: the highest one that keeps a hash under target-latency on this machine
+    private boolean calibrate = false;
+    private Duration targetLatency = Duration.ofMillis(250);
+    private int minStrength = 10;
+    private int maxStrength = 14;
+}
@@ -1,7 +1,16 @@
 package com.example.complaintsystem.security;
 
+import com.example.complaintsystem.idempotency.IdempotencyFilter;
+import com.example.complaintsystem.ratelimit.RateLimitFilter;
 import com.example.complaintsystem.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -22,21 +31,54 @@ import org.springframework.security.ldap.authentication.LdapAuthenticationProvid
 import org.springframework.security.ldap.search.FilterBasedLdapUserSearch;
 import org.springframework.security.ldap.userdetails.UserDetailsContextMapper;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     @Autowired
     private CustomUserDetailsService customUserDetailsService; // Needed for the mapper bean
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
 
+    // BCrypt behind a bulkhead (own threads, bounded queue), see BulkheadPasswordEncoder
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        int strength = properties.isCalibrate()
+                ? calibrateStrength(properties.getTargetLatency(), properties.getMinStrength(), properties.getMaxStrength())
+                : properties.getStrength();
+        log.info("Password hashing: BCrypt strength {}, {} threads, queue {}", strength, properties.getThreads(),
+                properties.getQueueCapacity());
+        return new BulkheadPasswordEncoder(new BCryptPasswordEncoder(strength), properties.getThreads(),
+                properties.getQueueCapacity(), properties.getWaitTimeout(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    // Helper: the highest strength whose hash stays under the target on this machine. Every step doubles the work,
+    // so one timed hash at the minimum strength is enough to extrapolate.
+    static int calibrateStrength(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration"); // first call pays for class loading and seeding the SecureRandom
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long cost = System.nanoTime() - start;
+        int strength = minStrength;
+        while (strength < maxStrength && cost * 2 <= targetLatency.toNanos()) {
+            strength++;
+            cost *= 2;
+        }
+        return strength;
     }
 
     @Bean
@@ -80,21 +122,45 @@ public class SecurityConfig {
                 .sessionManagement(sessionManagement -> sessionManagement
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests((authorize) -> authorize
+                        // Async results are re-dispatched after the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/api-documentation/**",
                                 "/swagger-ui.html",
                                 "/swagger-ui/**",
                                 "/api-docs/**",
-                                "/v3/api-docs/**"
+                                "/v3/api-docs/**",
+                                // Liveness / readiness probes of the orchestrator
+                                "/actuator/health",
+                                "/actuator/health/**"
                         ).permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/tickets/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v2/tickets/**").permitAll()
                         // .requestMatchers(HttpMethod.POST, "/users").permitAll() // Re-evaluate if this should be public
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // After authentication (callers are counted per user id when signed in), before authorization
+                .addFilterBefore(rateLimitFilter, AuthorizationFilter.class)
+                // After authorization, so only permitted requests are deduplicated and keys are scoped per user
+                .addFilterAfter(idempotencyFilter, AuthorizationFilter.class);
 
         return http.build();
     }
+
+    // The filter is a @Component for injection only, it must run inside the security chain and not a second time
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
\ No newline at end of file
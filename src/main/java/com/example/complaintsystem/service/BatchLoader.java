@@ -0,0 +1,69 @@
+package com.example.complaintsystem.service;
+
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
+import com.example.complaintsystem.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Shared plumbing of the multi-get endpoints: validates the id list, runs the IN-list query in chunks
+// (SQL Server caps a statement at 2100 parameters) and lines the results up with the requested ids.
+@Component
+public class BatchLoader {
+
+    private final int maxIds;
+    private final int chunkSize;
+
+    public BatchLoader(@Value("${batch.max-ids:500}") int maxIds,
+                       @Value("${batch.in-list-chunk-size:250}") int chunkSize) {
+        this.maxIds = maxIds;
+        this.chunkSize = chunkSize;
+    }
+
+    public <E, D> List<BatchItemDTO<D>> load(List<Integer> ids,
+                                              Function<List<Integer>, List<E>> query,
+                                              Function<E, Integer> idOf,
+                                              Function<E, D> converter) {
+        List<Integer> uniqueIds = uniqueIds(ids);
+
+        Map<Integer, D> found = new HashMap<>();
+        for (int from = 0; from < uniqueIds.size(); from += chunkSize) {
+            List<Integer> chunk = uniqueIds.subList(from, Math.min(from + chunkSize, uniqueIds.size()));
+            for (E entity : query.apply(chunk)) {
+                found.put(idOf.apply(entity), converter.apply(entity));
+            }
+        }
+
+        List<BatchItemDTO<D>> items = new ArrayList<>(uniqueIds.size());
+        for (Integer id : uniqueIds) {
+            BatchItemDTO<D> item = new BatchItemDTO<>();
+            item.setId(id);
+            item.setData(found.get(id));
+            item.setFound(item.getData() != null);
+            items.add(item);
+        }
+        return items;
+    }
+
+    // Helper: drops nulls and duplicates (keeping the request order) and enforces the size limit
+    private List<Integer> uniqueIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
+        }
+        List<Integer> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids.stream().filter(Objects::nonNull).toList()));
+        if (uniqueIds.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
+        }
+        if (uniqueIds.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " ids can be requested at once");
+        }
+        return uniqueIds;
+    }
+}
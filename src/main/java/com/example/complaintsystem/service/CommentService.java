@@ -1,22 +1,28 @@
 package com.example.complaintsystem.service;
 
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
 import com.example.complaintsystem.dto.Comments.CommentDTO;
 import com.example.complaintsystem.dto.Comments.CommentRequestDTO;
 import com.example.complaintsystem.entity.Comment;
 import com.example.complaintsystem.entity.Ticket;
 import com.example.complaintsystem.entity.User;
+import com.example.complaintsystem.event.CommentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
 import com.example.complaintsystem.exception.ResourceNotFoundException;
 import com.example.complaintsystem.repository.CommentRepository;
 import com.example.complaintsystem.repository.TicketRepository;
 import com.example.complaintsystem.security.CustomUserDetails; // Assuming this is your UserDetails impl
+import com.example.complaintsystem.sharding.ShardRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,17 +32,31 @@ public class CommentService {
 
     private final CommentRepository commentRepository;
     private final TicketRepository ticketRepository;
+    private final BatchLoader batchLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
 
     @Autowired
     public CommentService(CommentRepository commentRepository,
-                          TicketRepository ticketRepository) {
+                          TicketRepository ticketRepository,
+                          BatchLoader batchLoader,
+                          ApplicationEventPublisher eventPublisher,
+                          ShardRouter shardRouter) {
         this.commentRepository = commentRepository;
         this.ticketRepository = ticketRepository;
+        this.batchLoader = batchLoader;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
     }
 
     // Get Comments for a specific Ticket
     @Transactional(readOnly = true)
     public List<CommentDTO> getCommentsByTicketId(Integer ticketId) {
+        // Comments live on their ticket's shard
+        return shardRouter.readOnShardOf(ticketId, () -> loadCommentsByTicketId(ticketId));
+    }
+
+    private List<CommentDTO> loadCommentsByTicketId(Integer ticketId) {
         log.info("Fetching comments for ticket ID: {}", ticketId);
         // Check if ticket exists first
         if (!ticketRepository.existsById(ticketId)) {
@@ -55,14 +75,30 @@ public class CommentService {
     @Transactional(readOnly = true)
     public CommentDTO getCommentById(Integer commentId) {
         log.info("Fetching comment with ID: {}", commentId);
-        Comment comment = findCommentByIdOrThrow(commentId);
-        log.info("Found comment ID: {}", commentId);
-        return convertToDTO(comment);
+        return shardRouter.readOnShardOf(commentId, () -> {
+            Comment comment = findCommentByIdOrThrow(commentId);
+            log.info("Found comment ID: {}", commentId);
+            return convertToDTO(comment);
+        });
+    }
+
+    // Get several Comments by ID (multi-get)
+    @Transactional(readOnly = true)
+    public List<BatchItemDTO<CommentDTO>> getCommentsByIds(List<Integer> ids) {
+        log.info("Fetching {} comments by ID", ids != null ? ids.size() : 0);
+        return batchLoader.load(ids,
+                chunk -> shardRouter.byShardOf(chunk, shardIds -> commentRepository.findAllWithDetailsByIdIn(shardIds)
+                        .stream().map(this::convertToDTO).toList()),
+                CommentDTO::getId, Function.identity());
     }
 
     // Create Comment
     @Transactional
     public CommentDTO createComment(Integer ticketId, CommentRequestDTO commentRequestDTO, CustomUserDetails currentUser) {
+        return shardRouter.onShardOf(ticketId, () -> createCommentOnShard(ticketId, commentRequestDTO, currentUser));
+    }
+
+    private CommentDTO createCommentOnShard(Integer ticketId, CommentRequestDTO commentRequestDTO, CustomUserDetails currentUser) {
         log.info("Attempting to create comment for ticket ID: {} by user ID: {}", ticketId, currentUser.getUserId());
 
         // Find the ticket the comment belongs to
@@ -84,12 +120,17 @@ public class CommentService {
         Comment savedComment = commentRepository.save(newComment);
         log.info("Successfully created comment ID: {} for ticket ID: {} by user ID: {}",
                 savedComment.getCommentId(), ticketId, user.getUserId());
+        publishChanged(TicketChangedEvent.ChangeType.CREATED, savedComment);
         return convertToDTO(savedComment);
     }
 
     // Update Comment
     @Transactional
     public CommentDTO updateComment(Integer commentId, CommentRequestDTO commentRequestDTO, CustomUserDetails currentUser) {
+        return shardRouter.onShardOf(commentId, () -> updateCommentOnShard(commentId, commentRequestDTO, currentUser));
+    }
+
+    private CommentDTO updateCommentOnShard(Integer commentId, CommentRequestDTO commentRequestDTO, CustomUserDetails currentUser) {
         log.info("Attempting to update comment ID: {} by user ID: {}", commentId, currentUser.getUserId());
 
         Comment existingComment = findCommentByIdOrThrow(commentId);
@@ -102,12 +143,17 @@ public class CommentService {
 
         Comment updatedComment = commentRepository.save(existingComment);
         log.info("Successfully updated comment ID: {}", updatedComment.getCommentId());
+        publishChanged(TicketChangedEvent.ChangeType.UPDATED, updatedComment);
         return convertToDTO(updatedComment);
     }
 
     // Delete Comment
     @Transactional
     public void deleteComment(Integer commentId, CustomUserDetails currentUser) {
+        shardRouter.runOnShardOf(commentId, () -> deleteCommentOnShard(commentId, currentUser));
+    }
+
+    private void deleteCommentOnShard(Integer commentId, CustomUserDetails currentUser) {
         log.info("Attempting to delete comment ID: {} by user ID: {}", commentId, currentUser.getUserId());
 
         Comment commentToDelete = findCommentByIdOrThrow(commentId);
@@ -117,6 +163,7 @@ public class CommentService {
 
         commentRepository.delete(commentToDelete);
         log.info("Successfully deleted comment ID: {}", commentId);
+        publishChanged(TicketChangedEvent.ChangeType.DELETED, commentToDelete);
     }
 
     // Helper: Find Comment or Throw
@@ -128,6 +175,14 @@ public class CommentService {
                 });
     }
 
+    // Helper: Tell listeners (read model, heavy hitter tracking) about a comment write
+    private void publishChanged(TicketChangedEvent.ChangeType changeType, Comment comment) {
+        Ticket ticket = comment.getTicket();
+        eventPublisher.publishEvent(new CommentChangedEvent(changeType, comment.getCommentId(), ticket.getTicketId(),
+                comment.getUser() != null ? comment.getUser().getUserId() : null,
+                ticket.getDepartment() != null ? ticket.getDepartment().getDepartmentId() : null));
+    }
+
     // Helper Method: Authorization Check
     private void checkCommentOwnershipOrAdmin(Comment comment, CustomUserDetails currentUser, String action) {
         boolean isAdmin = currentUser.getAuthorities().stream()
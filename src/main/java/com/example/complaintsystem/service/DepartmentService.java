@@ -1,5 +1,7 @@
 package com.example.complaintsystem.service;
 
+import com.example.complaintsystem.coherence.CacheInvalidator;
+import com.example.complaintsystem.coherence.CacheRegion;
 import com.example.complaintsystem.dto.Departments.DepartmentDTO;
 import com.example.complaintsystem.dto.Departments.DepartmentRequestDTO;
 import com.example.complaintsystem.entity.Department;
@@ -8,6 +10,7 @@ import com.example.complaintsystem.exception.ResourceNotFoundException;
 import com.example.complaintsystem.repository.DepartmentRepository;
 import com.example.complaintsystem.repository.TicketRepository;
 import com.example.complaintsystem.repository.UserRepository;
+import com.example.complaintsystem.sharding.ShardRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,14 +29,20 @@ public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository;
     private final TicketRepository ticketRepository;
+    private final ShardRouter shardRouter;
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
     public DepartmentService(DepartmentRepository departmentRepository,
                              UserRepository userRepository,
-                             TicketRepository ticketRepository) {
+                             TicketRepository ticketRepository,
+                             ShardRouter shardRouter,
+                             CacheInvalidator cacheInvalidator) {
         this.departmentRepository = departmentRepository;
         this.userRepository = userRepository;
         this.ticketRepository = ticketRepository;
+        this.shardRouter = shardRouter;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Transactional(readOnly = true)
@@ -97,6 +106,7 @@ public class DepartmentService {
 
         existingDepartment.setDepartmentName(newDeptName);
         Department updatedDepartment = departmentRepository.save(existingDepartment);
+        cacheInvalidator.invalidate(CacheRegion.DEPARTMENT, id);
         log.info("Successfully updated department ID: {} to name: '{}'", updatedDepartment.getDepartmentId(), updatedDepartment.getDepartmentName());
         return convertToDepartmentDTO(updatedDepartment);
     }
@@ -119,13 +129,14 @@ public class DepartmentService {
         }
 
         // Check if any tickets are assigned to this department
-        long ticketCount = ticketRepository.countByDepartmentDepartmentId(id);
+        long ticketCount = shardRouter.sumAcrossShards(shard -> ticketRepository.countByDepartmentDepartmentId(id));
         if (ticketCount > 0) {
             log.warn("Deletion failed: Department ID {} is assigned to {} ticket(s).", id, ticketCount);
             throw new BadRequestException("Department cannot be deleted because it is assigned to " + ticketCount + " ticket(s).");
         }
 
         departmentRepository.deleteById(id);
+        cacheInvalidator.invalidate(CacheRegion.DEPARTMENT, id);
         log.info("Successfully deleted department with ID: {}", id);
     }
 
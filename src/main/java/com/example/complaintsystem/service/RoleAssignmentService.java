@@ -1,6 +1,8 @@
 // RoleAssignmentService.java (Corrected)
 package com.example.complaintsystem.service;
 
+import com.example.complaintsystem.coherence.CacheInvalidator;
+import com.example.complaintsystem.coherence.CacheRegion;
 import com.example.complaintsystem.entity.Role;
 import com.example.complaintsystem.entity.User;
 import com.example.complaintsystem.repository.RoleRepository;
@@ -20,6 +22,9 @@ public class RoleAssignmentService {
     @Autowired
     private RoleRepository roleRepository; // Inject RoleRepository
 
+    @Autowired
+    private CacheInvalidator cacheInvalidator; // Cached user details (authorities) on every node
+
     @Transactional
     @PreAuthorize("hasRole('ADMIN')") // Only admins can change roles
     public void changeUserRole(Integer userId, String roleName) {
@@ -31,5 +36,6 @@ public class RoleAssignmentService {
 
         user.setRole(role);
         userRepository.save(user);
+        cacheInvalidator.invalidate(CacheRegion.USER, user.getUsername());
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.complaintsystem.service;
 
+import com.example.complaintsystem.coherence.CacheInvalidator;
+import com.example.complaintsystem.coherence.CacheRegion;
 import com.example.complaintsystem.dto.Roles.RoleDTO;
 import com.example.complaintsystem.dto.Roles.RoleRequestDTO;
 import com.example.complaintsystem.entity.Role;
@@ -24,11 +26,13 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository; // Inject UserRepository
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
-    public RoleService(RoleRepository roleRepository, UserRepository userRepository) {
+    public RoleService(RoleRepository roleRepository, UserRepository userRepository, CacheInvalidator cacheInvalidator) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository; // Initialize
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     // --- Get All Roles ---
@@ -113,6 +117,7 @@ public class RoleService {
 
         existingRole.setRoleName(newRoleName);
         Role updatedRole = roleRepository.save(existingRole); // save updates existing entity
+        cacheInvalidator.invalidate(CacheRegion.ROLE, id);
         log.info("Successfully updated role ID: {} to name: '{}'", updatedRole.getRoleId(), updatedRole.getRoleName());
         return convertToDTO(updatedRole);
     }
@@ -136,6 +141,7 @@ public class RoleService {
         }
 
         roleRepository.deleteById(id);
+        cacheInvalidator.invalidate(CacheRegion.ROLE, id);
         log.info("Successfully deleted role with ID: {}", id);
     }
 
@@ -1,22 +1,31 @@
 package com.example.complaintsystem.service;
 
+import com.example.complaintsystem.cache.TicketAssignmentCache;
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
 import com.example.complaintsystem.dto.TicketAssignments.CreateTicketAssignmentDTO;
 import com.example.complaintsystem.dto.TicketAssignments.TicketAssignmentDTO;
 import com.example.complaintsystem.entity.Ticket;
 import com.example.complaintsystem.entity.TicketAssignment;
 import com.example.complaintsystem.entity.User;
+import com.example.complaintsystem.event.TicketAssignmentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
 import com.example.complaintsystem.exception.BadRequestException;
 import com.example.complaintsystem.exception.ResourceNotFoundException;
 import com.example.complaintsystem.repository.TicketAssignmentRepository;
 import com.example.complaintsystem.repository.TicketRepository;
 import com.example.complaintsystem.repository.UserRepository;
+import com.example.complaintsystem.sharding.ShardRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,37 +36,71 @@ public class TicketAssignmentService {
     private final TicketAssignmentRepository assignmentRepository;
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketAssignmentCache assignmentCache;
+    private final BatchLoader batchLoader;
+    private final ShardRouter shardRouter;
 
     @Autowired
     public TicketAssignmentService(TicketAssignmentRepository assignmentRepository,
                                    TicketRepository ticketRepository,
-                                   UserRepository userRepository) {
+                                   UserRepository userRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   TicketAssignmentCache assignmentCache,
+                                   BatchLoader batchLoader,
+                                   ShardRouter shardRouter) {
         this.assignmentRepository = assignmentRepository;
         this.ticketRepository = ticketRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.assignmentCache = assignmentCache;
+        this.batchLoader = batchLoader;
+        this.shardRouter = shardRouter;
     }
 
     // Get Assignment By ID
     @Transactional(readOnly = true)
     public TicketAssignmentDTO getAssignmentById(Integer id) {
         log.info("Fetching ticket assignment with ID: {}", id);
-        TicketAssignment assignment = findAssignmentByIdOrThrow(id);
-        log.info("Found assignment for ticket ID: {} and user ID: {}",
-                assignment.getTicket().getTicketId(), assignment.getUser().getUserId());
-        return convertToDTO(assignment);
+        return shardRouter.readOnShardOf(id, () -> {
+            TicketAssignment assignment = findAssignmentByIdOrThrow(id);
+            log.info("Found assignment for ticket ID: {} and user ID: {}",
+                    assignment.getTicket().getTicketId(), assignment.getUser().getUserId());
+            return convertToDTO(assignment);
+        });
+    }
+
+    // Get several Assignments by ID (multi-get)
+    @Transactional(readOnly = true)
+    public List<BatchItemDTO<TicketAssignmentDTO>> getAssignmentsByIds(List<Integer> ids) {
+        log.info("Fetching {} ticket assignments by ID", ids != null ? ids.size() : 0);
+        return batchLoader.load(ids,
+                chunk -> shardRouter.byShardOf(chunk, shardIds -> assignmentRepository.findAllById(shardIds)
+                        .stream().map(this::convertToDTO).toList()),
+                TicketAssignmentDTO::getId, Function.identity());
     }
 
     // Get Assignments by Ticket ID
     @Transactional(readOnly = true)
     public List<TicketAssignmentDTO> getAssignmentsByTicketId(Integer ticketId) {
         log.info("Fetching assignments for ticket ID: {}", ticketId);
-        // Check if ticket exists
-        if (!ticketRepository.existsById(ticketId)) {
-            log.warn("Attempted to fetch assignments for non-existent ticket ID: {}", ticketId);
-            throw new ResourceNotFoundException("Ticket not found with id: " + ticketId);
+        List<TicketAssignmentDTO> dtos;
+        if (assignmentCache.isReady()) {
+            dtos = assignmentCache.getByTicket(ticketId);
+            // An assigned ticket exists (foreign key), only an empty result needs the existence check
+            if (dtos.isEmpty()) {
+                shardRouter.readOnShardOf(ticketId, () -> {
+                    checkTicketExists(ticketId);
+                    return null;
+                });
+            }
+        } else {
+            dtos = shardRouter.readOnShardOf(ticketId, () -> {
+                checkTicketExists(ticketId);
+                List<TicketAssignment> assignments = assignmentRepository.findByTicketTicketId(ticketId);
+                return assignments.stream().map(this::convertToDTO).collect(Collectors.toList());
+            });
         }
-        List<TicketAssignment> assignments = assignmentRepository.findByTicketTicketId(ticketId);
-        List<TicketAssignmentDTO> dtos = assignments.stream().map(this::convertToDTO).collect(Collectors.toList());
         log.info("Found {} assignments for ticket ID: {}", dtos.size(), ticketId);
         return dtos;
     }
@@ -66,14 +109,21 @@ public class TicketAssignmentService {
     @Transactional(readOnly = true)
     public List<TicketAssignmentDTO> getAssignmentsByUserId(Integer userId) {
         log.info("Fetching assignments for user ID: {}", userId);
-
-        // Check if user exists
-        if (!userRepository.existsById(userId)) {
-            log.warn("Attempted to fetch assignments for non-existent user ID: {}", userId);
-            throw new ResourceNotFoundException("User not found with id: " + userId);
+        List<TicketAssignmentDTO> dtos;
+        if (assignmentCache.isReady()) {
+            dtos = assignmentCache.getByUser(userId);
+            if (dtos.isEmpty()) {
+                checkUserExists(userId);
+            }
+        } else {
+            checkUserExists(userId);
+            // A user's assignments can be on any shard
+            dtos = shardRouter.acrossShards(shard -> assignmentRepository.findByUserUserId(userId).stream()
+                    .map(this::convertToDTO).collect(Collectors.toList()));
+            if (shardRouter.isEnabled()) {
+                dtos = dtos.stream().sorted(Comparator.comparing(TicketAssignmentDTO::getId)).collect(Collectors.toList());
+            }
         }
-        List<TicketAssignment> assignments = assignmentRepository.findByUserUserId(userId);
-        List<TicketAssignmentDTO> dtos = assignments.stream().map(this::convertToDTO).collect(Collectors.toList());
         log.info("Found {} assignments for user ID: {}", dtos.size(), userId);
         return dtos;
     }
@@ -81,6 +131,11 @@ public class TicketAssignmentService {
     // Create Assignment
     @Transactional
     public TicketAssignmentDTO createAssignment(CreateTicketAssignmentDTO createDTO) {
+        // Assignments live on their ticket's shard
+        return shardRouter.onShardOf(createDTO.getTicketId(), () -> createAssignmentOnShard(createDTO));
+    }
+
+    private TicketAssignmentDTO createAssignmentOnShard(CreateTicketAssignmentDTO createDTO) {
         Integer ticketId = createDTO.getTicketId();
         Integer userId = createDTO.getUserId();
         log.info("Attempting to create assignment for ticket ID: {} to user ID: {}", ticketId, userId);
@@ -100,7 +155,10 @@ public class TicketAssignmentService {
                 });
 
         // Check if assignment already exists
-        if (assignmentRepository.existsByTicketTicketIdAndUserUserId(ticketId, userId)) {
+        boolean alreadyAssigned = assignmentCache.isReady()
+                ? assignmentCache.isAssigned(ticketId, userId)
+                : assignmentRepository.existsByTicketTicketIdAndUserUserId(ticketId, userId);
+        if (alreadyAssigned) {
             log.warn("Assignment creation failed: User ID {} is already assigned to ticket ID {}", userId, ticketId);
             throw new BadRequestException("User with ID " + userId + " is already assigned to ticket with ID " + ticketId);
         }
@@ -110,29 +168,45 @@ public class TicketAssignmentService {
         newAssignment.setTicket(ticket);
         newAssignment.setUser(user);
 
-        TicketAssignment savedAssignment = assignmentRepository.save(newAssignment);
+        TicketAssignment savedAssignment;
+        try {
+            // Flushed here so a concurrent assign of the same user that got past the check above hits
+            // uq_ticket_assignments_ticket_user now and is reported like the check would
+            savedAssignment = assignmentRepository.saveAndFlush(newAssignment);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Assignment creation failed: User ID {} was assigned to ticket ID {} concurrently", userId, ticketId);
+            throw new BadRequestException("User with ID " + userId + " is already assigned to ticket with ID " + ticketId);
+        }
         log.info("Successfully created assignment with ID: {} for ticket ID: {} and user ID: {}",
                 savedAssignment.getId(), ticketId, userId);
+        eventPublisher.publishEvent(new TicketAssignmentChangedEvent(TicketChangedEvent.ChangeType.CREATED,
+                savedAssignment.getId(), ticketId, userId));
         return convertToDTO(savedAssignment);
     }
 
     // Delete Assignment by its ID
     @Transactional
     public void deleteAssignment(Integer assignmentId) {
+        shardRouter.runOnShardOf(assignmentId, () -> deleteAssignmentOnShard(assignmentId));
+    }
+
+    private void deleteAssignmentOnShard(Integer assignmentId) {
         log.info("Attempting to delete assignment with ID: {}", assignmentId);
 
-        // Check if assignment exists before deleting
-        if (!assignmentRepository.existsById(assignmentId)) {
-            log.error("Assignment not found for deletion with ID: {}", assignmentId);
-            throw new ResourceNotFoundException("Ticket Assignment not found with id: " + assignmentId);
-        }
-        assignmentRepository.deleteById(assignmentId);
+        // Loaded rather than just checked, listeners need to know the ticket and user
+        TicketAssignment assignment = findAssignmentByIdOrThrow(assignmentId);
+        assignmentRepository.delete(assignment);
         log.info("Successfully deleted assignment with ID: {}", assignmentId);
+        publishDeleted(assignment);
     }
 
     // (Optional) Delete Assignment by Ticket and User ID
     @Transactional
     public void deleteAssignmentByTicketAndUser(Integer ticketId, Integer userId) {
+        shardRouter.runOnShardOf(ticketId, () -> deleteAssignmentOnShard(ticketId, userId));
+    }
+
+    private void deleteAssignmentOnShard(Integer ticketId, Integer userId) {
         log.info("Attempting to delete assignment for ticket ID: {} and user ID: {}", ticketId, userId);
         TicketAssignment assignment = assignmentRepository.findByTicketTicketIdAndUserUserId(ticketId, userId)
                 .orElseThrow(() -> {
@@ -141,9 +215,26 @@ public class TicketAssignmentService {
                 });
         assignmentRepository.delete(assignment);
         log.info("Successfully deleted assignment with ID: {} (Ticket: {}, User: {})", assignment.getId(), ticketId, userId);
+        publishDeleted(assignment);
     }
 
 
+    // Helper: Check Ticket existence
+    private void checkTicketExists(Integer ticketId) {
+        if (!ticketRepository.existsById(ticketId)) {
+            log.warn("Attempted to fetch assignments for non-existent ticket ID: {}", ticketId);
+            throw new ResourceNotFoundException("Ticket not found with id: " + ticketId);
+        }
+    }
+
+    // Helper: Check User existence
+    private void checkUserExists(Integer userId) {
+        if (!userRepository.existsById(userId)) {
+            log.warn("Attempted to fetch assignments for non-existent user ID: {}", userId);
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+    }
+
     // Helper: Find Assignment or Throw
     private TicketAssignment findAssignmentByIdOrThrow(Integer assignmentId) {
         return assignmentRepository.findById(assignmentId)
@@ -153,6 +244,12 @@ public class TicketAssignmentService {
                 });
     }
 
+    // Helper: Tell listeners (e.g. the ticket summary projector) that an assignment is gone
+    private void publishDeleted(TicketAssignment assignment) {
+        eventPublisher.publishEvent(new TicketAssignmentChangedEvent(TicketChangedEvent.ChangeType.DELETED,
+                assignment.getId(), assignment.getTicket().getTicketId(), assignment.getUser().getUserId()));
+    }
+
     // Helper: Convert Entity to DTO
     public TicketAssignmentDTO convertToDTO(TicketAssignment assignment) {
         if (assignment == null) {
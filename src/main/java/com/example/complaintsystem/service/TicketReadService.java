@@ -0,0 +1,209 @@
+package com.example.complaintsystem.service;
+
+import com.example.complaintsystem.config.AsyncReadConfig;
+import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.example.complaintsystem.dto.TicketAssignments.TicketAssignmentDTO;
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.example.complaintsystem.entity.Comment;
+import com.example.complaintsystem.entity.Ticket;
+import com.example.complaintsystem.exception.OverloadedException;
+import com.example.complaintsystem.repository.CommentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Non-blocking (for the servlet container) facade over the existing read services.
+// The JDBC work runs on the bounded read pool and the request thread is released while it waits;
+// the ticket stream writes rows as the database cursor produces them.
+@Service
+public class TicketReadService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketReadService.class);
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final TicketService ticketService;
+    private final CommentService commentService;
+    private final TicketAssignmentService assignmentService;
+    private final TicketRepository ticketRepository;
+    private final CommentRepository commentRepository;
+    private final AsyncTaskExecutor readExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final int streamChunkSize;
+    private final Duration timeout;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public TicketReadService(TicketService ticketService,
+                             CommentService commentService,
+                             TicketAssignmentService assignmentService,
+                             TicketRepository ticketRepository,
+                             CommentRepository commentRepository,
+                             @Qualifier(AsyncReadConfig.READ_EXECUTOR) AsyncTaskExecutor readExecutor,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${async-read.stream-chunk-size:200}") int streamChunkSize,
+                             @Value("${async-read.timeout:10s}") Duration timeout) {
+        this.ticketService = ticketService;
+        this.commentService = commentService;
+        this.assignmentService = assignmentService;
+        this.ticketRepository = ticketRepository;
+        this.commentRepository = commentRepository;
+        this.readExecutor = readExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.cborMapper = objectMapper.copyWith(new CBORFactory()).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.smileMapper = objectMapper.copyWith(new SmileFactory()).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.streamChunkSize = streamChunkSize;
+        this.timeout = timeout;
+    }
+
+    public CompletableFuture<GetTicketDTO> getTicket(Integer id) {
+        return supply(() -> ticketService.getTicketById(id));
+    }
+
+    public CompletableFuture<Page<GetTicketDTO>> getTickets(Pageable pageable) {
+        return supply(() -> ticketService.getAllTickets(pageable));
+    }
+
+    public CompletableFuture<List<CommentDTO>> getComments(Integer ticketId) {
+        return supply(() -> commentService.getCommentsByTicketId(ticketId));
+    }
+
+    public CompletableFuture<List<TicketAssignmentDTO>> getAssignments(Integer ticketId) {
+        return supply(() -> assignmentService.getAssignmentsByTicketId(ticketId));
+    }
+
+    /**
+     * Writes every ticket to {@code out} as a sequence of values in the requested format (newline delimited JSON,
+     * or concatenated CBOR / Smile values). Rows are read through a database cursor and written chunk by chunk, so
+     * a slow client slows the cursor down (the servlet output stream blocks) instead of buffering the table in memory.
+     */
+    public void streamTickets(OutputStream out, MediaType mediaType) {
+        ObjectMapper mapper = mapperFor(mediaType);
+        boolean json = mapper == jsonMapper;
+        // Binary formats are self-delimiting, only JSON needs the newline between values
+        ObjectWriter objectWriter = json ? mapper.writer().withRootValueSeparator("\n") : mapper.writer();
+        int written = readOnlyTransaction.execute(status -> {
+            int count = 0;
+            try (Stream<Ticket> tickets = ticketRepository.streamAllWithDetails();
+                 SequenceWriter writer = objectWriter.writeValues(out)) {
+                List<Ticket> chunk = new ArrayList<>(streamChunkSize);
+                for (Ticket ticket : (Iterable<Ticket>) tickets::iterator) {
+                    chunk.add(ticket);
+                    if (chunk.size() == streamChunkSize) {
+                        count += writeChunk(writer, chunk);
+                    }
+                }
+                count += writeChunk(writer, chunk);
+                if (json) {
+                    writer.flush();
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        log.info("Streamed {} tickets as {}", written, mediaType);
+    }
+
+    // First format of the Accept header the stream can produce, newline delimited JSON otherwise
+    public MediaType resolveStreamFormat(List<MediaType> accepted) {
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (APPLICATION_SMILE.equalsTypeAndSubtype(mediaType)) {
+                return APPLICATION_SMILE;
+            }
+            if (APPLICATION_NDJSON.equalsTypeAndSubtype(mediaType)) {
+                return APPLICATION_NDJSON;
+            }
+        }
+        return APPLICATION_NDJSON;
+    }
+
+    // Helper: one comments query for the whole chunk, then write, flush and drop the chunk from the persistence context
+    private int writeChunk(SequenceWriter writer, List<Ticket> chunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Integer> ticketIds = chunk.stream().map(Ticket::getTicketId).collect(Collectors.toList());
+        Map<Integer, List<Comment>> commentsByTicket = commentRepository.findByTicketIdIn(ticketIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getTicket().getTicketId()));
+        for (Ticket ticket : chunk) {
+            writer.write(ticketService.convertTicketToDTO(ticket,
+                    commentsByTicket.getOrDefault(ticket.getTicketId(), Collections.emptyList())));
+        }
+        writer.flush();
+        int size = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    private ObjectMapper mapperFor(MediaType mediaType) {
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(mediaType)) {
+            return cborMapper;
+        }
+        if (APPLICATION_SMILE.isCompatibleWith(mediaType)) {
+            return smileMapper;
+        }
+        return jsonMapper;
+    }
+
+    // Helper: runs the read on the pool inside a read-only transaction, the session open-in-view gives the request
+    // thread does not reach the pool and the DTO conversion touches lazy associations. The timeout is the read's own,
+    // Spring MVC's default async timeout is left to the container.
+    private <T> CompletableFuture<T> supply(Supplier<T> read) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> read.get()), readExecutor)
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TaskRejectedException e) {
+            log.warn("Read pool saturated, rejecting request");
+            throw new OverloadedException("Too many concurrent reads, please retry shortly");
+        }
+    }
+}
@@ -8,14 +8,21 @@ import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
 import com.example.complaintsystem.dto.Tickets.UpdateTicketDTO;
 import com.example.complaintsystem.dto.Tickets.V2.CreateTicketDTOV2;
 import com.example.complaintsystem.dto.Tickets.V2.GetTicketDTOV2;
+import com.example.complaintsystem.cache.TicketReadCoalescer;
+import com.example.complaintsystem.dedup.DuplicateDetector;
+import com.example.complaintsystem.dedup.DuplicateMatch;
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
 import com.example.complaintsystem.entity.*;
+import com.example.complaintsystem.event.TicketChangedEvent;
 import com.example.complaintsystem.exception.BadRequestException;
 import com.example.complaintsystem.exception.ResourceNotFoundException;
 import com.example.complaintsystem.repository.DepartmentRepository;
 import com.example.complaintsystem.repository.TicketRepository;
 import com.example.complaintsystem.repository.TicketStatusRepository;
 import com.example.complaintsystem.repository.UserRepository;
+import com.example.complaintsystem.sharding.ShardRouter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,19 +44,34 @@ public class TicketService {
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final TicketStatusRepository ticketStatusRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateDetector duplicateDetector;
+    private final TicketReadCoalescer ticketReadCoalescer;
+    private final BatchLoader batchLoader;
+    private final ShardRouter shardRouter;
     private static final Logger log = LoggerFactory.getLogger(TicketService.class);
 
 
     @Autowired
-    public TicketService(TicketRepository ticketRepository, UserRepository userRepository, DepartmentRepository departmentRepository, TicketStatusRepository ticketStatusRepository) {
+    public TicketService(TicketRepository ticketRepository, UserRepository userRepository, DepartmentRepository departmentRepository, TicketStatusRepository ticketStatusRepository, ApplicationEventPublisher eventPublisher, DuplicateDetector duplicateDetector, TicketReadCoalescer ticketReadCoalescer, BatchLoader batchLoader, ShardRouter shardRouter) {
         this.ticketRepository = ticketRepository;
         this.userRepository = userRepository;
         this.departmentRepository = departmentRepository;
         this.ticketStatusRepository = ticketStatusRepository;
+        this.eventPublisher = eventPublisher;
+        this.duplicateDetector = duplicateDetector;
+        this.ticketReadCoalescer = ticketReadCoalescer;
+        this.batchLoader = batchLoader;
+        this.shardRouter = shardRouter;
     }
 
     public GetTicketDTO getTicketById(Integer id) {
         log.info("Attempting to fetch ticket with ID: {}", id);
+        // Concurrent reads of the same ticket share one load
+        return ticketReadCoalescer.getTicket(id, () -> shardRouter.readOnShardOf(id, () -> loadTicketById(id)));
+    }
+
+    private GetTicketDTO loadTicketById(Integer id) {
         Optional<Ticket> ticketOptional = ticketRepository.findById(id);
 
         GetTicketDTO getTicketDto = new GetTicketDTO();
@@ -58,7 +81,25 @@ public class TicketService {
         return getTicketDto;
     }
 
+    // Multi-get: one IN-list query per chunk of ids instead of one request per ticket
+    @Transactional(readOnly = true)
+    public List<BatchItemDTO<GetTicketDTO>> getTicketsByIds(List<Integer> ids) {
+        log.info("Attempting to fetch {} tickets by ID", ids != null ? ids.size() : 0);
+        // Converted on the shard the tickets were read from
+        List<BatchItemDTO<GetTicketDTO>> items = batchLoader.load(ids,
+                chunk -> shardRouter.byShardOf(chunk, shardIds -> ticketRepository.findAllWithDetailsByIdIn(shardIds)
+                        .stream().map(this::convertTicketToDTO).toList()),
+                GetTicketDTO::getTicketId, Function.identity());
+        log.info("Fetched {} of {} requested tickets", items.stream().filter(BatchItemDTO::isFound).count(), items.size());
+        return items;
+    }
+
+    @Transactional
     public GetTicketDTO createTicket(CreateTicketDTO createDTO) {
+        return shardRouter.onShardForNewTicket(createDTO.getDepartmentId(), () -> createTicketOnShard(createDTO));
+    }
+
+    private GetTicketDTO createTicketOnShard(CreateTicketDTO createDTO) {
         log.info("Attempting to create new ticket with title: '{}' for user ID: {}", createDTO.getTitle(), createDTO.getUserId());
 
         Ticket ticket = new Ticket();
@@ -90,12 +131,18 @@ public class TicketService {
         ticket.setDepartment(department);
         ticket.setTicketStatus(status);
 
+        // Checked before saving so the new ticket can't match itself
+        List<Integer> duplicateIds = findDuplicateIds(ticket);
+
         // Save the new ticket
         Ticket savedTicket = ticketRepository.save(ticket);
         log.info("Successfully created ticket with ID: {}", savedTicket.getTicketId());
+        eventPublisher.publishEvent(TicketChangedEvent.of(TicketChangedEvent.ChangeType.CREATED, savedTicket));
 
         // Convert the saved entity to a DTO for the response
-        return convertTicketToDTO(savedTicket);
+        GetTicketDTO ticketDTO = convertTicketToDTO(savedTicket);
+        ticketDTO.setPossibleDuplicateTicketIds(duplicateIds);
+        return ticketDTO;
     }
 
     //Convert only Status to its DTO
@@ -113,6 +160,10 @@ public class TicketService {
 
     @Transactional
     public GetTicketDTO updateTicket(Integer id, UpdateTicketDTO updateDTO) {
+        return shardRouter.onShardOf(id, () -> updateTicketOnShard(id, updateDTO));
+    }
+
+    private GetTicketDTO updateTicketOnShard(Integer id, UpdateTicketDTO updateDTO) {
         log.info("Attempting to update ticket with ID: {}", id);
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> {
@@ -125,6 +176,7 @@ public class TicketService {
         if (!id.equals(updateDTO.getTicketId())) {
             throw new BadRequestException("Ticket ID in path does not match ID in body");
         }
+        TicketChangedEvent changedEvent = previousState(ticket);
 
         // Update ALL fields from the DTO
         ticket.setTitle(updateDTO.getTitle());
@@ -162,14 +214,20 @@ public class TicketService {
 
         Ticket updatedTicket = ticketRepository.save(ticket);
         log.info("Successfully updated ticket with ID: {}", updatedTicket.getTicketId());
+        publishUpdated(changedEvent, updatedTicket);
         return convertTicketToDTO(updatedTicket);
     }
 
 
+    @Transactional
     public GetTicketDTO patchTicket(Integer id, PatchTicketDTO patchDTO) {
+        return shardRouter.onShardOf(id, () -> patchTicketOnShard(id, patchDTO));
+    }
+
+    private GetTicketDTO patchTicketOnShard(Integer id, PatchTicketDTO patchDTO) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + id));
-
+        TicketChangedEvent changedEvent = previousState(ticket);
 
         patchDTO.getTitle().ifPresent(ticket::setTitle);
         patchDTO.getDescription().ifPresent(ticket::setDescription);
@@ -193,22 +251,35 @@ public class TicketService {
         });
 
         Ticket updatedTicket = ticketRepository.save(ticket);
+        publishUpdated(changedEvent, updatedTicket);
         return convertTicketToDTO(updatedTicket);
     }
 
     @Transactional
     public void deleteTicket(Integer id) {
+        shardRouter.runOnShardOf(id, () -> deleteTicketOnShard(id));
+    }
+
+    private void deleteTicketOnShard(Integer id) {
         log.info("Attempting to delete ticket with ID: {}", id);
-        if (!ticketRepository.existsById(id)) {
-            log.error("Ticket not found for deletion with ID: '{}'", id);
-            throw new ResourceNotFoundException("Ticket not found with id: " + id);
-        }
+        Ticket ticket = ticketRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Ticket not found for deletion with ID: '{}'", id);
+                    return new ResourceNotFoundException("Ticket not found with id: " + id);
+                });
+        TicketChangedEvent changedEvent = TicketChangedEvent.of(TicketChangedEvent.ChangeType.DELETED, ticket);
         ticketRepository.deleteById(id);
         log.info("Successfully deleted ticket with ID: {}", id);
+        eventPublisher.publishEvent(changedEvent);
 
     }
 
+    @Transactional(readOnly = true)
     public GetTicketDTO getTicketWithDetailsForHistory(Integer id) {
+        return shardRouter.readOnShardOf(id, () -> loadTicketWithDetailsForHistory(id));
+    }
+
+    private GetTicketDTO loadTicketWithDetailsForHistory(Integer id) {
         log.info("Attempting to fetch ticket with full details for history, ID: {}", id);
         Ticket ticket = ticketRepository.findTicketWithCommentsById(id)
                 .orElseThrow(() -> {
@@ -221,15 +292,20 @@ public class TicketService {
     }
 
     // Paginated retrieval
+    @Transactional(readOnly = true)
     public Page<GetTicketDTO> getAllTickets(Pageable pageable) {
         log.info("Fetching all tickets with pagination: page={}, size={}, sort={}",
                 pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
-        Page<Ticket> ticketPage = ticketRepository.findAll(pageable); // Use the repository's findAll method
-        return ticketPage.map(this::convertTicketToDTO); // Convert Page<Ticket> to Page<TicketDTO>
+        // Merged from every shard when sharded, the repository's findAll page otherwise
+        return shardRouter.pageAcrossShards(pageable, ticketRepository::findAll, this::convertTicketToDTO);
     }
 
     @Transactional // Add transactional if not already covered
     public GetTicketDTOV2 createTicketV2(CreateTicketDTOV2 createDTOV2) {
+        return shardRouter.onShardForNewTicket(createDTOV2.getDepartmentId(), () -> createTicketV2OnShard(createDTOV2));
+    }
+
+    private GetTicketDTOV2 createTicketV2OnShard(CreateTicketDTOV2 createDTOV2) {
         // Note: We receive priority in the DTO, but DON'T save it to the Ticket entity
         log.info("Attempting to create V2 ticket (priority='{}' ignored in persistence) with title: '{}' for user ID: {}",
                 createDTOV2.getPriority(), createDTOV2.getTitle(), createDTOV2.getUserId());
@@ -251,18 +327,27 @@ public class TicketService {
         ticket.setDepartment(department);
         ticket.setTicketStatus(status);
 
+        List<Integer> duplicateIds = findDuplicateIds(ticket);
+
         Ticket savedTicket = ticketRepository.save(ticket);
         log.info("Successfully created ticket ID: {} (V2 DTO requested, priority not saved)", savedTicket.getTicketId());
+        TicketChangedEvent changedEvent = TicketChangedEvent.of(TicketChangedEvent.ChangeType.CREATED, savedTicket);
+        changedEvent.setPriority(createDTOV2.getPriority()); // Not persisted, but listeners (SLA) can still use it
+        eventPublisher.publishEvent(changedEvent);
         // Convert using the V2 converter, which will add the default priority
-        return convertToTicketDTOV2(savedTicket);
+        GetTicketDTOV2 ticketDTO = convertToTicketDTOV2(savedTicket);
+        ticketDTO.setPossibleDuplicateTicketIds(duplicateIds);
+        return ticketDTO;
     }
 
     @Transactional(readOnly = true) // Good for read operations
     public GetTicketDTOV2 getTicketByIdV2(Integer id) {
         log.info("Attempting to fetch ticket ID: {} for V2 response", id);
-        Ticket ticket = getTicketEntityById(id); // Use existing helper to get entity
-        log.info("Successfully fetched ticket ID: {}, converting to V2 DTO", id);
-        return convertToTicketDTOV2(ticket); // Use V2 conversion
+        return shardRouter.readOnShardOf(id, () -> {
+            Ticket ticket = getTicketEntityById(id); // Use existing helper to get entity
+            log.info("Successfully fetched ticket ID: {}, converting to V2 DTO", id);
+            return convertToTicketDTOV2(ticket); // Use V2 conversion
+        });
     }
     // --- Helper Methods (Ensure these exist and are accessible) ---
     @Transactional(readOnly = true) // Make sure helper is transactional if it triggers lazy loading
@@ -316,8 +401,44 @@ public class TicketService {
     }
 
 
+    // Helper: IDs of open tickets that look like this one, null when there are none
+    private List<Integer> findDuplicateIds(Ticket ticket) {
+        List<DuplicateMatch> matches = duplicateDetector.findDuplicates(ticket.getTitle(), ticket.getDescription(),
+                ticket.getDepartment() != null ? ticket.getDepartment().getDepartmentId() : null);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        return matches.stream().map(DuplicateMatch::ticketId).collect(Collectors.toList());
+    }
+
+    // Helper: captures the status/department before a write so listeners can tell what changed
+    private TicketChangedEvent previousState(Ticket ticket) {
+        TicketChangedEvent event = new TicketChangedEvent();
+        if (ticket.getTicketStatus() != null) {
+            event.setPreviousStatusId(ticket.getTicketStatus().getStatusId());
+            event.setPreviousStatusName(ticket.getTicketStatus().getStatusName());
+        }
+        if (ticket.getDepartment() != null) {
+            event.setPreviousDepartmentId(ticket.getDepartment().getDepartmentId());
+        }
+        return event;
+    }
+
+    private void publishUpdated(TicketChangedEvent previous, Ticket updatedTicket) {
+        TicketChangedEvent event = TicketChangedEvent.of(TicketChangedEvent.ChangeType.UPDATED, updatedTicket);
+        event.setPreviousStatusId(previous.getPreviousStatusId());
+        event.setPreviousStatusName(previous.getPreviousStatusName());
+        event.setPreviousDepartmentId(previous.getPreviousDepartmentId());
+        eventPublisher.publishEvent(event);
+    }
+
     //Converting a ticket to its DTO.
     public GetTicketDTO convertTicketToDTO(Ticket ticket) {
+        return ticket == null ? null : convertTicketToDTO(ticket, ticket.getComments());
+    }
+
+    // Same as above with the comments loaded separately (avoids touching the lazy collection)
+    public GetTicketDTO convertTicketToDTO(Ticket ticket, List<Comment> comments) {
         if (ticket == null) {
             return null;
         }
@@ -341,9 +462,9 @@ public class TicketService {
             dto.setDepartmentName(ticket.getDepartment().getDepartmentName());
 
         }
-        if (ticket.getComments() != null) {
+        if (comments != null) {
             List<CommentDTO> commentDTOs = new ArrayList<>();
-            for (Comment comment : ticket.getComments()) {
+            for (Comment comment : comments) {
                 commentDTOs.add(convertToCommentDTO(comment));  // Use the helper method
             }
             dto.setComments(commentDTOs);
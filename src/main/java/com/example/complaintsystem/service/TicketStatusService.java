@@ -1,5 +1,7 @@
 package com.example.complaintsystem.service;
 
+import com.example.complaintsystem.coherence.CacheInvalidator;
+import com.example.complaintsystem.coherence.CacheRegion;
 import com.example.complaintsystem.entity.TicketStatus;
 import com.example.complaintsystem.repository.TicketStatusRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,10 +14,12 @@ import java.util.Optional;
 public class TicketStatusService {
 
     private final TicketStatusRepository ticketStatusRepository;
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
-    public TicketStatusService(TicketStatusRepository ticketStatusRepository) {
+    public TicketStatusService(TicketStatusRepository ticketStatusRepository, CacheInvalidator cacheInvalidator) {
         this.ticketStatusRepository = ticketStatusRepository;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     // Get all ticket statuses
@@ -30,11 +34,14 @@ public class TicketStatusService {
 
     // Create or update ticket status
     public TicketStatus saveTicketStatus(TicketStatus ticketStatus) {
-        return ticketStatusRepository.save(ticketStatus);
+        TicketStatus saved = ticketStatusRepository.save(ticketStatus);
+        cacheInvalidator.invalidate(CacheRegion.TICKET_STATUS, saved.getStatusId());
+        return saved;
     }
 
     // Delete ticket status by ID
     public void deleteTicketStatus(Integer statusId) {
         ticketStatusRepository.deleteById(statusId);
+        cacheInvalidator.invalidate(CacheRegion.TICKET_STATUS, statusId);
     }
 }
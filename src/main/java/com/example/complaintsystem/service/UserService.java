@@ -1,6 +1,10 @@
 package com.example.complaintsystem.service;
 
+import com.example.complaintsystem.bloom.UserAvailabilityFilter;
+import com.example.complaintsystem.coherence.CacheInvalidator;
+import com.example.complaintsystem.coherence.CacheRegion;
 import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
 import com.example.complaintsystem.dto.Departments.DepartmentDTO;
 import com.example.complaintsystem.dto.Roles.RoleDTO;
 import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
@@ -16,6 +20,7 @@ import com.example.complaintsystem.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,6 +44,12 @@ public class UserService {
     private TicketService ticketService;
     @Autowired
     private PasswordEncoder passwordEncoder; // for bcrypt pw encoding
+    @Autowired
+    private BatchLoader batchLoader;
+    @Autowired
+    private UserAvailabilityFilter userAvailabilityFilter;
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
     public List<UserDTO> getAllUsers() {
@@ -53,6 +64,13 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
+    // Multi-get: one IN-list query per chunk of ids, the users' tickets and comments are batch fetched
+    @Transactional(readOnly = true)
+    public List<BatchItemDTO<UserDTO>> getUsersByIds(List<Integer> ids) {
+        log.info("Attempting to fetch {} users by ID", ids != null ? ids.size() : 0);
+        return batchLoader.load(ids, userRepository::findAllWithDetailsByIdIn, User::getUserId, this::convertToDTO);
+    }
+
     public UserDTO getUserByUserName(String userName) {
         return userRepository.findByUsername(userName)
                 .map(this::convertToDTO)
@@ -61,7 +79,7 @@ public class UserService {
     @Transactional
     public UserDTO createUser(CreateUserDTO createUserDTO) {
         log.info("Attempting to create user with username: '{}'", createUserDTO.getUsername()); // Log entry
-        if(userRepository.findByUsername(createUserDTO.getUsername()).isPresent()){
+        if(existsByUsername(createUserDTO.getUsername())){
             log.warn("Username '{}' already exists. Throwing BadRequestException.", createUserDTO.getUsername());
             throw new BadRequestException("Username with " + createUserDTO.getUsername() + " already exists!");
         }
@@ -89,7 +107,18 @@ public class UserService {
 
         }
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            // The insert runs right away (identity key), a name or email taken in the meantime fails here
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // The availability check passed on stale information (e.g. another node's registration not loaded yet)
+            log.warn("Username '{}' or email '{}' was taken concurrently. Throwing BadRequestException.",
+                    createUserDTO.getUsername(), createUserDTO.getEmail());
+            throw new BadRequestException("Username or email already exists!");
+        }
+        userAvailabilityFilter.add(savedUser.getUsername(), savedUser.getEmail());
+        cacheInvalidator.record(CacheRegion.USER_KEYS, savedUser.getUserId());
         log.info("Successfully created user '{}' with ID: {}", savedUser.getUsername(), savedUser.getUserId()); // Log success
         return convertToDTO(savedUser);
     }
@@ -102,6 +131,8 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         if(user == null) // handling logging
             log.warn("Username '{}' not found. Throwing ResourceNotFoundException.", updateUserDTO.getUsername());
+        // Cached user details are keyed by the current username
+        cacheInvalidator.invalidate(CacheRegion.USER, user.getUsername());
 
 
         // Allow admins to update anything. Regular users can only update certain fields.
@@ -148,7 +179,19 @@ public class UserService {
                     .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + updateUserDTO.getDepartmentId()));
             user.setDepartment(department);
         }
-        User updatedUser = userRepository.save(user);
+        User updatedUser;
+        try {
+            // Flushed here so a taken username / email is reported as such and not at commit
+            updatedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Username '{}' or email '{}' is already taken. Throwing BadRequestException.",
+                    user.getUsername(), user.getEmail());
+            throw new BadRequestException("Username or email already exists!");
+        }
+        userAvailabilityFilter.add(updatedUser.getUsername(), updatedUser.getEmail());
+        if (updateUserDTO.getUsername() != null || updateUserDTO.getEmail() != null) {
+            cacheInvalidator.record(CacheRegion.USER_KEYS, updatedUser.getUserId());
+        }
         log.info("User was updated successfully and saved");
         return convertToDTO(updatedUser);
     }
@@ -161,6 +204,8 @@ public class UserService {
                        return new ResourceNotFoundException("User not found with id: " + id);});
 
         userRepository.deleteById(id);
+        cacheInvalidator.invalidate(CacheRegion.USER, user.getUsername());
+        // The availability filters keep the name until their next rebuild, checks then fall through to the database
     }
 
     public UserDTO convertToDTO(User user) {
@@ -274,8 +319,16 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        cacheInvalidator.invalidate(CacheRegion.USER, user.getUsername());
         user.setUsername(newUsername);
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Username '{}' is already taken. Throwing BadRequestException.", newUsername);
+            throw new BadRequestException("Username already exists!");
+        }
+        userAvailabilityFilter.add(newUsername, null);
+        cacheInvalidator.record(CacheRegion.USER_KEYS, user.getUserId());
     }
 
     // (changePassword)
@@ -298,14 +351,22 @@ public class UserService {
         // Set the new (hashed) password
         user.setPassword(passwordEncoder.encode(changePasswordDTO.getNewPassword()));
         userRepository.save(user);
+        cacheInvalidator.invalidate(CacheRegion.USER, user.getUsername());
     }
 
 
+    // Definite "no" from the Bloom filter, only probable hits are checked against the unique index
     public boolean existsByUsername(String username) {
-        return userRepository.findByUsername(username).isPresent();
+        if (!userAvailabilityFilter.mightContainUsername(username)) {
+            return false;
+        }
+        return userRepository.existsByUsername(username);
     }
 
     public boolean existsByEmail(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        if (!userAvailabilityFilter.mightContainEmail(email)) {
+            return false;
+        }
+        return userRepository.existsByEmail(email);
     }
 }
\ No newline at end of file
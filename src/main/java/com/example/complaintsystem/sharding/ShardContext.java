@@ -0,0 +1,31 @@
+package com.example.complaintsystem.sharding;
+
+import java.util.function.Supplier;
+
+// Shard of the work running on this thread, read by ShardRoutingDataSource when a transaction first needs a connection
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    // Null outside of ShardRouter calls, which means the default shard
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.complaintsystem.sharding;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Routes ticket, comment and assignment work to its shard, and fans queries without a shard key out to all shards.
+// Single-shard calls run in a new transaction (and persistence context) bound to the shard, so a connection the
+// caller's open-in-view session already holds on another shard is never reused. Scatter-gather calls run every
+// shard in its own read-only transaction on the scatter pool; results (converted to DTOs inside that transaction)
+// are merged here. With sharding disabled every method just runs the work in the caller's transaction.
+@Component
+public class ShardRouter {
+
+    private final ShardingProperties properties;
+    private final TransactionTemplate shardTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService scatterPool;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    @Autowired
+    public ShardRouter(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.shardTransaction = new TransactionTemplate(transactionManager);
+        this.shardTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+        if (isEnabled()) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.scatterPool = Executors.newFixedThreadPool(properties.getScatterThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.scatterPool = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && !properties.getShards().isEmpty();
+    }
+
+    public int shardCount() {
+        return isEnabled() ? properties.getShards().size() : 1;
+    }
+
+    // Shard holding a ticket, comment or assignment: ids are interleaved, shard i generates i+1, i+1+N, ...
+    public int shardOfId(Integer id) {
+        return isEnabled() && id != null ? Math.floorMod(id - 1, shardCount()) : 0;
+    }
+
+    public int shardForNewTicket(Integer departmentId) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        if (properties.getStrategy() == ShardingStrategy.DEPARTMENT && departmentId != null) {
+            Integer mapped = properties.getDepartments().get(departmentId);
+            return mapped != null ? mapped : Math.floorMod(departmentId, shardCount());
+        }
+        return Math.floorMod(roundRobin.getAndIncrement(), shardCount());
+    }
+
+    // Runs work on the shard of a ticket / comment / assignment id
+    public <T> T onShardOf(Integer id, Supplier<T> work) {
+        return onShard(shardOfId(id), shardTransaction, work);
+    }
+
+    public <T> T readOnShardOf(Integer id, Supplier<T> work) {
+        return onShard(shardOfId(id), readOnlyTransaction, work);
+    }
+
+    public void runOnShardOf(Integer id, Runnable work) {
+        onShardOf(id, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Runs work on a shard by number (0 .. shardCount() - 1), for per-shard tables such as the change logs
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return onShard(shard, shardTransaction, work);
+    }
+
+    public <T> T readOnShard(int shard, Supplier<T> work) {
+        return onShard(shard, readOnlyTransaction, work);
+    }
+
+    // Runs work on the shard a new ticket of this department goes to (its comments and assignments follow the ticket)
+    public <T> T onShardForNewTicket(Integer departmentId, Supplier<T> work) {
+        return onShard(shardForNewTicket(departmentId), shardTransaction, work);
+    }
+
+    // Results of query on every shard, concatenated in shard order
+    public <E> List<E> acrossShards(Function<Integer, List<E>> query) {
+        if (!isEnabled()) {
+            return query.apply(0);
+        }
+        List<CompletableFuture<List<E>>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> ShardContext.call(target,
+                    () -> readOnlyTransaction.execute(status -> query.apply(target))), scatterPool));
+        }
+        List<E> merged = new ArrayList<>();
+        for (CompletableFuture<List<E>> future : futures) {
+            merged.addAll(join(future));
+        }
+        return merged;
+    }
+
+    // Sum of a count on every shard
+    public long sumAcrossShards(Function<Integer, Long> count) {
+        return acrossShards(shard -> List.of(count.apply(shard))).stream().mapToLong(Long::longValue).sum();
+    }
+
+    // IN-list query split by shard, each shard only gets its own ids
+    public <E> List<E> byShardOf(List<Integer> ids, Function<List<Integer>, List<E>> query) {
+        if (!isEnabled()) {
+            return query.apply(ids);
+        }
+        Map<Integer, List<Integer>> idsByShard = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            idsByShard.computeIfAbsent(shardOfId(id), shard -> new ArrayList<>()).add(id);
+        }
+        return acrossShards(shard -> idsByShard.containsKey(shard) ? query.apply(idsByShard.get(shard)) : List.of());
+    }
+
+    /**
+     * One page over all shards: every shard returns its first offset + size rows in the requested order,
+     * the rows are merged by the sort properties (read from the entities) and the page is cut from the merge.
+     * Deep pages get more expensive with the shard count, as with any scatter-gather pagination.
+     */
+    public <E, D> Page<D> pageAcrossShards(Pageable pageable, Function<Pageable, Page<E>> query, Function<E, D> converter) {
+        if (!isEnabled()) {
+            return query.apply(pageable).map(converter);
+        }
+        Pageable perShard = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort());
+        List<Long> totals = new ArrayList<>();
+        List<SortedRow<D>> rows = acrossShards(shard -> {
+            Page<E> page = query.apply(perShard);
+            synchronized (totals) {
+                totals.add(page.getTotalElements());
+            }
+            return page.getContent().stream().map(entity -> new SortedRow<>(sortValues(entity, pageable.getSort()),
+                    converter.apply(entity))).toList();
+        });
+        rows = new ArrayList<>(rows);
+        rows.sort(comparator(pageable.getSort()));
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        List<D> content = rows.subList(from, to).stream().map(SortedRow::row).toList();
+        return new PageImpl<>(content, pageable, totals.stream().mapToLong(Long::longValue).sum());
+    }
+
+    private <T> T onShard(int shard, TransactionTemplate transaction, Supplier<T> work) {
+        if (!isEnabled()) {
+            return work.get();
+        }
+        return ShardContext.call(shard, () -> transaction.execute(status -> work.get()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterPool != null) {
+            scatterPool.shutdownNow();
+        }
+    }
+
+    private record SortedRow<D>(Object[] sortValues, D row) {
+    }
+
+    private static Object[] sortValues(Object entity, Sort sort) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(entity);
+        return sort.stream().map(order -> wrapper.getPropertyValue(order.getProperty())).toArray();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <D> Comparator<SortedRow<D>> comparator(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        return (left, right) -> {
+            for (int i = 0; i < orders.size(); i++) {
+                Comparable a = (Comparable) left.sortValues()[i];
+                Comparable b = (Comparable) right.sortValues()[i];
+                int result;
+                if (a == null || b == null) {
+                    boolean nullsLast = orders.get(i).getNullHandling() == Sort.NullHandling.NULLS_LAST;
+                    result = a == b ? 0 : (a == null) == nullsLast ? 1 : -1;
+                } else {
+                    result = orders.get(i).isAscending() ? a.compareTo(b) : b.compareTo(a);
+                }
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
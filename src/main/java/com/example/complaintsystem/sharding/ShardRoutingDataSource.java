@@ -0,0 +1,13 @@
+package com.example.complaintsystem.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Picks the shard's pool from ShardContext. Wrapped in a LazyConnectionDataSourceProxy, so the lookup happens
+// on the first statement of a transaction rather than when the transaction begins.
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current(); // Null falls back to the default target (shard 0)
+    }
+}
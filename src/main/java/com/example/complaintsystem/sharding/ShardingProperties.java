@@ -0,0 +1,41 @@
+package com.example.complaintsystem.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    // Off: everything uses spring.datasource as before
+    private boolean enabled = false;
+
+    private ShardingStrategy strategy = ShardingStrategy.DEPARTMENT;
+
+    // Shard i (0-based) must create ids i+1, i+1+N, i+1+2N, ... in tickets, Comments and TicketAssignments
+    // (SQL Server: IDENTITY(i+1, N)), so every id tells its shard. Shard 0 is also the default database for
+    // everything that isn't sharded. Reference tables (users, departments, statuses, roles) must be replicated to every shard.
+    private List<Shard> shards = new ArrayList<>();
+
+    // Department id -> shard index overrides for the DEPARTMENT strategy
+    private Map<Integer, Integer> departments = new HashMap<>();
+
+    // Threads for scatter-gather queries across the shards
+    private int scatterThreads = 8;
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.complaintsystem.sharding;
+
+// Where a new ticket is stored. Either way the shard is encoded in the generated id, so later lookups
+// by ticket / comment / assignment id never need the department.
+public enum ShardingStrategy {
+    // sharding.departments mapping, department id modulo the shard count otherwise
+    DEPARTMENT,
+    // Round robin; the interleaved identity ranges then spread ticket ids evenly over the shards
+    TICKET_ID
+}
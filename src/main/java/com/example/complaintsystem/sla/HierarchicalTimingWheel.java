@@ -0,0 +1,229 @@
+package com.example.complaintsystem.sla;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck, the same layout the Linux kernel timers use).
+ * <p>
+ * Four levels of 256 slots each. Level 0 slots are one tick wide, level 1 slots are 256 ticks wide and so on,
+ * so with a one second tick the wheel covers ~136 years. Insert and cancel are O(1) (a doubly linked list
+ * per slot); timers in the upper levels are cascaded down one level each time the level below wraps around.
+ * <p>
+ * The wheel is not self-driving: the owner calls {@link #advance(long)} periodically and runs the returned
+ * tasks outside of the wheel lock.
+ */
+public class HierarchicalTimingWheel {
+
+    private static final int LEVEL_BITS = 8;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = (1L << (LEVEL_BITS * LEVELS)) - 1;
+
+    private final long tickMs;
+    private final long startMs;
+    private final Slot[][] wheels = new Slot[LEVELS][LEVEL_SIZE];
+
+    // Guarded by "this"
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be positive");
+        }
+        this.tickMs = tickMs;
+        this.startMs = startMs;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int i = 0; i < LEVEL_SIZE; i++) {
+                wheels[level][i] = new Slot();
+            }
+        }
+    }
+
+    public synchronized Timeout schedule(long deadlineMs, Runnable task) {
+        long deadlineTick = deadlineMs <= startMs ? 0 : (deadlineMs - startMs + tickMs - 1) / tickMs;
+        Timeout timeout = new Timeout(this, deadlineTick, deadlineMs, task);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs} and returns every timer that expired on the way.
+     */
+    public List<Timeout> advance(long nowMs) {
+        long targetTick = (nowMs - startMs) / tickMs;
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            while (currentTick <= targetTick) {
+                int index = (int) (currentTick & LEVEL_MASK);
+                if (index == 0) {
+                    // Level 0 wrapped: pull the next slot of level 1 down, and keep going up while levels wrap too
+                    int level = 1;
+                    while (level < LEVELS && cascade(level) == 0) {
+                        level++;
+                    }
+                }
+                long processedTick = currentTick;
+                Timeout timeout = wheels[0][index].drain();
+                currentTick++;
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    timeout.next = null;
+                    if (timeout.deadlineTick > processedTick) {
+                        // Was clamped to the wheel horizon when scheduled, not due yet
+                        place(timeout);
+                    } else {
+                        timeout.expired = true;
+                        size--;
+                        expired.add(timeout);
+                    }
+                    timeout = next;
+                }
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    // Re-distributes the current slot of the given level into the levels below it; returns that slot's index
+    private int cascade(int level) {
+        int index = (int) ((currentTick >> (LEVEL_BITS * level)) & LEVEL_MASK);
+        Timeout timeout = wheels[level][index].drain();
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            place(timeout);
+            timeout = next;
+        }
+        return index;
+    }
+
+    private void place(Timeout timeout) {
+        long expires = timeout.deadlineTick;
+        long delta = expires - currentTick;
+        Slot slot;
+        if (delta < 0) {
+            // Already due, fire on the tick being processed
+            slot = wheels[0][(int) (currentTick & LEVEL_MASK)];
+        } else {
+            if (delta > MAX_TICKS) {
+                expires = currentTick + MAX_TICKS;
+                delta = MAX_TICKS;
+            }
+            int level = 0;
+            while (level < LEVELS - 1 && delta >= (1L << (LEVEL_BITS * (level + 1)))) {
+                level++;
+            }
+            slot = wheels[level][(int) ((expires >> (LEVEL_BITS * level)) & LEVEL_MASK)];
+        }
+        slot.add(timeout);
+    }
+
+    private synchronized boolean cancel(Timeout timeout) {
+        if (timeout.cancelled || timeout.expired) {
+            return false;
+        }
+        timeout.cancelled = true;
+        if (timeout.slot != null) {
+            timeout.slot.remove(timeout);
+            size--;
+        }
+        return true;
+    }
+
+    public static final class Timeout {
+
+        private final HierarchicalTimingWheel wheel;
+        private final long deadlineTick;
+        private final long deadlineMs;
+        private final Runnable task;
+
+        // Guarded by the wheel lock
+        private Slot slot;
+        private Timeout prev;
+        private Timeout next;
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(HierarchicalTimingWheel wheel, long deadlineTick, long deadlineMs, Runnable task) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.deadlineMs = deadlineMs;
+            this.task = task;
+        }
+
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        public Runnable getTask() {
+            return task;
+        }
+
+        public boolean isCancelled() {
+            synchronized (wheel) {
+                return cancelled;
+            }
+        }
+    }
+
+    private static final class Slot {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        // Detaches the whole list; the caller walks it through the "next" links
+        Timeout drain() {
+            Timeout first = head;
+            for (Timeout t = head; t != null; t = t.next) {
+                t.slot = null;
+                t.prev = null;
+            }
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+}
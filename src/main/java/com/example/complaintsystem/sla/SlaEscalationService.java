@@ -0,0 +1,137 @@
+package com.example.complaintsystem.sla;
+
+import com.example.complaintsystem.Enum.Statuses;
+import com.example.complaintsystem.dto.TicketAssignments.CreateTicketAssignmentDTO;
+import com.example.complaintsystem.entity.Ticket;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.service.TicketAssignmentService;
+import com.example.complaintsystem.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class SlaEscalationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaEscalationService.class);
+
+    private static final String CLAIM_LEVEL =
+            "UPDATE sla_escalations SET escalation_level = ?, escalated_at = ? WHERE ticket_id = ? AND escalation_level < ?";
+    private static final String INSERT_LEVEL =
+            "INSERT INTO sla_escalations (ticket_id, escalation_level, escalated_at) VALUES (?, ?, ?)";
+    private static final String RESET_LEVEL = "DELETE FROM sla_escalations WHERE ticket_id = ?";
+
+    private final TicketRepository ticketRepository;
+    private final TicketAssignmentRepository assignmentRepository;
+    private final TicketAssignmentService assignmentService;
+    private final SlaPolicy slaPolicy;
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SlaEscalationService(TicketRepository ticketRepository,
+                                TicketAssignmentRepository assignmentRepository,
+                                TicketAssignmentService assignmentService,
+                                SlaPolicy slaPolicy,
+                                ShardRouter shardRouter,
+                                JdbcTemplate jdbcTemplate) {
+        this.ticketRepository = ticketRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.assignmentService = assignmentService;
+        this.slaPolicy = slaPolicy;
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Returns true if the ticket is still active after the escalation (so the caller can re-arm the timer)
+    @Transactional
+    public boolean escalate(Integer ticketId, int level) {
+        // The escalation row lives next to its ticket
+        return shardRouter.onShardOf(ticketId, () -> escalateOnShard(ticketId, level));
+    }
+
+    // A status or department change starts a new SLA period, its escalations start from level 0 again. Runs in the
+    // changing transaction, so a timer that fires right after the commit already sees the reset.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (event.isRemote() || event.getChangeType() == TicketChangedEvent.ChangeType.CREATED) {
+            return;
+        }
+        if (event.getChangeType() == TicketChangedEvent.ChangeType.DELETED
+                || event.isStatusChanged() || event.isDepartmentChanged()) {
+            jdbcTemplate.update(RESET_LEVEL, event.getTicketId());
+        }
+    }
+
+    private boolean escalateOnShard(Integer ticketId, int level) {
+        Optional<Ticket> ticketOptional = ticketRepository.findById(ticketId);
+        if (ticketOptional.isEmpty()) {
+            log.debug("SLA timer fired for ticket ID: {} which no longer exists", ticketId);
+            return false;
+        }
+        Ticket ticket = ticketOptional.get();
+
+        String statusName = ticket.getTicketStatus() != null ? ticket.getTicketStatus().getStatusName() : null;
+        boolean active = Statuses.fromStatusName(statusName).map(Statuses::isActive).orElse(false);
+        if (!active) {
+            log.debug("SLA timer fired for ticket ID: {} in status '{}', nothing to escalate", ticketId, statusName);
+            return false;
+        }
+
+        if (!claimLevel(ticketId, level)) {
+            log.debug("SLA escalation level {} of ticket ID: {} was already handled by another node", level, ticketId);
+            return true;
+        }
+
+        String departmentName = ticket.getDepartment() != null ? ticket.getDepartment().getDepartmentName() : null;
+        log.warn("SLA breached for ticket ID: {} (status: '{}', department: '{}', escalation level: {})",
+                ticketId, statusName, departmentName, level);
+
+        Integer assigneeId = slaPolicy.escalationAssigneeFor(departmentName);
+        if (assigneeId == null) {
+            log.warn("No escalation assignee configured for department '{}', ticket ID: {} left as is", departmentName, ticketId);
+            return true;
+        }
+        if (assignmentRepository.existsByTicketTicketIdAndUserUserId(ticketId, assigneeId)) {
+            log.info("Escalation assignee user ID: {} is already assigned to ticket ID: {}", assigneeId, ticketId);
+            return true;
+        }
+
+        CreateTicketAssignmentDTO assignment = new CreateTicketAssignmentDTO();
+        assignment.setTicketId(ticketId);
+        assignment.setUserId(assigneeId);
+        assignmentService.createAssignment(assignment);
+        log.info("Escalated ticket ID: {} to user ID: {} (level {})", ticketId, assigneeId, level);
+        return true;
+    }
+
+    // Conditional update, then insert: exactly one node moves the ticket to the level. The row stays locked until
+    // the escalation commits, a competing node waits for it and then finds the level taken.
+    private boolean claimLevel(Integer ticketId, int level) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jdbcTemplate.update(CLAIM_LEVEL, level, now, ticketId, level) == 1) {
+            return true;
+        }
+        if (level > 0) {
+            // Already at this level or above, or no row at all: a timer armed before the period was reset
+            return false;
+        }
+        try {
+            jdbcTemplate.update(INSERT_LEVEL, ticketId, level, now);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
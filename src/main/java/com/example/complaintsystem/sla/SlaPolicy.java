@@ -0,0 +1,64 @@
+package com.example.complaintsystem.sla;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+public class SlaPolicy {
+
+    // Same default the V2 API reports for tickets created without a persisted priority
+    public static final String DEFAULT_PRIORITY = "Medium";
+
+    private final SlaProperties properties;
+
+    public SlaPolicy(SlaProperties properties) {
+        this.properties = properties;
+    }
+
+    public Duration deadlineFor(String departmentName, String priority) {
+        Duration byDepartment = lookup(properties.getDepartmentDeadlines(), departmentName);
+        Duration byPriority = lookup(properties.getPriorityDeadlines(), priority != null ? priority : DEFAULT_PRIORITY);
+
+        if (byDepartment != null && byPriority != null) {
+            return byDepartment.compareTo(byPriority) <= 0 ? byDepartment : byPriority;
+        }
+        if (byDepartment != null) {
+            return byDepartment;
+        }
+        return byPriority != null ? byPriority : properties.getDefaultDeadline();
+    }
+
+    public Integer escalationAssigneeFor(String departmentName) {
+        Integer assignee = lookup(properties.getEscalation().getAssigneeUserIds(), departmentName);
+        return assignee != null ? assignee : properties.getEscalation().getDefaultAssigneeUserId();
+    }
+
+    public Duration repeatAfter() {
+        return properties.getEscalation().getRepeatAfter();
+    }
+
+    public int maxLevels() {
+        return properties.getEscalation().getMaxLevels();
+    }
+
+    // Case-insensitive lookup so "IT", "it" and "It" all match the same property key
+    private static <V> V lookup(Map<String, V> values, String key) {
+        if (key == null || values.isEmpty()) {
+            return null;
+        }
+        V exact = values.get(key);
+        if (exact != null) {
+            return exact;
+        }
+        String lowerKey = key.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, V> entry : values.entrySet()) {
+            if (entry.getKey().toLowerCase(Locale.ROOT).equals(lowerKey)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
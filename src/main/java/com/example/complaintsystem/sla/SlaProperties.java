@@ -0,0 +1,48 @@
+package com.example.complaintsystem.sla;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sla")
+public class SlaProperties {
+
+    private boolean enabled = true;
+
+    // Resolution of the timing wheel. Deadlines fire at most one tick late.
+    private Duration tick = Duration.ofSeconds(1);
+
+    // Used when neither the department nor the priority has a deadline configured
+    private Duration defaultDeadline = Duration.ofHours(24);
+
+    // Keyed by priority name (Low, Medium, High, ...) and by department name (HR, IT, ...).
+    // When both match, the stricter (shorter) deadline wins.
+    private Map<String, Duration> priorityDeadlines = new HashMap<>();
+    private Map<String, Duration> departmentDeadlines = new HashMap<>();
+
+    private Escalation escalation = new Escalation();
+
+    // Number of tickets loaded per query when the timers are rebuilt on startup
+    private int rebuildBatchSize = 1000;
+
+    @Getter
+    @Setter
+    public static class Escalation {
+
+        // User that gets assigned to a breached ticket, keyed by department name
+        private Map<String, Integer> assigneeUserIds = new HashMap<>();
+        private Integer defaultAssigneeUserId;
+
+        // A ticket that is still open after escalation is escalated again after this delay
+        private Duration repeatAfter = Duration.ofHours(4);
+        private int maxLevels = 3;
+
+        private int threads = 2;
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.complaintsystem.sla;
+
+import com.example.complaintsystem.Enum.Statuses;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.repository.TicketStatusRepository;
+import com.example.complaintsystem.repository.projection.TicketSlaView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps one SLA timer per active (OPEN / IN_PROGRESS) ticket in a hierarchical timing wheel.
+// Timers are (re)armed from ticket change events and rebuilt from the database once on startup,
+// so nothing ever has to scan the Tickets table on a schedule.
+@Service
+public class SlaScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaScheduler.class);
+
+    private final SlaProperties properties;
+    private final SlaPolicy slaPolicy;
+    private final SlaEscalationService escalationService;
+    private final TicketRepository ticketRepository;
+    private final TicketStatusRepository ticketStatusRepository;
+
+    private final ConcurrentHashMap<Integer, ActiveSla> timers = new ConcurrentHashMap<>();
+    private final AtomicLong tokens = new AtomicLong();
+
+    private HierarchicalTimingWheel wheel;
+    private ThreadPoolExecutor escalationExecutor;
+    private Thread ticker;
+    private volatile boolean running;
+
+    @Autowired
+    public SlaScheduler(SlaProperties properties,
+                        SlaPolicy slaPolicy,
+                        SlaEscalationService escalationService,
+                        TicketRepository ticketRepository,
+                        TicketStatusRepository ticketStatusRepository) {
+        this.properties = properties;
+        this.slaPolicy = slaPolicy;
+        this.escalationService = escalationService;
+        this.ticketRepository = ticketRepository;
+        this.ticketStatusRepository = ticketStatusRepository;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("SLA scheduler is disabled");
+            return;
+        }
+        wheel = new HierarchicalTimingWheel(properties.getTick().toMillis(), System.currentTimeMillis());
+
+        int threads = Math.max(1, properties.getEscalation().getThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        // Bounded queue that rejects when full: the escalations (database work) never run on the ticker thread, an
+        // expiry that finds the queue full goes back into the wheel for the next tick (see dispatch)
+        escalationExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sla-escalation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        running = true;
+        ticker = new Thread(this::runTicker, "sla-timing-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+        log.info("SLA scheduler started with a {} ms tick", wheel.getTickMs());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+        if (escalationExecutor != null) {
+            escalationExecutor.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildTimers() {
+        if (!running) {
+            return;
+        }
+        escalationExecutor.execute(this::loadActiveTickets);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!running) {
+            return;
+        }
+        Integer ticketId = event.getTicketId();
+        if (event.getChangeType() == TicketChangedEvent.ChangeType.DELETED) {
+            cancel(ticketId);
+            return;
+        }
+
+        boolean active = Statuses.fromStatusName(event.getStatusName()).map(Statuses::isActive).orElse(false);
+        if (!active) {
+            cancel(ticketId);
+            return;
+        }
+
+        if (event.isRemote()) {
+            // The node that made the change holds the timer from now on (it arms one if it had none)
+            cancel(ticketId);
+            return;
+        }
+        ActiveSla current = timers.get(ticketId);
+        boolean rearm = event.getChangeType() == TicketChangedEvent.ChangeType.CREATED
+                || current == null
+                || event.isStatusChanged()
+                || event.isDepartmentChanged();
+        if (rearm) {
+            // The priority is only sent on V2 creates, keep the one we already know about otherwise
+            String priority = event.getPriority() != null ? event.getPriority()
+                    : current != null ? current.priority() : null;
+            schedule(ticketId, event.getDepartmentName(), priority, System.currentTimeMillis(), 0);
+        }
+    }
+
+    public void schedule(Integer ticketId, String departmentName, String priority, long fromMs, int level) {
+        long deadlineMs = fromMs + slaPolicy.deadlineFor(departmentName, priority).toMillis();
+        timers.compute(ticketId, (id, previous) -> {
+            if (previous != null) {
+                previous.timeout().cancel();
+            }
+            return arm(id, departmentName, priority, deadlineMs, level);
+        });
+        log.debug("SLA timer for ticket ID: {} armed at level {} (deadline in {} ms)",
+                ticketId, level, deadlineMs - System.currentTimeMillis());
+    }
+
+    public void cancel(Integer ticketId) {
+        ActiveSla removed = timers.remove(ticketId);
+        if (removed != null) {
+            removed.timeout().cancel();
+            log.debug("SLA timer for ticket ID: {} cancelled", ticketId);
+        }
+    }
+
+    public int pendingTimers() {
+        return timers.size();
+    }
+
+    private ActiveSla arm(Integer ticketId, String departmentName, String priority, long deadlineMs, int level) {
+        long token = tokens.incrementAndGet();
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(deadlineMs, () -> dispatch(ticketId, token));
+        return new ActiveSla(timeout, departmentName, priority, level, token);
+    }
+
+    // Runs on the ticker thread. A timer cancelled or re-armed while its expiry waits for room is skipped by
+    // onExpired (the token no longer matches)
+    private void dispatch(Integer ticketId, long token) {
+        try {
+            escalationExecutor.execute(() -> onExpired(ticketId, token));
+        } catch (RejectedExecutionException e) {
+            if (running) {
+                log.debug("SLA escalation queue is full, ticket ID: {} retried on the next tick", ticketId);
+                wheel.schedule(System.currentTimeMillis() + wheel.getTickMs(), () -> dispatch(ticketId, token));
+            }
+        }
+    }
+
+    private void onExpired(Integer ticketId, long token) {
+        ActiveSla expired = timers.get(ticketId);
+        if (expired == null || expired.token() != token || !timers.remove(ticketId, expired)) {
+            return; // Re-armed or cancelled in the meantime
+        }
+        try {
+            boolean stillActive = escalationService.escalate(ticketId, expired.level());
+            int nextLevel = expired.level() + 1;
+            if (stillActive && nextLevel < slaPolicy.maxLevels()) {
+                long deadlineMs = System.currentTimeMillis() + slaPolicy.repeatAfter().toMillis();
+                // Don't clobber a timer that a concurrent status change armed while we were escalating
+                timers.computeIfAbsent(ticketId,
+                        id -> arm(id, expired.departmentName(), expired.priority(), deadlineMs, nextLevel));
+            }
+        } catch (Exception e) {
+            log.error("SLA escalation failed for ticket ID: {}", ticketId, e);
+        }
+    }
+
+    private void runTicker() {
+        while (running) {
+            try {
+                Thread.sleep(wheel.getTickMs());
+                for (HierarchicalTimingWheel.Timeout timeout : wheel.advance(System.currentTimeMillis())) {
+                    timeout.getTask().run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("SLA timing wheel tick failed", e);
+            }
+        }
+    }
+
+    // One pass over the active tickets, keyset paginated so memory stays flat regardless of table size
+    private void loadActiveTickets() {
+        try {
+            List<Integer> activeStatusIds = ticketStatusRepository.findActiveStatusIds();
+            if (activeStatusIds.isEmpty()) {
+                log.warn("No OPEN / IN_PROGRESS ticket statuses found, SLA timers not rebuilt");
+                return;
+            }
+
+            int loaded = 0;
+            Integer afterId = 0;
+            while (running) {
+                List<TicketSlaView> batch = ticketRepository.findSlaCandidates(activeStatusIds, afterId,
+                        PageRequest.of(0, properties.getRebuildBatchSize()));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (TicketSlaView ticket : batch) {
+                    // OPEN tickets are measured from creation, IN_PROGRESS ones from their last update
+                    boolean open = Statuses.fromStatusName(ticket.getStatusName()).orElse(null) == Statuses.OPEN;
+                    long fromMs = toEpochMillis(open ? ticket.getCreatedAt() : ticket.getUpdatedAt());
+                    long deadlineMs = fromMs + slaPolicy.deadlineFor(ticket.getDepartmentName(), null).toMillis();
+                    // Live events that arrived during the rebuild are newer, keep them
+                    timers.computeIfAbsent(ticket.getTicketId(),
+                            id -> arm(id, ticket.getDepartmentName(), null, deadlineMs, 0));
+                    loaded++;
+                }
+                afterId = batch.get(batch.size() - 1).getTicketId();
+            }
+            log.info("Rebuilt {} SLA timers from the database", loaded);
+        } catch (Exception e) {
+            log.error("Failed to rebuild SLA timers on startup", e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return System.currentTimeMillis();
+        }
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record ActiveSla(HierarchicalTimingWheel.Timeout timeout, String departmentName, String priority,
+                             int level, long token) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.complaintsystem.snapshot;
+
+import java.nio.ByteBuffer;
+
+// A validated snapshot: the payload is a read-only view of the memory-mapped file
+public record Snapshot(String name, int version, long createdAtMs, ByteBuffer payload) {
+}
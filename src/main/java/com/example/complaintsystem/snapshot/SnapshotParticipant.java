@@ -0,0 +1,20 @@
+package com.example.complaintsystem.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// An in-memory structure that is written to a snapshot file periodically and on shutdown.
+// Restoring is up to the structure itself (see SnapshotStore.read), usually as part of its startup load.
+public interface SnapshotParticipant {
+
+    // File name stem, e.g. "ticket-headers"
+    String snapshotName();
+
+    // Bump whenever the payload layout changes, files of other versions are ignored
+    int snapshotVersion();
+
+    // False while the structure is still loading, a partial structure must not replace a complete snapshot
+    boolean isSnapshotReady();
+
+    void writeSnapshot(DataOutputStream out) throws IOException;
+}
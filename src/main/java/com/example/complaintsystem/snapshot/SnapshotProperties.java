@@ -0,0 +1,27 @@
+package com.example.complaintsystem.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = true;
+
+    // Local directory for the snapshot files, one file per structure (must not be shared between instances)
+    private String directory = "snapshots";
+
+    // How often the in-memory structures are written; they are also written on a graceful shutdown
+    private Duration interval = Duration.ofMinutes(5);
+
+    // Older snapshots are ignored on startup and the structures are loaded from the database instead
+    private Duration maxAge = Duration.ofHours(6);
+
+    // Changes are re-read from this long before the snapshot was taken, covering clock skew between instances
+    private Duration catchUpOverlap = Duration.ofMinutes(1);
+}
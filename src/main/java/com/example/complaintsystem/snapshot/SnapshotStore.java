@@ -0,0 +1,157 @@
+package com.example.complaintsystem.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+// Snapshot files: <name>-v<version>.snap, a fixed header followed by the structure's payload.
+//   magic (int) | format version (int) | structure version (int) | reserved (int) |
+//   created at, epoch ms (long) | payload length (long) | CRC32C of the payload (long)
+// Files are written to a temp file and moved into place, and read back through a read-only memory mapping.
+@Component
+public class SnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private static final int MAGIC = 0x43534E50; // "CSNP"
+    private static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 40;
+
+    private final SnapshotProperties properties;
+
+    @Autowired
+    public SnapshotStore(SnapshotProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Position changes are caught up from: snapshot time minus the configured overlap
+    public long catchUpFromMs(Snapshot snapshot) {
+        return snapshot.createdAtMs() - properties.getCatchUpOverlap().toMillis();
+    }
+
+    public void write(SnapshotParticipant participant) throws IOException {
+        Path directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+        Path target = directory.resolve(fileName(participant.snapshotName(), participant.snapshotVersion()));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        long createdAtMs = System.currentTimeMillis();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            CRC32C crc = new CRC32C();
+            CountingOutputStream counter = new CountingOutputStream(Channels.newOutputStream(channel));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(counter, crc), 1 << 16));
+            participant.writeSnapshot(out);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(participant.snapshotVersion()).putInt(0)
+                    .putLong(createdAtMs).putLong(counter.count).putLong(crc.getValue()).flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Wrote snapshot {} ({} KB)", target, Files.size(target) / 1024);
+    }
+
+    // The snapshot of a structure, if there is one with the right version, young enough and not corrupt
+    public Optional<Snapshot> read(String name, int version) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Path file = Paths.get(properties.getDirectory()).resolve(fileName(name, version));
+        if (!Files.isRegularFile(file)) {
+            log.info("No snapshot {} found, loading from the database", file);
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            String problem = validate(mapped, version);
+            if (problem != null) {
+                log.warn("Ignoring snapshot {}: {}", file, problem);
+                return Optional.empty();
+            }
+            long createdAtMs = mapped.getLong(16);
+            ByteBuffer payload = mapped.slice(HEADER_SIZE, (int) mapped.getLong(24)).asReadOnlyBuffer();
+            return Optional.of(new Snapshot(name, version, createdAtMs, payload));
+        } catch (IOException e) {
+            log.warn("Failed to map snapshot {}, loading from the database", file, e);
+            return Optional.empty();
+        }
+    }
+
+    // Helper: null when the mapped file is usable, otherwise why not
+    private String validate(MappedByteBuffer mapped, int version) {
+        if (mapped.capacity() < HEADER_SIZE || mapped.getInt(0) != MAGIC) {
+            return "not a snapshot file";
+        }
+        if (mapped.getInt(4) != FORMAT_VERSION || mapped.getInt(8) != version) {
+            return "written by another version";
+        }
+        long ageMs = System.currentTimeMillis() - mapped.getLong(16);
+        if (ageMs > properties.getMaxAge().toMillis()) {
+            return "older than " + properties.getMaxAge();
+        }
+        long payloadLength = mapped.getLong(24);
+        if (payloadLength > Integer.MAX_VALUE - HEADER_SIZE) {
+            return "larger than 2 GB";
+        }
+        if (payloadLength != mapped.capacity() - HEADER_SIZE) {
+            return "truncated";
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(mapped.slice(HEADER_SIZE, (int) payloadLength));
+        if (crc.getValue() != mapped.getLong(32)) {
+            return "checksum mismatch";
+        }
+        return null;
+    }
+
+    private static String fileName(String name, int version) {
+        return name + "-v" + version + ".snap";
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
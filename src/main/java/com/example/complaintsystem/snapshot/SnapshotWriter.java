@@ -0,0 +1,51 @@
+package com.example.complaintsystem.snapshot;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Writes every ready SnapshotParticipant periodically and once more on a graceful shutdown,
+// so a rolling deploy restarts from a snapshot that is only seconds old.
+@Component
+public class SnapshotWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotWriter.class);
+
+    private final SnapshotStore store;
+    private final List<SnapshotParticipant> participants;
+
+    @Autowired
+    public SnapshotWriter(SnapshotStore store, List<SnapshotParticipant> participants) {
+        this.store = store;
+        this.participants = participants;
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.interval:PT5M}", initialDelayString = "${snapshot.interval:PT5M}")
+    public void writeSnapshots() {
+        if (!store.isEnabled()) {
+            return;
+        }
+        for (SnapshotParticipant participant : participants) {
+            if (!participant.isSnapshotReady()) {
+                log.debug("Skipping snapshot {}, still loading", participant.snapshotName());
+                continue;
+            }
+            try {
+                store.write(participant);
+            } catch (Exception e) {
+                log.error("Failed to write snapshot {}", participant.snapshotName(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        log.info("Writing snapshots before shutdown");
+        writeSnapshots();
+    }
+}
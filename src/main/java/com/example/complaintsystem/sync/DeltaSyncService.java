@@ -0,0 +1,239 @@
+package com.example.complaintsystem.sync;
+
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
+import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.example.complaintsystem.dto.TicketAssignments.TicketAssignmentDTO;
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.example.complaintsystem.dto.Sync.SyncChangeDTO;
+import com.example.complaintsystem.dto.Sync.SyncPageDTO;
+import com.example.complaintsystem.entity.SyncChange;
+import com.example.complaintsystem.exception.BadRequestException;
+import com.example.complaintsystem.exception.ResourceGoneException;
+import com.example.complaintsystem.exception.ServiceUnavailableException;
+import com.example.complaintsystem.repository.SyncChangeRepository;
+import com.example.complaintsystem.service.CommentService;
+import com.example.complaintsystem.service.TicketAssignmentService;
+import com.example.complaintsystem.service.TicketService;
+import com.example.complaintsystem.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// "What changed since my cursor": reads the sync_changes log after the cursor, keeps the latest change per entity
+// and loads the current state of those entities in one multi-get per type. Traffic follows the change volume.
+// With sharding every shard logs the changes of its own tickets; the cursor keeps a position per shard.
+@Service
+public class DeltaSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeltaSyncService.class);
+
+    private final SyncProperties properties;
+    private final SyncChangeRepository syncChangeRepository;
+    private final TicketService ticketService;
+    private final CommentService commentService;
+    private final TicketAssignmentService assignmentService;
+    private final ShardRouter shardRouter;
+    private final int maxIds;
+
+    @Autowired
+    public DeltaSyncService(SyncProperties properties,
+                            SyncChangeRepository syncChangeRepository,
+                            TicketService ticketService,
+                            CommentService commentService,
+                            TicketAssignmentService assignmentService,
+                            ShardRouter shardRouter,
+                            @Value("${batch.max-ids:500}") int maxIds) {
+        this.properties = properties;
+        this.syncChangeRepository = syncChangeRepository;
+        this.ticketService = ticketService;
+        this.commentService = commentService;
+        this.assignmentService = assignmentService;
+        this.shardRouter = shardRouter;
+        this.maxIds = maxIds;
+    }
+
+    // Without a cursor: no changes, just the current head of the log to start syncing from after a full download
+    @Transactional(readOnly = true)
+    public SyncPageDTO getChanges(String cursor, int size) {
+        if (!properties.isEnabled()) {
+            throw new ServiceUnavailableException("Delta sync is disabled");
+        }
+        int maxPageSize = Math.min(properties.getMaxPageSize(), maxIds);
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("size must be between 1 and " + maxPageSize);
+        }
+        if (!StringUtils.hasText(cursor)) {
+            return page(Collections.emptyList(), headCursor(), false);
+        }
+
+        SyncCursor from = SyncCursor.decode(cursor);
+        if (from.changedAtMs() < System.currentTimeMillis() - properties.getRetention().toMillis()) {
+            throw new ResourceGoneException("Sync cursor is older than the change log retention (" + properties.getRetention()
+                    + "), download the tickets again and start over without a cursor");
+        }
+
+        // Shard by shard until the page is full; shards that didn't get a turn keep their position
+        List<SyncChange> rows = new ArrayList<>();
+        List<Long> positions = new ArrayList<>();
+        long completeUntilMs = Long.MAX_VALUE;
+        boolean hasMore = false;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            long afterSeq = from.seq(shard);
+            int room = size - rows.size();
+            if (room == 0) {
+                positions.add(afterSeq);
+                completeUntilMs = Math.min(completeUntilMs, from.changedAtMs());
+                hasMore = true;
+                continue;
+            }
+            ShardPage shardPage = shardRouter.readOnShard(shard, () -> settledChangesAfter(afterSeq, room));
+            rows.addAll(shardPage.rows());
+            positions.add(shardPage.position());
+            completeUntilMs = Math.min(completeUntilMs, shardPage.completeUntilMs());
+            hasMore |= shardPage.hasMore();
+        }
+        // Nothing new moves the cursor's time forward too, so an idle client doesn't run into the retention limit
+        SyncCursor next = new SyncCursor(positions, completeUntilMs);
+        if (rows.isEmpty()) {
+            return page(Collections.emptyList(), next, false);
+        }
+
+        List<SyncChangeDTO> changes = collapse(rows);
+        log.info("Delta sync after seq {}: {} log rows, {} changed entities, more: {}", from.seqs(), rows.size(), changes.size(), hasMore);
+        return page(changes, next, hasMore);
+    }
+
+    @Scheduled(cron = "${sync.purge-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int deleted = shardRouter.onShard(shard,
+                    () -> syncChangeRepository.deleteOlderThan(syncChangeRepository.findDatabaseTime().minus(properties.getRetention())));
+            if (deleted > 0) {
+                log.info("Purged {} expired sync changes on shard {}", deleted, shard);
+            }
+        }
+    }
+
+    // Helper: one shard's settled changes after the position, in seq order. Runs on the shard, whose own clock stamped
+    // changed_at. The page ends at the first unsettled change: a lower seq that is still uncommitted can only be older
+    // than that one, skipping past it would move the cursor beyond a change the client then never gets.
+    private ShardPage settledChangesAfter(long afterSeq, int size) {
+        LocalDateTime settledBefore = syncChangeRepository.findDatabaseTime().minus(properties.getSettleTime());
+        List<SyncChange> rows = syncChangeRepository.findChangesAfter(afterSeq, PageRequest.of(0, size + 1));
+        int settled = 0;
+        while (settled < rows.size() && rows.get(settled).getChangedAt().isBefore(settledBefore)) {
+            settled++;
+        }
+        boolean hasMore = settled > size;
+        rows = rows.subList(0, Math.min(settled, size));
+        if (rows.isEmpty()) {
+            return new ShardPage(rows, afterSeq, toEpochMillis(settledBefore), false);
+        }
+        SyncChange last = rows.get(rows.size() - 1);
+        // A page cut short by the size only covers the log up to its last row, otherwise up to the settle point
+        long completeUntilMs = toEpochMillis(hasMore ? last.getChangedAt() : settledBefore);
+        return new ShardPage(rows, last.getSeq(), completeUntilMs, hasMore);
+    }
+
+    // Helper: latest log row per entity (in the order of those rows), with the entity's current state attached
+    private List<SyncChangeDTO> collapse(List<SyncChange> rows) {
+        Map<String, SyncChange> latest = new LinkedHashMap<>();
+        for (SyncChange row : rows) {
+            String key = row.getEntityType() + ":" + row.getEntityId();
+            latest.remove(key); // Re-inserted at the end, so the entity sits where its last change is
+            latest.put(key, row);
+        }
+
+        Map<SyncEntityType, List<Integer>> liveIds = new HashMap<>();
+        for (SyncChange row : latest.values()) {
+            if (!"DELETED".equals(row.getChangeType())) {
+                liveIds.computeIfAbsent(SyncEntityType.valueOf(row.getEntityType()), type -> new ArrayList<>()).add(row.getEntityId());
+            }
+        }
+        Map<Integer, GetTicketDTO> tickets = loadFound(liveIds.get(SyncEntityType.TICKET), ticketService::getTicketsByIds);
+        Map<Integer, CommentDTO> comments = loadFound(liveIds.get(SyncEntityType.COMMENT), commentService::getCommentsByIds);
+        Map<Integer, TicketAssignmentDTO> assignments = loadFound(liveIds.get(SyncEntityType.ASSIGNMENT), assignmentService::getAssignmentsByIds);
+
+        List<SyncChangeDTO> changes = new ArrayList<>(latest.size());
+        for (SyncChange row : latest.values()) {
+            SyncChangeDTO dto = new SyncChangeDTO();
+            dto.setEntityType(row.getEntityType());
+            dto.setEntityId(row.getEntityId());
+            dto.setTicketId(row.getTicketId());
+            switch (SyncEntityType.valueOf(row.getEntityType())) {
+                case TICKET -> dto.setTicket(tickets.get(row.getEntityId()));
+                case COMMENT -> dto.setComment(comments.get(row.getEntityId()));
+                case ASSIGNMENT -> dto.setAssignment(assignments.get(row.getEntityId()));
+            }
+            // Also a tombstone when the delete itself is in a later page: the entity is gone either way
+            dto.setDeleted(dto.getTicket() == null && dto.getComment() == null && dto.getAssignment() == null);
+            changes.add(dto);
+        }
+        return changes;
+    }
+
+    private static <D> Map<Integer, D> loadFound(List<Integer> ids, Function<List<Integer>, List<BatchItemDTO<D>>> multiGet) {
+        Map<Integer, D> found = new HashMap<>();
+        if (ids != null) {
+            for (BatchItemDTO<D> item : multiGet.apply(ids)) {
+                if (item.isFound()) {
+                    found.put(item.getId(), item.getData());
+                }
+            }
+        }
+        return found;
+    }
+
+    // Helper: per shard, just before the first unsettled change (or the last change when all are settled). Anything
+    // after it has a higher seq and will be served.
+    private SyncCursor headCursor() {
+        List<Long> positions = new ArrayList<>();
+        long settledUntilMs = Long.MAX_VALUE;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            ShardPage head = shardRouter.readOnShard(shard, () -> {
+                LocalDateTime settledBefore = syncChangeRepository.findDatabaseTime().minus(properties.getSettleTime());
+                long position = syncChangeRepository.findFirstSeqChangedSince(settledBefore).map(first -> first - 1)
+                        .or(syncChangeRepository::findMaxSeq)
+                        .orElse(0L);
+                return new ShardPage(List.of(), position, toEpochMillis(settledBefore), false);
+            });
+            positions.add(head.position());
+            settledUntilMs = Math.min(settledUntilMs, head.completeUntilMs());
+        }
+        return new SyncCursor(positions, settledUntilMs);
+    }
+
+    private record ShardPage(List<SyncChange> rows, long position, long completeUntilMs, boolean hasMore) {
+    }
+
+    private static SyncPageDTO page(List<SyncChangeDTO> changes, SyncCursor cursor, boolean hasMore) {
+        SyncPageDTO page = new SyncPageDTO();
+        page.setChanges(changes);
+        page.setNextCursor(cursor.encode());
+        page.setHasMore(hasMore);
+        return page;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.complaintsystem.sync;
+
+import com.example.complaintsystem.event.CommentChangedEvent;
+import com.example.complaintsystem.event.TicketAssignmentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.SyncChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Appends a sync_changes row for every ticket, comment and assignment write. Runs right before the commit of the
+// writing transaction, so the change and its log row are committed together (or not at all). changed_at is set by
+// the database, every node stamps its rows with the same clock.
+@Component
+public class SyncChangeRecorder {
+
+    private final SyncProperties properties;
+    private final SyncChangeRepository syncChangeRepository;
+
+    @Autowired
+    public SyncChangeRecorder(SyncProperties properties, SyncChangeRepository syncChangeRepository) {
+        this.properties = properties;
+        this.syncChangeRepository = syncChangeRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (event.isRemote()) {
+            return; // Logged by the node that made the change
+        }
+        record(SyncEntityType.TICKET, event.getTicketId(), event.getTicketId(), event.getChangeType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        record(SyncEntityType.COMMENT, event.getCommentId(), event.getTicketId(), event.getChangeType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onAssignmentChanged(TicketAssignmentChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        record(SyncEntityType.ASSIGNMENT, event.getAssignmentId(), event.getTicketId(), event.getChangeType());
+    }
+
+    private void record(SyncEntityType entityType, Integer entityId, Integer ticketId, TicketChangedEvent.ChangeType changeType) {
+        if (!properties.isEnabled() || entityId == null) {
+            return;
+        }
+        syncChangeRepository.append(entityType.name(), entityId, ticketId, changeType.name());
+    }
+}
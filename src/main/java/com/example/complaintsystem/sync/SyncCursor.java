@@ -0,0 +1,64 @@
+package com.example.complaintsystem.sync;
+
+import com.example.complaintsystem.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Opaque to clients: base64url of "v2:<epoch ms>:<seq on shard 0>,<seq on shard 1>,...". Every shard logs its own
+// changes, so the cursor holds a position per shard. The time lets the server tell whether changes after the cursor
+// may already have been purged, without keeping any state. "v1:<seq>:<epoch ms>" cursors (one shard) are still read.
+public record SyncCursor(List<Long> seqs, long changedAtMs) {
+
+    private static final String V1 = "v1:";
+    private static final String V2 = "v2:";
+
+    public SyncCursor(long seq, long changedAtMs) {
+        this(List.of(seq), changedAtMs);
+    }
+
+    public SyncCursor {
+        seqs = List.copyOf(seqs);
+    }
+
+    // Position on shard 0
+    public long seq() {
+        return seq(0);
+    }
+
+    // Shards added after the cursor was issued start from the beginning of their log
+    public long seq(int shard) {
+        return shard < seqs.size() ? seqs.get(shard) : 0L;
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder(V2).append(changedAtMs).append(':');
+        for (int i = 0; i < seqs.size(); i++) {
+            raw.append(i > 0 ? "," : "").append(seqs.get(i));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(V1)) {
+                String[] parts = raw.substring(V1.length()).split(":");
+                return new SyncCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            }
+            if (!raw.startsWith(V2)) {
+                throw new BadRequestException("Unknown sync cursor format");
+            }
+            String[] parts = raw.substring(V2.length()).split(":");
+            List<Long> seqs = new ArrayList<>();
+            for (String seq : parts[1].split(",")) {
+                seqs.add(Long.parseLong(seq));
+            }
+            return new SyncCursor(seqs, Long.parseLong(parts[0]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid sync cursor");
+        }
+    }
+}
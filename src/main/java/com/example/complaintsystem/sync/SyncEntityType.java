@@ -0,0 +1,7 @@
+package com.example.complaintsystem.sync;
+
+public enum SyncEntityType {
+    TICKET,
+    COMMENT,
+    ASSIGNMENT
+}
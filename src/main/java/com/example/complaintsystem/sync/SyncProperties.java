@@ -0,0 +1,26 @@
+package com.example.complaintsystem.sync;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sync")
+public class SyncProperties {
+
+    private boolean enabled = true;
+
+    // Largest page of changes per /api/v1/sync/changes call (also bounded by batch.max-ids per entity type)
+    private int maxPageSize = 500;
+
+    // Changes are only served once they are this old (by the database clock, which stamps changed_at). Sequence
+    // numbers are taken just before commit, so a slightly lower number can still become visible after a higher one;
+    // a page ends at the first change younger than this, so no cursor moves past one that is still in flight.
+    private Duration settleTime = Duration.ofSeconds(2);
+
+    // Tombstones and other changes older than this are purged; cursors older than this get 410 Gone
+    private Duration retention = Duration.ofDays(30);
+}
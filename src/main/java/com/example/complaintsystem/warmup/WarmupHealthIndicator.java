@@ -0,0 +1,42 @@
+package com.example.complaintsystem.warmup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// "warmup" health contributor, part of the readiness group (management.endpoint.health.group.readiness.include):
+// OUT_OF_SERVICE until WarmupService is done and while one of its steps fails, so the load balancer only routes traffic to warmed-up nodes.
+// Not in liveness, a node that is still warming up must not be restarted.
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    @Autowired
+    public WarmupHealthIndicator(WarmupService warmupService) {
+        this.warmupService = warmupService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmupService.isReady() ? Health.up() : Health.outOfService();
+        builder.withDetail("step", warmupService.getCurrentStep());
+        if (!warmupService.getStepMillis().isEmpty()) {
+            builder.withDetail("stepMillis", warmupService.getStepMillis());
+        }
+        if (!warmupService.getFailedSteps().isEmpty()) {
+            builder.withDetail("failedSteps", warmupService.getFailedSteps());
+        }
+        if (!warmupService.getSkippedSteps().isEmpty()) {
+            builder.withDetail("skippedSteps", warmupService.getSkippedSteps());
+        }
+        if (!warmupService.getFailedQueries().isEmpty()) {
+            builder.withDetail("failedQueries", warmupService.getFailedQueries());
+        }
+        if (warmupService.isReady() && !warmupService.isFinished()) {
+            builder.withDetail("timedOut", true);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.complaintsystem.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    // Off: the readiness probe only waits for the context, as before
+    private boolean enabled = true;
+
+    // Token sign + verify rounds (RS256), enough for the JIT to compile the BigInteger / signature paths
+    private int jwtIterations = 500;
+
+    // Serialize + deserialize rounds of a synthetic page of tickets
+    private int serializationIterations = 2000;
+
+    // Executions of every ticket / comment / assignment read query (parameters that match no rows)
+    private int queryRounds = 20;
+
+    // Pool connections opened at the same time before traffic arrives
+    private int connections = 10;
+
+    // The node becomes ready after this long even if the warm-up is not done yet
+    private Duration timeout = Duration.ofSeconds(60);
+}
@@ -0,0 +1,358 @@
+package com.example.complaintsystem.warmup;
+
+import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.example.complaintsystem.entity.Role;
+import com.example.complaintsystem.entity.User;
+import com.example.complaintsystem.repository.CommentRepository;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.security.CustomUserDetails;
+import com.example.complaintsystem.security.JwtTokenProvider;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Runs the hot paths of a freshly started node once before it reports ready, so the first real requests don't pay
+ * for class loading, JIT compilation, Hibernate query translation and connection set-up:
+ * the JDBC pool is filled, RS256 tokens are signed and verified, a synthetic page of tickets goes through Jackson and
+ * every ticket / comment / assignment read query is executed with parameters that match no rows.
+ * Starts on ApplicationReadyEvent in the background; {@link WarmupHealthIndicator} keeps the readiness group DOWN
+ * until it is done or the timeout passed. A step that fails (database unreachable, JWT keys unusable) keeps the node
+ * out past the timeout and is retried with backoff until it passes; steps the timeout left no time for are skipped.
+ */
+@Service
+public class WarmupService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupService.class);
+
+    private static final Duration RETRY_INITIAL_DELAY = Duration.ofSeconds(1);
+    private static final Duration RETRY_MAX_DELAY = Duration.ofSeconds(30);
+
+    private final WarmupProperties properties;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Class<?>, Object> readRepositories = new LinkedHashMap<>();
+
+    private volatile long startedAtNanos;
+    private volatile boolean finished;
+    private volatile String currentStep = "pending";
+    private final Map<String, Long> stepMillis = new ConcurrentHashMap<>();
+    private final Set<String> failedSteps = ConcurrentHashMap.newKeySet();
+    private final Set<String> skippedSteps = ConcurrentHashMap.newKeySet();
+    private final Set<String> failedQueries = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public WarmupService(WarmupProperties properties,
+                         JwtTokenProvider jwtTokenProvider,
+                         ObjectMapper objectMapper,
+                         DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         TicketRepository ticketRepository,
+                         CommentRepository commentRepository,
+                         TicketAssignmentRepository ticketAssignmentRepository) {
+        this.properties = properties;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        readRepositories.put(TicketRepository.class, ticketRepository);
+        readRepositories.put(CommentRepository.class, commentRepository);
+        readRepositories.put(TicketAssignmentRepository.class, ticketAssignmentRepository);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            currentStep = "disabled";
+            finished = true;
+            return;
+        }
+        startedAtNanos = System.nanoTime();
+        Thread warmup = new Thread(this::run, "warmup");
+        warmup.setDaemon(true);
+        warmup.start();
+    }
+
+    // Ready once the warm-up finished (or was disabled), or when it has been running for longer than the timeout,
+    // but never while a step is failing
+    public boolean isReady() {
+        return failedSteps.isEmpty() && (finished || (startedAtNanos != 0 && expired()));
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public String getCurrentStep() {
+        return currentStep;
+    }
+
+    public Map<String, Long> getStepMillis() {
+        return Map.copyOf(stepMillis);
+    }
+
+    public Set<String> getFailedSteps() {
+        return Set.copyOf(failedSteps);
+    }
+
+    public Set<String> getSkippedSteps() {
+        return Set.copyOf(skippedSteps);
+    }
+
+    public Set<String> getFailedQueries() {
+        return Set.copyOf(failedQueries);
+    }
+
+    private void run() {
+        log.info("Attempting to warm up before reporting ready");
+        long start = System.nanoTime();
+        step("connections", this::openConnections);
+        step("jwt", this::signAndVerifyTokens);
+        step("jackson", this::serializeTickets);
+        step("queries", this::runReadQueries);
+        currentStep = "done";
+        finished = true;
+        log.info("Warm-up finished in {} ms (steps: {}, skipped: {})",
+                (System.nanoTime() - start) / 1_000_000, stepMillis, skippedSteps);
+    }
+
+    // Every step does at least one round even after the timeout, so a retry really checks what failed
+    private void step(String name, Runnable work) {
+        if (expired()) {
+            log.warn("Warm-up timeout reached, skipping step {}", name);
+            skippedSteps.add(name);
+            return;
+        }
+        currentStep = name;
+        long start = System.nanoTime();
+        long delayMs = RETRY_INITIAL_DELAY.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                work.run();
+                failedSteps.remove(name);
+                break;
+            } catch (Exception e) {
+                failedSteps.add(name);
+                log.warn("Warm-up step {} failed (attempt {}), retrying in {} ms", name, attempt, delayMs, e);
+            }
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delayMs = Math.min(delayMs * 2, RETRY_MAX_DELAY.toMillis());
+        }
+        stepMillis.put(name, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Open the connections side by side so the pool holds them before the first burst of requests
+    private void openConnections() {
+        List<Connection> opened = new ArrayList<>();
+        try {
+            int count = connectionsToOpen();
+            for (int i = 0; i < count && (i == 0 || !expired()); i++) {
+                Connection connection = dataSource.getConnection();
+                opened.add(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+            }
+            log.debug("Warm-up opened {} pool connections", opened.size());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not open pool connections", e);
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return a warm-up connection to the pool", e);
+                }
+            }
+        }
+    }
+
+    // More than the pool size would block until the connection timeout
+    private int connectionsToOpen() throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            return Math.min(properties.getConnections(), dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+        }
+        return properties.getConnections();
+    }
+
+    private void signAndVerifyTokens() {
+        User user = new User();
+        user.setUserId(0);
+        user.setUsername("warmup");
+        Role role = new Role();
+        role.setRoleName("ROLE_USER");
+        user.setRole(role);
+        CustomUserDetails principal = new CustomUserDetails(user);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        for (int i = 0; i < properties.getJwtIterations() && (i == 0 || !expired()); i++) {
+            String token = jwtTokenProvider.generateToken(authentication);
+            if (!jwtTokenProvider.validateToken(token)) {
+                throw new IllegalStateException("Freshly signed token did not validate");
+            }
+            jwtTokenProvider.getUsernameFromJWT(token);
+            jwtTokenProvider.getUserIdFromJWT(token);
+        }
+    }
+
+    private void serializeTickets() {
+        List<GetTicketDTO> page = syntheticTickets();
+        JavaType pageType = objectMapper.getTypeFactory().constructCollectionType(List.class, GetTicketDTO.class);
+        try {
+            for (int i = 0; i < properties.getSerializationIterations() && (i == 0 || !expired()); i++) {
+                byte[] json = objectMapper.writeValueAsBytes(page);
+                objectMapper.readValue(json, pageType);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize the synthetic tickets", e);
+        }
+    }
+
+    // Each query in its own read-only transaction, one failing query doesn't roll back the others
+    private void runReadQueries() {
+        List<Runnable> queries = new ArrayList<>();
+        readRepositories.forEach((type, repository) -> queries.addAll(readQueries(type, repository)));
+        for (int round = 0; round < properties.getQueryRounds() && (round == 0 || !expired()); round++) {
+            for (Runnable query : queries) {
+                query.run();
+            }
+        }
+        log.debug("Warm-up ran {} read queries {} times", queries.size(), properties.getQueryRounds());
+    }
+
+    // JPQL read queries only: native ones have no Hibernate plan, @Modifying ones would write, streams read everything
+    private List<Runnable> readQueries(Class<?> repositoryType, Object repository) {
+        List<Runnable> queries = new ArrayList<>();
+        for (Method method : repositoryType.getDeclaredMethods()) {
+            Query query = method.getAnnotation(Query.class);
+            if (query == null || query.nativeQuery() || method.isAnnotationPresent(Modifying.class)
+                    || Stream.class.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+            Object[] arguments = noMatchArguments(method);
+            if (arguments == null) {
+                continue;
+            }
+            String name = repositoryType.getSimpleName() + "." + method.getName();
+            queries.add(() -> {
+                try {
+                    readOnlyTransaction.executeWithoutResult(status -> invoke(repository, method, arguments));
+                } catch (RuntimeException e) {
+                    if (failedQueries.add(name)) {
+                        log.warn("Warm-up query {} failed: {}", name, e.getMessage());
+                    }
+                }
+            });
+        }
+        return queries;
+    }
+
+    // Ids that don't exist and a "since" in the future, so every query runs but returns nothing
+    private static Object[] noMatchArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == Integer.class || type == int.class) {
+                arguments[i] = Integer.MAX_VALUE;
+            } else if (type == Long.class || type == long.class) {
+                arguments[i] = Long.MAX_VALUE;
+            } else if (Collection.class.isAssignableFrom(type)) {
+                arguments[i] = List.of(Integer.MAX_VALUE);
+            } else if (type == LocalDateTime.class) {
+                arguments[i] = LocalDateTime.now().plusYears(100);
+            } else if (type == Pageable.class) {
+                arguments[i] = PageRequest.of(0, 1);
+            } else {
+                return null;
+            }
+        }
+        return arguments;
+    }
+
+    private static void invoke(Object repository, Method method, Object[] arguments) {
+        try {
+            method.invoke(repository, arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<GetTicketDTO> syntheticTickets() {
+        List<GetTicketDTO> tickets = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 20; i++) {
+            GetTicketDTO ticket = new GetTicketDTO();
+            ticket.setTicketId(i);
+            ticket.setUserId(i % 7);
+            ticket.setDepartmentId(i % 3);
+            ticket.setDepartmentName("Department " + i % 3);
+            ticket.setStatusId(1);
+            ticket.setStatusName("OPEN");
+            ticket.setTitle("Warm-up ticket " + i);
+            ticket.setDescription("Synthetic ticket used to warm up the serializers");
+            ticket.setCreatedAt(now.minusHours(i));
+            ticket.setUpdatedAt(now);
+            List<CommentDTO> comments = new ArrayList<>();
+            for (int c = 1; c <= 3; c++) {
+                CommentDTO comment = new CommentDTO();
+                comment.setId(i * 10 + c);
+                comment.setTicketId(i);
+                comment.setUserId(c);
+                comment.setText("Synthetic comment " + c);
+                comment.setCreatedAt(now.minusMinutes(c));
+                comments.add(comment);
+            }
+            ticket.setComments(comments);
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - startedAtNanos > properties.getTimeout().toNanos();
+    }
+}
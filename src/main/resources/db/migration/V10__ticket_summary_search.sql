@@ -0,0 +1,28 @@
+-- ticket_summary search (TicketSummaryRepository): assignees move from the ",3,17," column to a child table, every
+-- filter the search can lead with gets an index, and the projection version the read model was built with is kept
+-- so a restart only rebuilds it when needed (TicketSummaryProjector).
+
+CREATE TABLE ticket_summary_assignees (
+    ticket_id INT NOT NULL,
+    user_id   INT NOT NULL,
+    CONSTRAINT pk_ticket_summary_assignees PRIMARY KEY (ticket_id, user_id),
+    CONSTRAINT fk_ticket_summary_assignees_summary FOREIGN KEY (ticket_id) REFERENCES ticket_summary (ticket_id)
+);
+-- searchByAssignee: seek on the assignee, then join the summaries by primary key
+CREATE INDEX ix_ticket_summary_assignees_user ON ticket_summary_assignees (user_id, ticket_id);
+
+-- Filled again by the rebuild the missing version row triggers
+ALTER TABLE ticket_summary DROP COLUMN assignee_ids;
+
+-- searchByUser / searchByDepartment / searchByStatus
+CREATE INDEX ix_ticket_summary_user ON ticket_summary (user_id);
+CREATE INDEX ix_ticket_summary_department ON ticket_summary (department_id);
+CREATE INDEX ix_ticket_summary_status ON ticket_summary (status_id);
+
+-- One row per read model: the projection version of its last complete rebuild (no entity, plain JDBC)
+CREATE TABLE read_model_versions (
+    model_name VARCHAR(50)  NOT NULL,
+    version    INT          NOT NULL,
+    built_at   DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_read_model_versions PRIMARY KEY (model_name)
+);
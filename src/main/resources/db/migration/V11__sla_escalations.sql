@@ -0,0 +1,10 @@
+-- Highest SLA escalation level reached per ticket in its current SLA period (no entity, plain JDBC).
+-- Every node rebuilds the timers of all active tickets on startup, so a breach fires on each of them: the node that
+-- moves the ticket's row up to the level escalates, the others skip it. The row is deleted in the transaction that
+-- changes the ticket's status or department, which starts a new SLA period.
+CREATE TABLE sla_escalations (
+    ticket_id        INT          NOT NULL,
+    escalation_level INT          NOT NULL,
+    escalated_at     DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_sla_escalations PRIMARY KEY (ticket_id)
+);
@@ -0,0 +1,86 @@
+-- Core schema of the complaint system (the tables that existed before the migrations were introduced).
+-- Databases that were created by hand are baselined at this version (spring.flyway.baseline-on-migrate).
+-- ${identity_seed} / ${identity_increment}: identity seed and step of tickets, comments and ticket_assignments, 1 / 1
+-- on a single database; other values let several databases hand out ids that never collide.
+
+CREATE TABLE roles (
+    role_id   INT IDENTITY(1,1) NOT NULL,
+    role_name VARCHAR(255)      NOT NULL,
+    CONSTRAINT pk_roles PRIMARY KEY (role_id),
+    CONSTRAINT uq_roles_role_name UNIQUE (role_name)
+);
+
+CREATE TABLE departments (
+    department_id   INT IDENTITY(1,1) NOT NULL,
+    department_name VARCHAR(255)      NOT NULL,
+    CONSTRAINT pk_departments PRIMARY KEY (department_id),
+    CONSTRAINT uq_departments_department_name UNIQUE (department_name)
+);
+
+CREATE TABLE ticket_statuses (
+    status_id   INT IDENTITY(1,1) NOT NULL,
+    status_name VARCHAR(255)      NOT NULL,
+    CONSTRAINT pk_ticket_statuses PRIMARY KEY (status_id),
+    CONSTRAINT uq_ticket_statuses_status_name UNIQUE (status_name)
+);
+
+CREATE TABLE users (
+    user_id       INT IDENTITY(1,1) NOT NULL,
+    username      VARCHAR(255)      NOT NULL,
+    password      VARCHAR(255)      NOT NULL,
+    email         VARCHAR(255)      NOT NULL,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    role_id       INT,
+    department_id INT,
+    CONSTRAINT pk_users PRIMARY KEY (user_id),
+    CONSTRAINT uq_users_username UNIQUE (username),
+    CONSTRAINT uq_users_email UNIQUE (email),
+    CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles (role_id),
+    CONSTRAINT fk_users_department FOREIGN KEY (department_id) REFERENCES departments (department_id)
+);
+
+CREATE TABLE tickets (
+    ticket_id     INT IDENTITY(${identity_seed},${identity_increment}) NOT NULL,
+    user_id       INT,
+    department_id INT,
+    status_id     INT,
+    title         VARCHAR(255) NOT NULL,
+    description   VARCHAR(255) NOT NULL,
+    created_at    DATETIME2(6) NOT NULL,
+    updated_at    DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_tickets PRIMARY KEY (ticket_id),
+    CONSTRAINT fk_tickets_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT fk_tickets_department FOREIGN KEY (department_id) REFERENCES departments (department_id),
+    CONSTRAINT fk_tickets_status FOREIGN KEY (status_id) REFERENCES ticket_statuses (status_id)
+);
+
+CREATE TABLE comments (
+    comment_id INT IDENTITY(${identity_seed},${identity_increment}) NOT NULL,
+    ticket_id  INT,
+    user_id    INT,
+    comment    VARCHAR(255) NOT NULL,
+    created_at DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_comments PRIMARY KEY (comment_id),
+    CONSTRAINT fk_comments_ticket FOREIGN KEY (ticket_id) REFERENCES tickets (ticket_id),
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE ticket_assignments (
+    id        INT IDENTITY(${identity_seed},${identity_increment}) NOT NULL,
+    ticket_id INT NOT NULL,
+    user_id   INT NOT NULL,
+    CONSTRAINT pk_ticket_assignments PRIMARY KEY (id),
+    CONSTRAINT fk_ticket_assignments_ticket FOREIGN KEY (ticket_id) REFERENCES tickets (ticket_id),
+    CONSTRAINT fk_ticket_assignments_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE refresh_tokens (
+    id          BIGINT IDENTITY(1,1) NOT NULL,
+    user_id     INT          NOT NULL,
+    token       VARCHAR(255) NOT NULL,
+    expiry_date ${instant_type} NOT NULL,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id),
+    CONSTRAINT uq_refresh_tokens_token UNIQUE (token),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
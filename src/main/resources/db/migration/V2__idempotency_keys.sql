@@ -0,0 +1,12 @@
+-- Stored responses of create requests that carried an Idempotency-Key (IdempotencyStore).
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(64)  NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status_code     INT          NOT NULL,
+    content_type    VARCHAR(100),
+    response_body   ${binary_lob_type},
+    created_at      ${instant_type} NOT NULL,
+    expires_at      ${instant_type} NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
@@ -0,0 +1,19 @@
+-- Denormalized ticket list rows, maintained by TicketSummaryProjector.
+
+CREATE TABLE ticket_summary (
+    ticket_id          INT           NOT NULL,
+    title              VARCHAR(255)  NOT NULL,
+    user_id            INT,
+    requester_username VARCHAR(100),
+    department_id      INT,
+    department_name    VARCHAR(100),
+    status_id          INT,
+    status_name        VARCHAR(50),
+    comment_count      INT           NOT NULL,
+    last_comment_at    DATETIME2(6),
+    assignee_ids       VARCHAR(1000),
+    created_at         DATETIME2(6),
+    updated_at         DATETIME2(6),
+    projected_at       DATETIME2(6)  NOT NULL,
+    CONSTRAINT pk_ticket_summary PRIMARY KEY (ticket_id)
+);
@@ -0,0 +1,14 @@
+-- Per-node t-digest sketches of ticket resolution times, per day and dimension (ResolutionTimeAnalytics).
+
+CREATE TABLE resolution_time_sketches (
+    id           BIGINT IDENTITY(1,1) NOT NULL,
+    node_id      VARCHAR(64) NOT NULL,
+    dimension    VARCHAR(20) NOT NULL,
+    dimension_id INT         NOT NULL,
+    window_start DATE        NOT NULL,
+    sample_count BIGINT      NOT NULL,
+    digest       ${binary_lob_type} NOT NULL,
+    updated_at   ${instant_type} NOT NULL,
+    CONSTRAINT pk_resolution_time_sketches PRIMARY KEY (id),
+    CONSTRAINT uq_resolution_time_sketches_node_window UNIQUE (node_id, dimension, dimension_id, window_start)
+);
@@ -0,0 +1,11 @@
+-- Change feed of the delta-sync API, including deletion tombstones (DeltaSyncService).
+
+CREATE TABLE sync_changes (
+    seq         BIGINT IDENTITY(1,1) NOT NULL,
+    entity_type VARCHAR(20)  NOT NULL,
+    entity_id   INT          NOT NULL,
+    ticket_id   INT,
+    change_type VARCHAR(10)  NOT NULL,
+    changed_at  DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_sync_changes PRIMARY KEY (seq)
+);
@@ -0,0 +1,7 @@
+-- Single row, written on the primary and read back on every replica to measure lag (no entity, plain JDBC).
+
+CREATE TABLE replica_heartbeat (
+    id      INT    NOT NULL,
+    beat_at BIGINT NOT NULL,
+    CONSTRAINT pk_replica_heartbeat PRIMARY KEY (id)
+);
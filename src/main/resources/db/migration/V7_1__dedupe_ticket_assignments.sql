@@ -0,0 +1,11 @@
+-- Runs before V8, whose uq_ticket_assignments_ticket_user would fail on a database that already holds the same
+-- user assigned twice to a ticket (the old check-then-insert let concurrent assigns through). Keeps the first
+-- assignment of every pair. On databases that already applied V8 it runs out of order (spring.flyway.out-of-order)
+-- and finds nothing to delete.
+--
+-- Correction to the V8 header (applied migrations can't be edited): only the assignment lookups and the counts are
+-- answered from the index alone. The other listed queries seek the index and then read each returned row from the
+-- table, the indexes carry no INCLUDE columns.
+
+DELETE FROM ticket_assignments
+WHERE id NOT IN (SELECT MIN(id) FROM ticket_assignments GROUP BY ticket_id, user_id);
@@ -0,0 +1,10 @@
+-- Cross-node cache invalidation log, tailed by ChangeLogPoller on every node.
+
+CREATE TABLE cache_invalidations (
+    seq         BIGINT IDENTITY(1,1) NOT NULL,
+    region      VARCHAR(20)  NOT NULL,
+    entry_key   VARCHAR(100) NOT NULL,
+    origin_node VARCHAR(64)  NOT NULL,
+    created_at  DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_cache_invalidations PRIMARY KEY (seq)
+);
@@ -0,0 +1,51 @@
+-- Indexes matched to the repository queries. Every index leads with the column the query seeks on and carries
+-- the columns it filters, sorts or returns after it, so the listed queries are answered from the index alone
+-- (or need one lookup per returned row for the entity loads) instead of scanning the table.
+-- The unique constraints of V1 - V7 already index users.username / email, refresh_tokens.token and
+-- resolution_time_sketches (node_id, dimension, dimension_id, window_start).
+
+-- CommentRepository.findByTicketTicketIdOrderByCreatedAtAsc / findByTicketIdIn: seek on the ticket, rows already in
+-- creation order. findStatsByTicketIdIn: COUNT and MAX(created_at) per ticket straight from the index.
+CREATE INDEX ix_comments_ticket_created_at ON comments (ticket_id, created_at);
+-- Comments of a user (User.comments batch fetch, FK checks when a user is deleted)
+CREATE INDEX ix_comments_user ON comments (user_id);
+
+-- TicketAssignmentRepository.existsByTicketTicketIdAndUserUserId / findByTicketTicketIdAndUserUserId: one seek.
+-- findByTicketTicketId / findAssigneesByTicketIdIn / findAssignmentKeysByTicketIdIn: prefix seek on ticket_id.
+-- Unique as well, so two concurrent assigns of the same user can't both get in.
+CREATE UNIQUE INDEX uq_ticket_assignments_ticket_user ON ticket_assignments (ticket_id, user_id);
+-- TicketAssignmentRepository.findByUserUserId
+CREATE INDEX ix_ticket_assignments_user_ticket ON ticket_assignments (user_id, ticket_id);
+
+-- TicketRepository.findSlaCandidates / findHeadersAfter / findTicketIdsInStatusesAfter / findRecentTicketTexts:
+-- seek per status, then the ticket_id range of the keyset page
+CREATE INDEX ix_tickets_status_ticket ON tickets (status_id, ticket_id);
+-- TicketRepository.findHeadersUpdatedSince (header cache catch-up)
+CREATE INDEX ix_tickets_updated_at_ticket ON tickets (updated_at, ticket_id);
+-- TicketRepository.countByDepartmentDepartmentId: counted from the index
+CREATE INDEX ix_tickets_department ON tickets (department_id);
+-- Tickets of a user (User.tickets batch fetch, FK checks when a user is deleted)
+CREATE INDEX ix_tickets_user ON tickets (user_id);
+
+-- UserRepository.countByRoleRoleId / countByDepartmentDepartmentId: counted from the index
+CREATE INDEX ix_users_role ON users (role_id);
+CREATE INDEX ix_users_department ON users (department_id);
+
+-- RefreshTokenRepository.deleteByUser
+CREATE INDEX ix_refresh_tokens_user ON refresh_tokens (user_id);
+
+-- IdempotencyRecordRepository.deleteExpired
+CREATE INDEX ix_idempotency_keys_expires_at ON idempotency_keys (expires_at);
+
+-- ResolutionTimeSketchRepository.findByDimensionAndDimensionIdAndWindowStartBetween
+CREATE INDEX ix_resolution_time_sketches_dimension_id_window
+    ON resolution_time_sketches (dimension, dimension_id, window_start);
+-- ResolutionTimeSketchRepository.findByDimensionAndWindowStartBetween (the daily deleteOlderThan purge scans,
+-- the table only holds a few rows per node, dimension value and window)
+CREATE INDEX ix_resolution_time_sketches_dimension_window ON resolution_time_sketches (dimension, window_start);
+
+-- SyncChangeRepository.deleteOlderThan (findChangesAfter / findTopByChangedAtBeforeOrderBySeqDesc use the primary key)
+CREATE INDEX ix_sync_changes_changed_at ON sync_changes (changed_at);
+
+-- CacheInvalidationRepository.deleteOlderThan (findAfter / findBySeqIn / findMaxSeq use the primary key)
+CREATE INDEX ix_cache_invalidations_created_at ON cache_invalidations (created_at);
@@ -0,0 +1,3 @@
+-- Location header of the stored 201 Created responses, replayed along with the body (IdempotencyStore).
+
+ALTER TABLE idempotency_keys ADD location VARCHAR(2048);
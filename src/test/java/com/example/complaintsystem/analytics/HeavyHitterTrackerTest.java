@@ -0,0 +1,67 @@
+package com.example.complaintsystem.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterTrackerTest {
+
+    private static final long BUCKET_MS = 1000;
+
+    @Test
+    void top_FindsHeavyKeysAmongManyLightOnes() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(BUCKET_MS, 10, 1024, 4, 32);
+        long now = 50_000;
+        for (int user = 1; user <= 5000; user++) {
+            tracker.record(user, now);
+        }
+        for (int i = 0; i < 300; i++) {
+            tracker.record(42, now);
+            if (i % 2 == 0) {
+                tracker.record(7, now);
+            }
+        }
+
+        List<HeavyHitter> top = tracker.top(2, now);
+
+        assertEquals(2, top.size());
+        assertEquals(42, top.get(0).key());
+        assertEquals(7, top.get(1).key());
+        // Count-Min never underestimates
+        assertTrue(top.get(0).count() >= 301);
+        assertTrue(top.get(0).count() < 330);
+        assertEquals(5300 + 150, tracker.total(now));
+    }
+
+    @Test
+    void top_SlidesTheWindowAndReportsThePreviousOne() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(BUCKET_MS, 5, 256, 4, 16);
+        for (int i = 0; i < 3; i++) {
+            tracker.record(9, 0);
+        }
+        long fiveBucketsLater = 5 * BUCKET_MS;
+        for (int i = 0; i < 20; i++) {
+            tracker.record(9, fiveBucketsLater);
+        }
+
+        HeavyHitter hitter = tracker.top(1, fiveBucketsLater).get(0);
+        assertEquals(20, hitter.count());
+        assertEquals(3, hitter.previousCount());
+
+        // Two windows later nothing is left
+        assertTrue(tracker.top(1, fiveBucketsLater + 10 * BUCKET_MS).isEmpty());
+    }
+
+    @Test
+    void countMinSketch_MergeAddsCounts() {
+        CountMinSketch a = new CountMinSketch(64, 3);
+        CountMinSketch b = new CountMinSketch(64, 3);
+        a.add(1, 5);
+        b.add(1, 7);
+        a.merge(b);
+        assertEquals(12, a.estimate(1));
+        assertEquals(12, a.total());
+    }
+}
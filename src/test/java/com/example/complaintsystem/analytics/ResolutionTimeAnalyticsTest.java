@@ -0,0 +1,190 @@
+package com.example.complaintsystem.analytics;
+
+import com.example.complaintsystem.dto.Analytics.ResolutionTimeStatsDTO;
+import com.example.complaintsystem.entity.ResolutionTimeSketch;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.ResolutionTimeSketchRepository;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.tdunning.math.stats.MergingDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResolutionTimeAnalyticsTest {
+
+    private static final int DEPARTMENT_ID = 3;
+
+    private ResolutionTimeSketchRepository sketchRepository;
+    private ResolutionAnalyticsProperties properties;
+    private ResolutionTimeAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        sketchRepository = mock(ResolutionTimeSketchRepository.class);
+        TicketAssignmentRepository assignmentRepository = mock(TicketAssignmentRepository.class);
+        when(assignmentRepository.findAssigneesByTicketIdIn(anyList())).thenReturn(List.of());
+        when(sketchRepository.findByNodeIdAndDimensionAndDimensionIdAndWindowStart(anyString(), anyString(), anyInt(), any()))
+                .thenReturn(Optional.empty());
+        when(sketchRepository.save(any(ResolutionTimeSketch.class))).thenAnswer(invocation -> {
+            ResolutionTimeSketch row = invocation.getArgument(0);
+            if (row.getId() == null) {
+                row.setId(1L);
+            }
+            return row;
+        });
+
+        properties = new ResolutionAnalyticsProperties();
+        properties.setNodeId("node-a");
+        // Samples recorded on the calling thread, the assertions see them right away
+        analytics = new ResolutionTimeAnalytics(properties, sketchRepository, assignmentRepository, Runnable::run);
+    }
+
+    @Test
+    void onTicketChanged_RecordsOnlyTheTransitionToClosed() {
+        LocalDateTime closedAt = LocalDateTime.now();
+        analytics.onTicketChanged(closed(1, closedAt.minusHours(2), closedAt));
+        analytics.onTicketChanged(closed(2, closedAt.minusHours(4), closedAt));
+
+        TicketChangedEvent reopened = closed(3, closedAt.minusHours(1), closedAt);
+        reopened.setStatusName("Open");
+        analytics.onTicketChanged(reopened);
+        TicketChangedEvent alreadyClosed = closed(4, closedAt.minusHours(1), closedAt);
+        alreadyClosed.setPreviousStatusName("Closed");
+        analytics.onTicketChanged(alreadyClosed);
+        TicketChangedEvent remote = closed(5, closedAt.minusHours(1), closedAt);
+        remote.setRemote(true);
+        analytics.onTicketChanged(remote);
+
+        LocalDate today = closedAt.toLocalDate();
+        ResolutionTimeStatsDTO stats = analytics.getResolutionTimes(SketchDimension.DEPARTMENT, DEPARTMENT_ID,
+                today, today, List.of(0.5)).get(0);
+
+        assertEquals(2, stats.getCount());
+        assertEquals(2.0, stats.getMinHours());
+        assertEquals(4.0, stats.getMaxHours());
+    }
+
+    @Test
+    void flush_WritesDirtySketchesOnceAndEvictsPastWindows() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastWeek = now.minusDays(7);
+        analytics.onTicketChanged(closed(1, now.minusHours(1), now));
+        analytics.onTicketChanged(closed(2, lastWeek.minusHours(1), lastWeek));
+
+        analytics.flush();
+
+        // ALL and DEPARTMENT for both windows
+        ArgumentCaptor<ResolutionTimeSketch> saved = ArgumentCaptor.forClass(ResolutionTimeSketch.class);
+        verify(sketchRepository, times(4)).save(saved.capture());
+        ResolutionTimeSketch row = saved.getAllValues().get(0);
+        assertEquals("node-a", row.getNodeId());
+        assertEquals(1, row.getSampleCount());
+        assertEquals(1, MergingDigest.fromBytes(ByteBuffer.wrap(row.getDigest())).size());
+
+        // Nothing changed since
+        analytics.flush();
+        verifyNoMoreInteractions(ignoreStubs(sketchRepository));
+
+        // The past window was dropped from memory, a late close reloads its row first
+        clearInvocations(sketchRepository);
+        analytics.onTicketChanged(closed(3, lastWeek.minusHours(2), lastWeek));
+        analytics.onTicketChanged(closed(4, now.minusHours(2), now));
+        verify(sketchRepository).findByNodeIdAndDimensionAndDimensionIdAndWindowStart(
+                "node-a", "ALL", 0, lastWeek.toLocalDate());
+        verify(sketchRepository, never()).findByNodeIdAndDimensionAndDimensionIdAndWindowStart(
+                "node-a", "ALL", 0, now.toLocalDate());
+    }
+
+    @Test
+    void getResolutionTimes_MergesOtherNodesRowsWithTheLocalSketch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        analytics.onTicketChanged(closed(1, now.minusHours(1), now));
+        analytics.onTicketChanged(closed(2, now.minusHours(3), now));
+
+        MergingDigest otherDigest = new MergingDigest(100);
+        otherDigest.add(Duration.ofHours(10).toSeconds());
+        MergingDigest staleLocalDigest = new MergingDigest(100);
+        staleLocalDigest.add(Duration.ofHours(50).toSeconds());
+        when(sketchRepository.findByDimensionAndDimensionIdAndWindowStartBetween("ALL", 0, today, today))
+                .thenReturn(List.of(row("node-b", today, otherDigest), row("node-a", today, staleLocalDigest)));
+
+        ResolutionTimeStatsDTO stats = analytics.getResolutionTimes(SketchDimension.ALL, null, today, today,
+                List.of(0.5, 0.99)).get(0);
+
+        // This node's own row is superseded by its in-memory sketch
+        assertEquals(3, stats.getCount());
+        assertEquals(1.0, stats.getMinHours());
+        assertEquals(10.0, stats.getMaxHours());
+        assertEquals(List.of("p50", "p99"), List.copyOf(stats.getQuantileHours().keySet()));
+    }
+
+    @Test
+    void onTicketChanged_LeavesTheDatabaseWorkToTheRecorder() {
+        TicketAssignmentRepository assignmentRepository = mock(TicketAssignmentRepository.class);
+        List<Runnable> queued = new ArrayList<>();
+        ResolutionTimeAnalytics queuedAnalytics = new ResolutionTimeAnalytics(properties, sketchRepository,
+                assignmentRepository, queued::add);
+        LocalDateTime now = LocalDateTime.now();
+
+        queuedAnalytics.onTicketChanged(closed(1, now.minusHours(1), now));
+
+        // Nothing on the committing thread
+        verifyNoInteractions(assignmentRepository);
+        verify(sketchRepository, never()).findByNodeIdAndDimensionAndDimensionIdAndWindowStart(any(), any(), anyInt(), any());
+        assertEquals(1, queued.size());
+
+        queued.get(0).run();
+        verify(assignmentRepository).findAssigneesByTicketIdIn(List.of(1));
+        assertEquals(1, queuedAnalytics.getResolutionTimes(SketchDimension.ALL, null, now.toLocalDate(), now.toLocalDate(),
+                List.of(0.5)).get(0).getCount());
+    }
+
+    @Test
+    void purgeExpired_DeletesWindowsOlderThanTheRetention() {
+        properties.setRetention(Duration.ofDays(30));
+        when(sketchRepository.deleteOlderThan(any())).thenReturn(2);
+
+        analytics.purgeExpired();
+
+        verify(sketchRepository).deleteOlderThan(LocalDate.now().minusDays(30));
+    }
+
+    // Helper: UPDATED event for a ticket moving from In Progress to Closed
+    private static TicketChangedEvent closed(int ticketId, LocalDateTime createdAt, LocalDateTime closedAt) {
+        TicketChangedEvent event = new TicketChangedEvent();
+        event.setChangeType(TicketChangedEvent.ChangeType.UPDATED);
+        event.setTicketId(ticketId);
+        event.setDepartmentId(DEPARTMENT_ID);
+        event.setStatusName("Closed");
+        event.setPreviousStatusName("In Progress");
+        event.setCreatedAt(createdAt);
+        event.setUpdatedAt(closedAt);
+        return event;
+    }
+
+    private static ResolutionTimeSketch row(String nodeId, LocalDate windowStart, MergingDigest digest) {
+        ByteBuffer buffer = ByteBuffer.allocate(digest.smallByteSize());
+        digest.asSmallBytes(buffer);
+        ResolutionTimeSketch row = new ResolutionTimeSketch();
+        row.setNodeId(nodeId);
+        row.setDimension("ALL");
+        row.setDimensionId(0);
+        row.setWindowStart(windowStart);
+        row.setSampleCount(digest.size());
+        row.setDigest(buffer.array());
+        return row;
+    }
+}
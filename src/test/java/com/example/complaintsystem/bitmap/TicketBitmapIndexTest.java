@@ -0,0 +1,79 @@
+package com.example.complaintsystem.bitmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.complaintsystem.bitmap.TicketBitmapIndex.Dimension.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketBitmapIndexTest {
+
+    // ticket -> status, department, requester, assignees
+    private TicketBitmapIndex sampleIndex() {
+        TicketBitmapIndex index = new TicketBitmapIndex();
+        index.put(1, 1, 10, 100, new int[]{7});
+        index.put(2, 1, 20, 100, new int[]{7, 8});
+        index.put(3, 2, 10, 101, new int[0]);
+        index.put(4, 3, 10, 102, new int[]{8});
+        return index;
+    }
+
+    @Test
+    void evaluate_AndsDimensionsOrsValuesAndRemovesExcluded() {
+        TicketBitmapIndex index = sampleIndex();
+
+        assertArrayEquals(new int[]{1, 3}, index.evaluate(new TicketFilter()
+                .include(STATUS, List.of(1, 2))
+                .include(DEPARTMENT, List.of(10))).toArray());
+        assertArrayEquals(new int[]{2}, index.evaluate(new TicketFilter()
+                .include(ASSIGNEE, List.of(7))
+                .exclude(DEPARTMENT, List.of(10))).toArray());
+        assertArrayEquals(new int[]{1, 2, 3, 4}, index.evaluate(new TicketFilter()).toArray());
+        assertTrue(index.evaluate(new TicketFilter().include(REQUESTER, List.of(999))).isEmpty());
+    }
+
+    @Test
+    void put_MovesTicketBetweenBitmapsAndKeepsAssignees() {
+        TicketBitmapIndex index = sampleIndex();
+
+        index.put(2, 3, 20, 100);
+
+        assertArrayEquals(new int[]{1}, index.evaluate(new TicketFilter().include(STATUS, List.of(1))).toArray());
+        assertArrayEquals(new int[]{2, 4}, index.evaluate(new TicketFilter().include(STATUS, List.of(3))).toArray());
+        assertArrayEquals(new int[]{1, 2}, index.evaluate(new TicketFilter().include(ASSIGNEE, List.of(7))).toArray());
+    }
+
+    @Test
+    void assigneeChangesAndRemove_UpdateEveryBitmap() {
+        TicketBitmapIndex index = sampleIndex();
+
+        index.addAssignee(3, 7);
+        index.removeAssignee(1, 7);
+        assertArrayEquals(new int[]{2, 3}, index.evaluate(new TicketFilter().include(ASSIGNEE, List.of(7))).toArray());
+
+        index.remove(2);
+        assertEquals(3, index.size());
+        assertArrayEquals(new int[]{4}, index.evaluate(new TicketFilter().include(ASSIGNEE, List.of(8))).toArray());
+        assertTrue(index.evaluate(new TicketFilter().include(DEPARTMENT, List.of(20))).isEmpty());
+    }
+
+    @Test
+    void page_And_Facet() {
+        TicketBitmapIndex index = sampleIndex();
+        TicketFilter filter = new TicketFilter().include(DEPARTMENT, List.of(10));
+
+        TicketBitmapIndex.Page first = index.page(filter, 0, 2);
+        assertEquals(3, first.total());
+        assertEquals(List.of(1, 3), first.ticketIds());
+        assertEquals(3, first.nextAfterId());
+
+        TicketBitmapIndex.Page last = index.page(filter, first.nextAfterId(), 2);
+        assertEquals(List.of(4), last.ticketIds());
+        assertNull(last.nextAfterId());
+
+        assertEquals(Map.of(1, 1L, 2, 1L, 3, 1L), index.facet(filter, STATUS));
+        assertEquals(Map.of(7, 1L, 8, 1L), index.facet(filter, ASSIGNEE));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.complaintsystem.bloom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void mightContain_NoFalseNegativesWhileGrowing() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.mightContain("user" + i), "user" + i);
+        }
+        assertTrue(filter.stageCount() > 1);
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateStaysNearTarget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("someone-else" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+    }
+}
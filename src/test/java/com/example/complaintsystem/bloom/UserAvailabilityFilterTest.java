@@ -0,0 +1,79 @@
+package com.example.complaintsystem.bloom;
+
+import com.example.complaintsystem.coherence.CacheRegion;
+import com.example.complaintsystem.event.CacheInvalidatedEvent;
+import com.example.complaintsystem.repository.UserRepository;
+import com.example.complaintsystem.repository.projection.UserKeyView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserAvailabilityFilterTest {
+
+    private UserRepository userRepository;
+    private PlatformTransactionManager transactionManager;
+    private UserAvailabilityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.findUserKeysAfter(anyInt(), any())).thenReturn(List.of());
+
+        UserAvailabilityProperties properties = new UserAvailabilityProperties();
+        properties.setInitialCapacity(1000);
+        filter = new UserAvailabilityFilter(properties, userRepository, transactionManager);
+        filter.rebuild();
+    }
+
+    @Test
+    void onCacheInvalidated_AddsUsersCreatedOnOtherNodes() {
+        when(userRepository.findUserKeysById(7)).thenReturn(Optional.of(userKeys(7, "Alice", "alice@example.com")));
+        assertFalse(filter.mightContainUsername("alice"));
+
+        filter.onCacheInvalidated(new CacheInvalidatedEvent(CacheRegion.USER_KEYS, "7", true));
+
+        assertTrue(filter.mightContainUsername("alice"));
+        assertTrue(filter.mightContainEmail("ALICE@example.com"));
+        // Read on the primary, the replicas may lag behind the other node's insert
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED));
+    }
+
+    @Test
+    void onCacheInvalidated_IgnoresLocalAndOtherRegions() {
+        filter.onCacheInvalidated(new CacheInvalidatedEvent(CacheRegion.USER_KEYS, "7", false));
+        filter.onCacheInvalidated(new CacheInvalidatedEvent(CacheRegion.USER, "alice", true));
+
+        verify(userRepository, never()).findUserKeysById(anyInt());
+    }
+
+    private static UserKeyView userKeys(Integer userId, String username, String email) {
+        return new UserKeyView() {
+            @Override
+            public Integer getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.complaintsystem.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssignmentIndexTest {
+
+    @Test
+    void add_AnswersBothDirections() {
+        AssignmentIndex index = new AssignmentIndex(4);
+        index.add(1, 10, 100);
+        index.add(2, 10, 101);
+        index.add(3, 11, 100);
+
+        assertEquals(List.of(1, 2), assignmentIds(index, true, 10));
+        assertEquals(List.of(1, 3), assignmentIds(index, false, 100));
+        assertTrue(index.isAssigned(10, 101));
+        assertFalse(index.isAssigned(11, 101));
+    }
+
+    @Test
+    void remove_UnlinksFromTicketAndUserLists() {
+        AssignmentIndex index = new AssignmentIndex(4);
+        index.add(1, 10, 100);
+        index.add(2, 10, 101);
+        index.add(3, 10, 102);
+
+        index.remove(2); // Middle of the ticket list
+        index.remove(3); // Head of the ticket list
+
+        assertEquals(List.of(1), assignmentIds(index, true, 10));
+        assertEquals(List.of(), assignmentIds(index, false, 101));
+        assertFalse(index.isAssigned(10, 102));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removeTicket_DropsAllItsAssignmentsAndReusesSlots() {
+        AssignmentIndex index = new AssignmentIndex(16);
+        for (int i = 1; i <= 50; i++) {
+            index.add(i, 10 + i % 2, 100 + i % 5);
+        }
+
+        index.removeTicket(10);
+        assertEquals(25, index.size());
+        assertEquals(List.of(), assignmentIds(index, true, 10));
+        for (int user = 100; user < 105; user++) {
+            for (int assignmentId : assignmentIds(index, false, user)) {
+                assertEquals(1, assignmentId % 2, "only ticket 11 (odd assignment ids) should be left");
+            }
+        }
+
+        index.add(51, 12, 100);
+        index.add(51, 12, 100); // Known id, ignored
+        assertEquals(26, index.size());
+        assertTrue(index.isAssigned(12, 100));
+    }
+
+    private static List<Integer> assignmentIds(AssignmentIndex index, boolean byTicket, int key) {
+        List<Integer> ids = new ArrayList<>();
+        AssignmentIndex.AssignmentVisitor collect = (assignmentId, ticketId, userId) -> ids.add(assignmentId);
+        if (byTicket) {
+            index.forTicket(key, collect);
+        } else {
+            index.forUser(key, collect);
+        }
+        ids.sort(null);
+        return ids;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.complaintsystem.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTicketHeaderStoreTest {
+
+    @Test
+    void put_ThenRead_ReturnsStoredFields() {
+        OffHeapTicketHeaderStore store = new OffHeapTicketHeaderStore(100);
+        store.put(42, 1, 3, 7, 1_000L, 2_000L, "Printer on fire");
+
+        List<String> seen = new ArrayList<>();
+        int found = store.read(new int[]{42, 43}, 2, (ticketId, statusId, departmentId, requesterId, createdAt, updatedAt, title, length) ->
+                seen.add(ticketId + "|" + statusId + "|" + departmentId + "|" + requesterId + "|" + createdAt + "|" + updatedAt
+                        + "|" + new String(title, 0, length, StandardCharsets.UTF_8)));
+
+        assertEquals(1, found);
+        assertEquals(List.of("42|1|3|7|1000|2000|Printer on fire"), seen);
+    }
+
+    @Test
+    void put_LongTitle_TruncatedOnCharacterBoundary() {
+        OffHeapTicketHeaderStore store = new OffHeapTicketHeaderStore(10);
+        String title = "é".repeat(100); // 200 bytes, 2 per character
+        store.put(1, 1, 0, 0, 0L, 0L, title);
+
+        List<String> titles = new ArrayList<>();
+        store.read(new int[]{1}, 1, (ticketId, statusId, departmentId, requesterId, createdAt, updatedAt, bytes, length) ->
+                titles.add(new String(bytes, 0, length, StandardCharsets.UTF_8)));
+
+        assertEquals("é".repeat(OffHeapTicketHeaderStore.MAX_TITLE_BYTES / 2), titles.get(0));
+    }
+
+    @Test
+    void remove_FreesSlotForReuseAndRespectsMaxEntries() {
+        OffHeapTicketHeaderStore store = new OffHeapTicketHeaderStore(2);
+        assertTrue(store.put(1, 1, 0, 0, 0L, 0L, "a"));
+        assertTrue(store.put(2, 1, 0, 0, 0L, 0L, "b"));
+        assertFalse(store.put(3, 1, 0, 0, 0L, 0L, "c"));
+        assertTrue(store.put(2, 2, 0, 0, 0L, 0L, "b2")); // Update in place needs no new slot
+
+        store.remove(1);
+        assertTrue(store.put(3, 1, 0, 0, 0L, 0L, "c"));
+        assertFalse(store.contains(1));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void nextIds_PagesInTicketIdOrder() {
+        OffHeapTicketHeaderStore store = new OffHeapTicketHeaderStore(1_000);
+        for (int id = 500; id >= 1; id--) {
+            store.put(id * 2, 1, 0, 0, 0L, 0L, "t" + id);
+        }
+        store.remove(4);
+
+        int[] page = new int[3];
+        assertEquals(3, store.nextIds(0, page));
+        assertArrayEquals(new int[]{2, 6, 8}, page);
+        assertEquals(3, store.nextIds(8, page));
+        assertArrayEquals(new int[]{10, 12, 14}, page);
+        assertEquals(1, store.nextIds(998, page));
+        assertEquals(1000, page[0]);
+    }
+
+    @Test
+    void intIntHashMap_SurvivesGrowthAndBackwardShiftDeletes() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        for (int key = 1; key <= 10_000; key++) {
+            map.put(key, key * 3);
+        }
+        for (int key = 1; key <= 10_000; key += 2) {
+            assertEquals(key * 3, map.remove(key));
+        }
+
+        assertEquals(5_000, map.size());
+        for (int key = 1; key <= 10_000; key++) {
+            assertEquals(key % 2 == 0 ? key * 3 : IntIntHashMap.MISSING, map.get(key));
+        }
+    }
+}
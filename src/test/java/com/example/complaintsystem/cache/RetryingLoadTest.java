@@ -0,0 +1,43 @@
+package com.example.complaintsystem.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryingLoadTest {
+
+    @Test
+    void run_FailingAttemptsAreRetriedUntilOneSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        RetryingLoad.run("test structure", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("Database unavailable");
+            }
+        }, Duration.ofMillis(1), Duration.ofMillis(2));
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void run_InterruptedWhileWaiting_GivesUp() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        Thread loader = new Thread(() -> RetryingLoad.run("test structure", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Database unavailable");
+        }, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        loader.start();
+        while (attempts.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        loader.interrupt();
+        loader.join(5_000);
+
+        assertFalse(loader.isAlive());
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.complaintsystem.cache;
+
+import com.example.complaintsystem.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void load_ConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>(0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.load(1, () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "ticket-1";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("ticket-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    void load_ReusesResultWithinStalenessWindowUntilForgotten() {
+        SingleFlight<Integer, Integer> singleFlight = new SingleFlight<>(TimeUnit.SECONDS.toNanos(60));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, singleFlight.load(1, loads::incrementAndGet));
+        assertEquals(1, singleFlight.load(1, loads::incrementAndGet));
+        singleFlight.forget(1);
+        assertEquals(2, singleFlight.load(1, loads::incrementAndGet));
+    }
+
+    @Test
+    void load_FailuresAreNotKept() {
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>(TimeUnit.SECONDS.toNanos(60));
+
+        assertThrows(ResourceNotFoundException.class, () -> singleFlight.load(1, () -> {
+            throw new ResourceNotFoundException("Ticket not found with id: 1");
+        }));
+        assertEquals("loaded", singleFlight.load(1, () -> "loaded"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
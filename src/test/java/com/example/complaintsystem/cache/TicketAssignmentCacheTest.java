@@ -0,0 +1,57 @@
+package com.example.complaintsystem.cache;
+
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.projection.AssignmentKeyView;
+import com.example.complaintsystem.snapshot.Snapshot;
+import com.example.complaintsystem.snapshot.SnapshotStore;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TicketAssignmentCacheTest {
+
+    @Test
+    void loadIndex_RestoredSnapshot_PicksUpAssignmentsBelowItsHighestId() throws InterruptedException {
+        // The snapshot has assignments 5 and 10. Since then 10 was deleted and 3 committed late (ids aren't
+        // committed in order), so a catch-up above id 10 would never see it.
+        ByteBuffer payload = ByteBuffer.allocate(4 + 6 * 4);
+        payload.putInt(2).putInt(5).putInt(1).putInt(7).putInt(10).putInt(2).putInt(8).flip();
+        SnapshotStore snapshotStore = mock(SnapshotStore.class);
+        when(snapshotStore.read(eq("ticket-assignments"), anyInt()))
+                .thenReturn(Optional.of(new Snapshot("ticket-assignments", 1, 0L, payload)));
+        TicketAssignmentRepository repository = mock(TicketAssignmentRepository.class);
+        when(repository.findAssignmentIdsAfter(eq(0), any())).thenReturn(List.of(3, 5));
+        when(repository.findAssignmentIdsAfter(eq(5), any())).thenReturn(List.of());
+        AssignmentKeyView lateCommit = key(3, 4, 9);
+        when(repository.findAssignmentKeysByIdIn(List.of(3))).thenReturn(List.of(lateCommit));
+        TicketAssignmentCache cache = new TicketAssignmentCache(new AssignmentIndexProperties(), repository, snapshotStore);
+
+        cache.loadIndex();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!cache.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(cache.isReady());
+        assertTrue(cache.isAssigned(1, 7));
+        assertTrue(cache.isAssigned(4, 9));
+        assertFalse(cache.isAssigned(2, 8));
+        assertEquals(2, cache.indexedAssignments());
+    }
+
+    // Helper: assignment row as the repository projection returns it
+    private static AssignmentKeyView key(int assignmentId, int ticketId, int userId) {
+        AssignmentKeyView key = mock(AssignmentKeyView.class);
+        when(key.getAssignmentId()).thenReturn(assignmentId);
+        when(key.getTicketId()).thenReturn(ticketId);
+        when(key.getUserId()).thenReturn(userId);
+        return key;
+    }
+}
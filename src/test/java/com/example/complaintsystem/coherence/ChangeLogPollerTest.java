@@ -0,0 +1,89 @@
+package com.example.complaintsystem.coherence;
+
+import com.example.complaintsystem.entity.CacheInvalidation;
+import com.example.complaintsystem.entity.TicketAssignment;
+import com.example.complaintsystem.event.TicketAssignmentChangedEvent;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.CacheInvalidationRepository;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.sharding.ShardRouter;
+import com.example.complaintsystem.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChangeLogPollerTest {
+
+    private CacheInvalidationRepository repository;
+    private TicketRepository ticketRepository;
+    private TicketAssignmentRepository assignmentRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private PlatformTransactionManager transactionManager;
+    private ChangeLogPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CacheInvalidationRepository.class);
+        ticketRepository = mock(TicketRepository.class);
+        assignmentRepository = mock(TicketAssignmentRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        CacheInvalidator cacheInvalidator = mock(CacheInvalidator.class);
+        when(cacheInvalidator.nodeId()).thenReturn("node-a");
+
+        poller = new ChangeLogPoller(new CacheCoherenceProperties(), repository, cacheInvalidator, ticketRepository,
+                assignmentRepository, new ShardRouter(new ShardingProperties(), transactionManager), eventPublisher,
+                transactionManager);
+        when(repository.findMaxSeq()).thenReturn(10L);
+        poller.start();
+    }
+
+    @Test
+    void poll_ReplaysTicketsAndAssignmentsFromThePrimary() {
+        when(repository.findAfter(eq(10L), any())).thenReturn(List.of(
+                row(11L, CacheRegion.TICKET, "5"),
+                row(12L, CacheRegion.ASSIGNMENT, "9:5:3")));
+        TicketAssignment assignment = new TicketAssignment();
+        assignment.setId(9);
+        when(assignmentRepository.findAllById(List.of(9))).thenReturn(List.of(assignment));
+
+        poller.poll();
+
+        // A replica that hasn't seen the other node's insert yet would turn both into deletes
+        verify(transactionManager, times(2)).getTransaction(argThat(definition -> !definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED));
+        verify(transactionManager, never()).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        TicketChangedEvent ticket = (TicketChangedEvent) events.getAllValues().get(0);
+        assertEquals(TicketChangedEvent.ChangeType.DELETED, ticket.getChangeType());
+        assertTrue(ticket.isRemote());
+        TicketAssignmentChangedEvent assigned = (TicketAssignmentChangedEvent) events.getAllValues().get(1);
+        assertEquals(TicketChangedEvent.ChangeType.CREATED, assigned.getChangeType());
+        assertEquals(3, assigned.getUserId());
+    }
+
+    // Helper: log row written by another node
+    private static CacheInvalidation row(Long seq, CacheRegion region, String key) {
+        CacheInvalidation row = new CacheInvalidation();
+        row.setSeq(seq);
+        row.setRegion(region.name());
+        row.setEntryKey(key);
+        row.setOriginNode("node-b");
+        row.setCreatedAt(LocalDateTime.now());
+        return row;
+    }
+}
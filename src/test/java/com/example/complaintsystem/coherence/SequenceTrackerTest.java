@@ -0,0 +1,44 @@
+package com.example.complaintsystem.coherence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceTrackerTest {
+
+    @Test
+    void advance_RemembersSkippedSequenceNumbersAsGaps() {
+        SequenceTracker tracker = new SequenceTracker(10, 100);
+
+        tracker.advance(List.of(11L, 14L, 15L), 0);
+
+        assertEquals(15, tracker.position());
+        assertEquals(List.of(12L, 13L), tracker.gaps());
+
+        tracker.found(12);
+        assertEquals(List.of(13L), tracker.gaps());
+    }
+
+    @Test
+    void gaps_ExpireAfterTheTimeout() {
+        SequenceTracker tracker = new SequenceTracker(0, 100);
+        tracker.advance(List.of(2L), 1_000);
+        tracker.advance(List.of(4L), 5_000);
+
+        tracker.expireGaps(12_000, 10_000);
+
+        assertEquals(List.of(3L), tracker.gaps());
+    }
+
+    @Test
+    void largeJumps_AreNotTracked() {
+        SequenceTracker tracker = new SequenceTracker(0, 5);
+
+        tracker.advance(List.of(1001L, 1003L), 0);
+
+        assertEquals(1003, tracker.position());
+        assertEquals(List.of(1002L), tracker.gaps());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.complaintsystem.config;
+
+import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Rough size / speed comparison of the encodings offered by WebConfig on a page of tickets.
+// Not a JMH benchmark, the numbers are logged to compare orders of magnitude between formats.
+class BinaryFormatBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryFormatBenchmarkTest.class);
+
+    private static final int TICKETS = 500;
+    private static final int ROUNDS = 50;
+
+    @Test
+    void binaryFormatsAreSmallerThanJsonAndRoundTrip() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = json.copyWith(new CBORFactory());
+        ObjectMapper smile = json.copyWith(new SmileFactory());
+        List<GetTicketDTO> page = tickets();
+
+        int jsonSize = measure("json", json, page);
+        int cborSize = measure("cbor", cbor, page);
+        int smileSize = measure("smile", smile, page);
+
+        assertTrue(cborSize < jsonSize, "CBOR should be smaller than JSON");
+        assertTrue(smileSize < jsonSize, "Smile should be smaller than JSON");
+    }
+
+    private int measure(String format, ObjectMapper mapper, List<GetTicketDTO> page) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(page);
+        List<GetTicketDTO> decoded = mapper.readValue(encoded, new TypeReference<>() { });
+        assertEquals(page.size(), decoded.size());
+        assertEquals(page.get(7).getTitle(), decoded.get(7).getTitle());
+        assertEquals(page.get(7).getCreatedAt(), decoded.get(7).getCreatedAt());
+
+        long writeNanos = 0;
+        long readNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoded = mapper.writeValueAsBytes(page);
+            writeNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            mapper.readValue(encoded, new TypeReference<List<GetTicketDTO>>() { });
+            readNanos += System.nanoTime() - start;
+        }
+        log.info("{}: {} bytes for {} tickets, write {} us, read {} us (avg of {} rounds)", format, encoded.length,
+                page.size(), writeNanos / ROUNDS / 1000, readNanos / ROUNDS / 1000, ROUNDS);
+        return encoded.length;
+    }
+
+    private static List<GetTicketDTO> tickets() {
+        List<GetTicketDTO> tickets = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 10, 15);
+        for (int i = 1; i <= TICKETS; i++) {
+            GetTicketDTO ticket = new GetTicketDTO();
+            ticket.setTicketId(i);
+            ticket.setUserId(i % 40);
+            ticket.setDepartmentId(i % 5);
+            ticket.setDepartmentName("Department " + (i % 5));
+            ticket.setStatusId(1 + i % 3);
+            ticket.setStatusName(i % 3 == 0 ? "Open" : "In Progress");
+            ticket.setTitle("Ticket number " + i);
+            ticket.setDescription("Users on floor " + (i % 9) + " report that the shared printer keeps jamming.");
+            ticket.setCreatedAt(now.minusHours(i));
+            ticket.setUpdatedAt(now);
+            List<CommentDTO> comments = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                CommentDTO comment = new CommentDTO();
+                comment.setId(i * 10 + c);
+                comment.setTicketId(i);
+                comment.setUserId(c);
+                comment.setText("Looking into it, update " + c);
+                comment.setCreatedAt(now.minusMinutes(c));
+                comments.add(comment);
+            }
+            ticket.setComments(comments);
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.complaintsystem.config;
+
+import com.example.complaintsystem.ComplaintSystemApplication;
+import com.example.complaintsystem.EmbeddedApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Boots the whole application in fast-start mode (lazy initialization) on an embedded H2 database and checks that lazy
+// mode keeps the scheduled beans eager and really defers the web layer. The startup time and the slowest startup steps
+// are only logged, for comparing runs by hand; no time budget is asserted, build machines vary too much for one.
+// Not a benchmark of the fast-start jar itself (AOT + CDS), see the fast-start Maven profile for that.
+class FastStartupBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FastStartupBenchmarkTest.class);
+
+    @TempDir
+    Path keys;
+
+    @Test
+    void fastStartKeepsScheduledBeansEagerAndDefersTheRest() throws Exception {
+        // The JWT keys are loaded once the application is ready, the private key is not in the repository
+        EmbeddedApplication.writeKeyPair(keys);
+        SpringApplication application = new SpringApplication(ComplaintSystemApplication.class);
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(10_000);
+        application.setApplicationStartup(startup);
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run(Stream.of(
+                        "spring.main.lazy-initialization=true",
+                        "warmup.enabled=false",
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:fast-startup;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.show-sql=false",
+                        "spring.flyway.placeholders.instant_type=TIMESTAMP(6) WITH TIME ZONE",
+                        "spring.flyway.placeholders.binary_lob_type=BLOB",
+                        "jwt.private.key.location=" + keys.resolve("private_key.pem").toUri(),
+                        "jwt.public.key.location=" + keys.resolve("public_key.pem").toUri())
+                .map(property -> "--" + property).toArray(String[]::new))) {
+            long startupMs = (System.nanoTime() - start) / 1_000_000;
+
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                Class<?> type = beanFactory.getType(name, false);
+                if (type != null && hasScheduledMethods(type)) {
+                    assertTrue(beanFactory.containsSingleton(name), "Scheduled bean " + name + " was left lazy");
+                }
+            }
+            assertFalse(beanFactory.containsSingleton("ticketController"), "Controllers should be created on first use");
+
+            log.info("Fast-start context started in {} ms", startupMs);
+            StartupTimeline timeline = startup.getBufferedTimeline();
+            timeline.getEvents().stream()
+                    .filter(event -> event.getStartupStep().getName().equals("spring.beans.instantiate"))
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(10)
+                    .forEach(event -> log.info("  {} ms {}", event.getDuration().toMillis(), beanName(event)));
+            assertTrue(timeline.getEvents().stream().map(StartupTimeline.TimelineEvent::getDuration)
+                    .anyMatch(duration -> duration.compareTo(Duration.ZERO) > 0));
+        }
+    }
+
+    private static String beanName(StartupTimeline.TimelineEvent event) {
+        for (var tag : event.getStartupStep().getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static boolean hasScheduledMethods(Class<?> type) {
+        return !MethodIntrospector.selectMethods(type, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null).isEmpty();
+    }
+}
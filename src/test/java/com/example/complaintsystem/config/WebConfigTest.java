@@ -0,0 +1,63 @@
+package com.example.complaintsystem.config;
+
+import com.example.complaintsystem.EmbeddedApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The binary encodings must carry the same document as JSON (ISO dates, same fields), which only holds when the
+// converters built by WebConfig are the ones Spring MVC picks for the Accept header.
+class WebConfigTest {
+
+    @TempDir
+    Path keys;
+
+    @Test
+    void binaryFormatsMatchTheJsonBody() throws Exception {
+        try (ConfigurableApplicationContext context = EmbeddedApplication.start(keys, "web-config",
+                "warmup.enabled=false")) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            jdbc.update("INSERT INTO roles (role_name) VALUES ('USER')");
+            jdbc.update("INSERT INTO departments (department_name) VALUES ('Facilities')");
+            jdbc.update("INSERT INTO ticket_statuses (status_name) VALUES ('Open')");
+            jdbc.update("INSERT INTO users (username, password, email, role_id, department_id) VALUES ('alice', 'secret', 'alice@example.com', 1, 1)");
+            jdbc.update("INSERT INTO tickets (user_id, department_id, status_id, title, description, created_at, updated_at) "
+                    + "VALUES (1, 1, 1, 'Printer jam', 'Second floor printer', TIMESTAMP '2025-03-01 10:15:00', TIMESTAMP '2025-03-02 08:00:00')");
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+            JsonNode json = read(mockMvc, MediaType.APPLICATION_JSON, new ObjectMapper());
+            JsonNode cbor = read(mockMvc, MediaType.APPLICATION_CBOR, new ObjectMapper(new CBORFactory()));
+            JsonNode smile = read(mockMvc, MediaType.valueOf("application/x-jackson-smile"), new ObjectMapper(new SmileFactory()));
+
+            assertEquals("2025-03-01T10:15:00", json.get("createdAt").asText());
+            assertEquals(json, cbor);
+            assertEquals(json, smile);
+        }
+    }
+
+    // Helper: GET the ticket in the given format and decode it with a plain mapper for that format
+    private static JsonNode read(MockMvc mockMvc, MediaType format, ObjectMapper mapper) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/tickets/1").accept(format))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertTrue(format.isCompatibleWith(MediaType.valueOf(result.getResponse().getContentType())),
+                "Unexpected content type " + result.getResponse().getContentType());
+        return mapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+}
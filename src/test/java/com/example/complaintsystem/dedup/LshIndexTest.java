@@ -0,0 +1,55 @@
+package com.example.complaintsystem.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LshIndexTest {
+
+    private final MinHasher minHasher = new MinHasher(128, 5);
+
+    @Test
+    void query_FindsNearDuplicateAndIgnoresUnrelatedText() {
+        LshIndex index = new LshIndex(32, 4);
+        index.put(1, minHasher.signature("Internet is down - the office wifi keeps dropping every few minutes since Monday"), 7, 0);
+        index.put(2, minHasher.signature("Request for a new laptop charger for the finance team"), 7, 0);
+
+        List<DuplicateMatch> matches = index.query(
+                minHasher.signature("internet is down: the office WiFi keeps dropping every few minutes since monday!"), 7, 0.7, 5);
+
+        assertEquals(1, matches.size());
+        assertEquals(1, matches.get(0).ticketId());
+        assertTrue(matches.get(0).similarity() > 0.9);
+    }
+
+    @Test
+    void query_OnlyMatchesTheSameGroup() {
+        LshIndex index = new LshIndex(32, 4);
+        long[] signature = minHasher.signature("Printer on the second floor is jammed again");
+        index.put(1, signature, 3, 0);
+
+        assertTrue(index.query(signature, 4, 0.7, 5).isEmpty());
+        assertEquals(1, index.query(signature, 3, 0.7, 5).size());
+    }
+
+    @Test
+    void evict_DropsOldEntriesAndEntriesAboveCap() {
+        LshIndex index = new LshIndex(32, 4);
+        index.put(1, minHasher.signature("first ticket text"), null, 100);
+        index.put(2, minHasher.signature("second ticket text"), null, 200);
+        index.put(3, minHasher.signature("third ticket text"), null, 300);
+
+        assertEquals(1, index.evict(150, 10));
+        assertEquals(1, index.evict(0, 1));
+        assertEquals(1, index.size());
+        assertTrue(index.query(minHasher.signature("first ticket text"), null, 0.99, 5).isEmpty());
+    }
+
+    @Test
+    void signature_BlankTextHasNoSignature() {
+        assertNull(minHasher.signature("  -- ?! "));
+        assertNull(minHasher.signature(null));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.complaintsystem.idempotency;
+
+import com.example.complaintsystem.exception.ErrorResponseWriter;
+import com.example.complaintsystem.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IdempotencyFilterTest {
+
+    private static final int MAX_BODY_BYTES = 32;
+
+    private IdempotencyFilter filter;
+    private AtomicInteger created;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxBodyBytes(MAX_BODY_BYTES);
+        filter = new IdempotencyFilter(properties, new IdempotencyStore(properties, repository),
+                new ErrorResponseWriter(new ObjectMapper().findAndRegisterModules()));
+        created = new AtomicInteger();
+    }
+
+    @Test
+    void doFilter_RepeatedKey_ReplaysStatusBodyAndLocation() throws Exception {
+        String body = "{\"title\":\"Printer jam\"}";
+
+        MockHttpServletResponse first = post(body, -1);
+        MockHttpServletResponse second = post(body, -1);
+
+        assertEquals(1, created.get());
+        assertEquals(HttpStatus.CREATED.value(), second.getStatus());
+        assertEquals("/api/v1/tickets/1", first.getHeader(HttpHeaders.LOCATION));
+        assertEquals("/api/v1/tickets/1", second.getHeader(HttpHeaders.LOCATION));
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+    }
+
+    @Test
+    void doFilter_BodyOverTheLimit_Returns413WithoutCallingTheController() throws Exception {
+        String body = "x".repeat(MAX_BODY_BYTES + 1);
+
+        // Declared up front, and chunked (no Content-Length) where the limit is found while reading
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), post(body, body.length()).getStatus());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), post(body, -1).getStatus());
+        assertEquals(0, created.get());
+    }
+
+    @Test
+    void doFilter_BodyAtTheLimit_ReachesTheControllerIntact() throws Exception {
+        String body = "x".repeat(MAX_BODY_BYTES);
+
+        MockHttpServletResponse response = post(body, -1);
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatus());
+        assertEquals(body, response.getContentAsString());
+    }
+
+    @Test
+    void cachedBody_NonBlockingRead_NotifiesTheListenerInsteadOfThrowing() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tickets");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream input = new CachedBodyRequest(request, MAX_BODY_BYTES).getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                received.write(input.readAllBytes());
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertEquals("{}", received.toString(StandardCharsets.UTF_8));
+        assertTrue(allRead.get());
+        assertTrue(input.isFinished());
+    }
+
+    // Helper: POST /api/v1/tickets with a fixed key; the chain stands in for the controller and echoes the body
+    private MockHttpServletResponse post(String body, long contentLength) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tickets") {
+            @Override
+            public long getContentLengthLong() {
+                return contentLength;
+            }
+        };
+        request.setServletPath("/api/v1/tickets");
+        request.addHeader("Idempotency-Key", "retry-1");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain controller = (req, res) -> {
+            byte[] received = req.getInputStream().readAllBytes();
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setStatus(HttpStatus.CREATED.value());
+            httpResponse.setHeader(HttpHeaders.LOCATION, "/api/v1/tickets/" + created.incrementAndGet());
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.getOutputStream().write(received);
+        };
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.complaintsystem.idempotency;
+
+import com.example.complaintsystem.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(new IdempotencyProperties(), repository);
+    }
+
+    @Test
+    void claim_SecondCallerWaitsForOwnerAndGetsItsResponse() throws Exception {
+        when(repository.findById("key")).thenReturn(Optional.empty());
+
+        IdempotencyStore.Claim first = store.claim("key");
+        IdempotencyStore.Claim second = store.claim("key");
+        assertTrue(first.isOwner());
+        assertNotNull(second.getPending());
+
+        StoredResponse response = new StoredResponse("hash", 201, "application/json", "/api/v1/tickets/1", new byte[]{1},
+                System.currentTimeMillis() + 60_000);
+        store.complete("key", response);
+
+        assertSame(response, second.getPending().get());
+        assertSame(response, store.claim("key").getResponse());
+        verify(repository).save(any());
+    }
+
+    @Test
+    void complete_WithoutResponseLetsTheNextCallerRetry() throws Exception {
+        when(repository.findById("key")).thenReturn(Optional.empty());
+
+        assertTrue(store.claim("key").isOwner());
+        IdempotencyStore.Claim waiting = store.claim("key");
+        store.complete("key", null);
+
+        assertNull(waiting.getPending().get());
+        assertTrue(store.claim("key").isOwner());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void claim_NewKey_ReadsTheTableOnce() {
+        when(repository.findById("key")).thenReturn(Optional.empty());
+
+        assertTrue(store.claim("key").isOwner());
+
+        verify(repository, times(1)).findById("key");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.complaintsystem.overload;
+
+import com.example.complaintsystem.exception.ErrorResponseWriter;
+import com.example.complaintsystem.exception.GlobalExceptionHandler;
+import com.example.complaintsystem.exception.OverloadedException;
+import com.example.complaintsystem.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final int INITIAL_LIMIT = 20;
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setTicketRead(new ConcurrencyLimitProperties.Limit(INITIAL_LIMIT, 4, 200));
+        filter = new ConcurrencyLimitFilter(properties, new ErrorResponseWriter(new ObjectMapper()));
+    }
+
+    @Test
+    void doFilter_OverloadRejectionsShrinkTheLimit() throws Exception {
+        // As the controller advice answers a saturated read pool
+        ticketRead((request, response) -> handle(new OverloadedException("Too many concurrent reads"),
+                (MockHttpServletRequest) request, (MockHttpServletResponse) response));
+        assertEquals(18, filter.getLimit(EndpointClass.TICKET_READ));
+
+        ticketRead((request, response) -> ((MockHttpServletResponse) response).setStatus(HttpStatus.GATEWAY_TIMEOUT.value()));
+        assertEquals(16, filter.getLimit(EndpointClass.TICKET_READ));
+        assertEquals(0, filter.getInFlight(EndpointClass.TICKET_READ));
+    }
+
+    @Test
+    void doFilter_OtherServiceUnavailableResponsesLeaveTheLimitAlone() throws Exception {
+        ticketRead((request, response) -> handle(new ServiceUnavailableException("Ticket header cache is still loading"),
+                (MockHttpServletRequest) request, (MockHttpServletResponse) response));
+        ticketRead((request, response) -> ((MockHttpServletResponse) response).setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        ticketRead((request, response) -> {
+            throw new IllegalStateException("Escaped the chain");
+        });
+
+        assertEquals(INITIAL_LIMIT, filter.getLimit(EndpointClass.TICKET_READ));
+        assertEquals(0, filter.getInFlight(EndpointClass.TICKET_READ));
+    }
+
+    @Test
+    void doFilter_StreamingDownloadsAreNotLimitedOrTimed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/async/tickets/stream");
+        request.setServletPath("/api/async/tickets/stream");
+        int[] inFlightDuringStream = new int[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> inFlightDuringStream[0] = filter.getInFlight(EndpointClass.TICKET_READ));
+
+        assertEquals(0, inFlightDuringStream[0]);
+        ticketRead((req, res) -> assertEquals(1, filter.getInFlight(EndpointClass.TICKET_READ)));
+    }
+
+    // Helper: one GET through the filter, the chain stands in for the controller
+    private void ticketRead(FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tickets/1");
+        request.setServletPath("/api/v1/tickets/1");
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        } catch (IllegalStateException expected) {
+            // Turned into a 500 further up
+        }
+    }
+
+    private static void handle(ServiceUnavailableException exception, MockHttpServletRequest request,
+                               MockHttpServletResponse response) {
+        int status = new GlobalExceptionHandler()
+                .handleServiceUnavailableException(exception, new ServletWebRequest(request, response))
+                .getStatusCode().value();
+        response.setStatus(status);
+    }
+}
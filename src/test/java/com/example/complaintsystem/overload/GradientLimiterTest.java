@@ -0,0 +1,89 @@
+package com.example.complaintsystem.overload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimiterTest {
+
+    private static GradientLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new GradientLimiter(initialLimit, minLimit, maxLimit, 1.5, 0.2, 0.9, 10, 600);
+    }
+
+    // Helper: one request that ran with the limiter saturated and took the given time
+    private static void saturatedSample(GradientLimiter limiter, long rttMs) {
+        assertTrue(limiter.tryAcquire());
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(rttMs), limiter.getLimit());
+    }
+
+    @Test
+    void tryAcquire_RejectsAboveTheLimitUntilAPermitIsReleased() {
+        GradientLimiter limiter = limiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.onIgnored();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void limit_GrowsToTheMaximumWhileLatencyStaysFlat() {
+        GradientLimiter limiter = limiter(10, 2, 50);
+
+        for (int i = 0; i < 200; i++) {
+            saturatedSample(limiter, 10);
+        }
+
+        assertEquals(50, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_ShrinksWhenRequestsStartQueueing() {
+        GradientLimiter limiter = limiter(10, 2, 100);
+        for (int i = 0; i < 300; i++) {
+            saturatedSample(limiter, 10);
+        }
+        int healthy = limiter.getLimit();
+
+        for (int i = 0; i < 30; i++) {
+            saturatedSample(limiter, 200);
+        }
+
+        assertTrue(limiter.getLimit() < healthy / 2, "Limit " + limiter.getLimit() + " vs " + healthy);
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    void limit_IgnoresSamplesWhileFarBelowTheLimit() {
+        GradientLimiter limiter = limiter(20, 2, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(i % 2 == 0 ? 10 : 500), 1);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void onDropped_BacksOffMultiplicativelyDownToTheMinimum() {
+        GradientLimiter limiter = limiter(20, 5, 100);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.onDropped();
+        assertEquals(18, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onDropped();
+        }
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.complaintsystem.presentation;
+
+import com.example.complaintsystem.EmbeddedApplication;
+import com.example.complaintsystem.config.AsyncReadConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The async read API on the real application (H2) with a read pool of one thread and one queue slot,
+// so saturation and timeouts can be produced on demand. Security filters are left out, method security is not.
+class AsyncTicketReadControllerTest {
+
+    private static final int TICKETS = 5;
+
+    @TempDir
+    static Path keys;
+
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+    private static AsyncTaskExecutor readExecutor;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        context = EmbeddedApplication.start(keys, "async-read",
+                "warmup.enabled=false",
+                "async-read.threads=1",
+                "async-read.queue-capacity=1",
+                "async-read.timeout=2s",
+                "async-read.stream-chunk-size=2");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO roles (role_name) VALUES ('ADMIN')");
+        jdbc.update("INSERT INTO departments (department_name) VALUES ('Facilities')");
+        jdbc.update("INSERT INTO ticket_statuses (status_name) VALUES ('Open')");
+        jdbc.update("INSERT INTO users (username, password, email, role_id, department_id) VALUES ('admin', 'secret', 'admin@example.com', 1, 1)");
+        for (int i = 1; i <= TICKETS; i++) {
+            jdbc.update("INSERT INTO tickets (user_id, department_id, status_id, title, description, created_at, updated_at) "
+                    + "VALUES (1, 1, 1, ?, 'Printer', TIMESTAMP '2025-03-01 10:15:00', TIMESTAMP '2025-03-02 08:00:00')", "Ticket " + i);
+        }
+        jdbc.update("INSERT INTO comments (ticket_id, user_id, comment, created_at) VALUES (3, 1, 'On it', TIMESTAMP '2025-03-01 11:00:00')");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        readExecutor = context.getBean(AsyncReadConfig.READ_EXECUTOR, AsyncTaskExecutor.class);
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        context.close();
+    }
+
+    @BeforeEach
+    void signInAsAdmin() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void streamTickets_WritesOneJsonLinePerTicketWithItsComments() throws Exception {
+        byte[] body = stream(MediaType.parseMediaType("application/x-ndjson"));
+
+        List<JsonNode> tickets = new ArrayList<>();
+        ObjectMapper json = new ObjectMapper();
+        for (String line : new String(body, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                tickets.add(json.readTree(line));
+            }
+        }
+        assertEquals(TICKETS, tickets.size());
+        assertEquals(1, tickets.get(0).get("ticketId").asInt());
+        assertEquals("On it", tickets.get(2).get("comments").get(0).get("text").asText());
+        assertEquals(0, tickets.get(3).get("comments").size());
+    }
+
+    @Test
+    void streamTickets_CborSequenceCarriesTheSameValuesAsJson() throws Exception {
+        String ndjson = new String(stream(MediaType.parseMediaType("application/x-ndjson")), StandardCharsets.UTF_8);
+        byte[] cbor = stream(MediaType.APPLICATION_CBOR);
+
+        List<JsonNode> fromJson = new ArrayList<>();
+        ObjectMapper json = new ObjectMapper();
+        for (String line : ndjson.split("\n")) {
+            if (!line.isBlank()) {
+                fromJson.add(json.readTree(line));
+            }
+        }
+        List<JsonNode> fromCbor;
+        try (MappingIterator<JsonNode> values = new ObjectMapper(new CBORFactory()).readerFor(JsonNode.class).readValues(cbor)) {
+            fromCbor = values.readAll();
+        }
+        assertEquals(fromJson, fromCbor);
+    }
+
+    @Test
+    void streamTickets_SaturatedReadPool_StillStreamsOnItsOwnPool() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            occupyReadPool(release, 2);
+            String ndjson = new String(stream(MediaType.parseMediaType("application/x-ndjson")), StandardCharsets.UTF_8);
+            assertEquals(TICKETS, ndjson.lines().filter(line -> !line.isBlank()).count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getTicket_SaturatedReadPool_Returns503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            occupyReadPool(release, 2); // The thread and the queue slot
+            mockMvc.perform(get("/api/async/tickets/1"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getTicket_ReadStillQueuedWhenTheRequestTimesOut_Returns503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            occupyReadPool(release, 1); // The read waits in the queue
+            MvcResult result = mockMvc.perform(get("/api/async/tickets/1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // What the container does once async-read.timeout has passed
+            MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+            for (AsyncListener listener : asyncContext.getListeners()) {
+                listener.onTimeout(new AsyncEvent(asyncContext));
+            }
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getTicket_ReadQueuedPastAsyncReadTimeout_Returns503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            occupyReadPool(release, 1);
+            MvcResult result = mockMvc.perform(get("/api/async/tickets/1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // async-read.timeout (2s) ends the read without waiting for the container
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getTicket_FreePool_ReturnsTheTicket() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/async/tickets/2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Ticket 2", new ObjectMapper().readTree(body).get("title").asText());
+    }
+
+    // Helper: GET /stream in the given format, waits for the streaming body to finish
+    private static byte[] stream(MediaType format) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/async/tickets/stream").accept(format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    // Helper: tasks that block until released; the first one takes the pool's only thread
+    private static void occupyReadPool(CountDownLatch release, int tasks) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        readExecutor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        started.await();
+        for (int i = 1; i < tasks; i++) {
+            readExecutor.submit(() -> {
+                release.await();
+                return null;
+            });
+        }
+    }
+}
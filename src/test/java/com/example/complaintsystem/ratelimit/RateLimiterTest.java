@@ -0,0 +1,93 @@
+package com.example.complaintsystem.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final RateLimitProperties.Route login =
+            new RateLimitProperties.Route("login", List.of("/api/auth/login"), List.of("POST"), 3, 1, Duration.ofSeconds(1));
+
+    private RateLimiter limiter() {
+        return new RateLimiter(properties, now::get);
+    }
+
+    @Test
+    void tryConsume_AllowsTheBurstThenRefusesUntilATokenIsRefilled() {
+        RateLimiter limiter = limiter();
+
+        assertEquals(2, limiter.tryConsume(login, "ip:1").remaining());
+        assertEquals(1, limiter.tryConsume(login, "ip:1").remaining());
+        assertEquals(0, limiter.tryConsume(login, "ip:1").remaining());
+        TokenBucket.Decision refused = limiter.tryConsume(login, "ip:1");
+        assertFalse(refused.allowed());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), refused.retryAfterNanos());
+        assertEquals(TimeUnit.SECONDS.toNanos(3), refused.resetNanos());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        TokenBucket.Decision refilled = limiter.tryConsume(login, "ip:1");
+        assertTrue(refilled.allowed());
+        assertEquals(0, refilled.remaining());
+        assertFalse(limiter.tryConsume(login, "ip:1").allowed());
+    }
+
+    @Test
+    void tryConsume_KeepsClientsAndRoutesApart() {
+        RateLimiter limiter = limiter();
+        RateLimitProperties.Route refresh =
+                new RateLimitProperties.Route("refresh", List.of("/api/auth/refresh"), List.of("POST"), 1, 1, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryConsume(login, "ip:1").allowed());
+        }
+        assertFalse(limiter.tryConsume(login, "ip:1").allowed());
+
+        assertTrue(limiter.tryConsume(login, "ip:2").allowed());
+        assertTrue(limiter.tryConsume(login, "user:7").allowed());
+        assertTrue(limiter.tryConsume(refresh, "ip:1").allowed());
+    }
+
+    @Test
+    void sweepIdleBuckets_DropsOnlyFullBuckets() {
+        RateLimiter limiter = limiter();
+        limiter.tryConsume(login, "ip:1");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.tryConsume(login, "ip:2");
+
+        // ip:1 is full again after 1s, ip:2 only after 1.5s
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.sweepIdleBuckets();
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryConsume_MapFull_EvictsTheMostIdleBucketsForNewClients() {
+        properties.setMaxBuckets(3);
+        RateLimiter limiter = limiter();
+        limiter.tryConsume(login, "ip:1");                   // Full again after 1s
+        for (int i = 0; i < 3; i++) {
+            limiter.tryConsume(login, "ip:2");               // Used up, full again after 3s
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.tryConsume(login, "ip:3");                   // Full again after 1.5s
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryConsume(login, "ip:4").allowed());
+        }
+        assertFalse(limiter.tryConsume(login, "ip:4").allowed());
+
+        assertEquals(3, limiter.size());
+        // ip:1 made room, the busy client keeps its state
+        assertFalse(limiter.tryConsume(login, "ip:2").allowed());
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.complaintsystem.readmodel;
+
+import com.example.complaintsystem.EmbeddedApplication;
+import com.example.complaintsystem.dto.Tickets.TicketSummaryDTO;
+import com.example.complaintsystem.entity.TicketSummary;
+import com.example.complaintsystem.repository.TicketSummaryRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The ticket_summary projection and its search on the real schema (H2). Users 1, 11 and 21 are assigned so that a
+// substring match on the ids would mix them up.
+class TicketSummaryProjectorTest {
+
+    @TempDir
+    static Path keys;
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbc;
+    private static TicketSummaryProjector projector;
+    private static TicketSummaryRepository summaryRepository;
+    private static TicketSummaryService summaryService;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        context = EmbeddedApplication.start(keys, "ticket-summary",
+                "warmup.enabled=false",
+                "ticket-summary.rebuild-on-startup=false",
+                "ticket-summary.batch-size=2");
+        jdbc = context.getBean(JdbcTemplate.class);
+        projector = context.getBean(TicketSummaryProjector.class);
+        summaryRepository = context.getBean(TicketSummaryRepository.class);
+        summaryService = context.getBean(TicketSummaryService.class);
+
+        jdbc.update("INSERT INTO roles (role_name) VALUES ('USER')");
+        jdbc.update("INSERT INTO departments (department_name) VALUES ('Facilities')");
+        jdbc.update("INSERT INTO ticket_statuses (status_name) VALUES ('Open')");
+        for (int i = 1; i <= 21; i++) {
+            jdbc.update("INSERT INTO users (username, password, email, role_id, department_id) VALUES (?, 'secret', ?, 1, 1)",
+                    "user" + i, "user" + i + "@example.com");
+        }
+        insertTicket("Printer jam");   // 1: assigned to 1 and 21, two comments
+        insertTicket("Broken chair");  // 2: assigned to 11
+        insertTicket("No heating");    // 3: assigned to 21
+        insertTicket("Leaking tap");   // 4: nobody assigned
+        assign(1, 21);
+        assign(1, 1);
+        assign(2, 11);
+        assign(3, 21);
+        jdbc.update("INSERT INTO comments (ticket_id, user_id, comment, created_at) VALUES (1, 2, 'Seen', TIMESTAMP '2025-03-01 11:00:00')");
+        jdbc.update("INSERT INTO comments (ticket_id, user_id, comment, created_at) VALUES (1, 3, 'Fixed', TIMESTAMP '2025-03-02 09:30:00')");
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        context.close();
+    }
+
+    @Test
+    void project_CopiesTheTicketWithItsCommentStatsAndAssignees() {
+        projector.project(List.of(1, 4));
+
+        TicketSummary summary = summaryRepository.findById(1).orElseThrow();
+        assertEquals("Printer jam", summary.getTitle());
+        assertEquals("user1", summary.getRequesterUsername());
+        assertEquals("Facilities", summary.getDepartmentName());
+        assertEquals("Open", summary.getStatusName());
+        assertEquals(2, summary.getCommentCount());
+        assertEquals(LocalDateTime.of(2025, 3, 2, 9, 30), summary.getLastCommentAt());
+        assertEquals(Set.of(1, 21), assignees(1));
+
+        TicketSummary unassigned = summaryRepository.findById(4).orElseThrow();
+        assertEquals(0, unassigned.getCommentCount());
+        assertNull(unassigned.getLastCommentAt());
+        assertTrue(assignees(4).isEmpty());
+    }
+
+    @Test
+    void project_UpdatesExistingRowsAndRemovesDeletedTickets() {
+        int ticketId = insertTicket("Flickering light");
+        projector.project(List.of(ticketId));
+        assertTrue(assignees(ticketId).isEmpty());
+
+        assign(ticketId, 11);
+        projector.project(List.of(ticketId));
+        projector.project(List.of(ticketId)); // Re-projecting is idempotent
+        assertEquals(Set.of(11), assignees(ticketId));
+
+        jdbc.update("DELETE FROM ticket_assignments WHERE ticket_id = ?", ticketId);
+        jdbc.update("DELETE FROM tickets WHERE ticket_id = ?", ticketId);
+        projector.project(List.of(ticketId));
+        assertTrue(summaryRepository.findById(ticketId).isEmpty());
+    }
+
+    @Test
+    void searchTickets_MatchesWholeAssigneeIdsOnly() {
+        projector.project(List.of(1, 2, 3, 4));
+
+        assertEquals(List.of(1), assignedTo(1));
+        assertEquals(List.of(2), assignedTo(11));
+        assertEquals(List.of(1, 3), assignedTo(21));
+        assertEquals(List.of(), assignedTo(2));
+        // Combined with the other filters
+        assertEquals(List.of(3), summaryService.searchTickets(1, 1, null, 21, "heat", PageRequest.of(0, 10))
+                .map(TicketSummaryDTO::getTicketId).getContent());
+        assertEquals(List.of(1, 21), summaryService.searchTickets(null, null, null, 1, null, PageRequest.of(0, 10))
+                .getContent().get(0).getAssigneeIds());
+    }
+
+    @Test
+    void searchTickets_EachLeadingFilterAppliesTheOthers() {
+        projector.project(List.of(1, 2, 3, 4));
+
+        assertEquals(List.of(1, 2, 3, 4), search(null, null, 1, null));
+        assertEquals(List.of(3), search(null, null, 1, "heat"));
+        assertEquals(List.of(), search(2, null, 1, null));
+        assertEquals(List.of(1, 2, 3, 4), search(null, 1, null, null));
+        assertEquals(List.of(2), search(null, 1, null, "chair"));
+        assertEquals(List.of(1, 2, 3, 4), search(1, null, null, null));
+        assertEquals(List.of(4), search(1, null, null, "TAP"));
+        assertEquals(List.of(1), search(null, null, null, "printer"));
+    }
+
+    @Test
+    void rebuildIfStale_RebuildsOnlyAnEmptyOrOutdatedReadModel() {
+        summaryRepository.deleteAllInBatch();
+        jdbc.update("DELETE FROM read_model_versions");
+
+        projector.rebuildIfStale();
+        int tickets = jdbc.queryForObject("SELECT COUNT(*) FROM tickets", Integer.class);
+        assertEquals(tickets, summaryRepository.count());
+        assertEquals(TicketSummaryProjector.PROJECTION_VERSION,
+                jdbc.queryForObject("SELECT version FROM read_model_versions WHERE model_name = 'ticket_summary'", Integer.class));
+
+        // Current version and rows present: a restart leaves the read model alone
+        summaryRepository.deleteById(4);
+        projector.rebuildIfStale();
+        assertTrue(summaryRepository.findById(4).isEmpty());
+
+        jdbc.update("UPDATE read_model_versions SET version = version - 1");
+        projector.rebuildIfStale();
+        assertTrue(summaryRepository.findById(4).isPresent());
+    }
+
+    @Test
+    void enqueueAllTickets_RebuildsTheWholeReadModel() throws InterruptedException {
+        summaryRepository.deleteAllInBatch();
+
+        projector.enqueueAllTickets();
+
+        // Projected by the worker thread, two tickets per batch
+        int tickets = jdbc.queryForObject("SELECT COUNT(*) FROM tickets", Integer.class);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (summaryRepository.count() < tickets && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(tickets, summaryRepository.count());
+        assertEquals(Set.of(11), assignees(2));
+        assertEquals(0, projector.pendingTickets());
+    }
+
+    // Helper: ids of the matching tickets (no assignee filter), in ticket id order
+    private static List<Integer> search(Integer statusId, Integer departmentId, Integer userId, String title) {
+        return summaryService.searchTickets(statusId, departmentId, userId, null, title, PageRequest.of(0, 10, Sort.by("ticketId")))
+                .map(TicketSummaryDTO::getTicketId).getContent();
+    }
+
+    // Helper: ids of the tickets assigned to the user, in ticket id order
+    private static List<Integer> assignedTo(Integer userId) {
+        return summaryService.searchTickets(null, null, null, userId, null, PageRequest.of(0, 10, Sort.by("ticketId")))
+                .map(TicketSummaryDTO::getTicketId).getContent();
+    }
+
+    // Helper: ticket_summary_assignees rows of the ticket
+    private static Set<Integer> assignees(int ticketId) {
+        return new HashSet<>(jdbc.queryForList("SELECT user_id FROM ticket_summary_assignees WHERE ticket_id = ?",
+                Integer.class, ticketId));
+    }
+
+    private static int insertTicket(String title) {
+        jdbc.update("INSERT INTO tickets (user_id, department_id, status_id, title, description, created_at, updated_at) "
+                + "VALUES (1, 1, 1, ?, 'Details', TIMESTAMP '2025-03-01 10:15:00', TIMESTAMP '2025-03-01 10:15:00')", title);
+        return jdbc.queryForObject("SELECT MAX(ticket_id) FROM tickets", Integer.class);
+    }
+
+    private static void assign(int ticketId, int userId) {
+        jdbc.update("INSERT INTO ticket_assignments (ticket_id, user_id) VALUES (?, ?)", ticketId, userId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.complaintsystem.replica;
+
+import com.example.complaintsystem.EmbeddedApplication;
+import com.example.complaintsystem.entity.Department;
+import com.example.complaintsystem.repository.DepartmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Open-in-view keeps one EntityManager for the whole request. The replica / primary choice must still be made per
+// transaction: a write after a read-only lookup in the same request has to reach the primary.
+class ReplicaOpenInViewTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:osiv-replica;MODE=MSSQLServer;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path keys;
+
+    @Test
+    void writeAfterAReadInTheSameRequest_GoesToThePrimary() throws Exception {
+        // The replica gets the same schema and a heartbeat far enough ahead to stay in rotation for the test
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .placeholders(Map.of("instant_type", "TIMESTAMP(6) WITH TIME ZONE", "binary_lob_type", "BLOB",
+                        "identity_seed", "1", "identity_increment", "1"))
+                .load()
+                .migrate();
+        JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replicaJdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", System.currentTimeMillis() + 600_000);
+        // Only on the replica, tells where the read went
+        replicaJdbc.update("INSERT INTO departments (department_name) VALUES ('Replica only')");
+
+        try (ConfigurableApplicationContext context = EmbeddedApplication.start(keys, "osiv-primary",
+                "warmup.enabled=false",
+                "read-replicas.enabled=true",
+                "read-replicas.replicas[0].url=" + REPLICA_URL,
+                "read-replicas.replicas[0].username=sa",
+                "read-replicas.replicas[0].password=",
+                "read-replicas.replicas[0].driver-class-name=org.h2.Driver")) {
+            ReplicaSet replicaSet = context.getBean(ReplicaSet.class);
+            replicaSet.checkHealth();
+            assertTrue(replicaSet.isHealthy(0));
+
+            DepartmentRepository departmentRepository = context.getBean(DepartmentRepository.class);
+            PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+            // What OpenEntityManagerInViewInterceptor does around a request
+            EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+            try {
+                Long departments = readOnly.execute(status -> departmentRepository.count());
+                assertEquals(1L, departments);
+                readWrite.executeWithoutResult(status -> {
+                    Department department = new Department();
+                    department.setDepartmentName("Facilities");
+                    departmentRepository.save(department);
+                });
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                entityManager.close();
+            }
+
+            JdbcTemplate primaryJdbc = new JdbcTemplate(replicaSet.primary());
+            assertEquals(1, primaryJdbc.queryForObject("SELECT COUNT(*) FROM departments", Integer.class));
+            assertEquals(1, replicaJdbc.queryForObject("SELECT COUNT(*) FROM departments", Integer.class));
+        }
+    }
+}
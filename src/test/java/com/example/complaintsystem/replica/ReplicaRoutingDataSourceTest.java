@@ -0,0 +1,193 @@
+package com.example.complaintsystem.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A primary and two replicas as embedded H2 databases; "replication" of the heartbeat is done by hand
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas = new ArrayList<>();
+    private ReplicaSet replicaSet;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private JdbcTemplate otherNode;
+    private TransactionTemplate otherNodeReadOnly;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        String run = UUID.randomUUID().toString();
+        DataSource primaryDataSource = database("primary-" + run);
+        primary = new JdbcTemplate(primaryDataSource);
+        List<DataSource> replicaDataSources = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            DataSource replica = database("replica" + i + "-" + run);
+            replicaDataSources.add(replica);
+            replicas.add(new JdbcTemplate(replica));
+        }
+        replicaSet = new ReplicaSet(properties, primaryDataSource, replicaDataSources);
+        DataSource dataSource = ReplicaDataSourceConfig.routingDataSource(replicaSet, new ReadYourWrites(properties));
+        jdbc = new JdbcTemplate(dataSource);
+        // The same databases seen from a second node, which shares nothing in memory with the first
+        DataSource otherNodeDataSource = ReplicaDataSourceConfig.routingDataSource(replicaSet, new ReadYourWrites(properties));
+        otherNode = new JdbcTemplate(otherNodeDataSource);
+        otherNodeReadOnly = new TransactionTemplate(new DataSourceTransactionManager(otherNodeDataSource));
+        otherNodeReadOnly.setReadOnly(true);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactions_AreSpreadOverHealthyReplicas_WritesGoToPrimary() {
+        replicate(0, 1);
+        replicaSet.checkHealth();
+
+        Set<String> readFrom = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            readFrom.add(readOnly.execute(status -> databaseName()));
+        }
+        assertEquals(Set.of("replica0", "replica1"), readFrom);
+        assertEquals("primary", readWrite.execute(status -> databaseName()));
+    }
+
+    @Test
+    void replicasWithoutAPassingCheck_OrLaggingOrDown_AreSkipped() {
+        // Nothing checked yet: primary
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+
+        replicate(0);
+        replicas.get(1).update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", System.currentTimeMillis() - 60_000);
+        replicaSet.checkHealth();
+        assertTrue(replicaSet.isHealthy(0));
+        assertFalse(replicaSet.isHealthy(1));
+        assertEquals("replica0", readOnly.execute(status -> databaseName()));
+
+        replicas.get(0).execute("DROP TABLE replica_heartbeat");
+        replicaSet.checkHealth();
+        assertEquals(-1, replicaSet.lagMs(0));
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+    }
+
+    @Test
+    void readsRightAfterACommittedWrite_StayOnPrimaryForThatCaller() {
+        replicate(0, 1);
+        replicaSet.checkHealth();
+
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE marker SET name = name"));
+
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+        assertTrue(readOnly.execute(status -> databaseName()).startsWith("replica"));
+    }
+
+    @Test
+    void readsAfterAWrite_UseReplicasThatReplicatedPastIt() throws InterruptedException {
+        replicate(0, 1);
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE marker SET name = name"));
+
+        // Only replica 0 gets a heartbeat from after the write (the write's position is rounded up by the
+        // primary query's latency, give the clock a moment to pass it)
+        Thread.sleep(50);
+        replicate(0);
+        replicaSet.checkHealth();
+        Set<String> readFrom = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            readFrom.add(readOnly.execute(status -> databaseName()));
+        }
+        assertEquals(Set.of("replica0"), readFrom);
+    }
+
+    @Test
+    void writePosition_TravelsInACookieToOtherNodes() {
+        replicate(0, 1);
+        replicaSet.checkHealth();
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE marker SET name = name"));
+        Cookie position = writeResponse.getCookie(ReadYourWrites.COOKIE);
+        assertNotNull(position);
+
+        // Next request on the other node, same caller: the cookie keeps it on the primary
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setCookies(position);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest, new MockHttpServletResponse()));
+        assertEquals("primary", otherNodeReadOnly.execute(status -> otherNodeDatabaseName()));
+
+        // Without it the other node knows nothing about the write
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertTrue(otherNodeReadOnly.execute(status -> otherNodeDatabaseName()).startsWith("replica"));
+    }
+
+    @Test
+    void checkHealth_MeasuresLagOnThePrimaryClock() {
+        replicate(0);
+        Long beatAt = primary.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+
+        assertTrue(replicaSet.primaryNowMs() >= beatAt);
+        replicaSet.checkHealth();
+        assertTrue(replicaSet.lagMs(0) >= 0 && replicaSet.lagMs(0) <= replicaSet.primaryNowMs() - beatAt);
+    }
+
+    private String otherNodeDatabaseName() {
+        return otherNode.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private String databaseName() {
+        return jdbc.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    // Copies the primary's heartbeat to the given replicas
+    private void replicate(int... replicaIndexes) {
+        replicaSet.checkHealth();
+        Long beatAt = primary.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+        for (int index : replicaIndexes) {
+            replicas.get(index).update("DELETE FROM replica_heartbeat");
+            replicas.get(index).update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+        }
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(50))");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name.substring(0, name.indexOf('-')));
+        return dataSource;
+    }
+}
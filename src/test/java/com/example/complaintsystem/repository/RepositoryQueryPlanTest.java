@@ -0,0 +1,252 @@
+package com.example.complaintsystem.repository;
+
+import com.example.complaintsystem.entity.SyncChange;
+import com.example.complaintsystem.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the Flyway migrations on an embedded H2 database (SQL Server mode), calls the repository methods, captures
+// the SQL Hibernate sends and checks the EXPLAIN plan of every statement: the table must be reached through a seek on
+// an index built for the query, never scanned. ddl-auto=validate also checks the migrations against the entities.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.complaintsystem.repository.RepositoryQueryPlanTest$CapturingInspector",
+        "spring.flyway.placeholders.instant_type=TIMESTAMP(6) WITH TIME ZONE",
+        "spring.flyway.placeholders.binary_lob_type=BLOB",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/query-plan-data"
+})
+class RepositoryQueryPlanTest {
+
+    // "public"."tickets" "t1_0" /* public.ix_tickets_status_ticket: status_id = ?1 */ (alias and condition optional)
+    private static final Pattern TABLE_ACCESS =
+            Pattern.compile("\"public\"\\.\"(\\w+)\"(?: \"\\w+\")?\\s*/\\* public\\.([\\w.]+?)(: [^*]*)? \\*/");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private TicketAssignmentRepository ticketAssignmentRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired
+    private ResolutionTimeSketchRepository resolutionTimeSketchRepository;
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+    @Autowired
+    private TicketSummaryRepository ticketSummaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void commentQueriesSeekTheTicketIndex() {
+        // Only the leading column is checked for comments: H2 is as happy with its own foreign key index on ticket_id
+        assertSeeks("comments", List.of("ticket_id"),
+                () -> commentRepository.findByTicketTicketIdOrderByCreatedAtAsc(1));
+        assertSeeks("comments", List.of("ticket_id"),
+                () -> commentRepository.findByTicketIdIn(List.of(1, 2, 3)));
+        assertSeeks("comments", List.of("ticket_id"),
+                () -> commentRepository.findStatsByTicketIdIn(List.of(1, 2, 3)));
+    }
+
+    @Test
+    void assignmentQueriesSeekTheTicketUserIndexes() {
+        assertSeeks("ticket_assignments", List.of("user_id", "ticket_id"),
+                () -> ticketAssignmentRepository.findByUserUserId(1));
+        assertSeeks("ticket_assignments", List.of("ticket_id", "user_id"),
+                () -> ticketAssignmentRepository.existsByTicketTicketIdAndUserUserId(1, 2));
+        assertSeeks("ticket_assignments", List.of("ticket_id", "user_id"),
+                () -> ticketAssignmentRepository.findByTicketTicketIdAndUserUserId(1, 2));
+        assertSeeks("ticket_assignments", List.of("ticket_id"),
+                () -> ticketAssignmentRepository.findByTicketTicketId(1));
+        assertSeeks("ticket_assignments", List.of("ticket_id"),
+                () -> ticketAssignmentRepository.findAssigneesByTicketIdIn(List.of(1, 2, 3)));
+        assertSeeks("ticket_assignments", List.of("id"),
+                () -> ticketAssignmentRepository.findAssignmentKeysByIdIn(List.of(1, 2, 3)));
+    }
+
+    @Test
+    void ticketQueriesSeekTheirIndexes() {
+        assertSeeks("tickets", List.of("department_id"),
+                () -> ticketRepository.countByDepartmentDepartmentId(1));
+        assertSeeks("tickets", List.of("status_id", "ticket_id"),
+                () -> ticketRepository.findTicketIdsInStatusesAfter(List.of(1, 2), 0, PageRequest.of(0, 100)));
+    }
+
+    @Test
+    void ticketSummarySearchesSeekTheIndexOfTheirLeadingFilter() {
+        PageRequest page = PageRequest.of(0, 20, Sort.by("ticketId"));
+        assertSeeks("ticket_summary_assignees", List.of("user_id", "ticket_id"),
+                () -> ticketSummaryRepository.searchByAssignee(7, null, null, null, null, page));
+        assertSeeks("ticket_summary", List.of("ticket_id"),
+                () -> ticketSummaryRepository.searchByAssignee(7, 1, null, null, "ticket", page));
+        assertSeeks("ticket_summary", List.of("user_id"),
+                () -> ticketSummaryRepository.searchByUser(1, null, null, null, page));
+        assertSeeks("ticket_summary", List.of("user_id"),
+                () -> ticketSummaryRepository.searchByUser(1, 2, 3, "ticket", page));
+        assertSeeks("ticket_summary", List.of("department_id"),
+                () -> ticketSummaryRepository.searchByDepartment(1, null, null, page));
+        assertSeeks("ticket_summary", List.of("department_id"),
+                () -> ticketSummaryRepository.searchByDepartment(1, 2, "ticket", page));
+    }
+
+    @Test
+    void userAndReferenceDataLookupsSeekUniqueIndexes() {
+        assertSeeks("users", List.of("username"), () -> userRepository.findByUsername("alice"));
+        assertSeeks("users", List.of("username"), () -> userRepository.existsByUsername("alice"));
+        assertSeeks("users", List.of("email"), () -> userRepository.existsByEmail("alice@example.com"));
+        assertSeeks("users", List.of("role_id"), () -> userRepository.countByRoleRoleId(1));
+        assertSeeks("users", List.of("department_id"), () -> userRepository.countByDepartmentDepartmentId(1));
+        assertSeeks("roles", List.of("role_name"), () -> roleRepository.findByRoleName("ADMIN"));
+        assertSeeks("departments", List.of("department_name"),
+                () -> departmentRepository.findByDepartmentName("IT"));
+    }
+
+    @Test
+    void refreshTokenQueriesSeekTheirIndexes() {
+        assertSeeks("refresh_tokens", List.of("token"), () -> refreshTokenRepository.findByToken("token"));
+        User user = new User();
+        user.setUserId(1);
+        assertSeeks("refresh_tokens", List.of("user_id"), () -> refreshTokenRepository.deleteByUser(user));
+    }
+
+    @Test
+    void purgesAndRangeReadsSeekTheirIndexes() {
+        assertSeeks("idempotency_keys", List.of("expires_at"),
+                () -> idempotencyRecordRepository.deleteExpired(Instant.now()));
+        assertSeeks("sync_changes", List.of("changed_at"),
+                () -> syncChangeRepository.deleteOlderThan(LocalDateTime.now().minusDays(30)));
+        assertSeeks("sync_changes", List.of("changed_at"),
+                () -> syncChangeRepository.findFirstSeqChangedSince(LocalDateTime.now().minusSeconds(2)));
+        assertSeeks("cache_invalidations", List.of("created_at"),
+                () -> cacheInvalidationRepository.deleteOlderThan(LocalDateTime.now().minusHours(1)));
+        LocalDate today = LocalDate.now();
+        assertSeeks("resolution_time_sketches", List.of("dimension", "window_start"),
+                () -> resolutionTimeSketchRepository.findByDimensionAndWindowStartBetween("ALL", today.minusDays(7), today));
+        assertSeeks("resolution_time_sketches", List.of("dimension", "dimension_id", "window_start"),
+                () -> resolutionTimeSketchRepository.findByDimensionAndDimensionIdAndWindowStartBetween(
+                        "DEPARTMENT", 1, today.minusDays(7), today));
+    }
+
+    @Test
+    void syncChangesAreStampedWithTheDatabaseClock() {
+        LocalDateTime before = syncChangeRepository.findDatabaseTime();
+        syncChangeRepository.append("TICKET", 1, 1, "UPDATED");
+
+        long seq = syncChangeRepository.findMaxSeq().orElseThrow();
+        SyncChange change = syncChangeRepository.findChangesAfter(seq - 1, PageRequest.of(0, 10)).get(0);
+        assertEquals("UPDATED", change.getChangeType());
+        assertFalse(change.getChangedAt().isBefore(before));
+        assertFalse(change.getChangedAt().isAfter(syncChangeRepository.findDatabaseTime()));
+        assertEquals(Optional.of(seq), syncChangeRepository.findFirstSeqChangedSince(before));
+    }
+
+    // Helper: run the call, EXPLAIN every statement that touched the table and check that each access to the table
+    // is an index seek (H2 prints the index condition after the index name) on an index leading with the given columns.
+    // Checked by columns rather than index name: H2 also creates an index of its own for every foreign key.
+    private void assertSeeks(String table, List<String> leadingColumns, Runnable call) {
+        CapturingInspector.STATEMENTS.clear();
+        call.run();
+        List<String> plans = new ArrayList<>();
+        for (String sql : CapturingInspector.STATEMENTS) {
+            if (sql.toLowerCase(Locale.ROOT).contains(" " + table + " ")) {
+                plans.add(explain(sql).toLowerCase(Locale.ROOT));
+            }
+        }
+        int accesses = 0;
+        for (String plan : plans) {
+            Matcher access = TABLE_ACCESS.matcher(plan);
+            while (access.find()) {
+                if (!access.group(1).equals(table)) {
+                    continue;
+                }
+                accesses++;
+                String index = access.group(2);
+                assertNotNull(access.group(3), "Expected an index seek on " + table + ", plan was: " + plan);
+                List<String> columns = indexColumns(index);
+                assertTrue(columns.size() >= leadingColumns.size()
+                                && columns.subList(0, leadingColumns.size()).equals(leadingColumns),
+                        "Expected an index on " + table + leadingColumns + ", " + index + " is on " + columns
+                                + ", plan was: " + plan);
+            }
+        }
+        assertTrue(accesses > 0, "No access to " + table + " in the plans: " + plans);
+    }
+
+    private List<String> indexColumns(String index) {
+        return jdbc.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                        "WHERE INDEX_NAME = ? ORDER BY ORDINAL_POSITION", String.class, index.toUpperCase(Locale.ROOT))
+                .stream().map(column -> column.toLowerCase(Locale.ROOT)).toList();
+    }
+
+    // Parameters are left unbound, H2 plans the prepared statement without them
+    private String explain(String sql) {
+        return jdbc.execute((java.sql.Connection connection) -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    // Records every SQL string Hibernate prepares (configured through hibernate.session_factory.statement_inspector)
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.complaintsystem.security;
+
+import com.example.complaintsystem.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BulkheadPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_DelegateAndRecordDurations() {
+        encoder = new BulkheadPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_FailsFastOnceThreadsAndQueueAreTaken() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BulkheadPasswordEncoder(blockingEncoder(started), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitUntil(() -> meterRegistry.get("password.hashing.queued").gauge().value() == 1);
+
+        long start = System.nanoTime();
+        assertThrows(OverloadedException.class, () -> encoder.encode("third"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Rejection should not wait");
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").tag("reason", "queue-full").counter().count());
+
+        release.countDown();
+        assertEquals("hash:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_GivesUpAfterTheWaitTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BulkheadPasswordEncoder(blockingEncoder(started), 1, 1, Duration.ofMillis(100), meterRegistry);
+
+        assertThrows(OverloadedException.class, () -> encoder.encode("slow"));
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    void calibrateStrength_StaysWithinTheBounds() {
+        assertEquals(4, SecurityConfig.calibrateStrength(Duration.ZERO, 4, 8));
+        assertEquals(8, SecurityConfig.calibrateStrength(Duration.ofHours(1), 4, 8));
+    }
+
+    // Helper: an encoder that blocks until the test releases it
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached");
+            Thread.sleep(10);
+        }
+    }
+}
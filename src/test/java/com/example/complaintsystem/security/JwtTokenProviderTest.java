@@ -0,0 +1,29 @@
+package com.example.complaintsystem.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtTokenProviderTest {
+
+    @TempDir
+    Path keys;
+
+    @Test
+    void loadKeysOnStartup_MissingPrivateKey_FailsTheStart() {
+        JwtConfig jwtConfig = mock(JwtConfig.class);
+        when(jwtConfig.getPublicKeyLocation()).thenReturn("classpath:keys/public_key.pem");
+        when(jwtConfig.getPrivateKeyLocation()).thenReturn(keys.resolve("private_key.pem").toUri().toString());
+        JwtTokenProvider provider = new JwtTokenProvider(jwtConfig, new DefaultResourceLoader());
+
+        assertThrows(IllegalStateException.class, provider::loadKeysOnStartup);
+        // Without keys no token is valid, the request is rejected instead of failing with a 500
+        assertFalse(provider.validateToken("eyJhbGciOiJSUzI1NiJ9.e30.c2ln"));
+        assertNull(provider.getUsernameFromJWT("eyJhbGciOiJSUzI1NiJ9.e30.c2ln"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.complaintsystem.service;
+
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
+import com.example.complaintsystem.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchLoaderTest {
+
+    // Stand-in entity: only even ids "exist"
+    private record Row(Integer id) {
+    }
+
+    private static List<Row> evenRows(List<Integer> ids) {
+        return ids.stream().filter(id -> id % 2 == 0).map(Row::new).toList();
+    }
+
+    @Test
+    void load_QueriesInChunksOfTheConfiguredSize() {
+        BatchLoader loader = new BatchLoader(500, 3);
+        List<List<Integer>> queries = new ArrayList<>();
+
+        List<BatchItemDTO<String>> items = loader.load(IntStream.rangeClosed(1, 7).boxed().toList(),
+                chunk -> {
+                    queries.add(List.copyOf(chunk));
+                    return evenRows(chunk);
+                },
+                Row::id, row -> "row" + row.id());
+
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7)), queries);
+        assertEquals(7, items.size());
+    }
+
+    @Test
+    void load_KeepsTheRequestOrderAndMarksMissingIds() {
+        BatchLoader loader = new BatchLoader(500, 250);
+
+        // Duplicates and nulls are dropped, the rest stay in the order asked for
+        List<BatchItemDTO<String>> items = loader.load(Arrays.asList(8, 3, null, 8, 2), BatchLoaderTest::evenRows,
+                Row::id, row -> "row" + row.id());
+
+        assertEquals(List.of(8, 3, 2), items.stream().map(BatchItemDTO::getId).toList());
+        assertTrue(items.get(0).isFound());
+        assertEquals("row8", items.get(0).getData());
+        assertFalse(items.get(1).isFound());
+        assertNull(items.get(1).getData());
+        assertTrue(items.get(2).isFound());
+    }
+
+    @Test
+    void load_RejectsEmptyAndOversizedRequests() {
+        BatchLoader loader = new BatchLoader(3, 1000);
+
+        assertThrows(BadRequestException.class, () -> loader.load(List.of(), BatchLoaderTest::evenRows, Row::id, Row::id));
+        assertThrows(BadRequestException.class, () -> loader.load(Arrays.asList(null, null), BatchLoaderTest::evenRows, Row::id, Row::id));
+        assertThrows(BadRequestException.class, () -> loader.load(List.of(1, 2, 3, 4), BatchLoaderTest::evenRows, Row::id, Row::id));
+        // Duplicates don't count towards the limit
+        assertEquals(3, loader.load(List.of(1, 2, 3, 3), BatchLoaderTest::evenRows, Row::id, Row::id).size());
+    }
+}
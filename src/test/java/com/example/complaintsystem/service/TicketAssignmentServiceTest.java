@@ -0,0 +1,64 @@
+package com.example.complaintsystem.service;
+
+import com.example.complaintsystem.cache.TicketAssignmentCache;
+import com.example.complaintsystem.dto.TicketAssignments.CreateTicketAssignmentDTO;
+import com.example.complaintsystem.entity.Ticket;
+import com.example.complaintsystem.entity.TicketAssignment;
+import com.example.complaintsystem.entity.User;
+import com.example.complaintsystem.exception.BadRequestException;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.repository.UserRepository;
+import com.example.complaintsystem.sharding.ShardRouter;
+import com.example.complaintsystem.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TicketAssignmentServiceTest {
+
+    private TicketAssignmentRepository assignmentRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private TicketAssignmentService assignmentService;
+
+    @BeforeEach
+    void setUp() {
+        assignmentRepository = mock(TicketAssignmentRepository.class);
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(1);
+        User user = new User();
+        user.setUserId(2);
+        when(ticketRepository.findById(1)).thenReturn(Optional.of(ticket));
+        when(userRepository.findById(2)).thenReturn(Optional.of(user));
+
+        assignmentService = new TicketAssignmentService(assignmentRepository, ticketRepository, userRepository,
+                eventPublisher, mock(TicketAssignmentCache.class), mock(BatchLoader.class),
+                new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void createAssignment_ConcurrentDuplicate_ThrowsBadRequest() {
+        // Both requests passed the exists check, the unique index turns the second one away
+        when(assignmentRepository.existsByTicketTicketIdAndUserUserId(1, 2)).thenReturn(false);
+        when(assignmentRepository.saveAndFlush(any(TicketAssignment.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_ticket_assignments_ticket_user"));
+
+        CreateTicketAssignmentDTO createDTO = new CreateTicketAssignmentDTO();
+        createDTO.setTicketId(1);
+        createDTO.setUserId(2);
+
+        assertThrows(BadRequestException.class, () -> assignmentService.createAssignment(createDTO));
+        verifyNoInteractions(eventPublisher);
+    }
+}
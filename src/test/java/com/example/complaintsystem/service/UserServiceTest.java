@@ -1,6 +1,9 @@
 // UserServiceTest.java (Place in src/test/java/.../Service)
 package com.example.complaintsystem.service;
 
+import com.example.complaintsystem.bloom.UserAvailabilityFilter;
+import com.example.complaintsystem.coherence.CacheInvalidator;
+import com.example.complaintsystem.coherence.CacheRegion;
 import com.example.complaintsystem.dto.Departments.DepartmentDTO;
 import com.example.complaintsystem.dto.Roles.RoleDTO;
 import com.example.complaintsystem.entity.Department;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -46,6 +50,12 @@ class UserServiceTest {
     @Mock
     private DepartmentService departmentService;
 
+    @Mock
+    private UserAvailabilityFilter userAvailabilityFilter;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
 
     @InjectMocks
     private UserService userService;
@@ -77,7 +87,7 @@ class UserServiceTest {
 
 
 
-        when(userRepository.findByUsername(createUserDTO.getUsername())).thenReturn(Optional.empty());
+        when(userAvailabilityFilter.mightContainUsername(createUserDTO.getUsername())).thenReturn(false);
 //        when(userRepository.findByEmail(createUserDTO.getEmail())).thenReturn(Optional.empty());
         when(roleRepository.findById(createUserDTO.getRoleId())).thenReturn(Optional.of(mockRole));
         when(departmentRepository.findById(createUserDTO.getDepartmentId())).thenReturn(Optional.of(mockDepartment));
@@ -105,6 +115,9 @@ class UserServiceTest {
         verify(passwordEncoder).encode("password");
         verify(roleRepository).findById(1); // Verify findById was called on roleRepository
         verify(departmentRepository).findById(2); // Verify findById was called on departmentRepository
+        verify(userRepository, never()).existsByUsername(anyString()); // Bloom filter said the name is free
+        verify(userAvailabilityFilter).add("testuser", "test@example.com");
+        verify(cacheInvalidator).record(CacheRegion.USER_KEYS, 1); // Other nodes add the name to their filters
     }
     @Test
     void createUser_UsernameExists_ThrowsException() {
@@ -115,7 +128,8 @@ class UserServiceTest {
         createUserDTO.setEmail("test@example.com");
         createUserDTO.setRoleId(1);
         createUserDTO.setDepartmentId(1);
-        when(userRepository.findByUsername(createUserDTO.getUsername())).thenReturn(Optional.of(new User()));
+        when(userAvailabilityFilter.mightContainUsername(createUserDTO.getUsername())).thenReturn(true);
+        when(userRepository.existsByUsername(createUserDTO.getUsername())).thenReturn(true);
         //Act and Assert
         assertThrows(BadRequestException.class, ()->{
             userService.createUser(createUserDTO);
@@ -148,7 +162,7 @@ class UserServiceTest {
         createUserDTO.setEmail("test@example.com");
         createUserDTO.setRoleId(1);
         createUserDTO.setDepartmentId(1);
-        when(userRepository.findByUsername(createUserDTO.getUsername())).thenReturn(Optional.empty()); // User doesn't exist
+        when(userAvailabilityFilter.mightContainUsername(createUserDTO.getUsername())).thenReturn(false); // User doesn't exist
 //        when(userRepository.findByEmail(createUserDTO.getEmail())).thenReturn(Optional.empty()); //Email Doesn't exist
         when(roleRepository.findById(anyInt())).thenReturn(Optional.empty()); //role not found
         assertThrows(ResourceNotFoundException.class, ()->{
@@ -171,7 +185,7 @@ class UserServiceTest {
         mockRole.setRoleName("ROLE_USER");
 
 
-        when(userRepository.findByUsername(createUserDTO.getUsername())).thenReturn(Optional.empty()); // User doesn't exist
+        when(userAvailabilityFilter.mightContainUsername(createUserDTO.getUsername())).thenReturn(false); // User doesn't exist
 //        when(userRepository.findByEmail(createUserDTO.getEmail())).thenReturn(Optional.empty()); //Email Doesn't exist
         when(roleRepository.findById(createUserDTO.getRoleId())).thenReturn(Optional.of(mockRole));
         when(departmentRepository.findById(anyInt())).thenReturn(Optional.empty()); //department not found
@@ -181,4 +195,59 @@ class UserServiceTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void createUser_NameTakenOnAnotherNode_ThrowsBadRequest() {
+        //Arrange
+        CreateUserDTO createUserDTO = new CreateUserDTO();
+        createUserDTO.setUsername("testuser");
+        createUserDTO.setPassword("password");
+        createUserDTO.setEmail("test@example.com");
+        createUserDTO.setRoleId(1);
+
+        Role mockRole = new Role();
+        mockRole.setRoleId(1);
+
+        // The local filter hasn't seen the other node's registration, the unique constraint has
+        when(userAvailabilityFilter.mightContainUsername(createUserDTO.getUsername())).thenReturn(false);
+        when(roleRepository.findById(createUserDTO.getRoleId())).thenReturn(Optional.of(mockRole));
+        when(passwordEncoder.encode(createUserDTO.getPassword())).thenReturn("hashedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("uq_users_username"));
+
+        //Act and Assert
+        assertThrows(BadRequestException.class, () -> userService.createUser(createUserDTO));
+        verify(userAvailabilityFilter, never()).add(anyString(), anyString());
+    }
+
+    @Test
+    void changeUsername_TellsOtherNodesAboutTheNewName() {
+        //Arrange
+        User user = new User();
+        user.setUserId(7);
+        user.setUsername("olduser");
+        when(userRepository.findById(7)).thenReturn(Optional.of(user));
+
+        //Act
+        userService.changeUsername(7, "newuser");
+
+        //Assert
+        verify(userRepository).saveAndFlush(user);
+        verify(cacheInvalidator).invalidate(CacheRegion.USER, "olduser");
+        verify(userAvailabilityFilter).add("newuser", null);
+        verify(cacheInvalidator).record(CacheRegion.USER_KEYS, 7);
+    }
+
+    @Test
+    void changeUsername_NameTaken_ThrowsBadRequest() {
+        //Arrange
+        User user = new User();
+        user.setUserId(7);
+        user.setUsername("olduser");
+        when(userRepository.findById(7)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("uq_users_username"));
+
+        //Act and Assert
+        assertThrows(BadRequestException.class, () -> userService.changeUsername(7, "taken"));
+        verify(cacheInvalidator, never()).record(any(), any());
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.example.complaintsystem.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Three embedded H2 databases behind the routing DataSource, each with its interleaved identity range
+class ShardRouterTest {
+
+    private static final int SHARDS = 3;
+
+    private ShardRouter router;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setDepartments(Map.of(7, 2));
+        Map<Object, Object> pools = new HashMap<>();
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < SHARDS; i++) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setUrl("jdbc:h2:mem:shard" + i + "-" + run + ";DB_CLOSE_DELAY=-1");
+            properties.getShards().add(shard);
+            DataSource pool = new DriverManagerDataSource(shard.getUrl(), "sa", "");
+            new JdbcTemplate(pool).execute("CREATE TABLE tickets (ticket_id INT GENERATED BY DEFAULT AS IDENTITY (START WITH "
+                    + (i + 1) + " INCREMENT BY " + SHARDS + ") PRIMARY KEY, department_id INT, title VARCHAR(100))");
+            pools.put(i, pool);
+        }
+        DataSource dataSource = ShardingDataSourceConfig.routingDataSource(pools);
+        router = new ShardRouter(properties, new DataSourceTransactionManager(dataSource));
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void newTicket_IsStoredOnItsDepartmentsShard_AndFoundAgainByItsId() {
+        int mapped = insert(7, "mapped department");   // override: shard 2
+        int hashed = insert(4, "hashed department");   // 4 mod 3: shard 1
+
+        assertEquals(2, router.shardOfId(mapped));
+        assertEquals(1, router.shardOfId(hashed));
+        assertEquals("mapped department", router.readOnShardOf(mapped, () -> title(mapped)));
+        assertEquals("hashed department", router.readOnShardOf(hashed, () -> title(hashed)));
+        // Not on the default shard
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM tickets WHERE ticket_id = ?", Integer.class, mapped));
+    }
+
+    @Test
+    void byShardOf_OnlyAsksEachShardForItsOwnIds() {
+        int a = insert(0, "a");
+        int b = insert(1, "b");
+        int c = insert(2, "c");
+
+        List<String> titles = router.byShardOf(List.of(c, a, b, 1000), ids -> {
+            ids.forEach(id -> assertEquals(ShardContext.current(), router.shardOfId(id)));
+            return jdbc.queryForList("SELECT title FROM tickets WHERE ticket_id IN (" + join(ids) + ")", String.class);
+        });
+
+        assertEquals(List.of("a", "b", "c"), titles.stream().sorted().toList());
+    }
+
+    @Test
+    void scatterGather_SumsCountsAndMergesPagesInSortOrder() {
+        for (int department = 0; department < 9; department++) {
+            insert(department, "ticket " + department);
+        }
+
+        assertEquals(9, router.sumAcrossShards(shard ->
+                jdbc.queryForObject("SELECT COUNT(*) FROM tickets", Long.class)));
+
+        Pageable pageable = PageRequest.of(1, 4, Sort.by(Sort.Direction.DESC, "title"));
+        Page<String> page = router.pageAcrossShards(pageable, this::titlePage, TitleRow::title);
+
+        assertEquals(9, page.getTotalElements());
+        assertEquals(List.of("ticket 4", "ticket 3", "ticket 2", "ticket 1"), page.getContent());
+    }
+
+    @Test
+    void failureOnShard_RollsBackOnlyThatShardsTransaction() {
+        int id = insert(1, "kept");
+
+        assertThrows(IllegalStateException.class, () -> router.onShardOf(id, () -> {
+            jdbc.update("UPDATE tickets SET title = 'changed' WHERE ticket_id = ?", id);
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("kept", router.readOnShardOf(id, () -> title(id)));
+    }
+
+    public record TitleRow(String title) {
+    }
+
+    private Page<TitleRow> titlePage(Pageable pageable) {
+        List<TitleRow> rows = jdbc.query("SELECT title FROM tickets ORDER BY title DESC LIMIT ?",
+                (rs, n) -> new TitleRow(rs.getString(1)), pageable.getPageSize());
+        long total = jdbc.queryForObject("SELECT COUNT(*) FROM tickets", Long.class);
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    private int insert(int departmentId, String title) {
+        return router.onShardForNewTicket(departmentId, () -> {
+            jdbc.update("INSERT INTO tickets (department_id, title) VALUES (?, ?)", departmentId, title);
+            return jdbc.queryForObject("SELECT MAX(ticket_id) FROM tickets", Integer.class);
+        });
+    }
+
+    private String title(int id) {
+        return jdbc.queryForObject("SELECT title FROM tickets WHERE ticket_id = ?", String.class, id);
+    }
+
+    private static String join(List<Integer> ids) {
+        return String.join(",", ids.stream().map(String::valueOf).toList());
+    }
+}
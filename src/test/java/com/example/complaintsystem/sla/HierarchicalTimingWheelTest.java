@@ -0,0 +1,63 @@
+package com.example.complaintsystem.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void advance_FiresTimerOnItsDeadlineTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 0);
+        wheel.schedule(5 * TICK, () -> { });
+
+        assertTrue(wheel.advance(4 * TICK).isEmpty());
+        assertEquals(1, wheel.advance(5 * TICK).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_CascadesTimersFromUpperLevels() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 0);
+        long[] deadlines = {300, 256 * 256 + 17, 256L * 256 * 256 + 5};
+        List<Long> fired = new ArrayList<>();
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline * TICK, () -> fired.add(deadline));
+        }
+
+        for (long deadline : deadlines) {
+            assertTrue(wheel.advance((deadline - 1) * TICK).stream().noneMatch(t -> t.getDeadlineMs() >= deadline * TICK),
+                    "fired early: " + deadline);
+            List<HierarchicalTimingWheel.Timeout> expired = wheel.advance(deadline * TICK);
+            assertEquals(1, expired.size());
+            expired.get(0).getTask().run();
+        }
+        assertEquals(List.of(deadlines[0], deadlines[1], deadlines[2]), fired);
+    }
+
+    @Test
+    void cancel_RemovesTimer() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 0);
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(10 * TICK, () -> { });
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(20 * TICK).isEmpty());
+    }
+
+    @Test
+    void schedule_PastDeadlineFiresOnNextAdvance() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 100 * TICK);
+        wheel.advance(150 * TICK);
+        wheel.schedule(50 * TICK, () -> { });
+
+        assertEquals(1, wheel.advance(151 * TICK).size());
+    }
+}
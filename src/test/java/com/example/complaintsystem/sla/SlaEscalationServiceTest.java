@@ -0,0 +1,94 @@
+package com.example.complaintsystem.sla;
+
+import com.example.complaintsystem.entity.Ticket;
+import com.example.complaintsystem.entity.TicketStatus;
+import com.example.complaintsystem.event.TicketChangedEvent;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.service.TicketAssignmentService;
+import com.example.complaintsystem.sharding.ShardRouter;
+import com.example.complaintsystem.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SlaEscalationServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TicketAssignmentService assignmentService;
+    private SlaEscalationService escalationService;
+
+    @BeforeEach
+    void setUp() {
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        assignmentService = mock(TicketAssignmentService.class);
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(5);
+        TicketStatus open = new TicketStatus();
+        open.setStatusName("Open");
+        ticket.setTicketStatus(open);
+        when(ticketRepository.findById(5)).thenReturn(Optional.of(ticket));
+
+        SlaProperties properties = new SlaProperties();
+        properties.getEscalation().setDefaultAssigneeUserId(9);
+        escalationService = new SlaEscalationService(ticketRepository, mock(TicketAssignmentRepository.class),
+                assignmentService, new SlaPolicy(properties),
+                new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class)), jdbcTemplate);
+    }
+
+    @Test
+    void escalate_FirstNodeToClaimTheLevel_Assigns() {
+        when(jdbcTemplate.update(startsWith("UPDATE sla_escalations"), any(Object[].class))).thenReturn(0);
+
+        assertTrue(escalationService.escalate(5, 0));
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO sla_escalations"), any(Object[].class));
+        verify(assignmentService).createAssignment(argThat(assignment -> assignment.getUserId() == 9));
+    }
+
+    @Test
+    void escalate_LevelClaimedByAnotherNode_SkipsButKeepsTheTimer() {
+        // Level 0: the other node inserted the row first; level 1: the row is already there
+        when(jdbcTemplate.update(startsWith("UPDATE sla_escalations"), any(Object[].class))).thenReturn(0);
+        when(jdbcTemplate.update(startsWith("INSERT INTO sla_escalations"), any(Object[].class)))
+                .thenThrow(new DuplicateKeyException("pk_sla_escalations"));
+
+        assertTrue(escalationService.escalate(5, 0));
+        assertTrue(escalationService.escalate(5, 1));
+
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT INTO sla_escalations"), any(Object[].class));
+        verifyNoInteractions(assignmentService);
+    }
+
+    @Test
+    void onTicketChanged_StatusChange_StartsANewPeriod() {
+        escalationService.onTicketChanged(changed(2, 1, false));
+        escalationService.onTicketChanged(changed(1, 1, false));
+        escalationService.onTicketChanged(changed(2, 1, true));
+
+        // Only the local status change resets, once
+        verify(jdbcTemplate, times(1)).update("DELETE FROM sla_escalations WHERE ticket_id = ?", 5);
+    }
+
+    // Helper: update of ticket 5 from status previousStatusId to statusId
+    private static TicketChangedEvent changed(Integer statusId, Integer previousStatusId, boolean remote) {
+        TicketChangedEvent event = new TicketChangedEvent();
+        event.setChangeType(TicketChangedEvent.ChangeType.UPDATED);
+        event.setTicketId(5);
+        event.setStatusId(statusId);
+        event.setPreviousStatusId(previousStatusId);
+        event.setDepartmentId(1);
+        event.setPreviousDepartmentId(1);
+        event.setRemote(remote);
+        return event;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.complaintsystem.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_ThenRead_ReturnsPayload() throws IOException {
+        SnapshotStore store = new SnapshotStore(properties());
+        store.write(participant("numbers", 3));
+
+        Optional<Snapshot> snapshot = store.read("numbers", 3);
+
+        assertTrue(snapshot.isPresent());
+        ByteBuffer payload = snapshot.get().payload();
+        assertEquals(1000, payload.getInt());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 7L, payload.getLong());
+        }
+        assertFalse(payload.hasRemaining());
+    }
+
+    @Test
+    void read_OtherVersionOrCorruptFile_IsIgnored() throws IOException {
+        SnapshotStore store = new SnapshotStore(properties());
+        store.write(participant("numbers", 1));
+        assertTrue(store.read("numbers", 2).isEmpty());
+
+        try (FileChannel channel = FileChannel.open(directory.resolve("numbers-v1.snap"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), SnapshotStore.HEADER_SIZE + 100);
+        }
+        assertTrue(store.read("numbers", 1).isEmpty());
+    }
+
+    @Test
+    void read_TooOld_IsIgnored() throws IOException {
+        SnapshotProperties properties = properties();
+        SnapshotStore store = new SnapshotStore(properties);
+        store.write(participant("numbers", 1));
+
+        properties.setMaxAge(Duration.ofMillis(-1));
+        assertTrue(store.read("numbers", 1).isEmpty());
+    }
+
+    private SnapshotProperties properties() {
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setDirectory(directory.toString());
+        return properties;
+    }
+
+    private static SnapshotParticipant participant(String name, int version) {
+        return new SnapshotParticipant() {
+            @Override
+            public String snapshotName() {
+                return name;
+            }
+
+            @Override
+            public int snapshotVersion() {
+                return version;
+            }
+
+            @Override
+            public boolean isSnapshotReady() {
+                return true;
+            }
+
+            @Override
+            public void writeSnapshot(DataOutputStream out) throws IOException {
+                out.writeInt(1000);
+                for (int i = 0; i < 1000; i++) {
+                    out.writeLong(i * 7L);
+                }
+            }
+        };
+    }
+}
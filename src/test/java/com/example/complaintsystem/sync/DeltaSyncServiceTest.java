@@ -0,0 +1,281 @@
+package com.example.complaintsystem.sync;
+
+import com.example.complaintsystem.dto.Batch.BatchItemDTO;
+import com.example.complaintsystem.dto.Comments.CommentDTO;
+import com.example.complaintsystem.dto.Sync.SyncChangeDTO;
+import com.example.complaintsystem.dto.Sync.SyncPageDTO;
+import com.example.complaintsystem.dto.Tickets.GetTicketDTO;
+import com.example.complaintsystem.entity.SyncChange;
+import com.example.complaintsystem.exception.BadRequestException;
+import com.example.complaintsystem.exception.ResourceGoneException;
+import com.example.complaintsystem.repository.SyncChangeRepository;
+import com.example.complaintsystem.service.CommentService;
+import com.example.complaintsystem.service.TicketAssignmentService;
+import com.example.complaintsystem.service.TicketService;
+import com.example.complaintsystem.sharding.ShardRouter;
+import com.example.complaintsystem.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DeltaSyncServiceTest {
+
+    // The database clock, a minute behind this JVM's
+    private static final LocalDateTime DATABASE_TIME = LocalDateTime.now().minusMinutes(1);
+
+    private SyncProperties properties;
+    private SyncChangeRepository syncChangeRepository;
+    private TicketService ticketService;
+    private CommentService commentService;
+    private TicketAssignmentService assignmentService;
+    private ShardRouter shardRouter;
+    private DeltaSyncService deltaSyncService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SyncProperties();
+        properties.setSettleTime(Duration.ofSeconds(2));
+        properties.setRetention(Duration.ofDays(30));
+        syncChangeRepository = mock(SyncChangeRepository.class);
+        ticketService = mock(TicketService.class);
+        commentService = mock(CommentService.class);
+        assignmentService = mock(TicketAssignmentService.class);
+        shardRouter = new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class));
+        deltaSyncService = new DeltaSyncService(properties, syncChangeRepository, ticketService, commentService,
+                assignmentService, shardRouter, 500);
+        when(syncChangeRepository.findDatabaseTime()).thenReturn(DATABASE_TIME);
+    }
+
+    @Test
+    void syncCursor_EncodeDecodeRoundTrip() {
+        SyncCursor cursor = new SyncCursor(42L, 1_740_000_000_000L);
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("="));
+        assertEquals(cursor, SyncCursor.decode(encoded));
+    }
+
+    @Test
+    void syncCursor_KeepsAPositionPerShardAndReadsSingleShardCursors() {
+        SyncCursor cursor = SyncCursor.decode(new SyncCursor(List.of(42L, 7L), 1_740_000_000_000L).encode());
+
+        assertEquals(42L, cursor.seq(0));
+        assertEquals(7L, cursor.seq(1));
+        assertEquals(0L, cursor.seq(2)); // A shard added later starts at the beginning of its log
+        assertEquals(new SyncCursor(42L, 1_740_000_000_000L), SyncCursor.decode(base64("v1:42:1740000000000")));
+    }
+
+    @Test
+    void syncCursor_MalformedCursor_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> SyncCursor.decode("not base64!"));
+        assertThrows(BadRequestException.class, () -> SyncCursor.decode(base64("v3:1740000000000:42")));
+        assertThrows(BadRequestException.class, () -> SyncCursor.decode(base64("v1:42")));
+        assertThrows(BadRequestException.class, () -> SyncCursor.decode(base64("v2:1740000000000")));
+        assertThrows(BadRequestException.class, () -> SyncCursor.decode(base64("v2:1740000000000:42,x")));
+    }
+
+    @Test
+    void getChanges_NoCursor_StartsJustBeforeTheFirstUnsettledChange() {
+        when(syncChangeRepository.findFirstSeqChangedSince(DATABASE_TIME.minusSeconds(2))).thenReturn(Optional.of(18L));
+
+        SyncPageDTO page = deltaSyncService.getChanges(null, 100);
+
+        assertTrue(page.getChanges().isEmpty());
+        assertFalse(page.isHasMore());
+        assertEquals(17L, SyncCursor.decode(page.getNextCursor()).seq());
+        verify(syncChangeRepository, never()).findChangesAfter(anyLong(), any());
+    }
+
+    @Test
+    void getChanges_NoCursorAndEverythingSettled_StartsAtTheLastChange() {
+        when(syncChangeRepository.findFirstSeqChangedSince(any())).thenReturn(Optional.empty());
+        when(syncChangeRepository.findMaxSeq()).thenReturn(Optional.of(17L));
+
+        assertEquals(17L, SyncCursor.decode(deltaSyncService.getChanges(null, 100).getNextCursor()).seq());
+    }
+
+    @Test
+    void getChanges_SettleWindowIsMeasuredWithTheDatabaseClock() {
+        SyncChange settled = change(4L, "TICKET", 5, "UPDATED", 30);
+        // A minute old by this JVM's clock, but just written by the database's
+        SyncChange unsettled = change(5L, "TICKET", 6, "UPDATED", 0);
+        when(syncChangeRepository.findChangesAfter(anyLong(), any())).thenReturn(List.of(settled, unsettled));
+
+        SyncPageDTO page = deltaSyncService.getChanges(cursor(3L, 60), 100);
+
+        assertEquals(List.of(5), page.getChanges().stream().map(SyncChangeDTO::getEntityId).toList());
+        assertEquals(4L, SyncCursor.decode(page.getNextCursor()).seq());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void getChanges_PageEndsAtTheFirstUnsettledChange() {
+        when(syncChangeRepository.findChangesAfter(anyLong(), any())).thenReturn(List.of(
+                change(4L, "TICKET", 5, "UPDATED", 90),
+                change(5L, "TICKET", 6, "UPDATED", 1),
+                // Older than seq 5 (stamped by a skewed clock): served only once seq 5 has settled
+                change(6L, "TICKET", 7, "UPDATED", 90)));
+
+        SyncPageDTO page = deltaSyncService.getChanges(cursor(3L, 60), 100);
+
+        assertEquals(List.of(5), page.getChanges().stream().map(SyncChangeDTO::getEntityId).toList());
+        assertEquals(4L, SyncCursor.decode(page.getNextCursor()).seq());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void getChanges_NothingSettled_KeepsThePositionAndMovesTheTimeToTheSettlePoint() {
+        when(syncChangeRepository.findChangesAfter(anyLong(), any())).thenReturn(List.of(change(4L, "TICKET", 5, "UPDATED", 0)));
+
+        SyncPageDTO page = deltaSyncService.getChanges(cursor(3L, 600), 100);
+
+        assertTrue(page.getChanges().isEmpty());
+        SyncCursor next = SyncCursor.decode(page.getNextCursor());
+        assertEquals(3L, next.seq());
+        assertEquals(toEpochMillis(DATABASE_TIME.minusSeconds(2)), next.changedAtMs());
+    }
+
+    @Test
+    void getChanges_CollapsesToTheLatestChangePerEntity() {
+        when(syncChangeRepository.findChangesAfter(anyLong(), any())).thenReturn(List.of(
+                change(4L, "TICKET", 5, "CREATED", 50),
+                change(5L, "COMMENT", 9, "CREATED", 40),
+                change(6L, "TICKET", 5, "UPDATED", 30)));
+        when(ticketService.getTicketsByIds(List.of(5))).thenReturn(List.of(found(5, new GetTicketDTO())));
+        when(commentService.getCommentsByIds(List.of(9))).thenReturn(List.of(found(9, new CommentDTO())));
+
+        SyncPageDTO page = deltaSyncService.getChanges(cursor(3L, 60), 100);
+
+        // The ticket moves to where its last change is and is loaded once
+        List<SyncChangeDTO> changes = page.getChanges();
+        assertEquals(List.of("COMMENT", "TICKET"), changes.stream().map(SyncChangeDTO::getEntityType).toList());
+        assertNotNull(changes.get(0).getComment());
+        assertNotNull(changes.get(1).getTicket());
+        assertFalse(changes.get(1).isDeleted());
+        assertEquals(6L, SyncCursor.decode(page.getNextCursor()).seq());
+        verify(ticketService).getTicketsByIds(List.of(5));
+        verifyNoInteractions(assignmentService);
+    }
+
+    @Test
+    void getChanges_DeletedOrVanishedEntities_AreTombstones() {
+        when(syncChangeRepository.findChangesAfter(anyLong(), any())).thenReturn(List.of(
+                change(4L, "COMMENT", 9, "CREATED", 50),
+                change(5L, "COMMENT", 9, "DELETED", 40),
+                // Deleted after this page was read, the delete row is in a later page
+                change(6L, "TICKET", 5, "UPDATED", 30)));
+        BatchItemDTO<GetTicketDTO> missing = new BatchItemDTO<>();
+        missing.setId(5);
+        when(ticketService.getTicketsByIds(List.of(5))).thenReturn(List.of(missing));
+
+        List<SyncChangeDTO> changes = deltaSyncService.getChanges(cursor(3L, 60), 100).getChanges();
+
+        assertEquals(2, changes.size());
+        assertTrue(changes.get(0).isDeleted());
+        assertEquals(77, changes.get(0).getTicketId());
+        assertTrue(changes.get(1).isDeleted());
+        assertNull(changes.get(1).getTicket());
+        verifyNoInteractions(commentService);
+    }
+
+    @Test
+    void getChanges_FullPage_ReportsMoreAndStopsAtThePageSize() {
+        when(syncChangeRepository.findChangesAfter(anyLong(), any())).thenReturn(List.of(
+                change(4L, "ASSIGNMENT", 1, "DELETED", 50),
+                change(5L, "ASSIGNMENT", 2, "DELETED", 40),
+                change(6L, "ASSIGNMENT", 3, "DELETED", 30)));
+
+        SyncPageDTO page = deltaSyncService.getChanges(cursor(3L, 60), 2);
+
+        assertTrue(page.isHasMore());
+        assertEquals(2, page.getChanges().size());
+        assertEquals(5L, SyncCursor.decode(page.getNextCursor()).seq());
+    }
+
+    @Test
+    void getChanges_ReadsEveryShardFromItsOwnPosition() {
+        ShardRouter shards = mock(ShardRouter.class);
+        when(shards.shardCount()).thenReturn(2);
+        int[] currentShard = new int[1];
+        when(shards.readOnShard(anyInt(), any())).thenAnswer(invocation -> {
+            currentShard[0] = invocation.getArgument(0);
+            return invocation.<Supplier<?>>getArgument(1).get();
+        });
+        when(syncChangeRepository.findChangesAfter(anyLong(), any())).thenAnswer(invocation -> currentShard[0] == 0
+                ? List.of(change(4L, "ASSIGNMENT", 1, "DELETED", 50))
+                : List.of(change(21L, "ASSIGNMENT", 2, "DELETED", 50), change(22L, "ASSIGNMENT", 4, "DELETED", 40)));
+        DeltaSyncService sharded = new DeltaSyncService(properties, syncChangeRepository, ticketService, commentService,
+                assignmentService, shards, 500);
+
+        SyncPageDTO page = sharded.getChanges(new SyncCursor(List.of(3L, 20L), System.currentTimeMillis() - 60_000).encode(), 2);
+
+        verify(syncChangeRepository).findChangesAfter(eq(3L), any());
+        verify(syncChangeRepository).findChangesAfter(eq(20L), argThat(pageable -> pageable.getPageSize() == 2));
+        assertEquals(List.of(1, 2), page.getChanges().stream().map(SyncChangeDTO::getEntityId).toList());
+        assertTrue(page.isHasMore());
+        SyncCursor next = SyncCursor.decode(page.getNextCursor());
+        assertEquals(List.of(4L, 21L), next.seqs());
+        // Shard 1 is only complete up to the last row it served
+        assertEquals(toEpochMillis(DATABASE_TIME.minusSeconds(50)), next.changedAtMs());
+    }
+
+    @Test
+    void getChanges_CursorOlderThanRetention_ThrowsGone() {
+        String stale = new SyncCursor(3L, System.currentTimeMillis() - Duration.ofDays(31).toMillis()).encode();
+
+        assertThrows(ResourceGoneException.class, () -> deltaSyncService.getChanges(stale, 100));
+        verify(syncChangeRepository, never()).findChangesAfter(anyLong(), any());
+    }
+
+    @Test
+    void getChanges_PageSizeOutOfRange_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> deltaSyncService.getChanges(null, 0));
+        assertThrows(BadRequestException.class, () -> deltaSyncService.getChanges(null, 501));
+    }
+
+    // Helper: log row of ticket 77, changed the given number of seconds before the database time
+    private static SyncChange change(Long seq, String entityType, Integer entityId, String changeType, int secondsAgo) {
+        SyncChange change = new SyncChange();
+        change.setSeq(seq);
+        change.setEntityType(entityType);
+        change.setEntityId(entityId);
+        change.setTicketId(77);
+        change.setChangeType(changeType);
+        change.setChangedAt(DATABASE_TIME.minusSeconds(secondsAgo));
+        return change;
+    }
+
+    private static <D> BatchItemDTO<D> found(Integer id, D data) {
+        BatchItemDTO<D> item = new BatchItemDTO<>();
+        item.setId(id);
+        item.setFound(true);
+        item.setData(data);
+        return item;
+    }
+
+    private static String cursor(Long seq, int secondsAgo) {
+        return new SyncCursor(seq, System.currentTimeMillis() - secondsAgo * 1000L).encode();
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.complaintsystem.warmup;
+
+import com.example.complaintsystem.EmbeddedApplication;
+import com.example.complaintsystem.repository.CommentRepository;
+import com.example.complaintsystem.repository.TicketAssignmentRepository;
+import com.example.complaintsystem.repository.TicketRepository;
+import com.example.complaintsystem.security.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Boots the application on an embedded H2 database with a short warm-up and checks that every step runs without
+// failing (all read queries accept the synthetic parameters) and that readiness flips to UP only afterwards.
+class WarmupServiceTest {
+
+    @TempDir
+    Path keys;
+
+    @Test
+    void readinessWaitsForTheWarmup() throws Exception {
+        try (ConfigurableApplicationContext context = EmbeddedApplication.start(keys, "warmup",
+                "warmup.jwt-iterations=5",
+                "warmup.serialization-iterations=5",
+                "warmup.query-rounds=2",
+                "warmup.connections=3")) {
+            WarmupService warmupService = context.getBean(WarmupService.class);
+            HealthEndpoint health = context.getBean(HealthEndpoint.class);
+
+            long deadline = System.currentTimeMillis() + 60_000;
+            while (!warmupService.isFinished()) {
+                Status readiness = health.healthForPath("readiness").getStatus();
+                if (!warmupService.isFinished()) {
+                    assertEquals(Status.OUT_OF_SERVICE, readiness);
+                }
+                assertTrue(System.currentTimeMillis() < deadline, "Warm-up did not finish");
+                Thread.sleep(50);
+            }
+
+            assertEquals(Status.UP, health.healthForPath("readiness").getStatus());
+            assertEquals(Status.UP, health.healthForPath("liveness").getStatus());
+            assertTrue(warmupService.getFailedSteps().isEmpty(), "Failed steps: " + warmupService.getFailedSteps());
+            assertTrue(warmupService.getFailedQueries().isEmpty(), "Failed queries: " + warmupService.getFailedQueries());
+            assertEquals(Set.of("connections", "jwt", "jackson", "queries"),
+                    warmupService.getStepMillis().keySet());
+        }
+    }
+
+    @Test
+    void failingStep_KeepsTheNodeOutPastTheTimeoutUntilItPasses() throws Exception {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setTimeout(Duration.ofMillis(200));
+        JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.generateToken(any()))
+                .thenThrow(new IllegalStateException("Could not initialize JWT provider: Failed to load keys"))
+                .thenReturn("token");
+        when(jwtTokenProvider.validateToken("token")).thenReturn(true);
+        WarmupService warmupService = new WarmupService(properties, jwtTokenProvider, new ObjectMapper(), dataSource(),
+                mock(PlatformTransactionManager.class), mock(TicketRepository.class), mock(CommentRepository.class),
+                mock(TicketAssignmentRepository.class));
+
+        warmupService.start();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!warmupService.getFailedSteps().contains("jwt")) {
+            assertTrue(System.currentTimeMillis() < deadline, "The jwt step did not fail");
+            Thread.sleep(10);
+        }
+        Thread.sleep(300); // Past the timeout, the retry is still a second away
+        assertFalse(warmupService.isReady());
+
+        while (!warmupService.isFinished()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Warm-up did not finish");
+            Thread.sleep(50);
+        }
+        assertTrue(warmupService.isReady());
+        assertTrue(warmupService.getFailedSteps().isEmpty());
+        assertEquals(Set.of("jackson", "queries"), warmupService.getSkippedSteps());
+        verify(jwtTokenProvider, times(2)).generateToken(any());
+    }
+
+    // Helper: connections that answer SELECT 1
+    private static DataSource dataSource() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,33 @@
+-- Test data for RepositoryQueryPlanTest (H2 only): enough rows with realistic selectivity that the optimizer costs
+-- the indexes instead of treating every access path as equal on empty tables.
+
+INSERT INTO roles (role_name) VALUES ('ADMIN'), ('EMPLOYEE'), ('USER');
+INSERT INTO departments (department_name) SELECT CONCAT('Department ', X) FROM SYSTEM_RANGE(1, 20);
+INSERT INTO ticket_statuses (status_name) VALUES ('OPEN'), ('IN_PROGRESS'), ('RESOLVED'), ('CLOSED');
+
+INSERT INTO users (username, password, email, role_id, department_id)
+SELECT CONCAT('user', X), 'secret', CONCAT('user', X, '@example.com'), MOD(X, 3) + 1, MOD(X, 20) + 1
+FROM SYSTEM_RANGE(1, 1000);
+
+INSERT INTO tickets (user_id, department_id, status_id, title, description, created_at, updated_at)
+SELECT MOD(X, 1000) + 1, MOD(X, 20) + 1, MOD(X, 4) + 1, CONCAT('Ticket ', X), CONCAT('Description ', X),
+       DATEADD(MINUTE, -X, CURRENT_TIMESTAMP), DATEADD(MINUTE, -X, CURRENT_TIMESTAMP)
+FROM SYSTEM_RANGE(1, 20000);
+
+INSERT INTO comments (ticket_id, user_id, comment, created_at)
+SELECT MOD(X, 20000) + 1, MOD(X, 1000) + 1, CONCAT('Comment ', X), DATEADD(SECOND, -X, CURRENT_TIMESTAMP)
+FROM SYSTEM_RANGE(1, 60000);
+
+INSERT INTO ticket_assignments (ticket_id, user_id)
+SELECT MOD(X, 20000) + 1, MOD(X * 7, 1000) + 1 FROM SYSTEM_RANGE(1, 20000);
+
+INSERT INTO refresh_tokens (user_id, token, expiry_date)
+SELECT X, CONCAT('token-', X), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 1000);
+
+INSERT INTO ticket_summary (ticket_id, title, user_id, department_id, status_id, comment_count, created_at, updated_at,
+                            projected_at)
+SELECT ticket_id, title, user_id, department_id, status_id, 0, created_at, updated_at, CURRENT_TIMESTAMP FROM tickets;
+
+INSERT INTO ticket_summary_assignees (ticket_id, user_id) SELECT DISTINCT ticket_id, user_id FROM ticket_assignments;
+
+ANALYZE;